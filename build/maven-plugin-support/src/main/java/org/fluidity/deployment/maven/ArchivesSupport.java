@@ -74,6 +74,20 @@ public interface ArchivesSupport {
      */
     void include(Map<String, Attributes> entries, Manifest manifest);
 
+    /**
+     * Adds an entry to the given JAR output stream with the contents of the given input stream. Uncompressed entries are stored as they are, which lets the
+     * run time serve nested archives directly from the memory mapped enclosing archive rather than from an inflated copy.
+     *
+     * @param output   the JAR output stream to add the entry to; the stream will <b>not</b> be {@link OutputStream#close() closed}.
+     * @param name     the name of the entry.
+     * @param input    the stream to read the contents of the entry from; the stream will <b>not</b> be {@link InputStream#close() closed}.
+     * @param compress tells if the entry is to be compressed or stored.
+     * @param buffer   the buffer to use when {@linkplain IOStreams#pipe(InputStream, OutputStream, byte[]) copying} data.
+     *
+     * @throws IOException when writing the entry fails.
+     */
+    void store(JarOutputStream output, String name, InputStream input, boolean compress, byte[] buffer) throws IOException;
+
     /**
      * Provides input files to {@link ArchivesSupport#load(Map, Map, byte[], Logger, ArchivesSupport.Feed)} and {@link ArchivesSupport#expand(JarOutputStream,
      * byte[], Map, ArchivesSupport.Feed)}.
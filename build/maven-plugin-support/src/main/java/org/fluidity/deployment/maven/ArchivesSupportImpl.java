@@ -18,6 +18,7 @@ package org.fluidity.deployment.maven;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Map;
@@ -28,6 +29,8 @@ import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.JarOutputStream;
 import java.util.jar.Manifest;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
 
 import org.fluidity.foundation.Archives;
 import org.fluidity.foundation.IOStreams;
@@ -125,6 +128,30 @@ final class ArchivesSupportImpl implements ArchivesSupport {
         }
     }
 
+    @Override
+    public void store(final JarOutputStream output, final String name, final InputStream input, final boolean compress, final byte[] buffer) throws IOException {
+        final JarEntry entry = new JarEntry(name);
+
+        if (compress) {
+            output.putNextEntry(entry);
+            IOStreams.pipe(input, output, buffer);
+        } else {
+
+            // stored entries must be described in full before their contents are written
+            final byte[] contents = IOStreams.load(input, buffer);
+            final CRC32 crc = new CRC32();
+            crc.update(contents);
+
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(contents.length);
+            entry.setCompressedSize(contents.length);
+            entry.setCrc(crc.getValue());
+
+            output.putNextEntry(entry);
+            output.write(contents);
+        }
+    }
+
     @Override
     public void include(final Map<String, Attributes> entries, final Manifest manifest) {
         final Map<String, Attributes> attributes = manifest.getEntries();
@@ -26,6 +26,7 @@ import java.io.PrintWriter;
 import java.lang.reflect.Method;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -35,10 +36,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
 
 import org.fluidity.composition.Component;
 import org.fluidity.composition.ComponentContainer;
 import org.fluidity.composition.ComponentGroup;
+import org.fluidity.composition.Inject;
 import org.fluidity.composition.ServiceProvider;
 import org.fluidity.composition.maven.annotation.ComponentProcessor;
 import org.fluidity.composition.maven.annotation.ServiceProviderProcessor;
@@ -72,6 +77,8 @@ import org.objectweb.asm.Type;
 /**
  * Mojos that find in a bunch of class files all implementations of a service provider interface, create a service provider file as per the JAR file
  * specification, find all components, generate a package bindings class for each and add these package bindings as service provider descriptor files.
+ * The constructor the dependency injector will select for each component is also recorded, along with the checksum of the class file, in the {@link
+ * Component#CONSTRUCTORS constructor index}, which spares the container the reflective constructor discovery at run time.
  * <p>
  * Subclasses should call {@link AbstractAnnotationProcessorMojo#processDirectory(java.io.File, java.io.File...)} with the directory containing the classes to
  * process. The Maven build object can be obtained by calling {@link AbstractAnnotationProcessorMojo#build()}.
@@ -81,6 +88,7 @@ public abstract class AbstractAnnotationProcessorMojo extends AbstractMojo imple
 
     private static final String OBJECT_CLASS_NAME = Type.getInternalName(Object.class);
     private static final String EMPTY_BINDINGS_CLASS_NAME = Type.getInternalName(EmptyPackageBindings.class);
+    private static final String INJECT_DESCRIPTOR = Type.getDescriptor(Inject.class);
 
     private static final String PACKAGE_BINDINGS = PackageBindings.class.getName();
     private static final String GENERATED_PACKAGE_BINDINGS = PACKAGE_BINDINGS.substring(PACKAGE_BINDINGS.lastIndexOf(".") + 1).concat("$");
@@ -133,6 +141,7 @@ public abstract class AbstractAnnotationProcessorMojo extends AbstractMojo imple
         final Map<String, Map<String, Collection<String>>> serviceProviderMap = new HashMap<>();
         final Map<String, Collection<String>> componentMap = new HashMap<>();
         final Map<String, Collection<String>> componentGroupMap = new HashMap<>();
+        final Map<String, String> constructorMap = new TreeMap<>();
 
         final List<URL> urls = new ArrayList<>();
 
@@ -157,7 +166,7 @@ public abstract class AbstractAnnotationProcessorMojo extends AbstractMojo imple
         final Logger log = Logger.initialize(getLog(), verbose);
 
         try {
-            processClasses(log, ClassLoaders.create(urls, null, null), classesDirectory, serviceProviderMap, componentMap, componentGroupMap);
+            processClasses(log, ClassLoaders.create(urls, null, null), classesDirectory, serviceProviderMap, componentMap, componentGroupMap, constructorMap);
         } catch (final MojoExecutionException e) {
             throw e;
         } catch (final Exception e) {
@@ -202,6 +211,8 @@ public abstract class AbstractAnnotationProcessorMojo extends AbstractMojo imple
             }
         }
 
+        writeConstructors(log, constructorMap, classesDirectory);
+
         final Map<String, Collection<String>> bindingsMap = serviceProviderMap.get(PackageBindings.SERVICE_TYPE);
 
         if (bindingsMap != null) {
@@ -248,6 +259,32 @@ public abstract class AbstractAnnotationProcessorMojo extends AbstractMojo imple
         }
     }
 
+    @SuppressWarnings("ResultOfMethodCallIgnored")
+    private void writeConstructors(final Logger log, final Map<String, String> constructors, final File classesDirectory) throws MojoExecutionException {
+        final File file = new File(classesDirectory, Component.CONSTRUCTORS);
+        file.delete();
+
+        if (!constructors.isEmpty()) {
+            file.getParentFile().mkdirs();
+
+            log.detail("Constructor index %s contains:", Component.CONSTRUCTORS);
+
+            try (final PrintWriter writer = new PrintWriter(new FileWriter(file))) {
+                for (final Map.Entry<String, String> entry : constructors.entrySet()) {
+                    final CRC32 checksum = new CRC32();
+
+                    // the class files are final by now: the checksum lets the container detect a class changed after the index was generated
+                    checksum.update(Files.readAllBytes(new File(classesDirectory, ClassLoaders.classResourceName(entry.getKey())).toPath()));
+
+                    writer.printf("%s=%x:%s%n", entry.getKey(), checksum.getValue(), entry.getValue());
+                    log.detail("  %s(%s)", entry.getKey(), entry.getValue());
+                }
+            } catch (final IOException e) {
+                throw new MojoExecutionException(String.format("Error opening file %s", file), e);
+            }
+        }
+    }
+
     private void printBindings(final Logger log, final String indent, final String type, final Collection<String> bindings) {
         log.detail("%s%ss:", indent, type);
 
@@ -323,7 +360,8 @@ public abstract class AbstractAnnotationProcessorMojo extends AbstractMojo imple
                                 final File classesDirectory,
                                 final Map<String, Map<String, Collection<String>>> serviceProviderMap,
                                 final Map<String, Collection<String>> componentMap,
-                                final Map<String, Collection<String>> componentGroupMap)
+                                final Map<String, Collection<String>> componentGroupMap,
+                                final Map<String, String> constructorMap)
             throws IOException, ClassNotFoundException, MojoExecutionException {
         final DirectoryScanner scanner = new DirectoryScanner();
 
@@ -446,6 +484,14 @@ public abstract class AbstractAnnotationProcessorMojo extends AbstractMojo imple
                     final Map<String, Collection<String>> providerMap = providerMap(PackageBindings.SERVICE_TYPE, serviceProviderMap);
                     final String externalName = ClassReaders.externalName(classData);
 
+                    if (flags.component || flags.group) {
+                        final String constructor = constructor(classData);
+
+                        if (constructor != null) {
+                            constructorMap.put(externalName, constructor);
+                        }
+                    }
+
                     if (flags.scope != null) {
                         if (flags.ignored) {
                             log.warn("Superfluous 'automatic = false' setting for scoped component %s", externalName);
@@ -490,6 +536,117 @@ public abstract class AbstractAnnotationProcessorMojo extends AbstractMojo imple
         }
     }
 
+    /**
+     * Selects the constructor of the given class the same way the dependency injector does at run time, and returns the run time names of its parameter
+     * types, separated by commas. Where the dependency injector would find no or ambiguous constructors, no constructor is selected, and the dependency
+     * injector is left to report the problem at run time.
+     *
+     * @param classData the class to select the constructor of.
+     *
+     * @return the parameter types of the selected constructor; or <code>null</code> if no constructor could be selected.
+     */
+    private String constructor(final ClassReader classData) {
+        class Constructor {
+            final int access;
+            final String descriptor;
+            boolean injected;
+
+            Constructor(final int access, final String descriptor) {
+                this.access = access;
+                this.descriptor = descriptor;
+            }
+        }
+
+        final List<Constructor> constructors = new ArrayList<>();
+        final boolean[] hidden = { false };
+
+        classData.accept(new ClassVisitor(ASM5) {
+            @Override
+            public void visitInnerClass(final String name, final String outerName, final String innerName, final int access) {
+                if (Objects.equals(name, classData.getClassName())) {
+                    hidden[0] = (access & ACC_PRIVATE) != 0;
+                }
+            }
+
+            @Override
+            public MethodVisitor visitMethod(final int access, final String name, final String desc, final String signature, final String[] exceptions) {
+                if (Objects.equals(name, ClassReaders.CONSTRUCTOR_METHOD_NAME) && (access & ACC_SYNTHETIC) == 0) {
+                    final Constructor constructor = new Constructor(access, desc);
+                    constructors.add(constructor);
+
+                    return new MethodVisitor(ASM5) {
+                        @Override
+                        public AnnotationVisitor visitAnnotation(final String desc, final boolean visible) {
+                            constructor.injected |= Objects.equals(desc, INJECT_DESCRIPTOR);
+                            return null;
+                        }
+                    };
+                } else {
+                    return null;
+                }
+            }
+        }, ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES | ClassReader.SKIP_CODE);
+
+        final List<Constructor> injected = new ArrayList<>();
+        final List<Constructor> publicConstructors = new ArrayList<>();
+        final List<Constructor> packageConstructors = new ArrayList<>();
+        final List<Constructor> privateConstructors = new ArrayList<>();
+
+        for (final Constructor constructor : constructors) {
+            if (constructor.injected) {
+                injected.add(constructor);
+            } else if ((constructor.access & ACC_PUBLIC) != 0) {
+                publicConstructors.add(constructor);
+            } else if ((constructor.access & ACC_PRIVATE) != 0) {
+                privateConstructors.add(constructor);
+            } else if ((constructor.access & ACC_PROTECTED) == 0) {
+                packageConstructors.add(constructor);
+            }
+        }
+
+        final List<Constructor> candidates = !injected.isEmpty()
+                                             ? injected
+                                             : !publicConstructors.isEmpty()
+                                               ? publicConstructors
+                                               : !packageConstructors.isEmpty() || !hidden[0] ? packageConstructors : privateConstructors;
+
+        final Constructor selected;
+
+        switch (candidates.size()) {
+        case 1:
+            selected = candidates.get(0);
+            break;
+        case 2:
+            final int parameterCount0 = Type.getArgumentTypes(candidates.get(0).descriptor).length;
+            final int parameterCount1 = Type.getArgumentTypes(candidates.get(1).descriptor).length;
+
+            if (injected.isEmpty() && parameterCount0 == 0 && parameterCount1 != 0) {
+                selected = candidates.get(1);
+            } else if (injected.isEmpty() && parameterCount0 != 0 && parameterCount1 == 0) {
+                selected = candidates.get(0);
+            } else {
+                selected = null;
+            }
+
+            break;
+        default:
+            selected = null;
+            break;
+        }
+
+        if (selected == null) {
+            return null;
+        } else {
+            final StringJoiner parameters = new StringJoiner(",");
+
+            for (final Type type : Type.getArgumentTypes(selected.descriptor)) {
+                parameters.add(type.getSort() == Type.ARRAY ? type.getDescriptor().replace('/', '.') : type.getClassName());
+            }
+
+            return parameters.toString();
+        }
+    }
+
     private Map<String, Collection<String>> providerMap(final String type, final Map<String, Map<String, Collection<String>>> serviceProviderMap) {
         return serviceProviderMap.computeIfAbsent(type, ignored -> new HashMap<>());
     }
@@ -34,6 +34,7 @@ import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.JarOutputStream;
 import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
 
 import org.fluidity.deployment.maven.ArchivesSupport;
 import org.fluidity.deployment.maven.DependenciesSupport;
@@ -99,6 +100,14 @@ public final class IncludeJarsMojo extends AbstractMojo {
     @Parameter
     private List<String> profiles;
 
+    /**
+     * Tells the plugin to compress the archives it packages in the main one. The default value of this parameter is <code>true</code>. When set to
+     * <code>false</code>, the packaged archives are stored uncompressed, which makes the main archive larger but lets the run time use the packaged
+     * archives directly from the memory mapped main archive instead of inflating them onto the heap.
+     */
+    @Parameter(defaultValue = "true")
+    private boolean compressArchives;
+
     /**
      * The plugin's artifact ID.
      */
@@ -264,9 +273,9 @@ public final class IncludeJarsMojo extends AbstractMojo {
                             }
                         }
 
+                        // keep stored entries, such as archives embedded by the standalone goal, uncompressed
                         return Objects.equals(name, policyName) ? null : (_url, _entry, input) -> {
-                            output.putNextEntry(new JarEntry(_entry.getName()));
-                            IOStreams.pipe(input, output, buffer);
+                            archives.store(output, _entry.getName(), input, _entry.getMethod() != ZipEntry.STORED, buffer);
                             return true;
                         };
                     });
@@ -278,10 +287,8 @@ public final class IncludeJarsMojo extends AbstractMojo {
                         for (final Artifact artifact : entry.getValue()) {
                             final File dependency = artifact.getFile();
 
-                            output.putNextEntry(new JarEntry(dependencyPath.concat(dependency.getName())));
-
                             try (final InputStream input = new FileInputStream(dependency)) {
-                                IOStreams.pipe(input, output, buffer);
+                                archives.store(output, dependencyPath.concat(dependency.getName()), input, compressArchives, buffer);
                             }
                         }
                     }
@@ -93,6 +93,14 @@ public final class StandaloneJarMojo extends AbstractMojo {
     @Parameter(defaultValue = "true")
     private boolean executable;
 
+    /**
+     * Tells the plugin to compress the archives it packages in the main one. The default value of this parameter is <code>true</code>. When set to
+     * <code>false</code>, the packaged archives are stored uncompressed, which makes the main archive larger but lets the run time use the packaged
+     * archives directly from the memory mapped main archive instead of inflating them onto the heap.
+     */
+    @Parameter(defaultValue = "true")
+    private boolean compressArchives;
+
     /**
      * Tells the plugin to emit details about its operation. The default value of this parameter is <code>false</code>.
      */
@@ -400,7 +408,6 @@ public final class StandaloneJarMojo extends AbstractMojo {
                         assert !dependency.isDirectory() : dependency;
 
                         final String entryName = inclusion.folder.concat(dependency.getName());
-                        output.putNextEntry(new JarEntry(entryName));
 
                         if (Objects.equals(artifact.getId(), projectId)) {
                             final URL url = dependency.toURI().toURL();
@@ -408,7 +415,7 @@ public final class StandaloneJarMojo extends AbstractMojo {
                             // got to check if our project artifact is something we have created in a previous run
                             // i.e., if it contains the project artifact we're about to copy
                             final int processed = Archives.read(url, false, (_url, _entry) -> !Objects.equals(entryName, _entry.getName()) ? null : (__url, __entry, input) -> {
-                                IOStreams.pipe(input, output, buffer);
+                                archives.store(output, entryName, input, compressArchives, buffer);
                                 return false;
                             });
 
@@ -418,7 +425,7 @@ public final class StandaloneJarMojo extends AbstractMojo {
                         }
 
                         try (final InputStream input = new FileInputStream(dependency)) {
-                            IOStreams.pipe(input, output, buffer);
+                            archives.store(output, entryName, input, compressArchives, buffer);
                         }
                     }
                 }
@@ -67,6 +67,11 @@ public @interface Component {
      */
     String SCOPE = "scope";
 
+    /**
+     * The resource that lists, for each component class in a JAR file, the checksum of the class file and the parameter types of the constructor to inject. Used internally.
+     */
+    String CONSTRUCTORS = "META-INF/composition/constructors.properties";
+
     /**
      * Specifies the interfaces or classes that should resolve to the annotated class at run time.
      * <p>
@@ -126,6 +126,16 @@ public interface ComponentContext {
      */
     String key();
 
+    /**
+     * Returns an object that uniquely identifies this context, cheaper to compare than the {@link #key()}. Equal contexts return equal objects; contexts made
+     * by Fluid Tools return the same object. Used internally by Fluid Tools.
+     *
+     * @return an object; never <code>null</code>.
+     */
+    default Object identity() {
+        return key();
+    }
+
     /**
      * Returns a textual representation of this context that describes it. Used internally by Fluid Tools.
      *
@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 
+import org.fluidity.composition.container.ContainerMetrics;
 import org.fluidity.composition.container.ContainerServices;
 import org.fluidity.composition.container.spi.ContainerProvider;
 import org.fluidity.composition.spi.PackageBindings;
@@ -65,18 +66,29 @@ final class ContainerBootstrapImpl implements ContainerBootstrap {
 
         if (parent == null) {
             registry.bindInstance(discovery);
+
+            final ContainerMetrics metrics = services.metrics();
+
+            if (metrics != null) {
+                registry.bindInstance(metrics, ContainerMetrics.class);
+            }
         }
 
+        final int threads = Integer.getInteger(Containers.EAGER_INITIALIZATION, 0);
+        final boolean concurrent = ContainerServicesFactory.CONCURRENT_CACHE.equals(System.getProperty(ContainerServicesFactory.CACHE_PROPERTY));
+        final EagerInitialization eager = threads > 0 ? new EagerInitialization(threads, concurrent) : null;
+        final ComponentContainer.Registry bindingRegistry = eager == null ? registry : eager.record(registry);
+
         /*
          * Process each package component set.
          */
         for (final PackageBindings bindings : assemblies) {
             log.debug("Processing %s in %s", bindings.getClass().getName(), container);
-            bindings.bindComponents(registry);
+            bindings.bindComponents(bindingRegistry);
         }
 
         final ContainerLifecycle state = parent == null ? null : parent.getComponent(ContainerLifecycle.class);
-        registry.bindInstance(new ContainerLifecycle(state, container, assemblies, callback));
+        registry.bindInstance(new ContainerLifecycle(state, container, assemblies, eager, callback));
 
         return container;
     }
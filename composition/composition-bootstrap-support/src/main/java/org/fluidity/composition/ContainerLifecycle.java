@@ -38,16 +38,22 @@ final class ContainerLifecycle {
 
     private final OpenContainer container;
     private final List<PackageBindings> bindings;
+    private final EagerInitialization eager;
 
     private final Set<ContainerLifecycle> children = new HashSet<>();
 
     private final AtomicBoolean shouldInitialize = new AtomicBoolean(true);
     private final AtomicBoolean shouldShutdown = new AtomicBoolean(true);
 
-    ContainerLifecycle(final ContainerLifecycle parent, final OpenContainer container, final List<PackageBindings> bindings, final ContainerBootstrap.Callback callback) {
+    ContainerLifecycle(final ContainerLifecycle parent,
+                       final OpenContainer container,
+                       final List<PackageBindings> bindings,
+                       final EagerInitialization eager,
+                       final ContainerBootstrap.Callback callback) {
         this.parent = parent;
         this.container = container;
         this.bindings = bindings;
+        this.eager = eager;
         this.callback = callback;
     }
 
@@ -72,6 +78,11 @@ final class ContainerLifecycle {
                     next.initialize(container, termination);
                 }
 
+                // singletons are instantiated once the bindings have been initialized
+                if (eager != null) {
+                    eager.initialize(container, log);
+                }
+
                 // child containers are initialized last: child shutdown tasks are run before any added above
                 for (final ContainerLifecycle child : children) {
                     child.initialize(log);
@@ -27,6 +27,14 @@ import org.fluidity.foundation.security.Security;
 @SuppressWarnings("UnusedDeclaration")
 public final class Containers extends Utility {
 
+    /**
+     * The name of the system property that, when set to a positive number, turns on eager initialization: containers will instantiate their context
+     * independent singleton components when initialized. Components with no common dependency are instantiated in parallel, on at most that many threads,
+     * only when the {@linkplain ContainerServicesFactory#CONCURRENT_CACHE concurrent component cache} is selected; otherwise all components are instantiated
+     * on the thread that initializes the container.
+     */
+    public static final String EAGER_INITIALIZATION = "org.fluidity.composition.eager";
+
     private static final ClassLoader LOADER = Security.invoke(Containers.class::getClassLoader);
 
     private Containers() { }
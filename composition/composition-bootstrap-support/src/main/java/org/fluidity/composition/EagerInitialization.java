@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2006-2018 Tibor Adam Varga (tibor.adam.varga on gmail)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fluidity.composition;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.fluidity.composition.spi.ComponentFactory;
+import org.fluidity.foundation.Log;
+import org.fluidity.foundation.Methods;
+import org.fluidity.foundation.Proxies;
+
+/**
+ * Instantiates, at container initialization, the singleton components bound to a container. The components are partitioned by their static dependency
+ * graphs: components that share no static dependency may be instantiated in parallel on at most the given number of threads, while those that do are
+ * instantiated one after the other on the same thread, hence circular references among static dependencies are resolved on a single thread just as without
+ * eager initialization.
+ * <p>
+ * Components may also look up one another dynamically, which the partitions do not capture. The default component cache holds a lock while it instantiates
+ * a component, so two partitions that look up each other's components could deadlock. Partitions are therefore only instantiated in parallel when so
+ * requested, which the caller should only do when the component cache detects threads waiting for one another; otherwise all partitions are instantiated
+ * one after the other on the calling thread.
+ * <p>
+ * Only components that are bound with their class, are not {@linkplain Component#stateful() stateful}, are not {@linkplain ComponentFactory factories}, and
+ * do not depend on their {@linkplain Component.Qualifiers context} are instantiated. Dependencies not bound to the container as singleton components, such as
+ * instances or components of a parent container, have already been resolved and thus do not tie partitions together.
+ *
+ * @author Tibor Varga
+ */
+final class EagerInitialization {
+
+    private static final Method BIND_COMPONENT = Methods.get(ComponentContainer.Registry.class, EagerInitialization::bindComponent)[0];
+
+    private final int threads;
+
+    // component implementation classes to instantiate, mapped to the interface to look them up with
+    private final Map<Class<?>, Class<?>> components = new LinkedHashMap<>();
+
+    // singleton component implementation classes bound to the container
+    private final Set<Class<?>> singletons = new HashSet<>();
+
+    /**
+     * Creates a new instance.
+     *
+     * @param threads  the maximum number of threads to instantiate components on.
+     * @param parallel tells if independent partitions may be instantiated in parallel (<code>true</code>) or must all be instantiated on the calling thread
+     *                 (<code>false</code>).
+     */
+    EagerInitialization(final int threads, final boolean parallel) {
+        assert threads > 0 : threads;
+        this.threads = parallel ? threads : 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void bindComponent(final ComponentContainer.Registry registry) {
+        registry.bindComponent(null);
+    }
+
+    /**
+     * Returns a registry that records in this object the components bound to the given registry.
+     *
+     * @param registry the registry to forward component bindings to.
+     *
+     * @return a registry to give package bindings.
+     */
+    ComponentContainer.Registry record(final ComponentContainer.Registry registry) {
+        return Proxies.create(ComponentContainer.Registry.class, (proxy, method, arguments) -> {
+            if (method.equals(BIND_COMPONENT)) {
+                final Class<?> type = (Class<?>) arguments[0];
+                final Component component = type.getAnnotation(Component.class);
+
+                if (component == null || !component.stateful()) {
+                    singletons.add(type);
+
+                    if (!ComponentFactory.class.isAssignableFrom(type) && !type.isAnnotationPresent(Component.Qualifiers.class)) {
+                        final Class<?>[] interfaces = (Class<?>[]) arguments[1];
+
+                        if (interfaces == null || interfaces.length == 0) {
+                            final Components.Specification[] api = Components.inspect(type).api;
+
+                            if (api.length > 0) {
+                                components.putIfAbsent(type, api[0].api);
+                            }
+                        } else {
+                            components.putIfAbsent(type, interfaces[0]);
+                        }
+                    }
+                }
+            }
+
+            return Methods.invoke(method, registry, arguments);
+        });
+    }
+
+    /**
+     * Instantiates the recorded components.
+     *
+     * @param container the container to instantiate the components in.
+     * @param log       the log to emit messages to.
+     *
+     * @throws Exception when instantiating some component fails.
+     */
+    void initialize(final OpenContainer container, final Log log) throws Exception {
+        final Collection<List<Class<?>>> partitions = partitions(container);
+
+        if (partitions.isEmpty()) {
+            return;
+        }
+
+        log.debug("Instantiating %d component(s) in %d independent partition(s) of %s", components.size(), partitions.size(), container);
+
+        if (threads == 1 || partitions.size() == 1) {
+            for (final List<Class<?>> partition : partitions) {
+                partition.forEach(container::getComponent);
+            }
+
+            return;
+        }
+
+        final AtomicInteger index = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, partitions.size()), task -> {
+            final Thread thread = new Thread(task, String.format("%s-%d", EagerInitialization.class.getSimpleName(), index.incrementAndGet()));
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+
+            for (final List<Class<?>> partition : partitions) {
+                futures.add(executor.submit(() -> partition.forEach(container::getComponent)));
+            }
+
+            for (final Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (final ExecutionException e) {
+                    final Throwable cause = e.getCause();
+
+                    if (cause instanceof Exception) {
+                        throw (Exception) cause;
+                    } else if (cause instanceof Error) {
+                        throw (Error) cause;
+                    } else {
+                        throw e;
+                    }
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Partitions the recorded components so that no two partitions have a common static dependency that is a singleton component bound to the container.
+     * Components are united with their dependencies in a disjoint set forest keyed by implementation class.
+     *
+     * @param container the container to resolve the dependency graphs in.
+     *
+     * @return the list of partitions, each a list of component interfaces.
+     */
+    private Collection<List<Class<?>>> partitions(final OpenContainer container) {
+        final Map<Class<?>, Class<?>> parents = new HashMap<>();
+
+        for (final Class<?> type : components.keySet()) {
+            final Class<?> api = components.get(type);
+
+            container.observed(new ComponentContainer.ObserverSupport() {
+                @Override
+                public void resolved(final DependencyPath path, final Class<?> dependency) {
+                    if (singletons.contains(dependency)) {
+                        union(parents, type, dependency);
+                    }
+                }
+            }).resolveComponent(api);
+        }
+
+        final Map<Class<?>, List<Class<?>>> partitions = new LinkedHashMap<>();
+
+        for (final Map.Entry<Class<?>, Class<?>> entry : components.entrySet()) {
+            partitions.computeIfAbsent(find(parents, entry.getKey()), root -> new ArrayList<>()).add(entry.getValue());
+        }
+
+        return partitions.values();
+    }
+
+    private static Class<?> find(final Map<Class<?>, Class<?>> parents, final Class<?> type) {
+        final Class<?> parent = parents.get(type);
+
+        if (parent == null) {
+            return type;
+        } else {
+            final Class<?> root = find(parents, parent);
+            parents.put(type, root);        // path compression
+            return root;
+        }
+    }
+
+    private static void union(final Map<Class<?>, Class<?>> parents, final Class<?> type1, final Class<?> type2) {
+        final Class<?> root1 = find(parents, type1);
+        final Class<?> root2 = find(parents, type2);
+
+        if (root1 != root2) {
+            parents.put(root2, root1);
+        }
+    }
+}
@@ -66,6 +66,7 @@ public final class ContainerBootstrapImplTest extends Simulator {
 
         EasyMock.expect(services.createLog(EasyMock.anyObject(), EasyMock.anyObject())).andReturn(log).anyTimes();
         EasyMock.expect(services.componentDiscovery()).andReturn(discovery).anyTimes();
+        EasyMock.expect(services.metrics()).andReturn(null).anyTimes();
     }
 
     @SuppressWarnings("unchecked")
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2006-2018 Tibor Adam Varga (tibor.adam.varga on gmail)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fluidity.composition;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.fluidity.foundation.Methods;
+import org.fluidity.foundation.NoLogFactory;
+import org.fluidity.foundation.Proxies;
+import org.fluidity.testing.Simulator;
+
+import org.easymock.EasyMock;
+import org.testng.annotations.Test;
+
+/**
+ * @author Tibor Varga
+ */
+@SuppressWarnings("unchecked")
+public final class EagerInitializationTest extends Simulator {
+
+    private final MockObjects dependencies = dependencies();
+
+    private final ComponentContainer.Registry registry = dependencies.normal(ComponentContainer.Registry.class);
+    private final OpenContainer container = dependencies.normal(OpenContainer.class);
+    private final ObservedContainer observed = dependencies.normal(ObservedContainer.class);
+
+    @Test
+    public void testPartitions() throws Exception {
+        final EagerInitialization eager = new EagerInitialization(4, true);
+
+        final ComponentContainer.Registry recording = eager.record(registry);
+
+        registry.bindComponent(Singleton1Impl.class);
+        registry.bindComponent(Singleton2Impl.class);
+        registry.bindComponent(Singleton3Impl.class);
+        registry.bindComponent(SharedImpl.class);
+        registry.bindComponent(StatefulImpl.class);
+        registry.bindComponent(ContextualImpl.class);
+
+        verify(() -> {
+            recording.bindComponent(Singleton1Impl.class);
+            recording.bindComponent(Singleton2Impl.class);
+            recording.bindComponent(Singleton3Impl.class);
+            recording.bindComponent(SharedImpl.class);
+            recording.bindComponent(StatefulImpl.class);
+            recording.bindComponent(ContextualImpl.class);
+        });
+
+        // Singleton1 and Singleton2 share a singleton dependency; Singleton3 shares with them only a stateful component and one not bound to this container
+        resolve(Singleton1.class, Singleton1Impl.class, SharedImpl.class, ExternalImpl.class);
+        resolve(Singleton2.class, Singleton2Impl.class, SharedImpl.class, StatefulImpl.class);
+        resolve(Singleton3.class, Singleton3Impl.class, ExternalImpl.class, StatefulImpl.class);
+        resolve(Shared.class, SharedImpl.class);
+
+        final Map<Class<?>, Thread> threads = new ConcurrentHashMap<>();
+
+        for (final Class<?> api : new Class<?>[] { Singleton1.class, Singleton2.class, Singleton3.class, Shared.class }) {
+            EasyMock.expect(container.getComponent(api)).andAnswer(() -> {
+                threads.put(api, Thread.currentThread());
+                return null;
+            });
+        }
+
+        verify(() -> eager.initialize(container, NoLogFactory.consume(EagerInitialization.class)));
+
+        assert threads.size() == 4 : threads;
+        assert threads.get(Singleton1.class) == threads.get(Singleton2.class) : threads;
+        assert threads.get(Singleton1.class) == threads.get(Shared.class) : threads;
+        assert threads.get(Singleton1.class) != threads.get(Singleton3.class) : threads;
+        assert threads.get(Singleton1.class) != Thread.currentThread() : threads;
+    }
+
+    @Test
+    public void testConcurrentInitialization() throws Exception {
+        final EagerInitialization eager = new EagerInitialization(2, true);
+
+        final ComponentContainer.Registry recording = eager.record(registry);
+
+        registry.bindComponent(Singleton1Impl.class);
+        registry.bindComponent(Singleton2Impl.class);
+
+        verify(() -> {
+            recording.bindComponent(Singleton1Impl.class);
+            recording.bindComponent(Singleton2Impl.class);
+        });
+
+        resolve(Singleton1.class, Singleton1Impl.class, ExternalImpl.class);
+        resolve(Singleton2.class, Singleton2Impl.class, ExternalImpl.class);
+
+        // each component waits for the other to start instantiation: this only completes if the two are instantiated concurrently; mocks would serialize
+        // the calls, hence the proxy
+        final CyclicBarrier barrier = new CyclicBarrier(2);
+        final Set<Object> instantiated = ConcurrentHashMap.newKeySet();
+
+        final OpenContainer concurrent = Proxies.create(OpenContainer.class, (proxy, method, arguments) -> {
+            if (method.getName().equals("getComponent")) {
+                barrier.await(1, TimeUnit.SECONDS);
+                instantiated.add(arguments[0]);
+                return null;
+            } else {
+                return Methods.invoke(method, container, arguments);
+            }
+        });
+
+        verify(() -> eager.initialize(concurrent, NoLogFactory.consume(EagerInitialization.class)));
+
+        assert instantiated.size() == 2 : instantiated;
+    }
+
+    private void resolve(final Class<?> api, final Class<?>... types) {
+        final AtomicReference<ComponentContainer.Observer> observer = new AtomicReference<>();
+
+        EasyMock.expect(container.observed(EasyMock.notNull())).andAnswer(() -> {
+            observer.set((ComponentContainer.Observer) EasyMock.getCurrentArguments()[0]);
+            return observed;
+        });
+
+        observed.resolveComponent(api);
+        EasyMock.expectLastCall().andAnswer(() -> {
+            for (final Class<?> type : types) {
+                observer.get().resolved(null, type);
+            }
+
+            return null;
+        });
+    }
+
+    public interface Singleton1 { }
+
+    public interface Singleton2 { }
+
+    public interface Singleton3 { }
+
+    public interface Shared { }
+
+    public interface External { }
+
+    public interface Stateful { }
+
+    public interface Contextual { }
+
+    @Component
+    private static class Singleton1Impl implements Singleton1 { }
+
+    @Component
+    private static class Singleton2Impl implements Singleton2 { }
+
+    @Component
+    private static class Singleton3Impl implements Singleton3 { }
+
+    @Component
+    private static class SharedImpl implements Shared { }
+
+    @Component
+    private static class ExternalImpl implements External { }
+
+    @Component(stateful = true)
+    private static class StatefulImpl implements Stateful { }
+
+    @Component
+    @Component.Qualifiers(Component.Reference.class)
+    private static class ContextualImpl implements Contextual { }
+}
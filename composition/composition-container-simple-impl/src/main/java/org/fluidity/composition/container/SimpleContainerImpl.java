@@ -23,11 +23,12 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -59,10 +60,15 @@ final class SimpleContainerImpl implements ParentContainer {
     private final ParentContainer domain;
     private final boolean quiet;
 
-    private final Map<Class<?>, ComponentResolver> components = new HashMap<>();
-    private final Map<Class<?>, GroupResolver> groups = new HashMap<>();
+    /*
+     * Lookups read the resolver tables without locking, while bindings update them under the lock of this object. Containers that bind nothing, such as most
+     * child containers, share the empty table; a concurrent table is allocated on the first binding and then updated in place.
+     */
+    private volatile Map<Class<?>, ComponentResolver> components = Collections.emptyMap();
+    private volatile Map<Class<?>, GroupResolver> groups = Collections.emptyMap();
 
     private final DependencyInjector injector;
+    private final ContainerMetrics metrics;
 
     SimpleContainerImpl(final ContainerServices services, final boolean quiet) {
         this(false, null, services, quiet);
@@ -75,6 +81,7 @@ final class SimpleContainerImpl implements ParentContainer {
         this.quiet = quiet;
 
         this.injector = this.services.dependencyInjector();
+        this.metrics = this.services.metrics();
 
         if (!quiet) {
             log.compareAndSet(null, this.services.createLog(log.get(), getClass()));
@@ -103,39 +110,41 @@ final class SimpleContainerImpl implements ParentContainer {
         return new SimpleContainerImpl(domain, this, services, quiet);
     }
 
-    public ComponentResolver bindResolver(final Class<?> api, final ComponentResolver resolver) {
-        synchronized (components) {
-            final ComponentResolver previous = components.get(api);
+    public synchronized ComponentResolver bindResolver(final Class<?> api, final ComponentResolver resolver) {
+        final ComponentResolver previous = components.get(api);
 
-            if (previous == null) {
-                return replace(api, null, resolver);
-            } else if (previous.replaces(resolver)) {
-                return replace(api, resolver, previous);
-            } else if (resolver.replaces(previous)) {
-                return replace(api, previous, resolver);
-            } else {
-                return previous;
-            }
+        if (previous == null) {
+            return replace(api, null, resolver);
+        } else if (previous.replaces(resolver)) {
+            return replace(api, resolver, previous);
+        } else if (resolver.replaces(previous)) {
+            return replace(api, previous, resolver);
+        } else {
+            return previous;
         }
     }
 
-    private GroupResolver bindGroup(final Class<?> api) {
-        GroupResolver resolver;
-
-        synchronized (groups) {
-            resolver = groups.get(api);
+    private synchronized GroupResolver bindGroup(final Class<?> api) {
+        GroupResolver resolver = groups.get(api);
 
-            if (resolver == null) {
-                groups.put(api, resolver = new GroupResolver(api));
+        if (resolver == null) {
+            if (groups.isEmpty()) {
+                groups = new ConcurrentHashMap<>();
             }
+
+            groups.put(api, resolver = new GroupResolver(api));
         }
 
         return resolver;
     }
 
     private ComponentResolver replace(final Class<?> key, final ComponentResolver previous, final ComponentResolver replacement) {
-        if (components.remove(key) == previous) {
-            replaceResolver(key, previous, replacement);
+        if (components.isEmpty()) {
+            components = new ConcurrentHashMap<>();
+        }
+
+        if (components.get(key) == previous) {
+            replaceResolver(key, key, previous, replacement);
         }
 
         components.put(key, replacement);
@@ -312,8 +321,14 @@ final class SimpleContainerImpl implements ParentContainer {
     }
 
     public void replaceResolver(final Class<?> key, final ComponentResolver previous, final ComponentResolver replacement) {
-        for (final ComponentResolver resolver : components.values()) {
-            resolver.resolverReplaced(key, previous, replacement);
+        replaceResolver(null, key, previous, replacement);
+    }
+
+    private void replaceResolver(final Class<?> skipped, final Class<?> key, final ComponentResolver previous, final ComponentResolver replacement) {
+        for (final Map.Entry<Class<?>, ComponentResolver> entry : components.entrySet()) {
+            if (entry.getKey() != skipped) {
+                entry.getValue().resolverReplaced(key, previous, replacement);
+            }
         }
 
         if (parent != null) {
@@ -403,7 +418,17 @@ final class SimpleContainerImpl implements ParentContainer {
     }
 
     public Node resolveComponent(final Class<?> api, final ContextDefinition context, final Traversal traversal, final Type reference) {
-        return resolveComponent(domain, true, api, context, traversal, reference);
+        if (metrics == null) {
+            return resolveComponent(domain, true, api, context, traversal, reference);
+        } else {
+            final long started = System.nanoTime();
+
+            try {
+                return resolveComponent(domain, true, api, context, traversal, reference);
+            } finally {
+                metrics.resolved(api, System.nanoTime() - started);
+            }
+        }
     }
 
     public List<GroupResolver> groupResolvers(final Class<?> api) {
@@ -422,7 +447,17 @@ final class SimpleContainerImpl implements ParentContainer {
     }
 
     public Node resolveGroup(final Class<?> api, final ContextDefinition context, final Traversal traversal, final Type reference) {
-        return resolveGroup(domain, api, context, traversal, reference);
+        if (metrics == null) {
+            return resolveGroup(domain, api, context, traversal, reference);
+        } else {
+            final long started = System.nanoTime();
+
+            try {
+                return resolveGroup(domain, api, context, traversal, reference);
+            } finally {
+                metrics.grouped(api, System.nanoTime() - started);
+            }
+        }
     }
 
     public Node resolveGroup(final ParentContainer domain, final Class<?> api, final ContextDefinition context, final Traversal traversal, final Type reference) {
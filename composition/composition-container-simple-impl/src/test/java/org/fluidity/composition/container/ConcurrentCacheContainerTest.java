@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2006-2018 Tibor Adam Varga (tibor.adam.varga on gmail)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fluidity.composition.container;
+
+import org.fluidity.composition.ContainerServicesFactory;
+
+import org.testng.annotations.Factory;
+
+/**
+ * Runs the container test suite with the lock-free component cache.
+ *
+ * @author Tibor Varga
+ */
+public class ConcurrentCacheContainerTest extends ComponentContainerTest {
+
+    @Factory
+    @Override
+    public Object[] tests() {
+        final String previous = System.setProperty(ContainerServicesFactory.CACHE_PROPERTY, ContainerServicesFactory.CONCURRENT_CACHE);
+
+        try {
+            return super.tests();
+        } finally {
+            if (previous == null) {
+                System.clearProperty(ContainerServicesFactory.CACHE_PROPERTY);
+            } else {
+                System.setProperty(ContainerServicesFactory.CACHE_PROPERTY, previous);
+            }
+        }
+    }
+}
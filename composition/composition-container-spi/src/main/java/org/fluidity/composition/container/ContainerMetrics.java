@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2006-2018 Tibor Adam Varga (tibor.adam.varga on gmail)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fluidity.composition.container;
+
+import java.util.Collection;
+
+/**
+ * Collects resolution metrics of the containers that share some {@link ContainerServices}: the number and duration of component and group resolutions and of
+ * component instantiations, and the number of component cache hits and misses, for each component interface or class. Metrics are collected only when enabled
+ * with the <code>org.fluidity.composition.metrics</code> system property, in which case {@link ContainerServices#metrics()} returns an instance of this
+ * interface, which is then also bound to the root container.
+ * <h3>Usage</h3>
+ * <pre>
+ * final <span class="hl1">ContainerMetrics</span> metrics = services.{@linkplain ContainerServices#metrics() metrics}();
+ *
+ * if (metrics != null) {
+ *   final long started = System.nanoTime();
+ *   &hellip;
+ *   metrics.<span class="hl1">{@linkplain #resolved(Class, long) resolved}</span>(api, System.nanoTime() - started);
+ * }
+ * </pre>
+ *
+ * @author Tibor Varga
+ */
+public interface ContainerMetrics {
+
+    /**
+     * The number of buckets in each {@linkplain Statistics#histogram() latency histogram}.
+     */
+    int BUCKETS = 32;
+
+    /**
+     * Records the resolution of a component interface.
+     *
+     * @param api   the component interface.
+     * @param nanos the duration of the resolution in nanoseconds.
+     */
+    void resolved(Class<?> api, long nanos);
+
+    /**
+     * Records the resolution of a component group.
+     *
+     * @param api   the group interface.
+     * @param nanos the duration of the resolution in nanoseconds.
+     */
+    void grouped(Class<?> api, long nanos);
+
+    /**
+     * Records the invocation of the constructor of a component class.
+     *
+     * @param type  the component class.
+     * @param nanos the duration of the constructor invocation in nanoseconds.
+     */
+    void instantiated(Class<?> type, long nanos);
+
+    /**
+     * Records a component cache lookup.
+     *
+     * @param api the component interface.
+     * @param hit <code>true</code> if a cached instance was found; <code>false</code> if a new instance had to be created.
+     */
+    void cached(Class<?> api, boolean hit);
+
+    /**
+     * Returns the metrics collected so far for each component interface or class.
+     *
+     * @return a snapshot of the collected metrics; never <code>null</code>.
+     */
+    Collection<Component> components();
+
+    /**
+     * Discards all metrics collected so far.
+     */
+    void reset();
+
+    /**
+     * The metrics collected for a component interface or class.
+     *
+     * @author Tibor Varga
+     */
+    interface Component {
+
+        /**
+         * Returns the component interface or class.
+         *
+         * @return the component interface or class; never <code>null</code>.
+         */
+        Class<?> type();
+
+        /**
+         * Returns the statistics of the resolutions of the component interface.
+         *
+         * @return the statistics of the resolutions; never <code>null</code>.
+         */
+        Statistics resolutions();
+
+        /**
+         * Returns the statistics of the resolutions of the component group.
+         *
+         * @return the statistics of the group resolutions; never <code>null</code>.
+         */
+        Statistics groups();
+
+        /**
+         * Returns the statistics of the constructor invocations of the component class.
+         *
+         * @return the statistics of the instantiations; never <code>null</code>.
+         */
+        Statistics instantiations();
+
+        /**
+         * Returns the number of component cache lookups that found a cached instance.
+         *
+         * @return the number of cache hits.
+         */
+        long hits();
+
+        /**
+         * Returns the number of component cache lookups that created a new instance.
+         *
+         * @return the number of cache misses.
+         */
+        long misses();
+    }
+
+    /**
+     * Counts and latency histogram of some timed event.
+     *
+     * @author Tibor Varga
+     */
+    interface Statistics {
+
+        /**
+         * Returns the number of events recorded.
+         *
+         * @return the number of events recorded.
+         */
+        long count();
+
+        /**
+         * Returns the total duration of the events recorded, in nanoseconds.
+         *
+         * @return the total duration of the events recorded.
+         */
+        long nanos();
+
+        /**
+         * Returns the latency histogram of the events recorded. Element 0 is the number of events that took less than a microsecond, while element
+         * <code>i</code> &gt; 0 is the number of events that took at least 2<sup>i-1</sup> but less than 2<sup>i</sup> microseconds. The last element also
+         * counts all longer events.
+         *
+         * @return an array of {@link ContainerMetrics#BUCKETS} elements; never <code>null</code>.
+         */
+        long[] histogram();
+    }
+}
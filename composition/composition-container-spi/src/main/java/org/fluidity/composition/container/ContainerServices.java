@@ -86,6 +86,13 @@ public interface ContainerServices {
      */
     ComponentCache newCache(boolean stateless);
 
+    /**
+     * Returns the collector of resolution metrics of the containers using these services.
+     *
+     * @return the metrics collector; or <code>null</code> if metrics are not collected.
+     */
+    ContainerMetrics metrics();
+
     /**
      * Create an {@link Log} instance, once per source class.
      *
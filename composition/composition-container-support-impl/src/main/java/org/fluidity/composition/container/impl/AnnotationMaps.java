@@ -19,7 +19,6 @@ package org.fluidity.composition.container.impl;
 import java.lang.annotation.Annotation;
 import java.util.Arrays;
 import java.util.Map;
-import java.util.Objects;
 import java.util.SortedMap;
 import java.util.StringJoiner;
 import java.util.TreeMap;
@@ -60,10 +59,11 @@ final class AnnotationMaps extends Utility {
     }
 
     public static int hashCode(final Map<Class<? extends Annotation>, Annotation[]> map) {
-        int result = map.keySet().hashCode();
+        int result = 0;
 
-        for (final Annotation[] annotations : sorted(map).values()) {
-            result = Objects.hash(result, Arrays.hashCode(annotations));
+        // independent of iteration order so that no sorting is necessary
+        for (final Map.Entry<Class<? extends Annotation>, Annotation[]> entry : map.entrySet()) {
+            result += entry.getKey().hashCode() ^ Arrays.hashCode(entry.getValue());
         }
 
         return result;
@@ -34,26 +34,29 @@ import org.fluidity.foundation.Strings;
 final class ComponentCacheImpl implements ComponentCache {
 
     private final Log log;
-    private final Map<Object, Map<String, Object>> caches;
+    private final boolean stateless;
+    private Map<Object, Map<Object, Object>> caches;    // created on first use: many components are never instantiated
 
     ComponentCacheImpl(final Log<ComponentCacheImpl> log, boolean stateless) {
         this.log = log;
-        this.caches = stateless ? new WeakHashMap<>() : null;
+        this.stateless = stateless;
     }
 
     public Object lookup(final Domain domain, final String source, final ComponentContext context, final Class<?> api, final Supplier factory) {
         assert context != null : api;
-        final boolean stateful = caches == null;
+        Map<Object, Object> cache;
 
-        Map<String, Object> cache;
-
-        if (stateful) {
+        if (!stateless) {
             cache = factory == null ? null : new HashMap<>();
         } else {
-            synchronized (caches) {
-                cache = caches.get(domain);
+            synchronized (this) {
+                cache = caches == null ? null : caches.get(domain);
 
                 if (cache == null && factory != null) {
+                    if (caches == null) {
+                        caches = new WeakHashMap<>();
+                    }
+
                     caches.put(domain, cache = new HashMap<>());
                 }
             }
@@ -63,13 +66,13 @@ final class ComponentCacheImpl implements ComponentCache {
     }
 
     private synchronized Object lookup(final Domain domain,
-                                       final Map<String, Object> cache,
+                                       final Map<Object, Object> cache,
                                        final String source,
                                        final ComponentContext context,
                                        final Class<?> api,
                                        final Supplier factory,
                                        final Log log) {
-        final String key = context.key();
+        final Object key = context.identity();
 
         if (factory != null) {
             if (!cache.containsKey(key)) {
@@ -80,7 +83,7 @@ final class ComponentCacheImpl implements ComponentCache {
 
                     assert domain != null;
 
-                    if (!domain.quiet() && !ComponentFactory.class.isAssignableFrom(api) && !ComponentInterceptor.class.isAssignableFrom(api)) {
+                    if (!domain.quiet() && log.isDebugEnabled() && !ComponentFactory.class.isAssignableFrom(api) && !ComponentInterceptor.class.isAssignableFrom(api)) {
                         domain.log(log,
                                    "%s: using %s%s",
                                    source,
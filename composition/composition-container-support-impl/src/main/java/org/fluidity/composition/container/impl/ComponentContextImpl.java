@@ -17,31 +17,94 @@
 package org.fluidity.composition.container.impl;
 
 import java.lang.annotation.Annotation;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Array;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.fluidity.composition.ComponentContainer;
 import org.fluidity.composition.ComponentContext;
 import org.fluidity.foundation.Deferred;
 
 /**
+ * Immutable component context. Instances are interned by {@link #intern(Map)}, and equal contexts thus share the same instance and the same {@link
+ * #identity() identity}. Keys compare by identity and have their hash code computed once, which makes them cheap to use in the component caches.
+ *
  * @author Tibor Varga
  */
 final class ComponentContextImpl implements ComponentContext {
 
+    private static final ComponentContextImpl EMPTY = new ComponentContextImpl(Collections.emptyMap(), AnnotationMaps.hashCode(Collections.emptyMap()));
+
+    private static final ConcurrentMap<Object, KeyReference> interned = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<Key> collected = new ReferenceQueue<>();
+
     private final Map<Class<? extends Annotation>, Annotation[]> annotations = new HashMap<>();
 
-    private final Deferred.Reference<Integer> hashCode = Deferred.shared(() -> AnnotationMaps.hashCode(annotations));
+    private final int hashCode;
+    private final Key key;
+
     private final Deferred.Reference<String> identity = Deferred.shared(() -> AnnotationMaps.identity(annotations));
     private final Deferred.Reference<String> descriptor = Deferred.shared(() -> AnnotationMaps.descriptor(annotations));
 
-    ComponentContextImpl(final Map<Class<? extends Annotation>, Annotation[]> map) {
+    private ComponentContextImpl(final Map<Class<? extends Annotation>, Annotation[]> map, final int hashCode) {
         for (final Map.Entry<Class<? extends Annotation>, Annotation[]> entry : map.entrySet()) {
             annotations.put(entry.getKey(), entry.getValue().clone());
         }
+
+        this.hashCode = hashCode;
+        this.key = new Key(this);
+    }
+
+    /**
+     * Returns the canonical context for the given map of annotations.
+     *
+     * @param map the annotations that make up the context.
+     *
+     * @return the canonical context; never <code>null</code>.
+     */
+    static ComponentContextImpl intern(final Map<Class<? extends Annotation>, Annotation[]> map) {
+        if (map.isEmpty()) {
+            return EMPTY;
+        }
+
+        final int hashCode = AnnotationMaps.hashCode(map);
+
+        final KeyReference found = interned.get(new Probe(map, hashCode));
+        final Key present = found == null ? null : found.get();
+
+        if (present != null) {
+            return present.context;
+        }
+
+        for (Reference<? extends Key> reference; (reference = collected.poll()) != null; ) {
+            interned.remove(reference, reference);
+        }
+
+        final ComponentContextImpl context = new ComponentContextImpl(map, hashCode);
+        final KeyReference reference = new KeyReference(context.key, collected);
+
+        while (true) {
+            final KeyReference previous = interned.putIfAbsent(reference, reference);
+
+            if (previous == null) {
+                return context;
+            }
+
+            final Key other = previous.get();
+
+            if (other != null) {
+                return other.context;
+            }
+
+            interned.remove(previous, previous);
+        }
     }
 
     @Override
@@ -88,6 +151,11 @@ final class ComponentContextImpl implements ComponentContext {
         return identity.get();
     }
 
+    @Override
+    public Object identity() {
+        return key;
+    }
+
     @Override
     public String descriptor() {
         return descriptor.get();
@@ -105,6 +173,94 @@ final class ComponentContextImpl implements ComponentContext {
 
     @Override
     public int hashCode() {
-        return hashCode.get();
+        return hashCode;
+    }
+
+    /**
+     * The identity of an interned context. Equality is identity.
+     *
+     * @author Tibor Varga
+     */
+    private static final class Key {
+
+        final ComponentContextImpl context;
+
+        Key(final ComponentContextImpl context) {
+            this.context = context;
+        }
+
+        @Override
+        public int hashCode() {
+            return context.hashCode;
+        }
+
+        @Override
+        public String toString() {
+            return context.toString();
+        }
+    }
+
+    /**
+     * Weakly references an interned context key. Two references are equal if they refer to contexts with the same annotations.
+     *
+     * @author Tibor Varga
+     */
+    private static final class KeyReference extends WeakReference<Key> {
+
+        private final int hashCode;
+
+        KeyReference(final Key key, final ReferenceQueue<Key> queue) {
+            super(key, queue);
+            this.hashCode = key.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            if (this == object) {
+                return true;
+            } else if (object instanceof KeyReference) {
+                final Key key1 = get();
+                final Key key2 = ((KeyReference) object).get();
+                return key1 != null && key2 != null && (key1 == key2 || AnnotationMaps.equal(key1.context.annotations, key2.context.annotations));
+            } else {
+                return false;
+            }
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * Looks up an interned context by a map of annotations without copying that map.
+     *
+     * @author Tibor Varga
+     */
+    private static final class Probe {
+
+        private final Map<Class<? extends Annotation>, Annotation[]> map;
+        private final int hashCode;
+
+        Probe(final Map<Class<? extends Annotation>, Annotation[]> map, final int hashCode) {
+            this.map = map;
+            this.hashCode = hashCode;
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            if (object instanceof KeyReference) {
+                final Key key = ((KeyReference) object).get();
+                return key != null && AnnotationMaps.equal(map, key.context.annotations);
+            } else {
+                return false;
+            }
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
     }
 }
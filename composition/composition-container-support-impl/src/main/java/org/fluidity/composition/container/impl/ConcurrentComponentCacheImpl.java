@@ -0,0 +1,305 @@
+/*
+ * Copyright (c) 2006-2018 Tibor Adam Varga (tibor.adam.varga on gmail)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fluidity.composition.container.impl;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import org.fluidity.composition.ComponentContext;
+import org.fluidity.composition.container.ComponentCache;
+import org.fluidity.composition.spi.ComponentFactory;
+import org.fluidity.composition.spi.ComponentInterceptor;
+import org.fluidity.foundation.Log;
+import org.fluidity.foundation.Strings;
+
+/**
+ * Component cache that takes no lock on cache hits. Concurrent cache misses for the same context are resolved by the first thread to arrive while the others
+ * wait for its result; misses for different contexts proceed in parallel. Domains are held by weak references, just as in {@link ComponentCacheImpl}.
+ *
+ * @author Tibor Varga
+ */
+final class ConcurrentComponentCacheImpl implements ComponentCache {
+
+    private static final Object NULL = new Object();
+
+    private final Log log;
+    private final boolean stateless;
+
+    // created on first use: many components are never instantiated; collected is written before the volatile caches
+    private volatile ConcurrentMap<Object, ConcurrentMap<Object, Object>> caches;
+    private ReferenceQueue<Domain> collected;
+
+    ConcurrentComponentCacheImpl(final Log<ConcurrentComponentCacheImpl> log, boolean stateless) {
+        this.log = log;
+        this.stateless = stateless;
+    }
+
+    public Object lookup(final Domain domain, final String source, final ComponentContext context, final Class<?> api, final Supplier factory) {
+        assert context != null : api;
+
+        if (!stateless) {
+            return factory == null ? null : created(domain, source, context, api, factory.get());
+        }
+
+        final ConcurrentMap<Object, ConcurrentMap<Object, Object>> caches = factory == null ? this.caches : caches();
+
+        if (caches == null) {
+            return null;
+        }
+
+        ConcurrentMap<Object, Object> cache = caches.get(new DomainKey(domain));
+
+        if (cache == null) {
+            if (factory == null) {
+                return null;
+            }
+
+            expunge(caches);
+
+            final ConcurrentMap<Object, Object> created = new ConcurrentHashMap<>();
+            cache = caches.putIfAbsent(new DomainReference(domain, collected), created);
+
+            if (cache == null) {
+                cache = created;
+            }
+        }
+
+        return lookup(cache, domain, source, context, api, factory);
+    }
+
+    private Object lookup(final ConcurrentMap<Object, Object> cache,
+                          final Domain domain,
+                          final String source,
+                          final ComponentContext context,
+                          final Class<?> api,
+                          final Supplier factory) {
+        final Object key = context.identity();
+
+        while (true) {
+            final Object cached = cache.get(key);
+
+            if (cached instanceof Pending) {
+                final Pending pending = (Pending) cached;
+
+                // re-entrant resolution of the same component, as in case of circular references, possibly through other threads: the inner call wins
+                if (pending.owner == Thread.currentThread() || !Pending.await(pending)) {
+                    if (factory == null) {
+                        return null;
+                    } else {
+                        final Object component = factory.get();
+                        pending.complete(component);
+                        return component;
+                    }
+                }
+
+                final Object component;
+
+                try {
+                    component = pending.join();
+                } finally {
+                    Pending.done();
+                }
+
+                if (component != Pending.FAILED) {
+                    return component;
+                }
+            } else if (cached != null) {
+                return cached == NULL ? null : cached;
+            } else if (factory == null) {
+                return null;
+            } else {
+                final Pending pending = new Pending();
+
+                if (cache.putIfAbsent(key, pending) == null) {
+                    final Object component;
+
+                    try {
+                        pending.complete(factory.get());
+                    } catch (final RuntimeException | Error e) {
+                        cache.remove(key, pending);
+                        pending.complete(Pending.FAILED);
+                        throw e;
+                    }
+
+                    component = pending.join();
+                    cache.replace(key, pending, component == null ? NULL : component);
+
+                    return created(domain, source, context, api, component);
+                }
+            }
+        }
+    }
+
+    private Object created(final Domain domain, final String source, final ComponentContext context, final Class<?> api, final Object component) {
+        assert domain != null;
+
+        if (!domain.quiet() && log.isDebugEnabled() && !ComponentFactory.class.isAssignableFrom(api) && !ComponentInterceptor.class.isAssignableFrom(api)) {
+            domain.log(log,
+                       "%s: using %s%s",
+                       source,
+                       component == null ? String.format("no %s", api.getName()) : Strings.formatId(component),
+                       context.types().isEmpty() ? "" : String.format(" for %s", context.descriptor()));
+        }
+
+        return component;
+    }
+
+    private ConcurrentMap<Object, ConcurrentMap<Object, Object>> caches() {
+        ConcurrentMap<Object, ConcurrentMap<Object, Object>> caches = this.caches;
+
+        if (caches == null) {
+            synchronized (this) {
+                caches = this.caches;
+
+                if (caches == null) {
+                    collected = new ReferenceQueue<>();
+                    this.caches = caches = new ConcurrentHashMap<>();
+                }
+            }
+        }
+
+        return caches;
+    }
+
+    private void expunge(final ConcurrentMap<Object, ConcurrentMap<Object, Object>> caches) {
+        for (Reference<? extends Domain> reference; (reference = collected.poll()) != null; ) {
+            caches.remove(reference);
+        }
+    }
+
+    /**
+     * A component being instantiated by the {@link #owner} thread.
+     * <p>
+     * Threads waiting for another one to instantiate a component are recorded so that mutually dependent components instantiated by different threads at the
+     * same time do not deadlock. A thread that would close a cycle of threads waiting for one another instead proceeds as if it were re-entering the
+     * instantiation it waits for; the other threads of the cycle all wait for it, hence the components of the cycle get resolved one thread at a time, as
+     * with {@link ComponentCacheImpl}.
+     * <p>
+     * Each thread records what it waits for in its own {@link Waiter}, before looking for a cycle, so of two threads about to close a cycle at the same time
+     * at least one sees it. Should both see it, both proceed and the component instantiated first is the one used.
+     *
+     * @author Tibor Varga
+     */
+    private static final class Pending extends CompletableFuture<Object> {
+
+        static final Object FAILED = new Object();
+
+        private static final ThreadLocal<Waiter> waiters = ThreadLocal.withInitial(Waiter::new);
+
+        final Thread owner = Thread.currentThread();
+        final Waiter waiter = waiters.get();
+
+        /**
+         * Records that the current thread is about to wait for the given instantiation, unless that would close a cycle of waiting threads.
+         *
+         * @param pending the instantiation to wait for.
+         *
+         * @return <code>true</code> if the current thread may wait for the instantiation; <code>false</code> if waiting would deadlock.
+         */
+        static boolean await(final Pending pending) {
+            final Waiter current = waiters.get();
+            current.pending = pending;
+
+            for (Pending next = pending; next != null; next = next.waiter.pending) {
+                if (next.waiter == current) {
+                    current.pending = null;
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        /**
+         * Records that the current thread no longer waits for an instantiation.
+         */
+        static void done() {
+            waiters.get().pending = null;
+        }
+    }
+
+    /**
+     * The instantiation a thread is waiting for.
+     *
+     * @author Tibor Varga
+     */
+    private static final class Waiter {
+
+        volatile Pending pending;
+    }
+
+    /**
+     * Weakly references a domain in the map of domain caches. Equality is the identity of the referenced domain.
+     *
+     * @author Tibor Varga
+     */
+    private static final class DomainReference extends WeakReference<Domain> {
+
+        private final int hash;
+
+        DomainReference(final Domain domain, final ReferenceQueue<Domain> queue) {
+            super(domain, queue);
+            this.hash = System.identityHashCode(domain);
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            if (this == object) {
+                return true;
+            } else if (object instanceof DomainReference) {
+                final Domain domain = get();
+                return domain != null && domain == ((DomainReference) object).get();
+            } else {
+                return false;
+            }
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Looks up a domain in the map of domain caches without allocating a weak reference.
+     *
+     * @author Tibor Varga
+     */
+    private static final class DomainKey {
+
+        private final Domain domain;
+
+        DomainKey(final Domain domain) {
+            this.domain = domain;
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            return object instanceof DomainReference && ((DomainReference) object).get() == domain;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(domain);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2006-2018 Tibor Adam Varga (tibor.adam.varga on gmail)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fluidity.composition.container.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.WeakHashMap;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+
+import org.fluidity.composition.Component;
+import org.fluidity.foundation.Archives;
+import org.fluidity.foundation.ClassLoaders;
+import org.fluidity.foundation.security.Security;
+
+/**
+ * The constructor index generated at build time by the <code>composition-maven-plugin</code>: for each component class, the CRC-32 checksum of its class file
+ * and the parameter types of the constructor to inject. The indexes visible to a class loader are loaded on first use and then kept for as long as the class
+ * loader is reachable. Each class is looked up in the index of the archive that contains the class, and the constructor is returned only if the class file
+ * still has the indexed checksum: any change to the class, including to its constructors' annotations or visibility, invalidates its index entry.
+ * <p>
+ * For classes not in the index, or with a stale index entry, the caller is expected to fall back to discovering the constructor by reflection.
+ *
+ * @author Tibor Varga
+ */
+final class ConstructorIndex {
+
+    private static final Map<String, Class<?>> PRIMITIVES = new HashMap<>();
+
+    static {
+        for (final Class<?> type : new Class<?>[] { boolean.class, byte.class, char.class, short.class, int.class, long.class, float.class, double.class }) {
+            PRIMITIVES.put(type.getName(), type);
+        }
+    }
+
+    private final Map<ClassLoader, Map<String, Map<String, String>>> indexes = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Returns the indexed constructor of the given class.
+     *
+     * @param type the class to find the constructor of.
+     *
+     * @return the indexed constructor; or <code>null</code> if the class is not indexed or the index is stale.
+     */
+    Constructor<?> constructor(final Class<?> type) {
+        final ClassLoader loader = Security.invoke(type::getClassLoader);
+
+        if (loader == null) {
+            return null;
+        }
+
+        Map<String, Map<String, String>> archives = indexes.get(loader);
+
+        if (archives == null) {
+
+            // loaded outside the lock; a concurrent load of the same indexes is harmless
+            final Map<String, Map<String, String>> loaded = load(loader);
+            final Map<String, Map<String, String>> present = indexes.putIfAbsent(loader, loaded);
+
+            archives = present == null ? loaded : present;
+        }
+
+        if (archives.isEmpty()) {
+            return null;
+        }
+
+        final URL resource = ClassLoaders.findClassResource(type);
+        final URL archive = resource == null ? null : archive(resource, ClassLoaders.classResourceName(type));
+        final Map<String, String> index = archive == null ? null : archives.get(archive.toExternalForm());
+        final String entry = index == null ? null : index.get(type.getName());
+
+        if (entry == null) {
+            return null;
+        }
+
+        final int separator = entry.indexOf(':');
+
+        try {
+            if (separator < 0 || Long.parseLong(entry.substring(0, separator), 16) != checksum(resource)) {
+                return null;
+            }
+
+            final String parameters = entry.substring(separator + 1);
+            final String[] names = parameters.isEmpty() ? new String[0] : parameters.split(",");
+            final Class<?>[] types = new Class<?>[names.length];
+
+            for (int i = 0; i < names.length; i++) {
+                final Class<?> primitive = PRIMITIVES.get(names[i]);
+                types[i] = primitive != null ? primitive : Class.forName(names[i], false, loader);
+            }
+
+            return Security.invoke(NoSuchMethodException.class, () -> type.getDeclaredConstructor(types));
+        } catch (final IOException | ClassNotFoundException | NoSuchMethodException | NumberFormatException | LinkageError e) {
+
+            // stale index: the constructor will be discovered
+            return null;
+        }
+    }
+
+    /**
+     * Computes the CRC-32 checksum of the resource at the given URL. The <code>composition-maven-plugin</code> computes the same checksum of each indexed
+     * class file.
+     *
+     * @param url the URL of the resource.
+     *
+     * @return the CRC-32 checksum of the resource contents.
+     *
+     * @throws IOException when reading the resource fails.
+     */
+    static long checksum(final URL url) throws IOException {
+        final CRC32 checksum = new CRC32();
+
+        try (final InputStream stream = new CheckedInputStream(Archives.open(url, true), checksum)) {
+            final byte[] buffer = new byte[8192];
+
+            //noinspection StatementWithEmptyBody
+            while (stream.read(buffer) != -1) { }
+        }
+
+        return checksum.getValue();
+    }
+
+    private static URL archive(final URL url, final String resource) {
+        final URL archive = Archives.containing(url);
+
+        if (archive != null) {
+            return archive;
+        } else {
+            final StringBuilder relative = new StringBuilder();
+
+            for (int i = 0, limit = resource.split("/").length - 1; i < limit; i++) {
+                relative.append("../");
+            }
+
+            try {
+                return new URL(url, relative.toString());
+            } catch (final MalformedURLException e) {
+                return null;
+            }
+        }
+    }
+
+    private static Map<String, Map<String, String>> load(final ClassLoader loader) {
+        final Map<String, Map<String, String>> indexes = new HashMap<>();
+
+        try {
+            for (final URL url : ClassLoaders.findResources(loader, Component.CONSTRUCTORS)) {
+                final URL archive = archive(url, Component.CONSTRUCTORS);
+
+                if (archive != null) {
+                    final Properties properties = new Properties();
+
+                    try (final InputStream stream = Archives.open(url, true)) {
+                        properties.load(stream);
+                    }
+
+                    final Map<String, String> index = new HashMap<>();
+
+                    for (final String name : properties.stringPropertyNames()) {
+                        index.put(name, properties.getProperty(name));
+                    }
+
+                    indexes.putIfAbsent(archive.toExternalForm(), index);
+                }
+            }
+        } catch (final IOException e) {
+
+            // no index: constructors will be discovered
+            return Collections.emptyMap();
+        }
+
+        return indexes.isEmpty() ? Collections.emptyMap() : indexes;
+    }
+}
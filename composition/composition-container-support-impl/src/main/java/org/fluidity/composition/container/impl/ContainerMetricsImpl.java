@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2006-2018 Tibor Adam Varga (tibor.adam.varga on gmail)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fluidity.composition.container.impl;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.fluidity.composition.container.ContainerMetrics;
+
+/**
+ * Collects resolution metrics in striped counters so that concurrent resolutions do not contend on a shared counter. Metrics are kept for the lifetime of the
+ * container services, which is that of the containers using them, but no longer than the component interface or class they are collected for: metrics are
+ * attached to the class with a {@link ClassValue}, and only weakly referenced otherwise, so that they do not keep class loaders from being collected.
+ *
+ * @author Tibor Varga
+ */
+final class ContainerMetricsImpl implements ContainerMetrics {
+
+    private volatile Components components = new Components();
+
+    public void resolved(final Class<?> api, final long nanos) {
+        components.get(api).resolutions.record(nanos);
+    }
+
+    public void grouped(final Class<?> api, final long nanos) {
+        components.get(api).groups.record(nanos);
+    }
+
+    public void instantiated(final Class<?> type, final long nanos) {
+        components.get(type).instantiations.record(nanos);
+    }
+
+    public void cached(final Class<?> api, final boolean hit) {
+        final Metrics metrics = components.get(api);
+        (hit ? metrics.hits : metrics.misses).increment();
+    }
+
+    public Collection<Component> components() {
+        final List<Component> list = new ArrayList<>();
+
+        for (final Reference<Metrics> reference : components.collected) {
+            final Metrics metrics = reference.get();
+
+            if (metrics != null) {
+                list.add(metrics);
+            }
+        }
+
+        return list;
+    }
+
+    public void reset() {
+        components = new Components();
+    }
+
+    /**
+     * Returns the index of the histogram bucket for the given duration.
+     *
+     * @param nanos the duration in nanoseconds.
+     *
+     * @return the index of the histogram bucket.
+     */
+    static int bucket(final long nanos) {
+        final long micros = nanos / 1000;
+        return micros <= 0 ? 0 : Math.min(Long.SIZE - Long.numberOfLeadingZeros(micros), BUCKETS - 1);
+    }
+
+    /**
+     * Metrics attached to component interfaces and classes. The metrics created are also weakly referenced for {@link ContainerMetricsImpl#components()}.
+     *
+     * @author Tibor Varga
+     */
+    private static final class Components extends ClassValue<Metrics> {
+
+        final Set<Reference<Metrics>> collected = ConcurrentHashMap.newKeySet();
+        private final ReferenceQueue<Metrics> cleared = new ReferenceQueue<>();
+
+        @Override
+        protected Metrics computeValue(final Class<?> type) {
+            for (Reference<? extends Metrics> reference; (reference = cleared.poll()) != null; ) {
+                collected.remove(reference);
+            }
+
+            final Metrics metrics = new Metrics(type);
+            collected.add(new WeakReference<>(metrics, cleared));
+
+            return metrics;
+        }
+    }
+
+    /**
+     * @author Tibor Varga
+     */
+    private static final class Metrics implements Component {
+
+        final Class<?> type;
+
+        final Timer resolutions = new Timer();
+        final Timer groups = new Timer();
+        final Timer instantiations = new Timer();
+
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+
+        Metrics(final Class<?> type) {
+            this.type = type;
+        }
+
+        public Class<?> type() {
+            return type;
+        }
+
+        public Statistics resolutions() {
+            return resolutions;
+        }
+
+        public Statistics groups() {
+            return groups;
+        }
+
+        public Statistics instantiations() {
+            return instantiations;
+        }
+
+        public long hits() {
+            return hits.sum();
+        }
+
+        public long misses() {
+            return misses.sum();
+        }
+    }
+
+    /**
+     * @author Tibor Varga
+     */
+    private static final class Timer implements Statistics {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+        void record(final long duration) {
+            count.increment();
+            nanos.add(duration);
+            histogram.incrementAndGet(bucket(duration));
+        }
+
+        public long count() {
+            return count.sum();
+        }
+
+        public long nanos() {
+            return nanos.sum();
+        }
+
+        public long[] histogram() {
+            final long[] buckets = new long[BUCKETS];
+
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = histogram.get(i);
+            }
+
+            return buckets;
+        }
+    }
+}
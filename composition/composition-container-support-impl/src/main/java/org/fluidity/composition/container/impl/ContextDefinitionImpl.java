@@ -220,7 +220,7 @@ final class ContextDefinitionImpl implements ContextDefinition {
 
     @Override
     public ComponentContext create(final Map<Class<? extends Annotation>, Annotation[]> map) {
-        return new ComponentContextImpl(map);
+        return ComponentContextImpl.intern(map);
     }
 
     private void copy(final Map<Class<? extends Annotation>, Annotation[]> in, final Map<Class<? extends Annotation>, Annotation[]> out) {
@@ -289,7 +289,11 @@ final class ContextDefinitionImpl implements ContextDefinition {
 
         @Override
         public boolean equals(final Object obj) {
-            return obj instanceof Component.Reference && Objects.equals(canonical, ((Component.Reference) obj).type());
+            if (obj instanceof ComponentReference) {
+                return Objects.equals(canonical, ((ComponentReference) obj).canonical);
+            } else {
+                return obj instanceof Component.Reference && Objects.equals(canonical, Generics.canonicalType(((Component.Reference) obj).type()));
+            }
         }
 
         @Override
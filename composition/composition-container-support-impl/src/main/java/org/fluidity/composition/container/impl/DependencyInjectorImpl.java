@@ -30,7 +30,6 @@ import java.util.Arrays;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Consumer;
 
 import org.fluidity.composition.Component;
 import org.fluidity.composition.ComponentContainer;
@@ -40,6 +39,7 @@ import org.fluidity.composition.Components;
 import org.fluidity.composition.Inject;
 import org.fluidity.composition.Optional;
 import org.fluidity.composition.container.AccessGuard;
+import org.fluidity.composition.container.ContainerMetrics;
 import org.fluidity.composition.container.ContextDefinition;
 import org.fluidity.composition.container.DependencyInjector;
 import org.fluidity.composition.container.ResolvedNode;
@@ -65,9 +65,19 @@ import static org.fluidity.composition.ComponentContainer.ResolutionException;
 final class DependencyInjectorImpl implements DependencyInjector {
 
     private final DependencyInterceptors interceptors;
+    private final ContainerMetrics metrics;
+    private final ConstructorIndex index = new ConstructorIndex();
 
-    DependencyInjectorImpl(final DependencyInterceptors interceptors) {
+    private final ClassValue<ResolutionPlan> plans = new ClassValue<ResolutionPlan>() {
+        @Override
+        protected ResolutionPlan computeValue(final Class<?> type) {
+            return new ResolutionPlan(type);
+        }
+    };
+
+    DependencyInjectorImpl(final DependencyInterceptors interceptors, final ContainerMetrics metrics) {
         this.interceptors = interceptors;
+        this.metrics = metrics;
     }
 
     public AccessGuard<ComponentContainer> containerGuard() {
@@ -170,6 +180,19 @@ final class DependencyInjectorImpl implements DependencyInjector {
     }
 
     public Constructor<?> findConstructor(final Class<?> componentClass) throws ResolutionException {
+        final ResolutionPlan plan = plans.get(componentClass);
+
+        Constructor<?> found = plan.constructor;
+
+        if (found == null) {
+            final Constructor<?> indexed = index.constructor(componentClass);
+            plan.constructor = found = indexed != null ? indexed : discoverConstructor(componentClass);
+        }
+
+        return found;
+    }
+
+    private Constructor<?> discoverConstructor(final Class<?> componentClass) throws ResolutionException {
         Constructor<?> found = null;
 
         final List<Constructor<?>> privateConstructors = new ArrayList<>();
@@ -272,24 +295,20 @@ final class DependencyInjectorImpl implements DependencyInjector {
         final List<ContextDefinition> consumed = new ArrayList<>();
 
         final Class<?> componentClass = constructor.getDeclaringClass();
+        final ResolutionPlan.Parameters plan = plans.get(componentClass).parameters(constructor);
 
-        final Generics.Parameters descriptor = Generics.describe(constructor);
-
-        final Class[] params = constructor.getParameterTypes();
-        final Annotation[] constructorAnnotations = Lists.notNull(Annotation.class, constructor.getAnnotations());
-
-        final DependencyGraph.Node[] parameters = new DependencyGraph.Node[params.length];
+        final DependencyGraph.Node[] parameters = new DependencyGraph.Node[plan.types.length];
 
         final AccessGuard<ComponentContainer> guard = containerGuard();
 
-        for (int i = 0, length = params.length; i < length; ++i) {
+        for (int i = 0, length = parameters.length; i < length; ++i) {
             final int index = i;
             consumed.add(injectDependency(true, traversal, container, contexts, context, componentClass, guard, new Dependency() {
 
-                private final Annotation[] annotations = Lists.concatenate(Annotation.class, constructorAnnotations, descriptor.annotations(index));
+                private final Annotation[] annotations = plan.annotations[index];
 
                 public Type reference() {
-                    return descriptor.genericType(index);
+                    return plan.types[index];
                 }
 
                 public <T extends Annotation> T annotation(final Class<T> annotationClass) {
@@ -297,7 +316,7 @@ final class DependencyInjectorImpl implements DependencyInjector {
                 }
 
                 public Annotation[] annotations() {
-                    return annotations;
+                    return annotations.clone();
                 }
 
                 public void set(final DependencyGraph.Node node) {
@@ -330,7 +349,7 @@ final class DependencyInjectorImpl implements DependencyInjector {
             }
 
             private Object instantiate(final DependencyGraph.Traversal traversal) {
-                final Object[] arguments = arguments(constructor.getDeclaringClass(), traversal, parameters);
+                final Object[] arguments = arguments(componentClass, traversal, parameters);
 
                 final Object cached = container.cached(api, componentContext);
 
@@ -339,7 +358,7 @@ final class DependencyInjectorImpl implements DependencyInjector {
 
                     final Deferred.Label label = Deferred.label(() -> String.format("Invoking %s with %s", constructor, Strings.formatId(arguments)));
                     return traversal.instantiated(componentClass,
-                                                  Exceptions.wrap(label, ResolutionException.class, () -> Security.access(constructor).newInstance(arguments)));
+                                                  Exceptions.wrap(label, ResolutionException.class, () -> newInstance(componentClass, plan.constructor, arguments)));
                 } else {
                     return cached;
                 }
@@ -347,6 +366,20 @@ final class DependencyInjectorImpl implements DependencyInjector {
         };
     }
 
+    private Object newInstance(final Class<?> type, final Constructor<?> constructor, final Object[] arguments) throws Exception {
+        if (metrics == null) {
+            return constructor.newInstance(arguments);
+        } else {
+            final long started = System.nanoTime();
+
+            try {
+                return constructor.newInstance(arguments);
+            } finally {
+                metrics.instantiated(type, System.nanoTime() - started);
+            }
+        }
+    }
+
     private Object injectFields(final Map<Field, DependencyGraph.Node> fields, final DependencyGraph.Traversal traversal, final Object instance) {
         final Deferred.Label label = Deferred.label(() -> String.format("Setting %s fields", Strings.formatClass(false, true, instance.getClass())));
 
@@ -390,24 +423,6 @@ final class DependencyInjectorImpl implements DependencyInjector {
         return values;
     }
 
-    private void processFields(final Class<?> type, final Consumer<Field> command) {
-        for (final Field field : Security.invoke(type::getDeclaredFields)) {
-            if ((field.getModifiers() & Modifier.FINAL) != 0) {
-                continue;
-            }
-
-            if (field.isAnnotationPresent(Inject.class)) {
-                command.accept(Security.access(field));
-            }
-        }
-
-        final Class<?> ancestor = type.getSuperclass();
-
-        if (ancestor != null) {
-            processFields(ancestor, command);
-        }
-    }
-
     private List<ContextDefinition> resolveFields(final DependencyGraph.Traversal traversal,
                                                   final DependencyResolver container,
                                                   final ContextNode contexts,
@@ -415,25 +430,31 @@ final class DependencyInjectorImpl implements DependencyInjector {
                                                   final Class<?> declaringType,
                                                   final Map<Field, DependencyGraph.Node> nodes,
                                                   final AccessGuard<ComponentContainer> guard) {
-        final List<ContextDefinition> consumed = new ArrayList<>();
+        final ResolutionPlan plan = plans.get(declaringType);
+        final List<ContextDefinition> consumed = new ArrayList<>(plan.fields.length);
 
-        processFields(declaringType, field -> consumed.add(injectDependency(false, traversal, container, contexts, context, declaringType, guard, new Dependency() {
-            public Type reference() {
-                return field.getGenericType();
-            }
+        for (int i = 0, limit = plan.fields.length; i < limit; i++) {
+            final Field field = plan.fields[i];
+            final Annotation[] annotations = plan.fieldAnnotations[i];
 
-            public <T extends Annotation> T annotation(final Class<T> annotationClass) {
-                return field.getAnnotation(annotationClass);
-            }
+            consumed.add(injectDependency(false, traversal, container, contexts, context, declaringType, guard, new Dependency() {
+                public Type reference() {
+                    return field.getGenericType();
+                }
 
-            public Annotation[] annotations() {
-                return field.getAnnotations();
-            }
+                public <T extends Annotation> T annotation(final Class<T> annotationClass) {
+                    return find(annotations, annotationClass);
+                }
 
-            public void set(final DependencyGraph.Node node) {
-                nodes.put(field, node);
-            }
-        })));
+                public Annotation[] annotations() {
+                    return annotations.clone();
+                }
+
+                public void set(final DependencyGraph.Node node) {
+                    nodes.put(field, node);
+                }
+            }));
+        }
 
         return consumed;
     }
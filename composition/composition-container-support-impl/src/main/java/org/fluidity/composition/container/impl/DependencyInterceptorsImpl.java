@@ -16,9 +16,19 @@
 
 package org.fluidity.composition.container.impl;
 
+import java.lang.annotation.Annotation;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.GenericDeclaration;
+import java.lang.reflect.Member;
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.fluidity.composition.Component;
@@ -32,8 +42,16 @@ import org.fluidity.composition.spi.Dependency;
 import org.fluidity.foundation.Generics;
 import org.fluidity.foundation.Log;
 import org.fluidity.foundation.Strings;
+import org.fluidity.foundation.security.Security;
 
 /**
+ * Applies the applicable {@link ComponentInterceptor component interceptors} to dependencies. Which interceptors apply, and in what order, depends only on the
+ * classes of the interceptors found, on the order of qualifiers in the dependency's context definition, and on the dependency reference; that interceptor chain
+ * is therefore computed once for each such combination and then reused for every later resolution of the same dependency.
+ * <p>
+ * The chains are kept with the raw type of the dependency reference, and thus live only as long as that class does. Only chains that refer to no class other
+ * than those visible to that class are kept so that no class loader is kept reachable by another's classes, and only a limited number of them for each class.
+ *
  * @author Tibor Varga
  */
 @Component(automatic = false)
@@ -47,6 +65,17 @@ final class DependencyInterceptorsImpl implements DependencyInterceptors {
     private final InterceptorFilter annotations;
     private final Log log;
 
+    // the maximum number of interceptor chains kept for any dependency type
+    private static final int CHAINS_LIMIT = 64;
+
+    // indexes of the applicable interceptors, in order of application, into the array of resolved interceptors, for each raw dependency type
+    private final ClassValue<Map<Chain, int[]>> chains = new ClassValue<Map<Chain, int[]>>() {
+        @Override
+        protected Map<Chain, int[]> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     DependencyInterceptorsImpl(final InterceptorFilter annotations, final Log log) {
         this.annotations = annotations;
         this.log = log;
@@ -77,9 +106,10 @@ final class DependencyInterceptorsImpl implements DependencyInterceptors {
             return null;
         }
 
-        final ComponentInterceptor[] interceptors = annotations.filter(context, interceptors(container, traversal));
+        final ComponentInterceptor[] found = interceptors(container, traversal);
+        final int[] chain = chain(context, reference, found);
 
-        if (interceptors.length > 0) {
+        if (chain.length > 0) {
 
             final AtomicReference<Dependency> last = new AtomicReference<>(Dependency.to(node::type, () -> {
                 throw new ComponentContainer.ResolutionException("Dependency access during interception");
@@ -88,26 +118,26 @@ final class DependencyInterceptorsImpl implements DependencyInterceptors {
             final AtomicReference<Dependency> next = new AtomicReference<>(Dependency.to(() -> last.get().type(),
                                                                                          () -> last.get().instance()));
 
-            final List<String> applied = new ArrayList<>();
+            for (final int index : chain) {
+                final ComponentInterceptor interceptor = found[index];
+                final Dependency dependency = interceptor.intercept(reference, context.copy().accept(interceptor.getClass()).create(), next.get());
 
-            for (final ComponentInterceptor interceptor : interceptors) {
-                final Type type = Generics.typeParameter(Generics.specializedType(interceptor.getClass(), ComponentInterceptor.class), 0);
+                if (dependency == null) {
+                    return null;
+                }
 
-                if (type == Object.class || Generics.isAssignable(reference, type)) {
-                    final Dependency dependency = interceptor.intercept(reference,
-                                                                        context.copy().accept(interceptor.getClass()).create(),
-                                                                        next.get());
+                next.set(dependency);
+            }
 
-                    if (dependency == null) {
-                        return null;
-                    }
+            if (log.isDebugEnabled()) {
+                final List<String> applied = new ArrayList<>(chain.length);
 
-                    next.set(dependency);
-                    applied.add(Strings.formatClass(false, false, interceptor.getClass()));
+                for (final int index : chain) {
+                    applied.add(Strings.formatClass(false, false, found[index].getClass()));
                 }
-            }
 
-            log.debug("%s: interceptors for %s: %s", container, context, applied);
+                log.debug("%s: interceptors for %s: %s", container, context, applied);
+            }
 
             return new DependencyGraph.Node() {
                 public Class<?> type() {
@@ -127,4 +157,171 @@ final class DependencyInterceptorsImpl implements DependencyInterceptors {
             return node;
         }
     }
+
+    /**
+     * Returns the indexes, in order of application, of the interceptors that apply to the given dependency reference in the given context.
+     *
+     * @param context   the context of the dependency.
+     * @param reference the dependency reference.
+     * @param found     the interceptors visible to the dependency.
+     *
+     * @return the indexes into <code>found</code>; never <code>null</code>.
+     */
+    private int[] chain(final ContextDefinition context, final Type reference, final ComponentInterceptor[] found) {
+        final Chain key = new Chain(found, context.defined(), reference);
+        final Class<?> host = Generics.rawType(reference);
+        final Map<Chain, int[]> cache = host == null ? null : chains.get(host);
+        final int[] cached = cache == null ? null : cache.get(key);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        final ComponentInterceptor[] filtered = annotations.filter(context, found);
+        final int[] indexes = new int[filtered.length];
+
+        int count = 0;
+        for (final ComponentInterceptor interceptor : filtered) {
+            final Type type = Generics.typeParameter(Generics.specializedType(interceptor.getClass(), ComponentInterceptor.class), 0);
+
+            if (type == Object.class || Generics.isAssignable(reference, type)) {
+                for (int i = 0, limit = found.length; i < limit; i++) {
+                    if (found[i] == interceptor) {
+                        indexes[count++] = i;
+                        break;
+                    }
+                }
+            }
+        }
+
+        final int[] chain = count == indexes.length ? indexes : Arrays.copyOf(indexes, count);
+
+        if (cache != null && Security.invoke(() -> key.visible(host.getClassLoader()))) {
+            if (cache.size() >= CHAINS_LIMIT) {
+                cache.clear();
+            }
+
+            final int[] present = cache.putIfAbsent(key, chain);
+            return present == null ? chain : present;
+        } else {
+            return chain;
+        }
+    }
+
+    /**
+     * Identifies an interceptor chain: the classes of the resolved interceptors, the qualifiers with some value in the context definition in their order
+     * of definition, and the dependency reference.
+     *
+     * @author Tibor Varga
+     */
+    private static final class Chain {
+
+        private final Class<?>[] interceptors;
+        private final Class<?>[] qualifiers;
+        private final Type reference;
+        private final int hash;
+
+        Chain(final ComponentInterceptor[] interceptors, final Map<Class<? extends Annotation>, Annotation[]> defined, final Type reference) {
+            this.interceptors = new Class<?>[interceptors.length];
+
+            for (int i = 0, limit = interceptors.length; i < limit; i++) {
+                this.interceptors[i] = interceptors[i].getClass();
+            }
+
+            final List<Class<?>> qualifiers = new ArrayList<>(defined.size());
+
+            for (final Map.Entry<Class<? extends Annotation>, Annotation[]> entry : defined.entrySet()) {
+                if (entry.getValue().length > 0) {
+                    qualifiers.add(entry.getKey());
+                }
+            }
+
+            this.qualifiers = qualifiers.toArray(new Class<?>[qualifiers.size()]);
+            this.reference = reference;
+            this.hash = 31 * (31 * Arrays.hashCode(this.interceptors) + Arrays.hashCode(this.qualifiers)) + reference.hashCode();
+        }
+
+        /**
+         * Tells if all classes this chain refers to are visible through the given class loader.
+         *
+         * @param loader the class loader; may be <code>null</code>.
+         *
+         * @return <code>true</code> if all classes are visible through the class loader; <code>false</code> otherwise.
+         */
+        boolean visible(final ClassLoader loader) {
+            for (final Class<?> type : interceptors) {
+                if (!visible(loader, type)) {
+                    return false;
+                }
+            }
+
+            for (final Class<?> type : qualifiers) {
+                if (!visible(loader, type)) {
+                    return false;
+                }
+            }
+
+            return visible(loader, reference);
+        }
+
+        private static boolean visible(final ClassLoader loader, final Type type) {
+            if (type instanceof Class) {
+                final ClassLoader owner = ((Class<?>) type).getClassLoader();
+
+                for (ClassLoader current = loader; owner != null && current != owner; current = current.getParent()) {
+                    if (current == null) {
+                        return false;
+                    }
+                }
+
+                return true;
+            } else if (type instanceof ParameterizedType) {
+                final ParameterizedType parameterized = (ParameterizedType) type;
+                final Type owner = parameterized.getOwnerType();
+
+                return (owner == null || visible(loader, owner)) && visible(loader, parameterized.getRawType()) && visible(loader, parameterized.getActualTypeArguments());
+            } else if (type instanceof GenericArrayType) {
+                return visible(loader, ((GenericArrayType) type).getGenericComponentType());
+            } else if (type instanceof WildcardType) {
+                return visible(loader, ((WildcardType) type).getUpperBounds()) && visible(loader, ((WildcardType) type).getLowerBounds());
+            } else if (type instanceof TypeVariable) {
+                final GenericDeclaration declaration = ((TypeVariable<?>) type).getGenericDeclaration();
+                return visible(loader, declaration instanceof Member ? ((Member) declaration).getDeclaringClass() : (Type) declaration);
+            } else {
+                return false;
+            }
+        }
+
+        private static boolean visible(final ClassLoader loader, final Type[] types) {
+            for (final Type type : types) {
+                if (!visible(loader, type)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            final Chain that = (Chain) o;
+            return hash == that.hash
+                   && reference.equals(that.reference)
+                   && Arrays.equals(interceptors, that.interceptors)
+                   && Arrays.equals(qualifiers, that.qualifiers);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
 }
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2006-2018 Tibor Adam Varga (tibor.adam.varga on gmail)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fluidity.composition.container.impl;
+
+import java.util.function.Supplier;
+
+import org.fluidity.composition.ComponentContext;
+import org.fluidity.composition.container.ComponentCache;
+import org.fluidity.composition.container.ContainerMetrics;
+
+/**
+ * Records the hits and misses of another component cache. A lookup that invokes the factory is a miss, one that does not is a hit; mere lookups, i.e., those
+ * without a factory, are not recorded.
+ *
+ * @author Tibor Varga
+ */
+final class MeteredComponentCache implements ComponentCache {
+
+    private final ComponentCache delegate;
+    private final ContainerMetrics metrics;
+
+    MeteredComponentCache(final ComponentCache delegate, final ContainerMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @SuppressWarnings("unchecked")
+    public Object lookup(final Domain domain, final String source, final ComponentContext context, final Class<?> api, final Supplier factory) {
+        if (factory == null) {
+            return delegate.lookup(domain, source, context, api, null);
+        }
+
+        final boolean[] missed = { false };
+
+        final Object component = delegate.lookup(domain, source, context, api, () -> {
+            missed[0] = true;
+            return factory.get();
+        });
+
+        metrics.cached(api, !missed[0]);
+
+        return component;
+    }
+}
@@ -16,9 +16,12 @@
 
 package org.fluidity.composition.container.impl;
 
+import java.util.function.Function;
+
 import org.fluidity.composition.ComponentContainer;
 import org.fluidity.composition.ComponentDiscovery;
 import org.fluidity.composition.container.ComponentCache;
+import org.fluidity.composition.container.ContainerMetrics;
 import org.fluidity.composition.container.ContainerServices;
 import org.fluidity.composition.container.ContextDefinition;
 import org.fluidity.composition.container.DependencyInjector;
@@ -37,13 +40,28 @@ final class ProductionServices implements ContainerServices {
     private final LogFactory logs;
     private final ComponentDiscovery discovery;
     private final DependencyInjector injector;
-    private final Log<ComponentCacheImpl> cacheLog;
+    private final Function<Boolean, ComponentCache> caches;
+    private final ContainerMetrics metrics;
 
-    ProductionServices(final LogFactory logs) {
+    ProductionServices(final LogFactory logs, final boolean concurrent, final boolean metered) {
         this.logs = logs;
-        this.cacheLog = logs.createLog(ComponentCacheImpl.class);
+        this.metrics = metered ? new ContainerMetricsImpl() : null;
+
+        final Function<Boolean, ComponentCache> caches;
+
+        if (concurrent) {
+            final Log<ConcurrentComponentCacheImpl> log = logs.createLog(ConcurrentComponentCacheImpl.class);
+            caches = stateless -> new ConcurrentComponentCacheImpl(log, stateless);
+        } else {
+            final Log<ComponentCacheImpl> log = logs.createLog(ComponentCacheImpl.class);
+            caches = stateless -> new ComponentCacheImpl(log, stateless);
+        }
+
+        this.caches = metrics == null ? caches : stateless -> new MeteredComponentCache(caches.apply(stateless), metrics);
+
         this.discovery = new ComponentDiscoveryImpl(logs.createLog(ComponentDiscoveryImpl.class));
-        this.injector = new DependencyInjectorImpl(new DependencyInterceptorsImpl(new InterceptorFilterImpl(), logs.createLog(DependencyInterceptorsImpl.class)));
+        this.injector = new DependencyInjectorImpl(new DependencyInterceptorsImpl(new InterceptorFilterImpl(), logs.createLog(DependencyInterceptorsImpl.class)),
+                                                   metrics);
     }
 
     public ContextDefinition emptyContext() {
@@ -67,7 +85,11 @@ final class ProductionServices implements ContainerServices {
     }
 
     public ComponentCache newCache(final boolean stateless) {
-        return new ComponentCacheImpl(cacheLog, stateless);
+        return caches.apply(stateless);
+    }
+
+    public ContainerMetrics metrics() {
+        return metrics;
     }
 
     public Log createLog(final Log log, final Class<?> source) {
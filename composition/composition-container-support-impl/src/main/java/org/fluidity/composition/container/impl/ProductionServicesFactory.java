@@ -32,6 +32,6 @@ final class ProductionServicesFactory implements ContainerServicesFactory {
      */
     public ContainerServices containerServices(final LogFactory logs) {
         assert logs != null : LogFactory.class;
-        return new ProductionServices(logs);
+        return new ProductionServices(logs, CONCURRENT_CACHE.equals(System.getProperty(CACHE_PROPERTY)), Boolean.getBoolean(METRICS_PROPERTY));
     }
 }
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2006-2018 Tibor Adam Varga (tibor.adam.varga on gmail)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fluidity.composition.container.impl;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.fluidity.composition.Inject;
+import org.fluidity.foundation.Generics;
+import org.fluidity.foundation.Lists;
+import org.fluidity.foundation.security.Security;
+
+/**
+ * The reflective information the {@link DependencyInjectorImpl dependency injector} needs to instantiate a component class, and to inject its fields. A plan
+ * is computed once per class on first use; later instantiations of the class use the plan instead of walking the class again.
+ * <p>
+ * Only information that depends solely on the class is held here: dependency resolution still takes place for each instantiation since that depends on the
+ * container, the context, and the traversal at hand.
+ *
+ * @author Tibor Varga
+ */
+final class ResolutionPlan {
+
+    private static final Field[] NO_FIELDS = new Field[0];
+
+    /**
+     * The non-final, {@link Inject @Inject} annotated fields of the class and its ancestors, made accessible.
+     */
+    final Field[] fields;
+
+    /**
+     * The annotations of each field in {@link #fields}.
+     */
+    final Annotation[][] fieldAnnotations;
+
+    /**
+     * The constructor selected for dependency injection; <code>null</code> until first selected.
+     */
+    volatile Constructor<?> constructor;
+
+    private final Map<Constructor<?>, Parameters> parameters = new ConcurrentHashMap<>(2);
+
+    ResolutionPlan(final Class<?> type) {
+        final List<Field> list = new ArrayList<>();
+
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            for (final Field field : Security.invoke(current::getDeclaredFields)) {
+                if ((field.getModifiers() & Modifier.FINAL) == 0 && field.isAnnotationPresent(Inject.class)) {
+                    list.add(Security.access(field));
+                }
+            }
+        }
+
+        this.fields = list.isEmpty() ? NO_FIELDS : Lists.asArray(Field.class, list);
+        this.fieldAnnotations = new Annotation[fields.length][];
+
+        for (int i = 0, limit = fields.length; i < limit; i++) {
+            fieldAnnotations[i] = fields[i].getAnnotations();
+        }
+    }
+
+    /**
+     * Returns the parameter descriptions of the given constructor of the class.
+     *
+     * @param constructor the constructor.
+     *
+     * @return the parameter descriptions; never <code>null</code>.
+     */
+    Parameters parameters(final Constructor<?> constructor) {
+        return parameters.computeIfAbsent(constructor, Parameters::new);
+    }
+
+    /**
+     * The dependency information of the parameters of a constructor.
+     *
+     * @author Tibor Varga
+     */
+    static final class Parameters {
+
+        /**
+         * The constructor, made accessible.
+         */
+        final Constructor<?> constructor;
+
+        /**
+         * The generic type of each parameter.
+         */
+        final Type[] types;
+
+        /**
+         * The annotations of the constructor followed by those of the parameter, for each parameter.
+         */
+        final Annotation[][] annotations;
+
+        Parameters(final Constructor<?> constructor) {
+            this.constructor = Security.access(constructor);
+
+            final Generics.Parameters descriptor = Generics.describe(constructor);
+            final Annotation[] constructorAnnotations = Lists.notNull(Annotation.class, constructor.getAnnotations());
+            final int count = constructor.getParameterTypes().length;
+
+            this.types = new Type[count];
+            this.annotations = new Annotation[count][];
+
+            for (int i = 0; i < count; i++) {
+                types[i] = descriptor.genericType(i);
+                annotations[i] = Lists.concatenate(Annotation.class, constructorAnnotations, descriptor.annotations(i));
+            }
+        }
+    }
+}
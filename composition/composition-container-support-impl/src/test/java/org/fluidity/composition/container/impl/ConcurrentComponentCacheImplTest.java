@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2006-2018 Tibor Adam Varga (tibor.adam.varga on gmail)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fluidity.composition.container.impl;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.fluidity.composition.ComponentContext;
+import org.fluidity.composition.container.ComponentCache;
+import org.fluidity.foundation.Log;
+import org.fluidity.foundation.NoLogFactory;
+
+import org.testng.annotations.Test;
+
+/**
+ * @author Tibor Varga
+ */
+public class ConcurrentComponentCacheImplTest {
+
+    private final ComponentCache cache = new ConcurrentComponentCacheImpl(NoLogFactory.consume(ConcurrentComponentCacheImpl.class), true);
+    private final ComponentContext context = new ContextDefinitionImpl().create();
+
+    @Test
+    public void testCaching() throws Exception {
+        final ComponentCache.Domain domain1 = new QuietDomain();
+        final ComponentCache.Domain domain2 = new QuietDomain();
+
+        final Object component = cache.lookup(domain1, "test", context, Object.class, Object::new);
+        assert component != null;
+        assert cache.lookup(domain1, "test", context, Object.class, Object::new) == component;
+        assert cache.lookup(domain1, "test", context, Object.class, null) == component;
+        assert cache.lookup(domain2, "test", context, Object.class, null) == null;
+    }
+
+    @Test
+    public void testCircularResolutionFromTwoThreads() throws Exception {
+        final ComponentCache.Domain domain1 = new QuietDomain();
+        final ComponentCache.Domain domain2 = new QuietDomain();
+
+        final CountDownLatch started = new CountDownLatch(2);
+
+        final AtomicReference<Object> result1 = new AtomicReference<>();
+        final AtomicReference<Object> result2 = new AtomicReference<>();
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        // each thread starts instantiating one component and then, while the other thread does the same, looks up the other component
+        final Thread thread1 = new Thread(() -> resolve(domain1, domain2, started, result1, error));
+        final Thread thread2 = new Thread(() -> resolve(domain2, domain1, started, result2, error));
+
+        thread1.setDaemon(true);
+        thread2.setDaemon(true);
+
+        thread1.start();
+        thread2.start();
+
+        thread1.join(1000);
+        thread2.join(1000);
+
+        assert !thread1.isAlive() && !thread2.isAlive() : "Deadlock";
+        assert error.get() == null : error.get();
+
+        final Object component1 = cache.lookup(domain1, "test", context, Object.class, null);
+        final Object component2 = cache.lookup(domain2, "test", context, Object.class, null);
+
+        assert component1 != null;
+        assert component2 != null;
+        assert result1.get() == component1 : result1.get();
+        assert result2.get() == component2 : result2.get();
+
+        // exactly one of the two threads resolved the other's component in place, and the cached components refer to one another consistently
+        assert component1 instanceof Dependent != component2 instanceof Dependent;
+
+        if (component1 instanceof Dependent) {
+            assert ((Dependent) component1).dependency == component2;
+        } else {
+            assert ((Dependent) component2).dependency == component1;
+        }
+    }
+
+    private void resolve(final ComponentCache.Domain own,
+                         final ComponentCache.Domain other,
+                         final CountDownLatch started,
+                         final AtomicReference<Object> result,
+                         final AtomicReference<Throwable> error) {
+        try {
+            result.set(cache.lookup(own, "test", context, Object.class, (Supplier) () -> {
+                started.countDown();
+
+                try {
+                    assert started.await(1, TimeUnit.SECONDS);
+                } catch (final InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+
+                return new Dependent(cache.lookup(other, "test", context, Object.class, Object::new));
+            }));
+        } catch (final Throwable e) {
+            error.set(e);
+        }
+    }
+
+    private static class Dependent {
+
+        final Object dependency;
+
+        Dependent(final Object dependency) {
+            this.dependency = dependency;
+        }
+    }
+
+    private static class QuietDomain implements ComponentCache.Domain {
+
+        public boolean quiet() {
+            return true;
+        }
+
+        public void log(final Log log, final String format, final Object... arguments) {
+            // empty
+        }
+    }
+}
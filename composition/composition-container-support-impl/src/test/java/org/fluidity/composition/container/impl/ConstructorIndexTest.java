@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2006-2018 Tibor Adam Varga (tibor.adam.varga on gmail)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fluidity.composition.container.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.fluidity.composition.Component;
+import org.fluidity.foundation.ClassLoaders;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * @author Tibor Varga
+ */
+@SuppressWarnings("unused")
+public class ConstructorIndexTest {
+
+    private final ConstructorIndex index = new ConstructorIndex();
+
+    private Path archive;
+    private Path other;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        archive = Files.createTempDirectory(getClass().getSimpleName());
+        other = Files.createTempDirectory(getClass().getSimpleName());
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        delete(archive);
+        delete(other);
+    }
+
+    private static void delete(final Path directory) throws IOException {
+        try (final Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private static long copy(final Class<?> type, final Path directory) throws IOException {
+        final Path file = directory.resolve(ClassLoaders.classResourceName(type));
+        Files.createDirectories(file.getParent());
+
+        try (final InputStream stream = ClassLoaders.readClassResource(type)) {
+            Files.copy(stream, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        return ConstructorIndex.checksum(file.toUri().toURL());
+    }
+
+    private static void index(final Path directory, final String... entries) throws IOException {
+        final Path file = directory.resolve(Component.CONSTRUCTORS);
+        Files.createDirectories(file.getParent());
+        Files.write(file, Arrays.asList(entries));
+    }
+
+    private URLClassLoader loader() throws IOException {
+
+        // no parent: the classes must be defined by the loader that sees the index
+        return new URLClassLoader(new URL[] { other.toUri().toURL(), archive.toUri().toURL() }, null);
+    }
+
+    @Test
+    public void testIndexedConstructor() throws Exception {
+        final long checksum = copy(Indexed.class, archive);
+        index(archive, String.format("%s=%x:java.lang.String,int,[Ljava.lang.String;", Indexed.class.getName(), checksum));
+
+        try (final URLClassLoader loader = loader()) {
+            final Constructor<?> constructor = index.constructor(loader.loadClass(Indexed.class.getName()));
+
+            assert constructor != null;
+            assert Arrays.equals(constructor.getParameterTypes(), new Class[] { String.class, int.class, String[].class }) : constructor;
+        }
+    }
+
+    @Test
+    public void testChangedClass() throws Exception {
+        final long checksum = copy(Indexed.class, archive);
+        index(archive, String.format("%s=%x:java.lang.String,int,[Ljava.lang.String;", Indexed.class.getName(), checksum + 1));
+
+        try (final URLClassLoader loader = loader()) {
+            assert index.constructor(loader.loadClass(Indexed.class.getName())) == null;
+        }
+    }
+
+    @Test
+    public void testStaleIndex() throws Exception {
+        final long checksum = copy(Stale.class, archive);
+        index(archive, String.format("%s=%x:java.lang.Long", Stale.class.getName(), checksum));
+
+        try (final URLClassLoader loader = loader()) {
+            assert index.constructor(loader.loadClass(Stale.class.getName())) == null;
+        }
+    }
+
+    @Test
+    public void testOtherArchive() throws Exception {
+        final long checksum = copy(Indexed.class, archive);
+        index(other, String.format("%s=%x:java.lang.String,int,[Ljava.lang.String;", Indexed.class.getName(), checksum));
+        index(archive, String.format("%s=%x:java.lang.String", Indexed.class.getName(), checksum));
+
+        try (final URLClassLoader loader = loader()) {
+            final Constructor<?> constructor = index.constructor(loader.loadClass(Indexed.class.getName()));
+
+            assert constructor != null;
+            assert Arrays.equals(constructor.getParameterTypes(), new Class[] { String.class }) : constructor;
+        }
+    }
+
+    @Test
+    public void testMissingIndex() throws Exception {
+        copy(Missing.class, archive);
+        index(archive, String.format("%s=0:java.lang.String", Indexed.class.getName()));
+
+        try (final URLClassLoader loader = loader()) {
+            assert index.constructor(loader.loadClass(Missing.class.getName())) == null;
+        }
+
+        assert index.constructor(Missing.class) == null;
+        assert index.constructor(String.class) == null;
+    }
+
+    private static class Indexed {
+
+        Indexed(final String text) { }
+
+        Indexed(final String text, final int number, final String[] list) { }
+    }
+
+    private static class Stale {
+
+        Stale(final String text) { }
+    }
+
+    private static class Missing {
+
+        Missing(final String text) { }
+    }
+}
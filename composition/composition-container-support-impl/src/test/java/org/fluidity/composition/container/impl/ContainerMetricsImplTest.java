@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2006-2018 Tibor Adam Varga (tibor.adam.varga on gmail)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fluidity.composition.container.impl;
+
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Collection;
+
+import org.fluidity.composition.ComponentContext;
+import org.fluidity.composition.container.ComponentCache;
+import org.fluidity.composition.container.ContainerMetrics;
+import org.fluidity.foundation.Log;
+import org.fluidity.foundation.NoLogFactory;
+
+import org.testng.annotations.Test;
+
+/**
+ * @author Tibor Varga
+ */
+public class ContainerMetricsImplTest {
+
+    @Test
+    public void testBuckets() throws Exception {
+        assert ContainerMetricsImpl.bucket(0) == 0;
+        assert ContainerMetricsImpl.bucket(999) == 0;
+        assert ContainerMetricsImpl.bucket(1000) == 1;
+        assert ContainerMetricsImpl.bucket(1999) == 1;
+        assert ContainerMetricsImpl.bucket(2000) == 2;
+        assert ContainerMetricsImpl.bucket(1024000) == 11;
+        assert ContainerMetricsImpl.bucket(Long.MAX_VALUE) == ContainerMetrics.BUCKETS - 1;
+    }
+
+    @Test
+    public void testCounters() throws Exception {
+        final ContainerMetrics metrics = new ContainerMetricsImpl();
+
+        metrics.resolved(String.class, 500);
+        metrics.resolved(String.class, 3000);
+        metrics.grouped(Integer.class, 1500);
+        metrics.instantiated(String.class, 1500);
+        metrics.cached(String.class, false);
+        metrics.cached(String.class, true);
+        metrics.cached(String.class, true);
+
+        final Collection<ContainerMetrics.Component> components = metrics.components();
+        assert components.size() == 2 : components;
+
+        final ContainerMetrics.Component component = find(components, String.class);
+
+        assert component.resolutions().count() == 2;
+        assert component.resolutions().nanos() == 3500;
+        assert component.resolutions().histogram()[0] == 1;
+        assert component.resolutions().histogram()[2] == 1;
+        assert component.instantiations().count() == 1;
+        assert component.instantiations().histogram()[1] == 1;
+        assert component.groups().count() == 0;
+        assert component.hits() == 2;
+        assert component.misses() == 1;
+
+        assert find(components, Integer.class).groups().count() == 1;
+
+        metrics.reset();
+        assert metrics.components().isEmpty();
+    }
+
+    @Test
+    public void testClassLoaderCollected() throws Exception {
+        final ContainerMetrics metrics = new ContainerMetricsImpl();
+
+        ClassLoader loader = new URLClassLoader(new URL[0], null);
+        final Reference<ClassLoader> reference = new WeakReference<>(loader);
+
+        metrics.resolved(Proxy.getProxyClass(loader, Runnable.class), 1000);
+        assert metrics.components().size() == 1;
+
+        loader = null;
+
+        for (int i = 0; i < 100 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assert reference.get() == null : "Metrics keep the class loader";
+        assert metrics.components().isEmpty() : metrics.components();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testMeteredCache() throws Exception {
+        final ContainerMetrics metrics = new ContainerMetricsImpl();
+        final ComponentCache cache = new MeteredComponentCache(new ComponentCacheImpl(NoLogFactory.consume(ComponentCacheImpl.class), true), metrics);
+        final ComponentCache.Domain domain = new ComponentCache.Domain() {
+            public boolean quiet() {
+                return true;
+            }
+
+            public void log(final Log log, final String format, final Object... arguments) {
+                // empty
+            }
+        };
+
+        final ComponentContext context = new ContextDefinitionImpl().create();
+
+        final Object component = cache.lookup(domain, "test", context, Object.class, Object::new);
+        assert component != null;
+        assert cache.lookup(domain, "test", context, Object.class, Object::new) == component;
+        assert cache.lookup(domain, "test", context, Object.class, null) == component;
+
+        final ContainerMetrics.Component metered = find(metrics.components(), Object.class);
+        assert metered.misses() == 1;
+        assert metered.hits() == 1;
+    }
+
+    private ContainerMetrics.Component find(final Collection<ContainerMetrics.Component> components, final Class<?> type) {
+        for (final ContainerMetrics.Component component : components) {
+            if (component.type() == type) {
+                return component;
+            }
+        }
+
+        assert false : type;
+        return null;
+    }
+}
@@ -25,6 +25,7 @@ import java.util.Map;
 import java.util.Objects;
 
 import org.fluidity.composition.Component;
+import org.fluidity.composition.ComponentContext;
 import org.fluidity.composition.Qualifier;
 import org.fluidity.composition.container.ContextDefinition;
 
@@ -139,6 +140,28 @@ public class ContextDefinitionImplTest {
                                                                         (Class) Annotation1.class)) : map1.keySet();
     }
 
+    @Test
+    public void testContextKeys() throws Exception {
+        final ComponentContext context1 = new ContextDefinitionImpl().expand(Definition1.class.getAnnotations()).accept(ConsumerAll.class).create();
+        final ComponentContext context2 = new ContextDefinitionImpl().expand(Definition1.class.getAnnotations()).accept(ConsumerAll.class).create();
+        final ComponentContext context3 = new ContextDefinitionImpl().expand(Definition2.class.getAnnotations()).accept(ConsumerAll.class).create();
+
+        assert context1.equals(context2);
+        assert context1.identity() == context2.identity();
+        assert context1.identity().hashCode() == context2.identity().hashCode();
+        assert context1.key().equals(context2.key());
+
+        assert !context1.equals(context3);
+        assert !context1.identity().equals(context3.identity());
+        assert !context1.key().equals(context3.key());
+
+        final ComponentContext empty1 = new ContextDefinitionImpl().create();
+        final ComponentContext empty2 = new ContextDefinitionImpl().expand(Definition1.class.getAnnotations()).accept(ConsumerNone.class).create();
+
+        assert empty1.types().isEmpty();
+        assert empty1.identity() == empty2.identity();
+    }
+
     @Retention(RetentionPolicy.RUNTIME)
     @Qualifier(Qualifier.Composition.ALL)
     @interface Accumulated {
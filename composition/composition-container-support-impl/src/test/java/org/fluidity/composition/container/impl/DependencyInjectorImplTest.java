@@ -60,7 +60,7 @@ public class DependencyInjectorImplTest extends Simulator {
     private final Component.Reference reference = dependencies.normal(Component.Reference.class);
     private final ContextNode contexts = dependencies.normal(ContextNode.class);
 
-    private final DependencyInjector injector = new DependencyInjectorImpl(interceptors);
+    private final DependencyInjector injector = new DependencyInjectorImpl(interceptors, null);
 
     private static Annotation[] neverNull(final Annotation[] array) {
         return array == null ? new Annotation[0] : array;
@@ -342,6 +342,36 @@ public class DependencyInjectorImplTest extends Simulator {
         assert component.services == null;
     }
 
+    @Test
+    public void reusesResolutionPlan() throws Exception {
+        final Constructor<?> constructor = injector.findConstructor(ConstructorInjected.class);
+        assert injector.findConstructor(ConstructorInjected.class) == constructor;
+
+        final AtomicReference<Annotation[]> received = new AtomicReference<>();
+
+        for (int i = 0; i < 2; ++i) {
+            setupCollection(ConstructorInjected.class,
+                            context,
+                            setupConstructorResolution(ConstructorInjected.class, constructor, null, new DependencyImpl(), new Service[0]));
+            EasyMock.expect(context.create()).andReturn(arguments().normal(ComponentContext.class));
+
+            // a traversal that holds on to, and later clears, the annotations it receives: the next resolution must not be affected
+            traversal.descend(EasyMock.notNull(), EasyMock.notNull(), EasyMock.notNull(), EasyMock.notNull());
+            EasyMock.expectLastCall().andAnswer(() -> {
+                received.set((Annotation[]) EasyMock.getCurrentArguments()[3]);
+                return null;
+            }).anyTimes();
+
+            traversal.ascend(EasyMock.notNull(), EasyMock.notNull());
+            EasyMock.expectLastCall().andAnswer(() -> {
+                Arrays.fill(received.get(), null);
+                return null;
+            }).anyTimes();
+
+            assert verify(() -> injector.constructor(ConstructorInjected.class, traversal, resolver, contexts, context, constructor)) != null;
+        }
+    }
+
     private void expectCallbacks() {
         traversal.descend(EasyMock.notNull(), EasyMock.notNull(), EasyMock.notNull(), EasyMock.notNull());
         EasyMock.expectLastCall().anyTimes();
@@ -17,6 +17,7 @@
 package org.fluidity.composition.container.impl;
 
 import java.io.Serializable;
+import java.util.Collections;
 
 import org.fluidity.composition.ComponentContainer;
 import org.fluidity.composition.ComponentContext;
@@ -30,6 +31,7 @@ import org.fluidity.testing.Simulator;
 
 import org.easymock.EasyMock;
 import org.easymock.IAnswer;
+import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 /**
@@ -60,7 +62,12 @@ public class DependencyInterceptorsTest extends Simulator {
     private final ComponentInterceptor interceptor3 = dependencies.normal(ComponentInterceptor.class);
     private final Dependency dependency3 = dependencies.normal(Dependency.class);
 
-    private final DependencyInterceptors interceptors = new DependencyInterceptorsImpl(annotations, NoLogFactory.consume(DependencyInterceptorsImpl.class));
+    private DependencyInterceptors interceptors;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        interceptors = new DependencyInterceptorsImpl(annotations, NoLogFactory.consume(DependencyInterceptorsImpl.class));
+    }
 
     @Test
     public void testNoNode() throws Exception {
@@ -77,6 +84,7 @@ public class DependencyInterceptorsTest extends Simulator {
                                               EasyMock.same(ComponentInterceptor.class)))
                 .andReturn(null);
 
+        EasyMock.expect(context.defined()).andReturn(Collections.emptyMap());
         EasyMock.expect(annotations.filter(EasyMock.same(context), EasyMock.aryEq(DependencyInterceptorsImpl.NO_INTERCEPTORS))).andReturn(DependencyInterceptorsImpl.NO_INTERCEPTORS);
 
         final DependencyGraph.Node replaced = verify(() -> interceptors.replace(resolver, context, traversal, Serializable.class, node));
@@ -93,6 +101,7 @@ public class DependencyInterceptorsTest extends Simulator {
                 .andReturn(group);
 
         EasyMock.expect(group.instance(traversal)).andReturn(new ComponentInterceptor[0]);
+        EasyMock.expect(context.defined()).andReturn(Collections.emptyMap());
         EasyMock.expect(annotations.filter(EasyMock.same(context), EasyMock.aryEq(DependencyInterceptorsImpl.NO_INTERCEPTORS))).andReturn(DependencyInterceptorsImpl.NO_INTERCEPTORS);
 
         final DependencyGraph.Node replaced = verify(() -> interceptors.replace(resolver, context, traversal, Serializable.class, node));
@@ -111,6 +120,7 @@ public class DependencyInterceptorsTest extends Simulator {
         final ComponentInterceptor[] found = { interceptor1 };
 
         EasyMock.expect(group.instance(traversal)).andReturn(found);
+        EasyMock.expect(context.defined()).andReturn(Collections.emptyMap());
         EasyMock.expect(annotations.filter(EasyMock.same(context), EasyMock.notNull())).andAnswer(filter(true, found));
 
         final DependencyGraph.Node replaced = verify(() -> interceptors.replace(resolver, context, traversal, Serializable.class, node));
@@ -137,6 +147,7 @@ public class DependencyInterceptorsTest extends Simulator {
         assert dependencies.length == found.length + 1;
 
         EasyMock.expect(group.instance(traversal)).andReturn(found);
+        EasyMock.expect(context.defined()).andReturn(Collections.emptyMap());
         EasyMock.expect(annotations.filter(EasyMock.same(context), EasyMock.notNull())).andAnswer(filter(false, found));
 
         for (int i = 0, limit = found.length; i < limit; i++) {
@@ -179,6 +190,46 @@ public class DependencyInterceptorsTest extends Simulator {
         });
     }
 
+    @Test
+    public void testCachedChain() throws Exception {
+        resolveChainTwice(Cached.class, 1);
+    }
+
+    @Test
+    public void testUncachedChain() throws Exception {
+
+        // the interceptors are not visible to the class loader of the dependency type
+        resolveChainTwice(Serializable.class, 2);
+    }
+
+    private void resolveChainTwice(final Class<?> reference, final int filtered) throws Exception {
+        final ComponentInterceptor[] found = { interceptor1, interceptor2 };
+
+        EasyMock.expect(annotations.filter(EasyMock.same(context), EasyMock.notNull())).andReturn(new ComponentInterceptor[] { interceptor2 }).times(filtered);
+
+        for (int i = 0; i < 2; i++) {
+            EasyMock.expect(resolver.resolveGroup(EasyMock.same(ComponentInterceptor.class),
+                                                  EasyMock.notNull(),
+                                                  EasyMock.same(traversal),
+                                                  EasyMock.same(ComponentInterceptor.class)))
+                    .andReturn(group);
+
+            EasyMock.expect(group.instance(traversal)).andReturn(found);
+            EasyMock.expect(context.defined()).andReturn(Collections.emptyMap());
+
+            EasyMock.expect(context.copy()).andReturn(copy);
+            EasyMock.expect(copy.accept(interceptor2.getClass())).andReturn(accepted);
+            EasyMock.expect(accepted.create()).andReturn(passed);
+
+            EasyMock.expect(interceptor2.intercept(EasyMock.same(reference), EasyMock.same(passed), EasyMock.notNull())).andReturn(dependency2);
+        }
+
+        verify(() -> {
+            assert interceptors.replace(resolver, context, traversal, reference, node) != node;
+            assert interceptors.replace(resolver, context, traversal, reference, node) != node;
+        });
+    }
+
     @Test
     public void testComponentSink() throws Exception {
         EasyMock.expect(resolver.resolveGroup(EasyMock.same(ComponentInterceptor.class),
@@ -196,6 +247,7 @@ public class DependencyInterceptorsTest extends Simulator {
         assert dependencies.length < found.length + 1;
 
         EasyMock.expect(group.instance(traversal)).andReturn(found);
+        EasyMock.expect(context.defined()).andReturn(Collections.emptyMap());
         EasyMock.expect(annotations.filter(EasyMock.same(context), EasyMock.notNull())).andAnswer(filter(false, found));
 
         for (int i = 0, limit = found.length; i < limit; i++) {
@@ -249,6 +301,7 @@ public class DependencyInterceptorsTest extends Simulator {
         assert dependencies.length == found.length + 1;
 
         EasyMock.expect(group.instance(traversal)).andReturn(found);
+        EasyMock.expect(context.defined()).andReturn(Collections.emptyMap());
         EasyMock.expect(annotations.filter(EasyMock.same(context), EasyMock.notNull())).andAnswer(filter(false, found));
 
         final ComponentInterceptor interceptor = found[0];
@@ -281,4 +334,6 @@ public class DependencyInterceptorsTest extends Simulator {
             assert expected[i] == actual[i];
         }
     }
+
+    private interface Cached { }
 }
@@ -26,6 +26,24 @@ import org.fluidity.foundation.spi.LogFactory;
 @ServiceProvider
 public interface ContainerServicesFactory {
 
+    /**
+     * The name of the system property that selects the {@link org.fluidity.composition.container.ComponentCache} implementation of the container services.
+     * The value <code>concurrent</code> selects a cache that takes no lock on cache hits; any other value, or no value, selects the default, synchronized
+     * cache.
+     */
+    String CACHE_PROPERTY = "org.fluidity.composition.cache";
+
+    /**
+     * The value of the {@link #CACHE_PROPERTY} system property that selects the lock-free component cache.
+     */
+    String CONCURRENT_CACHE = "concurrent";
+
+    /**
+     * The name of the system property that, when set to <code>true</code>, turns on the collection of {@linkplain
+     * org.fluidity.composition.container.ContainerMetrics resolution metrics} by the container services. Metrics are not collected by default.
+     */
+    String METRICS_PROPERTY = "org.fluidity.composition.metrics";
+
     /**
      * Creates a {@link org.fluidity.composition.container.ContainerServices} object.
      *
@@ -77,7 +77,7 @@ public abstract class EmptyComponentContainer<C extends DependencyGraph> impleme
      */
     protected final C container;
 
-    private final Registry registry = new EmptyRegistry(this);
+    private Registry registry;      // created on demand: containers made without bindings rarely need one
 
     /**
      * Creates a new instance.
@@ -200,7 +200,7 @@ public abstract class EmptyComponentContainer<C extends DependencyGraph> impleme
      */
     protected final MutableContainer addBindings(final Bindings... list) {
         for (final Bindings bindings : list) {
-            bindings.bindComponents(registry);
+            bindings.bindComponents(getRegistry());
         }
 
         return this;
@@ -294,6 +294,10 @@ public abstract class EmptyComponentContainer<C extends DependencyGraph> impleme
      * {@inheritDoc}
      */
     public final Registry getRegistry() {
+        if (registry == null) {
+            registry = new EmptyRegistry(this);     // benign race: the registry has no state of its own
+        }
+
         return registry;
     }
 }
@@ -19,6 +19,7 @@ package org.fluidity.composition.container.tests;
 import org.fluidity.composition.Component;
 import org.fluidity.composition.ComponentContainer;
 import org.fluidity.composition.ComponentContext;
+import org.fluidity.composition.MutableContainer;
 import org.fluidity.composition.OpenContainer;
 import org.fluidity.composition.spi.ComponentFactory;
 
@@ -94,6 +95,21 @@ public final class ContainerHierarchyTests extends AbstractContainerTests {
         assert container.getComponent(DependentKey.class) instanceof OtherDependentValue;
     }
 
+    @Test
+    public void childrenShareNoBindings() throws Exception {
+        final MutableContainer child1 = container.makeChildContainer();
+        final MutableContainer child2 = container.makeChildContainer();
+
+        registry.bindComponent(DependentValue.class);
+        child1.getRegistry().bindComponent(Value.class);
+
+        verifyComponent(child1);
+
+        assert child2.getComponent(DependentKey.class) instanceof DependentValue;
+        assert child2.getComponent(Key.class) == null;
+        assert container.getComponent(Key.class) == null;
+    }
+
     @Test
     public void childContainerContainsItself() throws Exception {
         final OpenContainer childContainer = container.makeChildContainer(registry -> registry.bindComponent(ContainerDependent.class));
@@ -64,6 +64,7 @@ public abstract class ContainerProviderAbstractTest extends Simulator {
         EasyMock.expect(services.newCache(EasyMock.anyBoolean())).andReturn(cache).anyTimes();
         EasyMock.expect(services.emptyContext()).andReturn(context).anyTimes();
         EasyMock.expect(services.graphTraversal()).andReturn(traversal).anyTimes();
+        EasyMock.expect(services.metrics()).andReturn(null).anyTimes();
     }
 
     @Test
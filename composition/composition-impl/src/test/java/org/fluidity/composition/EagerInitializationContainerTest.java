@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2006-2012 Tibor Adam Varga (tibor.adam.varga on gmail)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fluidity.composition;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.fluidity.foundation.NoLogFactory;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Eager initialization against an actual container.
+ *
+ * @author Tibor Varga
+ */
+public class EagerInitializationContainerTest {
+
+    private static final Map<Class<?>, Thread> threads = new ConcurrentHashMap<>();
+    private static final CyclicBarrier barrier = new CyclicBarrier(2);
+
+    // components look up one another through this container, bypassing dependency injection
+    private static volatile OpenContainer container;
+
+    private ExecutorService executor;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        threads.clear();
+        barrier.reset();
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        System.clearProperty(ContainerServicesFactory.CACHE_PROPERTY);
+        executor.shutdownNow();
+    }
+
+    private Thread initialize(final boolean parallel, final Class<?>... components) throws Exception {
+        final MutableContainer container = Containers.create(null, true);
+        EagerInitializationContainerTest.container = container;
+
+        final EagerInitialization eager = new EagerInitialization(4, parallel);
+        final ComponentContainer.Registry registry = eager.record(container.getRegistry());
+
+        for (final Class<?> component : components) {
+            registry.bindComponent(component);
+        }
+
+        final Thread[] initializer = { null };
+
+        // a deadlock fails the test rather than hanging it
+        final Future<?> done = executor.submit(() -> {
+            initializer[0] = Thread.currentThread();
+            eager.initialize(container, NoLogFactory.consume(EagerInitialization.class));
+            return null;
+        });
+
+        done.get(10, TimeUnit.SECONDS);
+        return initializer[0];
+    }
+
+    @Test
+    public void testDynamicLookupsAcrossPartitions() throws Exception {
+        final Thread initializer = initialize(false, Dynamic1Impl.class, Dynamic2Impl.class, Dynamic3Impl.class);
+
+        assert threads.size() == 3 : threads;
+
+        for (final Thread thread : threads.values()) {
+            assert thread == initializer : threads;
+        }
+    }
+
+    @Test
+    public void testParallelPartitions() throws Exception {
+        System.setProperty(ContainerServicesFactory.CACHE_PROPERTY, ContainerServicesFactory.CONCURRENT_CACHE);
+
+        // each component waits for the other to start instantiation: this only completes if the two are instantiated in parallel
+        final Thread initializer = initialize(true, Parallel1Impl.class, Parallel2Impl.class);
+
+        assert threads.size() == 2 : threads;
+        assert threads.get(Parallel1Impl.class) != threads.get(Parallel2Impl.class) : threads;
+        assert threads.get(Parallel1Impl.class) != initializer : threads;
+    }
+
+    public interface Dynamic1 { }
+
+    public interface Dynamic2 { }
+
+    public interface Dynamic3 { }
+
+    public interface Parallel1 { }
+
+    public interface Parallel2 { }
+
+    @Component(automatic = false)
+    private static class Dynamic1Impl implements Dynamic1 {
+
+        Dynamic1Impl() {
+            threads.put(getClass(), Thread.currentThread());
+            assert container.getComponent(Dynamic3.class) != null;
+        }
+    }
+
+    @Component(automatic = false)
+    private static class Dynamic2Impl implements Dynamic2 {
+
+        Dynamic2Impl() {
+            threads.put(getClass(), Thread.currentThread());
+            assert container.getComponent(Dynamic3.class) != null;
+        }
+    }
+
+    @Component(automatic = false)
+    private static class Dynamic3Impl implements Dynamic3 {
+
+        Dynamic3Impl() {
+            assert threads.putIfAbsent(getClass(), Thread.currentThread()) == null : "instantiated twice";
+        }
+    }
+
+    @Component(automatic = false)
+    private static class Parallel1Impl implements Parallel1 {
+
+        Parallel1Impl() throws Exception {
+            threads.put(getClass(), Thread.currentThread());
+            barrier.await(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Component(automatic = false)
+    private static class Parallel2Impl implements Parallel2 {
+
+        Parallel2Impl() throws Exception {
+            threads.put(getClass(), Thread.currentThread());
+            barrier.await(5, TimeUnit.SECONDS);
+        }
+    }
+}
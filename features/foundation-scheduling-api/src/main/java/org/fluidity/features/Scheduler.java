@@ -39,6 +39,10 @@ import org.fluidity.foundation.Command;
  * <p>
  * The default exception limit can be configured by implementing a {@link org.fluidity.foundation.spi.PropertyProvider PropertyProvider} component that returns
  * a valid number for the {@link #TASK_EXCEPTION_LIMIT} key. The default exception limit is 3.
+ * <p>
+ * Tasks are invoked by a pool of threads, the size of which can be configured by implementing a {@link org.fluidity.foundation.spi.PropertyProvider
+ * PropertyProvider} component that returns a valid number for the {@link #THREAD_COUNT} key. The default is the number of available processors. An invocation
+ * of a periodic task that is due while the previous one is still running is skipped.
  * <h3>Usage</h3>
  * <pre>
  * {@linkplain org.fluidity.composition.Component @Component}
@@ -73,6 +77,11 @@ public interface Scheduler {
      */
     String TASK_EXCEPTION_PENALTY = "org.fluidity.features.scheduler-default-task-exception-penalty-ms";
 
+    /**
+     * The configuration property that specifies how many threads invoke the scheduled tasks. The default is the number of available processors.
+     */
+    String THREAD_COUNT = "org.fluidity.features.scheduler-thread-count";
+
     /**
      * Adds the given task to be invoked at a fixed <code>period</code> milliseconds rate after <code>delay</code> milliseconds.
      *
@@ -25,6 +25,8 @@ import java.util.function.Supplier;
  * <b>NOTE</b>: This component is designed not to keep a hard reference to any object that registers for updates and thus is a preferred way to the
  * {@link Scheduler} component of implementing periodic updates.
  * <p>
+ * The statistics of the background snapshot refreshes are available through {@link #metrics()}.
+ * <p>
  * The update period can be configured by implementing a {@link org.fluidity.foundation.spi.PropertyProvider} component that returns a valid
  * number for the {@link #UPDATE_PERIOD} key. The default period is 1 second.
  * <p>
@@ -74,8 +76,9 @@ public interface Updates {
      * more frequently</i> than every <code>period</code> milliseconds.
      * <p>
      * The actual data update is implemented by the supplied <code>loader</code>, which will be invoked at most once every <code>period</code> milliseconds.
-     * The data will be loaded once before this method returns and after that <i>only</i> when the {@link Supplier#get()} method is invoked on the returned
-     * value.
+     * The data will be loaded once before this method returns and after that in the background, along with the other snapshots due; the {@link
+     * Supplier#get()} method of the returned value never invokes the loader. A loader that throws an exception leaves the snapshot unchanged until the next
+     * period.
      * <p>
      * The {@linkplain Updates#UPDATE_PERIOD update period} configured for this component will pose as the lower bound to any <i>positive</i>
      * <code>period</code> specified to this method.If the <code>period</code> specified is <code>0</code>, the snapshot will be taken once and then cached
@@ -88,4 +91,54 @@ public interface Updates {
      * @return an object through which the up-to-date data can be obtained.
      */
     <T> Supplier<T> snapshot(long period, Supplier<T> loader);
+
+    /**
+     * Returns the statistics of the periodic snapshot refreshes.
+     *
+     * @return the statistics of the periodic snapshot refreshes.
+     */
+    Metrics metrics();
+
+    /**
+     * Statistics of the periodic {@linkplain Updates#snapshot(long, Supplier) snapshot} refreshes.
+     *
+     * @author Tibor Varga
+     */
+    interface Metrics {
+
+        /**
+         * Returns the number of periodic snapshots in use.
+         *
+         * @return the number of periodic snapshots in use.
+         */
+        int snapshots();
+
+        /**
+         * Returns the number of times a periodic snapshot has been reloaded.
+         *
+         * @return the number of times a periodic snapshot has been reloaded.
+         */
+        long refreshes();
+
+        /**
+         * Returns the number of times the loader of a periodic snapshot has thrown an exception.
+         *
+         * @return the number of failed snapshot reloads.
+         */
+        long failures();
+
+        /**
+         * Returns the time it took, in milliseconds, to reload the snapshots due at the last update.
+         *
+         * @return a number of milliseconds.
+         */
+        long refreshTime();
+
+        /**
+         * Returns the longest time, in milliseconds, a snapshot was overdue at the last update, beyond its period.
+         *
+         * @return a number of milliseconds.
+         */
+        long staleness();
+    }
 }
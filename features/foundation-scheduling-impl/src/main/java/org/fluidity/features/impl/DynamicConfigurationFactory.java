@@ -16,22 +16,32 @@
 
 package org.fluidity.features.impl;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
 import org.fluidity.composition.Component;
 import org.fluidity.composition.ComponentContainer;
 import org.fluidity.composition.ComponentContext;
+import org.fluidity.composition.Optional;
 import org.fluidity.composition.spi.ComponentFactory;
 import org.fluidity.features.DynamicConfiguration;
 import org.fluidity.features.Updates;
 import org.fluidity.foundation.Configuration;
 import org.fluidity.foundation.Deferred;
+import org.fluidity.foundation.Exceptions;
 import org.fluidity.foundation.Generics;
 import org.fluidity.foundation.Proxies;
 import org.fluidity.foundation.security.Security;
+import org.fluidity.foundation.spi.PropertyProvider;
 
 /**
  * @author Tibor Varga
@@ -40,6 +50,13 @@ import org.fluidity.foundation.security.Security;
 @Component.Qualifiers(Component.Reference.class)
 final class DynamicConfigurationFactory implements ComponentFactory {
 
+    private static final ClassValue<Layout<?>> layouts = new ClassValue<Layout<?>>() {
+        @Override
+        protected Layout<?> computeValue(final Class<?> type) {
+            return new Layout<>(type);
+        }
+    };
+
     @SuppressWarnings("unchecked")
     public Instance resolve(final ComponentContext context, final Container dependencies) throws Exception {
         final Component.Reference reference = context.qualifier(Component.Reference.class, DynamicConfiguration.class);
@@ -60,23 +77,31 @@ final class DynamicConfigurationFactory implements ComponentFactory {
 
         private final Deferred.Reference<Supplier<T>> snapshot;
 
-        DynamicConfigurationImpl(final ComponentContext context, final Configuration<T> delegate, final Configuration<Settings> configuration, final Updates updates) {
+        DynamicConfigurationImpl(final ComponentContext context,
+                                 final Configuration<T> delegate,
+                                 final Configuration<Settings> configuration,
+                                 final Updates updates,
+                                 final @Optional PropertyProvider provider) {
 
             @SuppressWarnings("unchecked")
             final Class<T> type = (Class<T>) Generics.rawType(context.qualifier(Component.Reference.class, null).parameter(0));
 
-            final Configuration.Query<T, T> all = settings -> {
-                final Map<Method, Object> cache = new HashMap<>();
+            this.snapshot = Deferred.shared(() -> {
+                final long period = configuration.settings().period();
+                @SuppressWarnings("unchecked")
+                final Layout<T> layout = (Layout<T>) layouts.get(type);
+                final Supplier<T> loader = () -> delegate.query(layout::snapshot);
 
-                for (final Method method : Security.invoke(type::getMethods)) {
-                    assert method.getParameterTypes().length == 0 : method;
-                    cache.put(method, Security.access(method).invoke(settings));
-                }
+                if (period > 0 && provider != null) {
+                    final NotifiedSnapshot<T> snapshot = new NotifiedSnapshot<>(loader);
 
-                return Proxies.create(type, (proxy, method, arguments) -> cache.get(method));
-            };
+                    if (provider.subscribe(new Subscription(snapshot))) {
+                        return snapshot;
+                    }
+                }
 
-            this.snapshot = Deferred.shared(() -> updates.snapshot(configuration.settings().period(), () -> delegate.query(all)));
+                return updates.snapshot(period, loader);
+            });
         }
 
         public Supplier<T> snapshot() {
@@ -84,6 +109,157 @@ final class DynamicConfigurationFactory implements ComponentFactory {
         }
     }
 
+    /**
+     * Takes immutable snapshots of a settings interface. The methods of the interface are resolved once per interface; a snapshot holds the value of each
+     * method in an array, and the snapshot proxy returns these values without further reflection. The proxy passes the same {@link Method} objects to its
+     * handler on every call, so the handler finds the index of a method's value by comparing references with those seen before, and only looks up methods
+     * not seen before.
+     *
+     * @param <T> the settings interface.
+     *
+     * @author Tibor Varga
+     */
+    private static final class Layout<T> {
+
+        private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+
+        private final Class<T> type;
+        private final MethodHandle[] getters;
+        private final Map<Method, Integer> indexes = new HashMap<>();
+
+        // the Method objects the snapshot proxies pass to their handler, by index; filled in on first use
+        private final Method[] methods;
+
+        Layout(final Class<T> type) {
+            final Method[] methods = Security.invoke(type::getMethods);
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+            this.type = type;
+            this.getters = new MethodHandle[methods.length];
+            this.methods = new Method[methods.length];
+
+            for (int i = 0; i < methods.length; i++) {
+                final Method method = methods[i];
+                assert method.getParameterTypes().length == 0 : method;
+
+                indexes.put(method, i);
+                getters[i] = Exceptions.wrap(() -> lookup.unreflect(Security.access(method)).asType(GETTER));
+            }
+        }
+
+        T snapshot(final T settings) throws Exception {
+            final Object[] values = new Object[getters.length];
+
+            try {
+                for (int i = 0; i < getters.length; i++) {
+                    values[i] = getters[i].invokeExact((Object) settings);
+                }
+            } catch (final Exception | Error e) {
+                throw e;
+            } catch (final Throwable e) {
+                throw new UndeclaredThrowableException(e);
+            }
+
+            return Proxies.create(type, (proxy, method, arguments) -> values[index(method)]);
+        }
+
+        private int index(final Method method) {
+            for (int i = 0; i < methods.length; i++) {
+                if (methods[i] == method) {
+                    return i;
+                }
+            }
+
+            final int index = indexes.get(method);
+
+            // benign race: another thread may not see this and look up the method again
+            methods[index] = method;
+
+            return index;
+        }
+    }
+
+    /**
+     * Snapshot reloaded on the first access after the property provider notified of a change. The reload is cheap as the delegate configuration only queries
+     * the changed properties again.
+     *
+     * @param <T> the settings interface.
+     *
+     * @author Tibor Varga
+     */
+    private static final class NotifiedSnapshot<T> implements Supplier<T> {
+
+        private final Supplier<T> loader;
+        private final AtomicLong changes = new AtomicLong();
+
+        private volatile Loaded<T> loaded;
+
+        NotifiedSnapshot(final Supplier<T> loader) {
+            this.loader = loader;
+        }
+
+        void changed() {
+            changes.incrementAndGet();
+        }
+
+        public T get() {
+            final long changes = this.changes.get();    // must be read before loading
+            Loaded<T> loaded = this.loaded;
+
+            if (loaded == null || loaded.changes != changes) {
+                this.loaded = loaded = new Loaded<>(changes, loader.get());
+            }
+
+            return loaded.snapshot;
+        }
+
+        /**
+         * A snapshot and the number of changes at the time of loading it.
+         *
+         * @param <T> the settings interface.
+         *
+         * @author Tibor Varga
+         */
+        private static final class Loaded<T> {
+
+            final long changes;
+            final T snapshot;
+
+            Loaded(final long changes, final T snapshot) {
+                this.changes = changes;
+                this.snapshot = snapshot;
+            }
+        }
+    }
+
+    /**
+     * Forwards change notifications to a snapshot for as long as the snapshot is in use.
+     *
+     * @author Tibor Varga
+     */
+    private static final class Subscription implements PropertyProvider.Listener {
+
+        private final WeakReference<NotifiedSnapshot<?>> snapshot;
+
+        Subscription(final NotifiedSnapshot<?> snapshot) {
+            this.snapshot = new WeakReference<>(snapshot);
+        }
+
+        public boolean changed(final Set<String> keys) {
+            final NotifiedSnapshot<?> snapshot = this.snapshot.get();
+
+            if (snapshot != null) {
+                snapshot.changed();
+            }
+
+            return snapshot != null;
+        }
+
+        public boolean subscribed() {
+            return snapshot.get() != null;
+        }
+    }
+
     /**
      * Configuration refresh period settings.
      */
@@ -16,8 +16,11 @@
 
 package org.fluidity.features.impl;
 
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
@@ -30,13 +33,30 @@ import org.fluidity.foundation.Deferred;
 import org.fluidity.foundation.Log;
 
 /**
+ * A single timer thread keeps track of the scheduled tasks and hands them, when due, to a pool of worker threads to invoke. A task that runs longer than its
+ * period thus delays no other task, and its invocations that would overlap a running one are skipped.
+ *
  * @author Tibor Varga
  */
 @Component(primary = false)
 final class SchedulerImpl implements Scheduler {
 
     private final AtomicBoolean stopped = new AtomicBoolean(false);
-    private final Deferred.Reference<Timer> timer = Deferred.shared(() -> new Timer(Scheduler.class.getName(), true));
+
+    private final Deferred.Reference<ScheduledThreadPoolExecutor> timer = Deferred.shared(() -> {
+        final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, command -> {
+            final Thread thread = new Thread(command, Scheduler.class.getName());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // canceled tasks would otherwise linger until their next invocation time
+        timer.setRemoveOnCancelPolicy(true);
+
+        return timer;
+    });
+
+    private final Deferred.Reference<ForkJoinPool> workers;
 
     private final Configuration<Settings> configuration;
     private final Log log;
@@ -47,9 +67,25 @@ final class SchedulerImpl implements Scheduler {
         this.configuration = configuration;
         this.log = log;
 
+        final int threads = configuration.query(Settings::threads);
+        final int parallelism = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        this.workers = Deferred.shared(() -> new ForkJoinPool(parallelism, pool -> {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(String.format("%s-%d", Scheduler.class.getName(), thread.getPoolIndex()));
+            thread.setDaemon(true);
+            return thread;
+        }, null, true));
+
         termination.add(() -> {
-            if (stopped.compareAndSet(false, true) && timer.resolved()) {
-                timer.invalidate().cancel();
+            if (stopped.compareAndSet(false, true)) {
+                if (timer.resolved()) {
+                    timer.invalidate().shutdownNow();
+                }
+
+                if (workers.resolved()) {
+                    workers.invalidate().shutdownNow();
+                }
             }
         });
     }
@@ -67,133 +103,163 @@ final class SchedulerImpl implements Scheduler {
             throw new IllegalStateException("Scheduler has been stopped");
         }
 
-        final AtomicBoolean suspended = new AtomicBoolean();
-        final AtomicInteger errorCount = new AtomicInteger();
-        final AtomicLong timestamp = new AtomicLong();
+        final Invocation invocation = new Invocation(command, period > 0);
 
-        final AtomicInteger errorLimit = new AtomicInteger(-1);
-        final AtomicLong penaltyTime = new AtomicLong(-1);
+        final ForkJoinPool pool = workers.get();
+        final Runnable dispatch = () -> pool.execute(invocation);
 
-        final AtomicBoolean canceled = new AtomicBoolean();
-        final AtomicBoolean delayed = new AtomicBoolean();
+        invocation.future = period > 0
+                            ? timer.get().scheduleAtFixedRate(dispatch, delay, period, TimeUnit.MILLISECONDS)
+                            : timer.get().schedule(dispatch, delay, TimeUnit.MILLISECONDS);
 
-        final TimerTask task = new TimerTask() {
-            @Override
-            public boolean cancel() {
-                canceled.set(true);
-                return super.cancel();
-            }
+        // the task may have been canceled by its first invocation before its future was known
+        if (invocation.canceled) {
+            invocation.future.cancel(false);
+        }
 
-            @Override
-            public void run() {
-                final AtomicLong penalty = new AtomicLong(penaltyTime.get());
-                final AtomicInteger limit = new AtomicInteger(errorLimit.get());
-
-                // make sure we don't have invalid data in our user exposed settings
-                if (penalty.get() <= 0 || limit.get() < 0) {
-                    configuration.query(settings -> {
-                        long penaltyValue = penaltyTime.get();
-                        while (penaltyValue <= 0 && !penaltyTime.compareAndSet(penaltyValue, settings.defaultErrorPenalty())) {
-                            penaltyValue = penaltyTime.get();
-                        }
-
-                        int limitValue = errorLimit.get();
-                        while (limitValue < 0 && !errorLimit.compareAndSet(limitValue, settings.defaultErrorLimit())) {
-                            limitValue = errorLimit.get();
-                        }
-
-                        limit.set(errorLimit.get());
-                        penalty.set(penaltyTime.get());
-
-                        return null;
-                    });
-                }
+        return invocation;
+    }
+
+    /**
+     * The scheduled invocations of a task.
+     *
+     * @author Tibor Varga
+     */
+    private final class Invocation implements Runnable, Task.Control {
 
-                final long time = timestamp.get();
+        private final Task command;
+        private final boolean periodic;
 
-                if (suspended.get()) {
-                    if (time > 0 && System.currentTimeMillis() - time >= penalty.get()) {
-                        errorCount.set(0);
-                        suspended.set(false);
-                    } else {
-                        if (period == 0) {
-                            delayed.set(true);
-                        }
+        private final AtomicInteger errorLimit = new AtomicInteger(-1);
+        private final AtomicLong penaltyTime = new AtomicLong(-1);
 
-                        return;
-                    }
-                }
+        private final AtomicBoolean running = new AtomicBoolean();
+        private final AtomicBoolean delayed = new AtomicBoolean();
+
+        private volatile boolean suspended;
+        private volatile boolean canceled;
 
+        // updated by the invoking thread only, except when reset by the control methods
+        private volatile int errors;
+        private volatile long timestamp;
+
+        volatile Future<?> future;
+
+        Invocation(final Task command, final boolean periodic) {
+            this.command = command;
+            this.periodic = periodic;
+        }
+
+        public void run() {
+            if (!canceled && running.compareAndSet(false, true)) {
                 try {
-                    command.run();
-                    timestamp.set(0);
-                } catch (final Exception e) {
-                    if (limit.get() > 0) {
-                        final int errors = errorCount.incrementAndGet();
-
-                        if (time > 0 || errors >= limit.get()) {
-                            timestamp.set(System.currentTimeMillis());
-                            suspended.set(true);
-                            log.error(e, "Scheduled task (%s) suspended for %d ms due to too many exceptions", command, penalty.get());
-                        } else {
-                            log.error(e, "Scheduled task (%s) exception %d/%d", command, errors, limit.get());
-                        }
-                    } else {
-                        log.error(e, "Scheduled task (%s) exception", command);
-                    }
-                } catch (final Error e) {
-                    if (cancel()) {
-                        log.error(e, "Scheduled task (%s) cancelled due to error", command);
-                    } else {
-                        log.error(e, "Scheduled task (%s) error", command);
-                    }
+                    invoke();
+                } finally {
+                    running.set(false);
                 }
             }
-        };
-
-        if (period > 0) {
-            timer.get().scheduleAtFixedRate(task, delay, period);
-        } else {
-            timer.get().schedule(task, delay);
         }
 
-        return new Task.Control() {
-            public void suspend() {
-                suspended.set(true);
-                errorCount.set(0);
-                timestamp.set(0);
+        private void invoke() {
+            final long penaltyValue = penaltyTime.get();
+            final int limitValue = errorLimit.get();
+
+            // make sure we don't have invalid data in our user exposed settings
+            if (penaltyValue <= 0 || limitValue < 0) {
+                configuration.query(settings -> {
+                    if (penaltyValue <= 0) {
+                        penaltyTime.compareAndSet(penaltyValue, settings.defaultErrorPenalty());
+                    }
+
+                    if (limitValue < 0) {
+                        errorLimit.compareAndSet(limitValue, settings.defaultErrorLimit());
+                    }
+
+                    return null;
+                });
             }
 
-            public void resume() {
-                timestamp.set(0);
-                errorCount.set(0);
-                suspended.set(false);
+            final long penalty = penaltyTime.get();
+            final int limit = errorLimit.get();
+            final long time = timestamp;
+
+            if (suspended) {
+                if (time > 0 && System.currentTimeMillis() - time >= penalty) {
+                    errors = 0;
+                    suspended = false;
+                } else {
+                    if (!periodic) {
+                        delayed.set(true);
+                    }
 
-                if (delayed.compareAndSet(true, false)) {
-                    task.run();
+                    return;
                 }
             }
 
-            public boolean suspended() {
-                return suspended.get();
+            try {
+                command.run();
+                timestamp = 0;
+            } catch (final Exception e) {
+                if (limit > 0) {
+                    final int count = ++errors;
+
+                    if (time > 0 || count >= limit) {
+                        timestamp = System.currentTimeMillis();
+                        suspended = true;
+                        log.error(e, "Scheduled task (%s) suspended for %d ms due to too many exceptions", command, penalty);
+                    } else {
+                        log.error(e, "Scheduled task (%s) exception %d/%d", command, count, limit);
+                    }
+                } else {
+                    log.error(e, "Scheduled task (%s) exception", command);
+                }
+            } catch (final Error e) {
+                if (cancel()) {
+                    log.error(e, "Scheduled task (%s) cancelled due to error", command);
+                } else {
+                    log.error(e, "Scheduled task (%s) error", command);
+                }
             }
+        }
 
-            public AtomicInteger exceptionLimit() {
-                return errorLimit;
-            }
+        public void suspend() {
+            suspended = true;
+            errors = 0;
+            timestamp = 0;
+        }
 
-            public AtomicLong penaltyTime() {
-                return penaltyTime;
-            }
+        public void resume() {
+            timestamp = 0;
+            errors = 0;
+            suspended = false;
 
-            public boolean canceled() {
-                return canceled.get();
+            if (delayed.compareAndSet(true, false)) {
+                run();
             }
+        }
 
-            public boolean cancel() {
-                return task.cancel();
-            }
-        };
+        public boolean suspended() {
+            return suspended;
+        }
+
+        public AtomicInteger exceptionLimit() {
+            return errorLimit;
+        }
+
+        public AtomicLong penaltyTime() {
+            return penaltyTime;
+        }
+
+        public boolean canceled() {
+            return canceled;
+        }
+
+        public boolean cancel() {
+            canceled = true;
+
+            final Future<?> scheduled = future;
+            return scheduled != null && scheduled.cancel(false);
+        }
     }
 
     /**
@@ -220,5 +286,13 @@ final class SchedulerImpl implements Scheduler {
          */
         @Configuration.Property(key = Scheduler.TASK_EXCEPTION_PENALTY, undefined = "60000")
         long defaultErrorPenalty();
+
+        /**
+         * Tells how many threads invoke the scheduled tasks.
+         *
+         * @return a number greater than 0, or 0 for the number of available processors.
+         */
+        @Configuration.Property(key = Scheduler.THREAD_COUNT, undefined = "0")
+        int threads();
     }
 }
@@ -16,33 +16,49 @@
 
 package org.fluidity.features.impl;
 
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import org.fluidity.composition.Component;
 import org.fluidity.features.Scheduler;
 import org.fluidity.features.Updates;
 import org.fluidity.foundation.Configuration;
+import org.fluidity.foundation.Log;
 
 /**
+ * Periodic snapshots are registered, through weak references, with this component, and the scheduled timer task of this component reloads, in one batch,
+ * those due at each tick. Snapshot readers thus never invoke the loader.
+ *
  * @author Tibor Varga
  */
 @Component
 final class UpdatesImpl implements Updates {
 
-    private volatile long timestamp;
+    private final Set<Registration> registrations = ConcurrentHashMap.newKeySet();
+    private final ReferenceQueue<Periodic<?>> released = new ReferenceQueue<>();
 
     private final long delay;
+    private final Log log;
+
+    private final Statistics statistics = new Statistics();
 
-    UpdatesImpl(final Scheduler scheduler, @Component.Qualifiers(ignore = Configuration.Prefix.class) final Configuration<Settings> configuration) {
-        delay = configuration.settings().period();
+    UpdatesImpl(final Scheduler scheduler,
+                final @Component.Qualifiers(ignore = Configuration.Prefix.class) Configuration<Settings> configuration,
+                final Log<UpdatesImpl> log) {
+        this.log = log;
+        this.delay = configuration.settings().period();
 
         if (delay > 0) {
-            scheduler.invoke(delay, delay, () -> timestamp = System.currentTimeMillis());
+            scheduler.invoke(delay, delay, this::refresh);
         }
     }
 
-    public synchronized <T> Supplier<T> snapshot(final long period, final Supplier<T> loader) {
+    public <T> Supplier<T> snapshot(final long period, final Supplier<T> loader) {
         final long interval = period > 0 ? delay : period;  // period set: delay determines special behavior, period does otherwise
 
         if (interval < 0) {
@@ -62,25 +78,130 @@ final class UpdatesImpl implements Updates {
         } else {
 
             // periodic snapshot
-            return new Supplier<T>() {
+            final Periodic<T> snapshot = new Periodic<>(period, loader);
+            registrations.add(new Registration(snapshot, released));
+            return snapshot;
+        }
+    }
 
-                private long loaded = System.currentTimeMillis();   // not volatile: snapshot assignment is a write barrier, timestamp query is a read barrier
-                private volatile T snapshot = loader.get();
+    public Metrics metrics() {
+        return statistics;
+    }
 
-                private final AtomicBoolean loading = new AtomicBoolean(false);
+    private synchronized void refresh() {
+        for (Reference<?> reference; (reference = released.poll()) != null; ) {
+            registrations.remove(reference);
+        }
 
-                public T get() {
+        final long started = System.nanoTime();
+        final long now = System.currentTimeMillis();
 
-                    // "timestamp" query is a read barrier; must happen before reading "loaded"
-                    if (timestamp - loaded >= period && loading.compareAndSet(false, true)) {
-                        loaded = System.currentTimeMillis();
-                        snapshot = loader.get();                    // "snapshot" assignment is a write barrier; must come after assignment to "loaded"
-                        loading.set(false);
-                    }
+        long refreshed = 0;
+        long failed = 0;
+        long stalest = 0;
 
-                    return snapshot;
+        for (final Registration registration : registrations) {
+            final Periodic<?> snapshot = registration.get();
+
+            if (snapshot != null) {
+                final long overdue = now - snapshot.loaded - snapshot.period;
+
+                if (overdue >= 0) {
+                    stalest = Math.max(stalest, overdue);
+
+                    try {
+                        snapshot.reload(now);
+                        ++refreshed;
+                    } catch (final Exception e) {
+                        ++failed;
+                        log.error(e, "Could not refresh snapshot (%s)", snapshot.loader);
+                    }
                 }
-            };
+            }
+        }
+
+        statistics.refreshes += refreshed;
+        statistics.failures += failed;
+        statistics.staleness = stalest;
+        statistics.refreshTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+    }
+
+    /**
+     * A snapshot reloaded by the timer task.
+     *
+     * @param <T> the type of the snapshot.
+     *
+     * @author Tibor Varga
+     */
+    private static final class Periodic<T> implements Supplier<T> {
+
+        final long period;
+        final Supplier<T> loader;
+
+        // accessed by the timer task only, after the snapshot has been registered
+        long loaded = System.currentTimeMillis();
+
+        private volatile T snapshot;
+
+        Periodic(final long period, final Supplier<T> loader) {
+            this.period = period;
+            this.loader = loader;
+            this.snapshot = loader.get();
+        }
+
+        void reload(final long timestamp) {
+            loaded = timestamp;       // a failing loader is not retried until the next period
+            snapshot = loader.get();
+        }
+
+        public T get() {
+            return snapshot;
+        }
+    }
+
+    /**
+     * Refresh statistics.
+     *
+     * @author Tibor Varga
+     */
+    private final class Statistics implements Metrics {
+
+        // written by the synchronized refresh() method only
+        volatile long refreshes;
+        volatile long failures;
+        volatile long refreshTime;
+        volatile long staleness;
+
+        public int snapshots() {
+            return registrations.size();
+        }
+
+        public long refreshes() {
+            return refreshes;
+        }
+
+        public long failures() {
+            return failures;
+        }
+
+        public long refreshTime() {
+            return refreshTime;
+        }
+
+        public long staleness() {
+            return staleness;
+        }
+    }
+
+    /**
+     * Keeps track of a periodic snapshot for as long as the snapshot is in use.
+     *
+     * @author Tibor Varga
+     */
+    private static final class Registration extends WeakReference<Periodic<?>> {
+
+        Registration(final Periodic<?> snapshot, final ReferenceQueue<Periodic<?>> queue) {
+            super(snapshot, queue);
         }
     }
 
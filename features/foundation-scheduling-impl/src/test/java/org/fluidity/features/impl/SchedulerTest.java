@@ -20,7 +20,9 @@ import java.lang.management.ManagementFactory;
 import java.lang.management.ThreadInfo;
 import java.lang.management.ThreadMXBean;
 import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.fluidity.composition.spi.ContainerTermination;
@@ -63,6 +65,8 @@ public class SchedulerTest extends Simulator {
             return null;
         });
 
+        configuration.expectQuery(settings -> EasyMock.expect(settings.threads()).andReturn(2));
+
         verify((Task) () -> scheduler = new SchedulerImpl(termination, configuration.get(), log));
 
         assert stop != null;
@@ -150,6 +154,26 @@ public class SchedulerTest extends Simulator {
         }
     }
 
+    @Test
+    public void testSlowTask() throws Exception {
+        final Threads threads = newThreads("Timing");
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicBoolean overtaken = new AtomicBoolean(false);
+
+        settings(3, 60000);
+        settings(3, 60000);
+
+        verify(() -> {
+            scheduler.invoke(0, () -> overtaken.set(latch.await(threads.time(100), TimeUnit.MILLISECONDS)));
+            scheduler.invoke(threads.time(5), latch::countDown);
+
+            Thread.sleep(threads.time(20));
+        });
+
+        assert overtaken.get();
+    }
+
     @Test
     public void testTaskError() throws Exception {
         final CyclicBarrier barrier = new CyclicBarrier(2);
@@ -169,7 +193,9 @@ public class SchedulerTest extends Simulator {
 
         verify(() -> {
             threads.lineup(barrier, threads.time(10));
-            Thread.yield();
+
+            // the worker thread cancels the task after it has thrown the error
+            Thread.sleep(threads.time(5));
         });
 
         assert control.canceled();
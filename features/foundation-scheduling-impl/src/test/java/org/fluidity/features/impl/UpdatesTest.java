@@ -21,6 +21,8 @@ import java.util.function.Supplier;
 
 import org.fluidity.features.Scheduler;
 import org.fluidity.features.Updates;
+import org.fluidity.foundation.Log;
+import org.fluidity.foundation.NoLogFactory;
 import org.fluidity.foundation.testing.MockConfiguration;
 import org.fluidity.testing.Simulator;
 
@@ -34,6 +36,7 @@ import org.testng.annotations.Test;
 public class UpdatesTest extends Simulator {
 
     private final MockObjects dependencies = dependencies();
+    private final Log<UpdatesImpl> log = NoLogFactory.consume(UpdatesImpl.class);
     private final MockConfiguration.Direct<UpdatesImpl.Settings> configuration = MockConfiguration.direct(UpdatesImpl.Settings.class, dependencies);
 
     @SuppressWarnings("unchecked")
@@ -59,7 +62,7 @@ public class UpdatesTest extends Simulator {
                     });
         }
 
-        updates = verify((Work<Updates>) () -> new UpdatesImpl(scheduler, configuration.get()));
+        updates = verify((Work<Updates>) () -> new UpdatesImpl(scheduler, configuration.get(), log));
 
         return task.get();
     }
@@ -89,13 +92,59 @@ public class UpdatesTest extends Simulator {
         });
 
         Thread.sleep(150);
-        timer.run();
+
+        final Object updated = new Object();
+
+        // the snapshot is reloaded by the timer, not by the reader
+        test(() -> {
+            EasyMock.expect(loader.get()).andReturn(updated);
+
+            verify(timer::run);
+        });
+
+        verify(() -> {
+            assert updated == snapshot.get();
+            assert updated == snapshot.get();
+        });
+
+        // not yet due
+        verify(timer::run);
+
+        final Updates.Metrics metrics = updates.metrics();
+
+        assert metrics.snapshots() == 1 : metrics.snapshots();
+        assert metrics.refreshes() == 1 : metrics.refreshes();
+        assert metrics.failures() == 0 : metrics.failures();
+        assert metrics.staleness() >= 0 : metrics.staleness();
+    }
+
+    @Test
+    public void testFailedUpdate() throws Exception {
+        final Scheduler.Task timer = setPeriod(true);
+        assert timer != null;
+
+        final Object context = new Object();
+
+        final Supplier<Object> snapshot = test(() -> {
+            EasyMock.expect(loader.get()).andReturn(context);
+
+            return verify(() -> updates.snapshot(100, loader));
+        });
+
+        Thread.sleep(150);
 
         test(() -> {
-            EasyMock.expect(loader.get()).andReturn(new Object());
+            EasyMock.expect(loader.get()).andThrow(new IllegalStateException());
 
-            assert context != verify(snapshot::get);
+            verify(timer::run);
         });
+
+        assert context == verify(snapshot::get);
+
+        final Updates.Metrics metrics = updates.metrics();
+
+        assert metrics.refreshes() == 0 : metrics.refreshes();
+        assert metrics.failures() == 1 : metrics.failures();
     }
 
     @Test
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2006-2018 Tibor Adam Varga (tibor.adam.varga on gmail)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fluidity.features.logging;
+
+import org.fluidity.foundation.Log;
+
+/**
+ * Queues the messages of another log in a {@link RingBuffer}. Log levels are queried synchronously from the other log.
+ *
+ * @param <T> identifies the class to which an instance belongs.
+ *
+ * @author Tibor Varga
+ */
+final class AsyncLog<T> implements Log<T> {
+
+    private final Log<T> log;
+    private final RingBuffer buffer;
+
+    AsyncLog(final Log<T> log, final RingBuffer buffer) {
+        this.log = log;
+        this.buffer = buffer;
+    }
+
+    public boolean isTraceEnabled() {
+        return log.isTraceEnabled();
+    }
+
+    public boolean isDebugEnabled() {
+        return log.isDebugEnabled();
+    }
+
+    public boolean isInfoEnabled() {
+        return log.isInfoEnabled();
+    }
+
+    public boolean isWarningEnabled() {
+        return log.isWarningEnabled();
+    }
+
+    public void trace(final String format, final Object... arguments) {
+        if (log.isTraceEnabled()) {
+            buffer.publish(RingBuffer.Level.TRACE, log, null, format, arguments);
+        }
+    }
+
+    public void debug(final String format, final Object... arguments) {
+        if (log.isDebugEnabled()) {
+            buffer.publish(RingBuffer.Level.DEBUG, log, null, format, arguments);
+        }
+    }
+
+    public void info(final String format, final Object... arguments) {
+        if (log.isInfoEnabled()) {
+            buffer.publish(RingBuffer.Level.INFO, log, null, format, arguments);
+        }
+    }
+
+    public void warning(final String format, final Object... arguments) {
+        if (log.isWarningEnabled()) {
+            buffer.publish(RingBuffer.Level.WARNING, log, null, format, arguments);
+        }
+    }
+
+    public void error(final String format, final Object... arguments) {
+        buffer.publish(RingBuffer.Level.ERROR, log, null, format, arguments);
+    }
+
+    public void trace(final Throwable exception, final String format, final Object... arguments) {
+        if (log.isTraceEnabled()) {
+            buffer.publish(RingBuffer.Level.TRACE, log, exception, format, arguments);
+        }
+    }
+
+    public void debug(final Throwable exception, final String format, final Object... arguments) {
+        if (log.isDebugEnabled()) {
+            buffer.publish(RingBuffer.Level.DEBUG, log, exception, format, arguments);
+        }
+    }
+
+    public void info(final Throwable exception, final String format, final Object... arguments) {
+        if (log.isInfoEnabled()) {
+            buffer.publish(RingBuffer.Level.INFO, log, exception, format, arguments);
+        }
+    }
+
+    public void warning(final Throwable exception, final String format, final Object... arguments) {
+        if (log.isWarningEnabled()) {
+            buffer.publish(RingBuffer.Level.WARNING, log, exception, format, arguments);
+        }
+    }
+
+    public void error(final Throwable exception, final String format, final Object... arguments) {
+        buffer.publish(RingBuffer.Level.ERROR, log, exception, format, arguments);
+    }
+}
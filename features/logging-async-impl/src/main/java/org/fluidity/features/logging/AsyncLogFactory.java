@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2006-2018 Tibor Adam Varga (tibor.adam.varga on gmail)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fluidity.features.logging;
+
+import java.lang.reflect.Constructor;
+
+import org.fluidity.composition.Component;
+import org.fluidity.composition.ServiceProvider;
+import org.fluidity.foundation.Deferred;
+import org.fluidity.foundation.Exceptions;
+import org.fluidity.foundation.Log;
+import org.fluidity.foundation.ServiceProviders;
+import org.fluidity.foundation.security.Security;
+import org.fluidity.foundation.spi.LogFactory;
+
+/**
+ * Log factory that wraps another one to make logging asynchronous. See {@link AsyncLogging} for details.
+ *
+ * @author Tibor Varga
+ */
+@Component
+@ServiceProvider
+final class AsyncLogFactory implements LogFactory {
+
+    private static final int DEFAULT_CAPACITY = 8192;
+    private static final int DEFAULT_SAMPLE_RATE = 100;
+
+    // how long to wait at shutdown for queued messages to be emitted
+    private static final long SHUTDOWN_TIMEOUT = 1000L;
+
+    // all factories share one consumer thread; failures to emit a message are reported through the fallback logging implementation
+    private static final Deferred.Reference<RingBuffer> buffer = Deferred.shared(() -> {
+        final String overflow = System.getProperty(AsyncLogging.OVERFLOW);
+
+        final RingBuffer buffer = new RingBuffer(Integer.getInteger(AsyncLogging.CAPACITY, DEFAULT_CAPACITY),
+                                                 overflow == null ? AsyncLogging.Overflow.BLOCK : AsyncLogging.Overflow.valueOf(overflow.toUpperCase()),
+                                                 Integer.getInteger(AsyncLogging.SAMPLE_RATE, DEFAULT_SAMPLE_RATE),
+                                                 () -> factory(true).createLog(RingBuffer.class));
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> buffer.stop(SHUTDOWN_TIMEOUT)));
+
+        return buffer;
+    });
+
+    private final Deferred.Reference<LogFactory> delegate = Deferred.shared(() -> factory(false));
+
+    @Override
+    public Class<?> type() {
+        return AsyncLog.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public <T> Log<T> createLog(final Class<T> source) {
+        return new AsyncLog<>(delegate.get().createLog(source), buffer.get());
+    }
+
+    static long dropped() {
+        return buffer.resolved() ? buffer.get().dropped() : 0L;
+    }
+
+    static boolean shutdown(final long timeout) {
+        return !buffer.resolved() || buffer.get().stop(timeout);
+    }
+
+    /**
+     * Instantiates the log factory to wrap or the one to report failures to.
+     *
+     * @param fallback if <code>true</code>, fallback implementations are preferred to others, else the other way around and the {@value
+     *                 AsyncLogging#DELEGATE} system property is consulted first.
+     *
+     * @return a new log factory.
+     */
+    private static LogFactory factory(final boolean fallback) {
+        final ClassLoader loader = Security.invoke(AsyncLogFactory.class::getClassLoader);
+        final String name = fallback ? null : System.getProperty(AsyncLogging.DELEGATE);
+
+        Class<? extends LogFactory> selected = null;
+
+        if (name != null) {
+            selected = Exceptions.wrap(() -> loader.loadClass(name)).asSubclass(LogFactory.class);
+        } else {
+            for (final Class<? extends LogFactory> type : ServiceProviders.findClasses(ServiceProviders.TYPE, LogFactory.class, loader, false, true, true, new Errors())) {
+                if (!AsyncLogFactory.class.equals(type)) {
+                    final Component component = type.getAnnotation(Component.class);
+                    final boolean preferred = (component != null && !component.primary()) == fallback;
+
+                    if (selected == null || preferred) {
+                        selected = type;
+                    }
+
+                    if (preferred) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        if (selected == null) {
+            throw new IllegalStateException(String.format("No %s found to wrap", LogFactory.class.getName()));
+        }
+
+        final Class<? extends LogFactory> type = selected;
+
+        return Exceptions.wrap(() -> Security.invoke(Exception.class, () -> {
+            final Constructor<? extends LogFactory> constructor = type.getDeclaredConstructor();
+
+            if (!constructor.isAccessible()) {
+                constructor.setAccessible(true);
+            }
+
+            return constructor;
+        }).newInstance());
+    }
+
+    /**
+     * Reports service provider discovery errors to the standard error stream, as there is no log yet to report them to.
+     *
+     * @author Tibor Varga
+     */
+    private static final class Errors implements ServiceProviders.Log {
+
+        public void debug(final String format, final Object... arguments) {
+            // ignore
+        }
+
+        public void error(final String format, final Object... arguments) {
+            System.err.printf(format.concat("%n"), arguments);
+        }
+
+        public void error(final Exception error, final String format, final Object... arguments) {
+            System.err.printf("%s: %s%n", String.format(format, arguments), error);
+        }
+    }
+}
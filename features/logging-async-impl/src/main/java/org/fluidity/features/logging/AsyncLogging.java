@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2006-2018 Tibor Adam Varga (tibor.adam.varga on gmail)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fluidity.features.logging;
+
+import org.fluidity.foundation.Utility;
+
+/**
+ * Asynchronous logging. When this module is present, the {@link org.fluidity.foundation.Log} objects injected to components queue their messages, along
+ * with the unformatted message arguments, in a bounded ring buffer, and return without waiting for the message to be formatted or written. A single thread
+ * drains the buffer in batches and passes the messages to the logging implementation this one wraps. Failures of the wrapped implementation to emit a
+ * message are reported through the fallback logging implementation, if any, or else through the first other one found.
+ * <p>
+ * The wrapped logging implementation is the {@link org.fluidity.foundation.spi.LogFactory} class named in the {@value #DELEGATE} system property, or if
+ * that is not set, the first other <code>LogFactory</code> service provider found, preferring those that are not fallback implementations. As with any
+ * logging implementation, the archive of this module must precede in the class path those of other implementations.
+ * <p>
+ * The number of messages the buffer holds is set in the {@value #CAPACITY} system property, rounded up to a power of two; 8192 by default. What happens
+ * when the buffer is full depends on the {@linkplain Overflow overflow policy} set in the {@value #OVERFLOW} system property; {@link Overflow#BLOCK BLOCK}
+ * by default.
+ * <p>
+ * Since the messages are formatted some time after they have been logged, message arguments should not be modified after being passed to a log method.
+ *
+ * @author Tibor Varga
+ */
+public final class AsyncLogging extends Utility {
+
+    /**
+     * The system property that contains the fully qualified name of the {@link org.fluidity.foundation.spi.LogFactory} class to wrap.
+     */
+    public static final String DELEGATE = "org.fluidity.features.logging.async.delegate";
+
+    /**
+     * The system property that contains the number of messages the buffer holds.
+     */
+    public static final String CAPACITY = "org.fluidity.features.logging.async.capacity";
+
+    /**
+     * The system property that contains the name of the {@link Overflow} policy.
+     */
+    public static final String OVERFLOW = "org.fluidity.features.logging.async.overflow";
+
+    /**
+     * The system property that contains the sampling rate of the {@link Overflow#SAMPLE SAMPLE} overflow policy.
+     */
+    public static final String SAMPLE_RATE = "org.fluidity.features.logging.async.sample-rate";
+
+    private AsyncLogging() { }
+
+    /**
+     * Returns the number of messages dropped so far due to the buffer being full.
+     *
+     * @return the number of messages dropped so far.
+     */
+    public static long dropped() {
+        return AsyncLogFactory.dropped();
+    }
+
+    /**
+     * Emits the messages queued so far and stops the thread that emits them. Messages logged afterwards are emitted on the calling thread. This is done
+     * automatically when the JVM shuts down.
+     *
+     * @param timeout the maximum time to wait for the queued messages to be emitted, in milliseconds.
+     *
+     * @return <code>true</code> if all queued messages have been emitted, <code>false</code> if the timeout expired.
+     */
+    public static boolean shutdown(final long timeout) {
+        return AsyncLogFactory.shutdown(timeout);
+    }
+
+    /**
+     * Policies to apply to messages logged when the buffer is full.
+     *
+     * @author Tibor Varga
+     */
+    public enum Overflow {
+
+        /**
+         * The caller waits until the message fits in the buffer.
+         */
+        BLOCK,
+
+        /**
+         * The message is dropped.
+         */
+        DROP,
+
+        /**
+         * One in every <i>n</i> messages waits until it fits in the buffer, as with {@link #BLOCK}, and the rest are dropped. The rate <i>n</i> is set in
+         * the {@value AsyncLogging#SAMPLE_RATE} system property; 100 by default.
+         */
+        SAMPLE
+    }
+}
@@ -0,0 +1,374 @@
+/*
+ * Copyright (c) 2006-2018 Tibor Adam Varga (tibor.adam.varga on gmail)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fluidity.features.logging;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import org.fluidity.foundation.Deferred;
+import org.fluidity.foundation.Log;
+
+/**
+ * A bounded, multiple producer, single consumer queue of log messages. The slots of the buffer are allocated once and reused: producers claim a slot by
+ * incrementing a shared sequence number, fill it, and publish it by setting the slot's own sequence number; the consumer thread takes all published messages
+ * in one batch, frees their slots at once, and then passes the messages, in sequence, to the log they were emitted through. The consumer thread sleeps while
+ * there is nothing to do and is woken up by the next producer.
+ *
+ * @author Tibor Varga
+ */
+final class RingBuffer {
+
+    // the most messages the consumer takes from the buffer at once
+    private static final int BATCH = 256;
+
+    // how long a producer sleeps, at most, waiting for a free slot
+    private static final long FULL_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final Slot[] slots;
+    private final int mask;
+
+    private final AsyncLogging.Overflow overflow;
+    private final int rate;
+
+    private final Deferred.Reference<Log<?>> failures;
+
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong overflows = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+
+    private final Thread consumer;
+    private volatile long consumed;
+    private volatile long emitted;
+    private volatile boolean idle;
+    private volatile boolean stopped;
+
+    /**
+     * Creates a new buffer and starts its consumer thread.
+     *
+     * @param capacity the number of messages the buffer holds; rounded up to a power of two.
+     * @param overflow the policy to apply when the buffer is full.
+     * @param rate     the rate of the {@link AsyncLogging.Overflow#SAMPLE SAMPLE} policy.
+     * @param failures the log to report failures to emit a message to; not invoked before the first such failure.
+     */
+    RingBuffer(final int capacity, final AsyncLogging.Overflow overflow, final int rate, final Supplier<Log<?>> failures) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException(String.format("Invalid buffer capacity: %d", capacity));
+        }
+
+        final int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+
+        this.slots = new Slot[size];
+        this.mask = size - 1;
+
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot(i - size);
+        }
+
+        this.overflow = overflow;
+        this.rate = Math.max(1, rate);
+        this.failures = Deferred.shared(failures);
+
+        this.consumer = new Thread(this::consume, AsyncLogging.class.getName());
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    /**
+     * Queues a log message. Once the buffer has been {@linkplain #stop(long) stopped}, the message is emitted on the calling thread.
+     *
+     * @param level     the log level.
+     * @param log       the log to emit the message through.
+     * @param exception the exception to log the stack trace of; may be <code>null</code>.
+     * @param format    the message format.
+     * @param arguments the message arguments.
+     *
+     * @return <code>true</code> if the message has been queued or emitted, <code>false</code> if it has been dropped.
+     */
+    boolean publish(final Level level, final Log<?> log, final Throwable exception, final String format, final Object[] arguments) {
+        Boolean waiting = null;
+        long sequence;
+
+        do {
+            if (stopped) {
+                emit(level, log, exception, format, arguments);
+                return true;
+            }
+
+            sequence = claimed.get();
+
+            if (sequence - consumed >= slots.length) {
+                if (waiting == null) {
+
+                    // the consumer would wait for itself when logging through the buffer
+                    waiting = Thread.currentThread() != consumer && waits();
+                }
+
+                if (!waiting) {
+                    dropped.increment();
+                    return false;
+                }
+
+                LockSupport.unpark(consumer);
+                LockSupport.parkNanos(this, FULL_NANOS);
+            } else if (claimed.compareAndSet(sequence, sequence + 1)) {
+                break;
+            }
+        } while (true);
+
+        final Slot slot = slots[(int) sequence & mask];
+
+        slot.level = level;
+        slot.log = log;
+        slot.exception = exception;
+        slot.format = format;
+        slot.arguments = arguments;
+        slot.sequence = sequence;
+
+        if (idle) {
+            LockSupport.unpark(consumer);
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the number of messages dropped so far.
+     *
+     * @return the number of messages dropped so far.
+     */
+    long dropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Waits until all messages queued before this method was invoked have been emitted.
+     *
+     * @param timeout the maximum time to wait, in milliseconds.
+     *
+     * @return <code>true</code> if all messages have been emitted, <code>false</code> if the timeout expired.
+     */
+    boolean flush(final long timeout) {
+        final long target = claimed.get();
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+
+        while (emitted < target) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+
+            LockSupport.unpark(consumer);
+            LockSupport.parkNanos(this, FULL_NANOS);
+        }
+
+        return true;
+    }
+
+    /**
+     * Emits the queued messages and stops the consumer thread. Messages published afterwards are emitted on the publishing thread. Messages published
+     * concurrently with this method may be emitted in either way and may thus be emitted out of order.
+     *
+     * @param timeout the maximum time to wait for the consumer thread to stop, in milliseconds.
+     *
+     * @return <code>true</code> if the consumer thread has stopped, <code>false</code> if the timeout expired.
+     */
+    boolean stop(final long timeout) {
+        stopped = true;
+        LockSupport.unpark(consumer);
+
+        try {
+            consumer.join(timeout);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        return !consumer.isAlive();
+    }
+
+    private boolean waits() {
+        switch (overflow) {
+        case BLOCK:
+            return true;
+        case SAMPLE:
+            return overflows.getAndIncrement() % rate == 0;
+        default:
+            return false;
+        }
+    }
+
+    private void consume() {
+        final Slot[] batch = new Slot[Math.min(BATCH, slots.length)];
+
+        for (int i = 0; i < batch.length; i++) {
+            batch[i] = new Slot(0L);
+        }
+
+        long next = consumed;
+
+        while (true) {
+            int count = 0;
+
+            for (Slot slot; count < batch.length && (slot = slots[(int) (next + count) & mask]).sequence == next + count; ++count) {
+                batch[count].take(slot);
+            }
+
+            if (count > 0) {
+                next += count;
+
+                // frees the slots of the batch
+                consumed = next;
+
+                emit(batch, count);
+
+                // lets flush() know the messages have been emitted
+                emitted = next;
+            } else if (stopped && claimed.get() == next) {
+                return;
+            } else {
+                idle = true;
+
+                if (slots[(int) next & mask].sequence != next && !stopped) {
+                    LockSupport.park(this);
+                }
+
+                idle = false;
+            }
+        }
+    }
+
+    private void emit(final Slot[] batch, final int count) {
+        for (int i = 0; i < count; i++) {
+            final Slot message = batch[i];
+
+            emit(message.level, message.log, message.exception, message.format, message.arguments);
+            message.clear();
+        }
+    }
+
+    private void emit(final Level level, final Log<?> log, final Throwable exception, final String format, final Object[] arguments) {
+        try {
+            level.emit(log, exception, format, arguments);
+        } catch (final Throwable error) {
+            try {
+                failures.get().error(error, "Could not emit log message '%s'", format);
+            } catch (final Throwable ignored) {
+                // nowhere left to report to
+            }
+        }
+    }
+
+    /**
+     * A message in the buffer.
+     *
+     * @author Tibor Varga
+     */
+    private static final class Slot {
+
+        // the other fields are visible to the consumer once this one has been set
+        volatile long sequence;
+
+        Level level;
+        Log<?> log;
+        Throwable exception;
+        String format;
+        Object[] arguments;
+
+        Slot(final long sequence) {
+            this.sequence = sequence;
+        }
+
+        void take(final Slot slot) {
+            level = slot.level;
+            log = slot.log;
+            exception = slot.exception;
+            format = slot.format;
+            arguments = slot.arguments;
+
+            slot.clear();
+        }
+
+        void clear() {
+            level = null;
+            log = null;
+            exception = null;
+            format = null;
+            arguments = null;
+        }
+    }
+
+    /**
+     * Log levels.
+     *
+     * @author Tibor Varga
+     */
+    enum Level {
+
+        TRACE {
+            void emit(final Log<?> log, final Throwable exception, final String format, final Object[] arguments) {
+                if (exception == null) {
+                    log.trace(format, arguments);
+                } else {
+                    log.trace(exception, format, arguments);
+                }
+            }
+        },
+
+        DEBUG {
+            void emit(final Log<?> log, final Throwable exception, final String format, final Object[] arguments) {
+                if (exception == null) {
+                    log.debug(format, arguments);
+                } else {
+                    log.debug(exception, format, arguments);
+                }
+            }
+        },
+
+        INFO {
+            void emit(final Log<?> log, final Throwable exception, final String format, final Object[] arguments) {
+                if (exception == null) {
+                    log.info(format, arguments);
+                } else {
+                    log.info(exception, format, arguments);
+                }
+            }
+        },
+
+        WARNING {
+            void emit(final Log<?> log, final Throwable exception, final String format, final Object[] arguments) {
+                if (exception == null) {
+                    log.warning(format, arguments);
+                } else {
+                    log.warning(exception, format, arguments);
+                }
+            }
+        },
+
+        ERROR {
+            void emit(final Log<?> log, final Throwable exception, final String format, final Object[] arguments) {
+                if (exception == null) {
+                    log.error(format, arguments);
+                } else {
+                    log.error(exception, format, arguments);
+                }
+            }
+        };
+
+        abstract void emit(Log<?> log, Throwable exception, String format, Object[] arguments);
+    }
+}
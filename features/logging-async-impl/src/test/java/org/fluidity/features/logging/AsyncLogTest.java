@@ -0,0 +1,347 @@
+/*
+ * Copyright (c) 2006-2018 Tibor Adam Varga (tibor.adam.varga on gmail)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fluidity.features.logging;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.fluidity.foundation.Log;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+/**
+ * @author Tibor Varga
+ */
+public class AsyncLogTest {
+
+    private static final long TIMEOUT = 5000L;
+
+    private final List<RingBuffer> buffers = new ArrayList<>();
+
+    @Test
+    public void testDelivery() throws Exception {
+        final Recorder recorder = new Recorder(true);
+        final RingBuffer buffer = buffer(4, AsyncLogging.Overflow.BLOCK, 1, recorder);
+        final Log<AsyncLogTest> log = new AsyncLog<>(recorder, buffer);
+
+        final List<String> expected = new ArrayList<>();
+
+        for (int i = 0; i < 100; ++i) {
+            switch (i % 5) {
+            case 0:
+                log.trace("message %d", i);
+                expected.add(String.format("trace: message %d", i));
+                break;
+            case 1:
+                log.debug("message %d", i);
+                expected.add(String.format("debug: message %d", i));
+                break;
+            case 2:
+                log.info("message %d", i);
+                expected.add(String.format("info: message %d", i));
+                break;
+            case 3:
+                log.warning(new Exception(), "message %d", i);
+                expected.add(String.format("warning: message %d (exception)", i));
+                break;
+            default:
+                log.error("message %d", i);
+                expected.add(String.format("error: message %d", i));
+                break;
+            }
+        }
+
+        assert buffer.flush(TIMEOUT);
+        assert buffer.dropped() == 0 : buffer.dropped();
+
+        assert expected.equals(recorder.messages()) : recorder.messages();
+    }
+
+    @Test
+    public void testDisabledLevels() throws Exception {
+        final Recorder recorder = new Recorder(false);
+        final RingBuffer buffer = buffer(4, AsyncLogging.Overflow.BLOCK, 1, recorder);
+        final Log<AsyncLogTest> log = new AsyncLog<>(recorder, buffer);
+
+        assert !log.isTraceEnabled();
+        assert !log.isDebugEnabled();
+
+        log.trace("trace");
+        log.debug("debug");
+        log.info("info");
+        log.error("error");
+
+        assert buffer.flush(TIMEOUT);
+
+        assert Arrays.asList("info: info", "error: error").equals(recorder.messages()) : recorder.messages();
+    }
+
+    @Test
+    public void testDroppingOverflow() throws Exception {
+        final Gate gate = new Gate();
+        final RingBuffer buffer = buffer(4, AsyncLogging.Overflow.DROP, 1, gate);
+        final Log<AsyncLogTest> log = new AsyncLog<>(gate, buffer);
+
+        // the slot of the message being emitted is freed before the message is emitted
+        log.info("message %d", 0);
+        gate.entered();
+
+        for (int i = 1; i < 7; ++i) {
+            log.info("message %d", i);
+        }
+
+        assert buffer.dropped() == 2 : buffer.dropped();
+
+        gate.open();
+        assert buffer.flush(TIMEOUT);
+
+        assert Arrays.asList("info: message 0", "info: message 1", "info: message 2", "info: message 3", "info: message 4").equals(gate.messages())
+                : gate.messages();
+    }
+
+    @Test
+    public void testSamplingOverflow() throws Exception {
+        final Gate gate = new Gate();
+        final RingBuffer buffer = buffer(2, AsyncLogging.Overflow.SAMPLE, 3, gate);
+        final Log<AsyncLogTest> log = new AsyncLog<>(gate, buffer);
+
+        log.info("message %d", 0);
+        gate.entered();
+
+        log.info("message %d", 1);
+        log.info("message %d", 2);
+
+        // the first message to overflow waits for a free slot
+        final Thread sampled = new Thread(() -> log.info("message %d", 3));
+        sampled.start();
+
+        final long deadline = System.currentTimeMillis() + TIMEOUT;
+        while (sampled.getState() != Thread.State.TIMED_WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+
+        // the next two are dropped
+        log.info("message %d", 4);
+        log.info("message %d", 5);
+
+        assert buffer.dropped() == 2 : buffer.dropped();
+
+        gate.open();
+        sampled.join(TIMEOUT);
+        assert buffer.flush(TIMEOUT);
+
+        assert Arrays.asList("info: message 0", "info: message 1", "info: message 2", "info: message 3").equals(gate.messages()) : gate.messages();
+    }
+
+    @Test
+    public void testFailures() throws Exception {
+        final Recorder failures = new Recorder(true);
+        final Recorder failing = new Recorder(true) {
+            @Override
+            public void info(final String format, final Object... arguments) {
+                throw new IllegalStateException(format);
+            }
+        };
+
+        final RingBuffer buffer = buffer(4, AsyncLogging.Overflow.BLOCK, 1, failures);
+        final Log<AsyncLogTest> log = new AsyncLog<>(failing, buffer);
+
+        log.info("failing");
+        log.warning("succeeding");
+
+        assert buffer.flush(TIMEOUT);
+
+        assert Collections.singletonList("warning: succeeding").equals(failing.messages()) : failing.messages();
+        assert Collections.singletonList("error: Could not emit log message 'failing' (exception)").equals(failures.messages()) : failures.messages();
+    }
+
+    @Test
+    public void testStopping() throws Exception {
+        final Recorder recorder = new Recorder(true);
+        final RingBuffer buffer = buffer(4, AsyncLogging.Overflow.BLOCK, 1, recorder);
+        final Log<AsyncLogTest> log = new AsyncLog<>(recorder, buffer);
+
+        for (int i = 0; i < 10; ++i) {
+            log.info("message %d", i);
+        }
+
+        assert buffer.stop(TIMEOUT);
+
+        final List<String> expected = new ArrayList<>();
+
+        for (int i = 0; i < 10; ++i) {
+            expected.add(String.format("info: message %d", i));
+        }
+
+        assert expected.equals(recorder.messages()) : recorder.messages();
+
+        // emitted on the calling thread
+        log.info("stopped");
+        assert "info: stopped".equals(recorder.messages().get(10)) : recorder.messages();
+    }
+
+    @Test
+    public void testFactory() throws Exception {
+        final AsyncLogFactory factory = new AsyncLogFactory();
+
+        assert factory.type() == AsyncLog.class : factory.type();
+
+        final Log<AsyncLogTest> log = factory.createLog(AsyncLogTest.class);
+        assert log instanceof AsyncLog : log.getClass();
+
+        log.info("ignored");
+        assert AsyncLogging.shutdown(TIMEOUT);
+        assert AsyncLogging.dropped() == 0;
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        for (final RingBuffer buffer : buffers) {
+            assert buffer.stop(TIMEOUT);
+        }
+
+        buffers.clear();
+    }
+
+    private RingBuffer buffer(final int capacity, final AsyncLogging.Overflow overflow, final int rate, final Log<?> failures) {
+        final RingBuffer buffer = new RingBuffer(capacity, overflow, rate, () -> failures);
+        buffers.add(buffer);
+        return buffer;
+    }
+
+    /**
+     * Records the messages logged.
+     *
+     * @author Tibor Varga
+     */
+    private static class Recorder implements Log<AsyncLogTest> {
+
+        private final List<String> messages = Collections.synchronizedList(new ArrayList<>());
+        private final boolean verbose;
+
+        Recorder(final boolean verbose) {
+            this.verbose = verbose;
+        }
+
+        List<String> messages() {
+            synchronized (messages) {
+                return new ArrayList<>(messages);
+            }
+        }
+
+        void record(final String level, final Throwable exception, final String format, final Object... arguments) {
+            messages.add(String.format("%s: %s%s", level, String.format(format, arguments), exception == null ? "" : " (exception)"));
+        }
+
+        public boolean isTraceEnabled() {
+            return verbose;
+        }
+
+        public boolean isDebugEnabled() {
+            return verbose;
+        }
+
+        public boolean isInfoEnabled() {
+            return true;
+        }
+
+        public boolean isWarningEnabled() {
+            return true;
+        }
+
+        public void trace(final String format, final Object... arguments) {
+            record("trace", null, format, arguments);
+        }
+
+        public void debug(final String format, final Object... arguments) {
+            record("debug", null, format, arguments);
+        }
+
+        public void info(final String format, final Object... arguments) {
+            record("info", null, format, arguments);
+        }
+
+        public void warning(final String format, final Object... arguments) {
+            record("warning", null, format, arguments);
+        }
+
+        public void error(final String format, final Object... arguments) {
+            record("error", null, format, arguments);
+        }
+
+        public void trace(final Throwable exception, final String format, final Object... arguments) {
+            record("trace", exception, format, arguments);
+        }
+
+        public void debug(final Throwable exception, final String format, final Object... arguments) {
+            record("debug", exception, format, arguments);
+        }
+
+        public void info(final Throwable exception, final String format, final Object... arguments) {
+            record("info", exception, format, arguments);
+        }
+
+        public void warning(final Throwable exception, final String format, final Object... arguments) {
+            record("warning", exception, format, arguments);
+        }
+
+        public void error(final Throwable exception, final String format, final Object... arguments) {
+            record("error", exception, format, arguments);
+        }
+    }
+
+    /**
+     * Holds up the consumer thread until opened.
+     *
+     * @author Tibor Varga
+     */
+    private static class Gate extends Recorder {
+
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch open = new CountDownLatch(1);
+
+        Gate() {
+            super(true);
+        }
+
+        void entered() throws InterruptedException {
+            assert entered.await(TIMEOUT, TimeUnit.MILLISECONDS);
+        }
+
+        void open() {
+            open.countDown();
+        }
+
+        @Override
+        public void info(final String format, final Object... arguments) {
+            entered.countDown();
+
+            try {
+                open.await(TIMEOUT, TimeUnit.MILLISECONDS);
+            } catch (final InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+
+            super.info(format, arguments);
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package org.fluidity.foundation.impl;
 
 import org.fluidity.foundation.spi.LogAdapter;
+import org.fluidity.foundation.spi.LogFormat;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -31,7 +32,7 @@ import org.apache.commons.logging.LogFactory;
 final class CommonsLogImpl<T> extends LogAdapter<Log, T> {
 
     CommonsLogImpl(final Class<T> source) {
-        super(LogFactory.getLog(source.getName()));
+        super(source.getName(), LogFactory.getLog(source.getName()));
     }
 
     @Override
@@ -57,57 +58,57 @@ final class CommonsLogImpl<T> extends LogAdapter<Log, T> {
 
     public void trace(final String format, final Object... arguments) {
         if (permissions().trace) {
-            log.trace(String.format(format, arguments));
+            log.trace(LogFormat.format(format, arguments));
         }
     }
 
     public void debug(final String format, final Object... arguments) {
         if (permissions().debug) {
-            log.debug(String.format(format, arguments));
+            log.debug(LogFormat.format(format, arguments));
         }
     }
 
     public void info(final String format, final Object... arguments) {
         if (permissions().info) {
-            log.info(String.format(format, arguments));
+            log.info(LogFormat.format(format, arguments));
         }
     }
 
     public void warning(final String format, final Object... arguments) {
-        if (permissions().info) {
-            log.warn(String.format(format, arguments));
+        if (permissions().warning) {
+            log.warn(LogFormat.format(format, arguments));
         }
     }
 
     public void error(final String format, final Object... arguments) {
-        log.error(String.format(format, arguments));
+        log.error(LogFormat.format(format, arguments));
     }
 
     public void trace(final Throwable exception, final String format, final Object... arguments) {
         if (permissions().trace) {
-            log.trace(String.format(format, arguments), exception);
+            log.trace(LogFormat.format(format, arguments), exception);
         }
     }
 
     public void debug(final Throwable exception, final String format, final Object... arguments) {
         if (permissions().debug) {
-            log.debug(String.format(format, arguments), exception);
+            log.debug(LogFormat.format(format, arguments), exception);
         }
     }
 
     public void info(final Throwable exception, final String format, final Object... arguments) {
         if (permissions().info) {
-            log.info(String.format(format, arguments), exception);
+            log.info(LogFormat.format(format, arguments), exception);
         }
     }
 
     public void warning(final Throwable exception, final String format, final Object... arguments) {
-        if (permissions().info) {
-            log.warn(String.format(format, arguments), exception);
+        if (permissions().warning) {
+            log.warn(LogFormat.format(format, arguments), exception);
         }
     }
 
     public void error(final Throwable exception, final String format, final Object... arguments) {
-        log.error(String.format(format, arguments), exception);
+        log.error(LogFormat.format(format, arguments), exception);
     }
 }
@@ -16,12 +16,17 @@
 
 package org.fluidity.foundation.impl;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
 import java.util.logging.LogManager;
+import java.util.logging.Logger;
 
 import org.fluidity.composition.Component;
 import org.fluidity.composition.ServiceProvider;
 import org.fluidity.foundation.Log;
 import org.fluidity.foundation.spi.LogFactory;
+import org.fluidity.foundation.spi.LogLevels;
 
 /**
  * Log factory backed by <code>java.util.logging</code>. The log levels are mapped as follows:<ul>
@@ -31,6 +36,7 @@ import org.fluidity.foundation.spi.LogFactory;
  * <li>{@linkplain org.fluidity.foundation.Log#warning(String, Object...) warning}: {@linkplain java.util.logging.Level#WARNING WARNING}</li>
  * <li>{@linkplain org.fluidity.foundation.Log#error(String, Object...) error}: {@linkplain java.util.logging.Level#SEVERE SEVERE}</li>
  * </ul>
+ * Log levels of categories can be changed through {@link LogLevels#set(String, LogLevels.Level)}.
  *
  * @author Tibor Varga
  */
@@ -38,8 +44,33 @@ import org.fluidity.foundation.spi.LogFactory;
 @ServiceProvider
 final class JavaLogFactory implements LogFactory {
 
+    // java.util.logging only keeps weak references to loggers, which would lose the levels set here
+    private static final Map<String, Logger> configured = new ConcurrentHashMap<>();
+
     private final LogManager loggers = LogManager.getLogManager();
 
+    /**
+     * Default constructor.
+     */
+    JavaLogFactory() {
+        LogLevels.control((category, level) -> configured.computeIfAbsent(category, Logger::getLogger).setLevel(level(level)));
+    }
+
+    private static Level level(final LogLevels.Level level) {
+        switch (level) {
+        case TRACE:
+            return Level.FINEST;
+        case DEBUG:
+            return Level.FINE;
+        case INFO:
+            return Level.INFO;
+        case WARNING:
+            return Level.WARNING;
+        default:
+            return Level.SEVERE;
+        }
+    }
+
     @Override
     public Class<?> type() {
         return JavaLogImpl.class;
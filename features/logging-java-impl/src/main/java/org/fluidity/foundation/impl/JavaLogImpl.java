@@ -21,6 +21,7 @@ import java.util.logging.LogManager;
 import java.util.logging.Logger;
 
 import org.fluidity.foundation.spi.LogAdapter;
+import org.fluidity.foundation.spi.LogFormat;
 
 /**
  * Uses <code>java.util.logging</code> as the underlying logging framework.
@@ -32,7 +33,7 @@ import org.fluidity.foundation.spi.LogAdapter;
 final class JavaLogImpl<T> extends LogAdapter<Logger, T> {
 
     JavaLogImpl(final LogManager loggers, final Class<?> source) {
-        super(loggers.getLogger(source.getName()));
+        super(source.getName(), loggers.getLogger(source.getName()));
     }
 
     @Override
@@ -58,57 +59,57 @@ final class JavaLogImpl<T> extends LogAdapter<Logger, T> {
 
     public void trace(final String format, final Object... arguments) {
         if (permissions().trace) {
-            log.log(Level.FINEST, String.format(format, arguments));
+            log.log(Level.FINEST, LogFormat.format(format, arguments));
         }
     }
 
     public void debug(final String format, final Object... arguments) {
         if (permissions().debug) {
-            log.log(Level.FINE, String.format(format, arguments));
+            log.log(Level.FINE, LogFormat.format(format, arguments));
         }
     }
 
     public void info(final String format, final Object... arguments) {
         if (permissions().info) {
-            log.log(Level.INFO, String.format(format, arguments));
+            log.log(Level.INFO, LogFormat.format(format, arguments));
         }
     }
 
     public void warning(final String format, final Object... arguments) {
-        if (permissions().info) {
-            log.log(Level.WARNING, String.format(format, arguments));
+        if (permissions().warning) {
+            log.log(Level.WARNING, LogFormat.format(format, arguments));
         }
     }
 
     public void error(final String format, final Object... arguments) {
-        log.log(Level.SEVERE, String.format(format, arguments));
+        log.log(Level.SEVERE, LogFormat.format(format, arguments));
     }
 
     public void trace(final Throwable exception, final String format, final Object... arguments) {
         if (permissions().trace) {
-            log.log(Level.FINEST, String.format(format, arguments), exception);
+            log.log(Level.FINEST, LogFormat.format(format, arguments), exception);
         }
     }
 
     public void debug(final Throwable exception, final String format, final Object... arguments) {
         if (permissions().debug) {
-            log.log(Level.FINE, String.format(format, arguments), exception);
+            log.log(Level.FINE, LogFormat.format(format, arguments), exception);
         }
     }
 
     public void info(final Throwable exception, final String format, final Object... arguments) {
         if (permissions().info) {
-            log.log(Level.INFO, String.format(format, arguments), exception);
+            log.log(Level.INFO, LogFormat.format(format, arguments), exception);
         }
     }
 
     public void warning(final Throwable exception, final String format, final Object... arguments) {
-        if (permissions().info) {
-            log.log(Level.WARNING, String.format(format, arguments), exception);
+        if (permissions().warning) {
+            log.log(Level.WARNING, LogFormat.format(format, arguments), exception);
         }
     }
 
     public void error(final Throwable exception, final String format, final Object... arguments) {
-        log.log(Level.SEVERE, String.format(format, arguments), exception);
+        log.log(Level.SEVERE, LogFormat.format(format, arguments), exception);
     }
 }
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2006-2018 Tibor Adam Varga (tibor.adam.varga on gmail)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fluidity.management;
+
+/**
+ * JMX managed bean interface for the resolution metrics of a container hierarchy.
+ *
+ * @author Tibor Varga
+ */
+public interface ContainerMetricsMBean {
+
+    long getResolutions();
+
+    long getGroupResolutions();
+
+    long getInstantiations();
+
+    long getCacheHits();
+
+    long getCacheMisses();
+
+    double getCacheHitRatio();
+
+    long[] getResolutionLatencies();
+
+    long[] getInstantiationLatencies();
+
+    String[] report(int count);
+
+    void reset();
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2006-2018 Tibor Adam Varga (tibor.adam.varga on gmail)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fluidity.management;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.fluidity.composition.OpenContainer;
+import org.fluidity.composition.container.ContainerMetrics;
+import org.fluidity.composition.spi.ContainerTermination;
+import org.fluidity.composition.spi.EmptyPackageBindings;
+import org.fluidity.foundation.Strings;
+
+/**
+ * Registers the {@link ContainerMetricsMBean} of the container hierarchy, if resolution metrics are collected at all. Each container hierarchy has its own
+ * MBean, told apart by the <code>id</code> key of the object name.
+ *
+ * @author Tibor Varga
+ */
+@SuppressWarnings("UnusedDeclaration")
+final class ContainerMetricsMBeanBootstrap extends EmptyPackageBindings {
+
+    static final String MBEAN_NAME = String.format("org.fluidity.management:type=%s,id=%%s", Strings.formatClass(false, false, ContainerMetricsMBean.class));
+
+    @Override
+    public void initialize(final OpenContainer container, final ContainerTermination shutdown) throws Exception {
+        final ContainerMetrics metrics = container.getComponent(ContainerMetrics.class);
+        final MBeanServer server = metrics == null ? null : ManagementFactory.getPlatformMBeanServer();
+
+        if (server != null) {
+            final ObjectName name = name(metrics);
+
+            // child containers see the metrics of the root container
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new ContainerMetricsMBeanImpl(metrics), name);
+
+                shutdown.add(() -> server.unregisterMBean(name));
+            }
+        }
+    }
+
+    static ObjectName name(final ContainerMetrics metrics) throws Exception {
+        return new ObjectName(String.format(MBEAN_NAME, Integer.toHexString(System.identityHashCode(metrics))));
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2006-2018 Tibor Adam Varga (tibor.adam.varga on gmail)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fluidity.management;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.MBeanParameterInfo;
+import javax.management.NotCompliantMBeanException;
+import javax.management.StandardMBean;
+
+import org.fluidity.composition.container.ContainerMetrics;
+import org.fluidity.foundation.Strings;
+
+/**
+ * @author Tibor Varga
+ */
+@SuppressWarnings("WeakerAccess")
+final class ContainerMetricsMBeanImpl extends StandardMBean implements ContainerMetricsMBean {
+
+    private static final Map<String, String> DESCRIPTIONS = new HashMap<>();
+
+    static {
+        DESCRIPTIONS.put("Resolutions", "The number of component resolutions.");
+        DESCRIPTIONS.put("GroupResolutions", "The number of component group resolutions.");
+        DESCRIPTIONS.put("Instantiations", "The number of component constructor invocations.");
+        DESCRIPTIONS.put("CacheHits", "The number of component cache lookups that found a cached instance.");
+        DESCRIPTIONS.put("CacheMisses", "The number of component cache lookups that created a new instance.");
+        DESCRIPTIONS.put("CacheHitRatio", "The ratio of component cache hits to all component cache lookups.");
+        DESCRIPTIONS.put("ResolutionLatencies",
+                         "Latency histogram of component resolutions: element 0 counts those under 1 µs, element i counts those from 2^(i-1) µs to 2^i µs.");
+        DESCRIPTIONS.put("InstantiationLatencies",
+                         "Latency histogram of constructor invocations: element 0 counts those under 1 µs, element i counts those from 2^(i-1) µs to 2^i µs.");
+        DESCRIPTIONS.put("report", "Lists the metrics of the components with the longest total resolution and instantiation times.");
+        DESCRIPTIONS.put("reset", "Discards all metrics collected so far.");
+    }
+
+    private final ContainerMetrics metrics;
+
+    public ContainerMetricsMBeanImpl(final ContainerMetrics metrics) throws NotCompliantMBeanException {
+        super(ContainerMetricsMBean.class);
+        this.metrics = metrics;
+    }
+
+    public long getResolutions() {
+        return sum(component -> component.resolutions().count());
+    }
+
+    public long getGroupResolutions() {
+        return sum(component -> component.groups().count());
+    }
+
+    public long getInstantiations() {
+        return sum(component -> component.instantiations().count());
+    }
+
+    public long getCacheHits() {
+        return sum(ContainerMetrics.Component::hits);
+    }
+
+    public long getCacheMisses() {
+        return sum(ContainerMetrics.Component::misses);
+    }
+
+    public double getCacheHitRatio() {
+        long hits = 0;
+        long lookups = 0;
+
+        for (final ContainerMetrics.Component component : metrics.components()) {
+            hits += component.hits();
+            lookups += component.hits() + component.misses();
+        }
+
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    public long[] getResolutionLatencies() {
+        return histogram(ContainerMetrics.Component::resolutions);
+    }
+
+    public long[] getInstantiationLatencies() {
+        return histogram(ContainerMetrics.Component::instantiations);
+    }
+
+    public String[] report(final int count) {
+        final ToLongFunction<ContainerMetrics.Component> nanos = component -> component.resolutions().nanos() + component.instantiations().nanos();
+
+        return metrics.components()
+                .stream()
+                .sorted(Comparator.comparingLong(nanos).reversed())
+                .limit(Math.max(count, 0))
+                .map(component -> String.format("%s: %d resolution(s) in %d µs, %d group resolution(s) in %d µs, %d instantiation(s) in %d µs, "
+                                                + "%d cache hit(s), %d cache miss(es)",
+                                                Strings.formatClass(false, true, component.type()),
+                                                component.resolutions().count(),
+                                                micros(component.resolutions()),
+                                                component.groups().count(),
+                                                micros(component.groups()),
+                                                component.instantiations().count(),
+                                                micros(component.instantiations()),
+                                                component.hits(),
+                                                component.misses()))
+                .toArray(String[]::new);
+    }
+
+    public void reset() {
+        metrics.reset();
+    }
+
+    private long sum(final ToLongFunction<ContainerMetrics.Component> value) {
+        return metrics.components().stream().mapToLong(value).sum();
+    }
+
+    private long[] histogram(final Function<ContainerMetrics.Component, ContainerMetrics.Statistics> statistics) {
+        final long[] histogram = new long[ContainerMetrics.BUCKETS];
+
+        for (final ContainerMetrics.Component component : metrics.components()) {
+            final long[] buckets = statistics.apply(component).histogram();
+
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] += buckets[i];
+            }
+        }
+
+        return histogram;
+    }
+
+    private static long micros(final ContainerMetrics.Statistics statistics) {
+        return TimeUnit.NANOSECONDS.toMicros(statistics.nanos());
+    }
+
+    @Override
+    protected String getDescription(final MBeanInfo info) {
+        return "Management interface for the resolution metrics of a dependency injection container.";
+    }
+
+    @Override
+    protected String getDescription(final MBeanAttributeInfo info) {
+        return DESCRIPTIONS.getOrDefault(info.getName(), info.getDescription());
+    }
+
+    @Override
+    protected String getDescription(final MBeanOperationInfo info) {
+        return DESCRIPTIONS.getOrDefault(info.getName(), info.getDescription());
+    }
+
+    @Override
+    protected String getParameterName(final MBeanOperationInfo operation, final MBeanParameterInfo parameter, final int sequence) {
+        return "count";
+    }
+
+    @Override
+    protected String getDescription(final MBeanOperationInfo operation, final MBeanParameterInfo parameter, final int sequence) {
+        return "The maximum number of components to list.";
+    }
+
+    @Override
+    protected int getImpact(final MBeanOperationInfo info) {
+        return "reset".equals(info.getName()) ? MBeanOperationInfo.ACTION : MBeanOperationInfo.INFO;
+    }
+}
@@ -24,4 +24,8 @@ package org.fluidity.management;
 public interface LoggingMBean {
 
     void logLevelsUpdated();
+
+    int updateLogLevels(String category);
+
+    int setLogLevel(String category, String level);
 }
@@ -16,8 +16,11 @@
 
 package org.fluidity.management;
 
+import java.util.Arrays;
+
 import javax.management.MBeanInfo;
 import javax.management.MBeanOperationInfo;
+import javax.management.MBeanParameterInfo;
 import javax.management.NotCompliantMBeanException;
 import javax.management.StandardMBean;
 
@@ -38,22 +41,51 @@ final class LoggingMBeanImpl extends StandardMBean implements LoggingMBean {
         LogLevels.updated();
     }
 
+    public int updateLogLevels(final String category) {
+        return LogLevels.updated(category == null ? "" : category);
+    }
+
+    public int setLogLevel(final String category, final String level) {
+        return LogLevels.set(category == null ? "" : category, LogLevels.Level.valueOf(level.toUpperCase()));
+    }
+
     @Override
     protected String getDescription(final MBeanInfo info) {
         return "Management interface for logging related items.";
     }
 
     private final String logLevelUpdateOperation = Methods.get(LoggingMBean.class, LoggingMBean::logLevelsUpdated)[0].getName();
+    private final String categoryUpdateOperation = Methods.get(LoggingMBean.class, mbean -> mbean.updateLogLevels(null))[0].getName();
+    private final String categoryLevelOperation = Methods.get(LoggingMBean.class, mbean -> mbean.setLogLevel(null, null))[0].getName();
 
     @Override
     protected String getDescription(final MBeanOperationInfo info) {
-        assert logLevelUpdateOperation.equals(info.getName()) : info.getName();
-        return "Triggers log level queries in loggers through which log messages get emitted after the trigger.";
+        final String operation = info.getName();
+
+        if (logLevelUpdateOperation.equals(operation)) {
+            return "Triggers log level queries in loggers through which log messages get emitted after the trigger.";
+        } else if (categoryUpdateOperation.equals(operation)) {
+            return "Triggers log level queries in the loggers of a category; returns the number of loggers affected.";
+        } else {
+            assert categoryLevelOperation.equals(operation) : operation;
+            return "Sets the log level of a category and triggers log level queries in its loggers; returns the number of loggers affected.";
+        }
+    }
+
+    @Override
+    protected String getParameterName(final MBeanOperationInfo operation, final MBeanParameterInfo parameter, final int sequence) {
+        return sequence == 0 ? "category" : "level";
+    }
+
+    @Override
+    protected String getDescription(final MBeanOperationInfo operation, final MBeanParameterInfo parameter, final int sequence) {
+        return sequence == 0
+               ? "The logger category, such as a package or class name; empty for all loggers."
+               : String.format("The log level: one of %s.", Arrays.toString(LogLevels.Level.values()));
     }
 
     @Override
     protected int getImpact(final MBeanOperationInfo info) {
-        assert logLevelUpdateOperation.equals(info.getName()) : info.getName();
         return MBeanOperationInfo.ACTION;
     }
 }
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2006-2018 Tibor Adam Varga (tibor.adam.varga on gmail)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fluidity.management;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.management.InstanceNotFoundException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.fluidity.composition.OpenContainer;
+import org.fluidity.composition.container.ContainerMetrics;
+import org.fluidity.composition.spi.ContainerTermination;
+import org.fluidity.foundation.Command;
+import org.fluidity.testing.Simulator;
+
+import org.easymock.EasyMock;
+import org.testng.annotations.Test;
+
+/**
+ * @author Tibor Varga
+ */
+public class ContainerMetricsMBeanBootstrapTest extends Simulator {
+
+    private final MockObjects dependencies = dependencies();
+
+    private final OpenContainer container = dependencies.normal(OpenContainer.class);
+    private final ContainerTermination shutdown = dependencies.normal(ContainerTermination.class);
+    private final ContainerMetrics metrics = dependencies.normal(ContainerMetrics.class);
+    private final ContainerMetrics.Component component = dependencies.normal(ContainerMetrics.Component.class);
+
+    private final ContainerMetricsMBeanBootstrap bootstrap = new ContainerMetricsMBeanBootstrap();
+
+    @Test
+    @SuppressWarnings({ "unchecked", "TrivialMethodReference" })
+    public void testMBeanLifeCycle() throws Exception {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        if (server != null) {
+            final ObjectName name = ContainerMetricsMBeanBootstrap.name(metrics);
+
+            final Task unregistered = () -> {
+                try {
+                    server.getMBeanInfo(name);
+                    assert false : "MBean should not be found";
+                } catch (final InstanceNotFoundException e) {
+                    // expected
+                }
+            };
+
+            test(unregistered);
+
+            final Command.Job<Exception> job = test(() -> {
+                final AtomicReference<Command.Job<Exception>> _job = new AtomicReference<>();
+
+                EasyMock.expect(container.getComponent(ContainerMetrics.class)).andReturn(metrics);
+
+                shutdown.add(EasyMock.anyObject());
+                EasyMock.expectLastCall().andAnswer(() -> {
+                    _job.set((Command.Job<Exception>) EasyMock.getCurrentArguments()[0]);
+                    return null;
+                });
+
+                verify(() -> bootstrap.initialize(container, shutdown));
+
+                return _job.get();
+            });
+
+            // a child container sees the same metrics
+            test(() -> {
+                EasyMock.expect(container.getComponent(ContainerMetrics.class)).andReturn(metrics);
+
+                verify(() -> bootstrap.initialize(container, shutdown));
+            });
+
+            test(() -> {
+                EasyMock.expect(metrics.components()).andReturn(Collections.singletonList(component)).anyTimes();
+                EasyMock.expect(component.hits()).andReturn(3L).anyTimes();
+                EasyMock.expect(component.misses()).andReturn(1L).anyTimes();
+
+                verify(() -> {
+                    assert (Long) server.getAttribute(name, "CacheHits") == 3L;
+                    assert (Double) server.getAttribute(name, "CacheHitRatio") == 0.75;
+                });
+            });
+
+            verify(job::run);
+
+            test(unregistered);
+        }
+    }
+
+    @Test
+    public void testNoMetrics() throws Exception {
+        EasyMock.expect(container.getComponent(ContainerMetrics.class)).andReturn(null);
+
+        verify(() -> bootstrap.initialize(container, shutdown));
+    }
+}
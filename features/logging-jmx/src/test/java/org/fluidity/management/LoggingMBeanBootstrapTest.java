@@ -80,7 +80,7 @@ public class LoggingMBeanBootstrapTest extends Simulator {
             });
 
             final MBeanInfo info = server.getMBeanInfo(name);
-            assert info.getOperations().length == 1 : info.getOperations();
+            assert info.getOperations().length == 3 : info.getOperations();
 
             verify(job::run);
 
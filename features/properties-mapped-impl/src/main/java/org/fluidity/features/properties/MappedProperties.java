@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2006-2018 Tibor Adam Varga (tibor.adam.varga on gmail)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fluidity.features.properties;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.fluidity.foundation.Utility;
+
+/**
+ * Memory mapped properties for large configuration sets. When this module is present, the {@link org.fluidity.foundation.spi.PropertyProvider
+ * PropertyProvider} component, unless another one is implemented, serves properties from the file named by the {@value #FILE} system property. The file is
+ * memory mapped and searched in place, so heap usage does not grow with the number of properties.
+ * <p>
+ * The file is checked for changes every {@value #CHECK_PERIOD} milliseconds, 1000 by default, or never if that system property is 0 or less. A changed
+ * file is mapped again and {@link org.fluidity.foundation.spi.PropertyProvider#subscribe(org.fluidity.foundation.spi.PropertyProvider.Listener)
+ * subscribers} are notified of the changed keys.
+ * <h3>Usage</h3>
+ * The file is produced from <code>.properties</code> files at build time by the {@link #main(String...)} method of this class, as in:
+ * <pre>
+ * java -cp properties-mapped-impl.jar org.fluidity.features.properties.MappedProperties <i>output file</i> <i>input file</i> &hellip;
+ * </pre>
+ * The output file is replaced atomically, so it can also be written in place of a file in use.
+ * <p>
+ * A file in use must only ever be changed by replacing it atomically, i.e., by writing a new file and then renaming it to the name of the file in use, as
+ * the above command does. The file in use is mapped to memory: modifying it in place, or truncating it, corrupts the properties served, and accessing a
+ * truncated mapping may crash the JVM.
+ *
+ * @author Tibor Varga
+ */
+public final class MappedProperties extends Utility {
+
+    /**
+     * The system property that contains the path of the properties file.
+     */
+    public static final String FILE = "org.fluidity.features.properties.file";
+
+    /**
+     * The system property that contains the period in milliseconds between subsequent checks of the properties file for changes.
+     */
+    public static final String CHECK_PERIOD = "org.fluidity.features.properties.check-period-ms";
+
+    private MappedProperties() { }
+
+    /**
+     * Converts the given <code>.properties</code> files to the format of the memory mapped properties file. Properties in files later in the list override
+     * those in earlier ones.
+     *
+     * @param arguments the path of the output file followed by the paths of the input files.
+     *
+     * @throws IOException when some file cannot be read or written.
+     */
+    public static void main(final String... arguments) throws IOException {
+        if (arguments.length < 1) {
+            System.err.printf("Usage: java %s <output file> <input file>...%n", MappedProperties.class.getName());
+            System.exit(1);
+        }
+
+        final Properties properties = new Properties();
+
+        for (int i = 1; i < arguments.length; i++) {
+            try (final InputStream input = Files.newInputStream(Paths.get(arguments[i]))) {
+                properties.load(input);
+            }
+        }
+
+        write(properties, Paths.get(arguments[0]));
+    }
+
+    /**
+     * Writes the given properties to the given file in the format of the memory mapped properties file. The file is replaced atomically.
+     *
+     * @param properties the properties to write.
+     * @param file       the file to write.
+     *
+     * @throws IOException when the file cannot be written.
+     */
+    public static void write(final Properties properties, final Path file) throws IOException {
+        final Map<String, String> map = new HashMap<>();
+
+        for (final String key : properties.stringPropertyNames()) {
+            map.put(key, properties.getProperty(key));
+        }
+
+        PropertyIndex.write(map, file);
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2006-2018 Tibor Adam Varga (tibor.adam.varga on gmail)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fluidity.features.properties;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.function.BiConsumer;
+
+import org.fluidity.composition.Component;
+import org.fluidity.composition.Inject;
+import org.fluidity.composition.spi.ContainerTermination;
+import org.fluidity.foundation.Log;
+import org.fluidity.foundation.spi.PropertyProvider;
+
+/**
+ * Serves properties from a {@link PropertyIndex memory mapped file} and notifies subscribers when the file has been replaced. See {@link MappedProperties}
+ * for details.
+ * <p>
+ * The file is checked by a {@link Timer} rather than the <code>Scheduler</code> component, since the latter depends, through its configuration, on this
+ * component.
+ *
+ * @author Tibor Varga
+ */
+@Component(primary = false)
+final class MappedPropertyProvider implements PropertyProvider {
+
+    private static final long DEFAULT_PERIOD = 1000L;
+
+    private final Listeners listeners = new Listeners();
+
+    private final Path file;
+    private final Log log;
+    private final Timer timer;
+
+    private volatile Mapping mapping = new Mapping(PropertyIndex.EMPTY, null, 0L);
+
+    @Inject
+    MappedPropertyProvider(final ContainerTermination termination, final Log<MappedPropertyProvider> log) {
+        this(path(System.getProperty(MappedProperties.FILE)), Long.getLong(MappedProperties.CHECK_PERIOD, DEFAULT_PERIOD), log);
+
+        if (file == null) {
+            log.warning("No properties file specified in the %s system property", MappedProperties.FILE);
+        }
+
+        termination.add(this::stop);
+    }
+
+    MappedPropertyProvider(final Path file, final long period, final Log log) {
+        this.file = file;
+        this.log = log;
+
+        if (file != null) {
+            check();
+        }
+
+        if (file != null && period > 0) {
+            this.timer = new Timer(MappedPropertyProvider.class.getName(), true);
+            this.timer.schedule(new TimerTask() {
+                public void run() {
+                    check();
+                }
+            }, period, period);
+        } else {
+            this.timer = null;
+        }
+    }
+
+    public Object property(final String key) {
+        return mapping.index.get(key);
+    }
+
+    public boolean scan(final String prefix, final BiConsumer<String, Object> consumer) {
+        mapping.index.scan(prefix, consumer);
+        return true;
+    }
+
+    public long revision() {
+        return mapping.revision;
+    }
+
+    public boolean subscribe(final Listener listener) {
+        return listeners.add(listener);
+    }
+
+    /**
+     * Maps the properties file again if it has been replaced since last checked, and notifies the subscribers of the properties that have changed. The
+     * properties are only compared when there was a previous mapping and someone to notify.
+     */
+    synchronized void check() {
+        final Mapping current = mapping;
+        final Stamp stamp;
+
+        try {
+            stamp = Stamp.of(file);
+        } catch (final IOException e) {
+            log.warning(e, "Could not access %s", file);
+            return;
+        }
+
+        if (Objects.equals(stamp, current.stamp)) {
+            return;
+        }
+
+        final PropertyIndex index;
+
+        if (stamp == null) {
+            log.warning("Properties file %s not found", file);
+            index = PropertyIndex.EMPTY;
+        } else {
+            try {
+                index = PropertyIndex.open(file);
+            } catch (final IOException | IllegalArgumentException e) {
+                log.warning(e, "Could not load properties from %s", file);
+                return;
+            }
+        }
+
+        // nothing to compare to, or no one to tell the differences: anything may have changed
+        final Set<String> changes = current.index == PropertyIndex.EMPTY || listeners.isEmpty() ? null : current.index.changes(index);
+
+        if (changes != null && changes.isEmpty()) {
+            mapping = new Mapping(index, stamp, current.revision);
+        } else {
+            mapping = new Mapping(index, stamp, current.revision + 1);
+
+            if (log.isInfoEnabled()) {
+                if (changes == null) {
+                    log.info("Loaded %d properties from %s", index.size(), file);
+                } else {
+                    log.info("Loaded %d properties from %s, %d changed", index.size(), file, changes.size());
+                }
+            }
+
+            listeners.changed(changes);
+        }
+    }
+
+    /**
+     * Stops checking the properties file for changes.
+     */
+    void stop() {
+        if (timer != null) {
+            timer.cancel();
+        }
+    }
+
+    private static Path path(final String name) {
+        return name == null || name.isEmpty() ? null : Paths.get(name);
+    }
+
+    /**
+     * The properties loaded from a particular version of the properties file.
+     *
+     * @author Tibor Varga
+     */
+    private static final class Mapping {
+
+        final PropertyIndex index;
+        final Stamp stamp;
+        final long revision;
+
+        Mapping(final PropertyIndex index, final Stamp stamp, final long revision) {
+            this.index = index;
+            this.stamp = stamp;
+            this.revision = revision;
+        }
+    }
+
+    /**
+     * Identifies a particular version of a file. The file key, when supported by the file system, changes when the file is replaced, and the modification
+     * time and size tell replacements apart where it is not supported. Only atomic replacement, i.e., writing a new file and renaming it to the name of the
+     * mapped one, is supported: a file modified in place may be noticed, but its mapping will have been changed under the readers already.
+     *
+     * @author Tibor Varga
+     */
+    private static final class Stamp {
+
+        private final Object key;
+        private final Object modified;
+        private final long size;
+
+        private Stamp(final BasicFileAttributes attributes) {
+            this.key = attributes.fileKey();
+            this.modified = attributes.lastModifiedTime();
+            this.size = attributes.size();
+        }
+
+        static Stamp of(final Path file) throws IOException {
+            try {
+                return new Stamp(Files.readAttributes(file, BasicFileAttributes.class));
+            } catch (final NoSuchFileException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            final Stamp that = (Stamp) o;
+            return size == that.size && Objects.equals(key, that.key) && Objects.equals(modified, that.modified);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(key, modified, size);
+        }
+    }
+}
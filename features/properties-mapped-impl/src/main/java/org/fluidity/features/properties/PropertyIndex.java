@@ -0,0 +1,351 @@
+/*
+ * Copyright (c) 2006-2018 Tibor Adam Varga (tibor.adam.varga on gmail)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fluidity.features.properties;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * A sorted, read-only index of properties in a memory mapped file. Keys are looked up by binary search over the mapped bytes: neither keys nor the index
+ * itself are ever loaded into the heap, only the values returned.
+ * <p>
+ * The file format, with all numbers big endian:
+ * <pre>
+ * int     magic
+ * int     format version
+ * int     number of properties, N
+ * int[N]  offsets of the properties from the start of the file, in ascending order of the UTF-8 bytes of the keys
+ * then N times:
+ *   int   length of the key
+ *   byte* UTF-8 bytes of the key
+ *   int   length of the value
+ *   byte* UTF-8 bytes of the value
+ * </pre>
+ *
+ * @author Tibor Varga
+ */
+final class PropertyIndex {
+
+    static final int MAGIC = 0x46545049;     // "FTPI"
+    static final int VERSION = 1;
+
+    private static final int HEADER = 12;
+
+    static final PropertyIndex EMPTY = new PropertyIndex(ByteBuffer.allocate(HEADER).putInt(MAGIC).putInt(VERSION).putInt(0));
+
+    private final ByteBuffer buffer;
+    private final int count;
+
+    private PropertyIndex(final ByteBuffer buffer) {
+        final int limit = buffer.limit();
+
+        if (limit < HEADER || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a property index");
+        } else if (buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException(String.format("Unsupported property index version: %d", buffer.getInt(4)));
+        }
+
+        final int count = buffer.getInt(8);
+
+        if (count < 0 || HEADER + 4L * count > limit) {
+            throw new IllegalArgumentException(String.format("Invalid number of properties: %d", count));
+        }
+
+        // every entry must lie within the buffer and after the previous one: lookups then never read outside the buffer
+        long previous = HEADER + 4L * count;
+
+        for (int i = 0; i < count; ++i) {
+            final int entry = buffer.getInt(HEADER + (i << 2));
+
+            if (entry < previous || entry > limit - 4) {
+                throw new IllegalArgumentException(String.format("Invalid offset of property %d: %d", i, entry));
+            }
+
+            final int key = buffer.getInt(entry);
+            final long value = (long) entry + 4 + key;
+
+            if (key < 0 || value > limit - 4) {
+                throw new IllegalArgumentException(String.format("Invalid key length of property %d: %d", i, key));
+            }
+
+            final int length = buffer.getInt((int) value);
+
+            if (length < 0 || value + 4 + length > limit) {
+                throw new IllegalArgumentException(String.format("Invalid value length of property %d: %d", i, length));
+            }
+
+            previous = value + 4 + length;
+        }
+
+        this.buffer = buffer;
+        this.count = count;
+    }
+
+    /**
+     * Maps the given file to memory.
+     *
+     * @param file the file containing the index.
+     *
+     * @return the index in the file.
+     *
+     * @throws IOException when the file cannot be read.
+     */
+    static PropertyIndex open(final Path file) throws IOException {
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new PropertyIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Returns the number of properties in the index.
+     *
+     * @return the number of properties in the index.
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+     * Returns the value of the given property.
+     *
+     * @param key the key of the property.
+     *
+     * @return the value of the property, or <code>null</code> if the index has no such property.
+     */
+    String get(final String key) {
+        final byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        final int index = lower(bytes);
+
+        return index < count && compare(index, bytes, false) == 0 ? value(index) : null;
+    }
+
+    /**
+     * Passes every property with a key starting with the given prefix to the given consumer, in ascending order of the keys.
+     *
+     * @param prefix   the key prefix.
+     * @param consumer receives the key and the value of the matching properties.
+     */
+    void scan(final String prefix, final BiConsumer<String, Object> consumer) {
+        final byte[] bytes = prefix.getBytes(StandardCharsets.UTF_8);
+
+        for (int index = lower(bytes); index < count && compare(index, bytes, true) == 0; ++index) {
+            consumer.accept(key(index), value(index));
+        }
+    }
+
+    /**
+     * Computes the keys of the properties that are different in the two indexes, including properties missing from either one.
+     *
+     * @param other the other index.
+     *
+     * @return the keys of the different properties; never <code>null</code>.
+     */
+    Set<String> changes(final PropertyIndex other) {
+        final Set<String> changes = new HashSet<>();
+
+        int i = 0;
+        int j = 0;
+
+        while (i < count && j < other.count) {
+            final int difference = compare(buffer, entry(i), other.buffer, other.entry(j));
+
+            if (difference < 0) {
+                changes.add(key(i++));
+            } else if (difference > 0) {
+                changes.add(other.key(j++));
+            } else {
+                final int value1 = entry(i) + 4 + buffer.getInt(entry(i));
+                final int value2 = other.entry(j) + 4 + other.buffer.getInt(other.entry(j));
+
+                if (compare(buffer, value1, other.buffer, value2) != 0) {
+                    changes.add(key(i));
+                }
+
+                ++i;
+                ++j;
+            }
+        }
+
+        while (i < count) {
+            changes.add(key(i++));
+        }
+
+        while (j < other.count) {
+            changes.add(other.key(j++));
+        }
+
+        return changes;
+    }
+
+    /**
+     * Writes the given properties to the given file in the format of this index. The file is replaced atomically, so that readers of the file never see it
+     * partially written.
+     *
+     * @param properties the properties to write.
+     * @param file       the file to write.
+     *
+     * @throws IOException when the file cannot be written.
+     */
+    static void write(final Map<String, String> properties, final Path file) throws IOException {
+        final List<byte[][]> entries = new ArrayList<>(properties.size());
+
+        for (final Map.Entry<String, String> entry : properties.entrySet()) {
+            entries.add(new byte[][] { entry.getKey().getBytes(StandardCharsets.UTF_8), entry.getValue().getBytes(StandardCharsets.UTF_8) });
+        }
+
+        entries.sort((entry1, entry2) -> compare(entry1[0], entry2[0]));
+
+        final Path directory = file.toAbsolutePath().getParent();
+        final Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+
+        try {
+            try (final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                output.writeInt(entries.size());
+
+                long offset = HEADER + 4L * entries.size();
+                for (final byte[][] entry : entries) {
+                    if (offset > Integer.MAX_VALUE) {
+                        throw new IOException(String.format("Too many properties to write to %s", file));
+                    }
+
+                    output.writeInt((int) offset);
+                    offset += 8 + entry[0].length + entry[1].length;
+                }
+
+                for (final byte[][] entry : entries) {
+                    output.writeInt(entry[0].length);
+                    output.write(entry[0]);
+                    output.writeInt(entry[1].length);
+                    output.write(entry[1]);
+                }
+            }
+
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private int entry(final int index) {
+        return buffer.getInt(HEADER + (index << 2));
+    }
+
+    private String key(final int index) {
+        return string(entry(index));
+    }
+
+    private String value(final int index) {
+        final int entry = entry(index);
+        return string(entry + 4 + buffer.getInt(entry));
+    }
+
+    private String string(final int position) {
+        final byte[] bytes = new byte[buffer.getInt(position)];
+
+        final ByteBuffer slice = buffer.duplicate();
+        ((Buffer) slice).position(position + 4);
+        slice.get(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /*
+     * Returns the index of the first key not less than the given one.
+     */
+    private int lower(final byte[] key) {
+        int low = 0;
+        int high = count;
+
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+
+            if (compare(middle, key, false) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    /*
+     * Compares the key at the given index with the given one, or with the given prefix if prefix is true, byte by byte without copying the key.
+     */
+    private int compare(final int index, final byte[] key, final boolean prefix) {
+        final int entry = entry(index);
+        final int length = buffer.getInt(entry);
+        final int limit = Math.min(length, key.length);
+
+        for (int i = 0; i < limit; ++i) {
+            final int difference = (buffer.get(entry + 4 + i) & 0xFF) - (key[i] & 0xFF);
+
+            if (difference != 0) {
+                return difference;
+            }
+        }
+
+        return prefix && length >= key.length ? 0 : length - key.length;
+    }
+
+    /*
+     * Compares two length prefixed byte sequences.
+     */
+    private static int compare(final ByteBuffer buffer1, final int position1, final ByteBuffer buffer2, final int position2) {
+        final int length1 = buffer1.getInt(position1);
+        final int length2 = buffer2.getInt(position2);
+
+        for (int i = 0, limit = Math.min(length1, length2); i < limit; ++i) {
+            final int difference = (buffer1.get(position1 + 4 + i) & 0xFF) - (buffer2.get(position2 + 4 + i) & 0xFF);
+
+            if (difference != 0) {
+                return difference;
+            }
+        }
+
+        return length1 - length2;
+    }
+
+    private static int compare(final byte[] bytes1, final byte[] bytes2) {
+        for (int i = 0, limit = Math.min(bytes1.length, bytes2.length); i < limit; ++i) {
+            final int difference = (bytes1[i] & 0xFF) - (bytes2[i] & 0xFF);
+
+            if (difference != 0) {
+                return difference;
+            }
+        }
+
+        return bytes1.length - bytes2.length;
+    }
+}
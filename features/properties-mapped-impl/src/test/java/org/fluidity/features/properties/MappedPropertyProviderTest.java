@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2006-2018 Tibor Adam Varga (tibor.adam.varga on gmail)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fluidity.features.properties;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.fluidity.foundation.Log;
+import org.fluidity.foundation.NoLogFactory;
+import org.fluidity.foundation.spi.PropertyProvider;
+import org.fluidity.testing.Simulator;
+
+import org.easymock.EasyMock;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * @author Tibor Varga
+ */
+public class MappedPropertyProviderTest extends Simulator {
+
+    private final MockObjects dependencies = dependencies();
+    private final PropertyProvider.Listener listener = dependencies.normal(PropertyProvider.Listener.class);
+
+    private final Log<MappedPropertyProvider> log = NoLogFactory.consume(MappedPropertyProvider.class);
+
+    private Path directory;
+    private Path file;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory(getClass().getSimpleName());
+        file = directory.resolve("properties.bin");
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(file);
+        Files.delete(directory);
+    }
+
+    private void write(final String... pairs) throws IOException {
+        final Properties properties = new Properties();
+
+        for (int i = 0; i < pairs.length; i += 2) {
+            properties.setProperty(pairs[i], pairs[i + 1]);
+        }
+
+        MappedProperties.write(properties, file);
+    }
+
+    @Test
+    public void testIndex() throws Exception {
+        write("b", "2", "a", "1", "a.c", "3", "a.b", "árvíztűrő", "c", "");
+
+        final PropertyIndex index = PropertyIndex.open(file);
+
+        assert index.size() == 5 : index.size();
+
+        assert "1".equals(index.get("a"));
+        assert "2".equals(index.get("b"));
+        assert "".equals(index.get("c"));
+        assert "árvíztűrő".equals(index.get("a.b"));
+        assert index.get("a.") == null;
+        assert index.get("0") == null;
+        assert index.get("d") == null;
+
+        final Map<String, Object> scanned = new LinkedHashMap<>();
+        index.scan("a.", scanned::put);
+
+        assert Arrays.asList("a.b", "a.c").equals(Arrays.asList(scanned.keySet().toArray())) : scanned;
+
+        scanned.clear();
+        index.scan("", scanned::put);
+
+        assert Arrays.asList("a", "a.b", "a.c", "b", "c").equals(Arrays.asList(scanned.keySet().toArray())) : scanned;
+
+        scanned.clear();
+        index.scan("x", scanned::put);
+
+        assert scanned.isEmpty() : scanned;
+    }
+
+    @Test
+    public void testChanges() throws Exception {
+        write("a", "1", "b", "2", "c", "3");
+        final PropertyIndex index1 = PropertyIndex.open(file);
+
+        write("b", "2", "c", "4", "d", "5");
+        final PropertyIndex index2 = PropertyIndex.open(file);
+
+        assert new HashSet<>(Arrays.asList("a", "c", "d")).equals(index1.changes(index2)) : index1.changes(index2);
+        assert index1.changes(index2).equals(index2.changes(index1));
+        assert index1.changes(index1).isEmpty();
+        assert PropertyIndex.EMPTY.changes(index1).equals(new HashSet<>(Arrays.asList("a", "b", "c")));
+    }
+
+    @Test
+    public void testCorruptIndex() throws Exception {
+        // header, offsets at 12 and 16, first property at 20: key length, key, value length at 25, value
+        corrupt(8, Integer.MAX_VALUE);
+        corrupt(8, -1);
+        corrupt(16, 1000);
+        corrupt(16, 12);
+        corrupt(20, -1);
+        corrupt(20, 1000);
+        corrupt(25, 1000);
+    }
+
+    private void corrupt(final int position, final int value) throws IOException {
+        write("a", "1", "b", "2");
+        assert PropertyIndex.open(file).size() == 2;
+
+        final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        buffer.putInt(position, value);
+        Files.write(file, buffer.array());
+
+        try {
+            PropertyIndex.open(file);
+            assert false : String.format("%d at %d", value, position);
+        } catch (final IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testLargeIndex() throws Exception {
+        final Map<String, String> properties = new HashMap<>();
+
+        for (int i = 0; i < 10000; ++i) {
+            properties.put(String.format("key.%d", i), String.valueOf(i));
+        }
+
+        PropertyIndex.write(properties, file);
+        final PropertyIndex index = PropertyIndex.open(file);
+
+        assert index.size() == properties.size();
+
+        for (final Map.Entry<String, String> entry : properties.entrySet()) {
+            assert entry.getValue().equals(index.get(entry.getKey())) : entry.getKey();
+        }
+
+        final Map<String, Object> scanned = new HashMap<>();
+        index.scan("key.99", scanned::put);
+
+        assert scanned.size() == 111 : scanned.size();
+    }
+
+    @Test
+    public void testReloading() throws Exception {
+        write("a", "1", "b", "2");
+
+        final MappedPropertyProvider provider = verify(() -> new MappedPropertyProvider(file, 0, log));
+
+        assert "1".equals(provider.property("a"));
+        assert "2".equals(provider.property("b"));
+        assert provider.property("c") == null;
+
+        final long revision = provider.revision();
+
+        assert verify(() -> provider.subscribe(listener));
+
+        // unchanged file: no notification
+        verify(provider::check);
+
+        assert provider.revision() == revision;
+
+        write("a", "1", "b", "3", "c", "4");
+
+        EasyMock.expect(listener.changed(new HashSet<>(Arrays.asList("b", "c")))).andReturn(true);
+
+        verify(provider::check);
+
+        assert provider.revision() != revision;
+        assert "1".equals(provider.property("a"));
+        assert "3".equals(provider.property("b"));
+        assert "4".equals(provider.property("c"));
+
+        Files.delete(file);
+
+        EasyMock.expect(listener.changed(new HashSet<>(Arrays.asList("a", "b", "c")))).andReturn(false);
+
+        verify(provider::check);
+
+        assert provider.property("a") == null;
+
+        final long deleted = provider.revision();
+
+        write("a", "1", "b", "2");
+
+        // unsubscribed: changes not worked out
+        verify(provider::check);
+
+        assert provider.revision() != deleted;
+        assert "1".equals(provider.property("a"));
+    }
+
+    @Test
+    public void testMissingFile() throws Exception {
+        final MappedPropertyProvider provider = verify(() -> new MappedPropertyProvider(file, 0, log));
+
+        assert provider.property("a") == null;
+        assert provider.scan("", (key, value) -> { assert false : key; });
+
+        write("a", "1");
+
+        assert verify(() -> provider.subscribe(listener));
+
+        // no previous properties to compare to
+        EasyMock.expect(listener.changed(null)).andReturn(true);
+
+        verify(provider::check);
+
+        assert "1".equals(provider.property("a"));
+    }
+}
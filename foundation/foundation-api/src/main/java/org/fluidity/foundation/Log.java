@@ -22,6 +22,9 @@ package org.fluidity.foundation;
  * <p>
  * Message formatting conforms to the Java print format specification.
  * <p>
+ * Each method that emits messages has overloads with up to four message arguments, so that call sites do not allocate an array for the arguments. Those
+ * overloads check the log level first, and allocate the array only to emit the message.
+ * <p>
  * The injected instance will be backed by an actual logging framework; which one is used depends on the {@link org.fluidity.foundation.spi.LogFactory} found
  * in the class path. Fluid Tools implements adapters for popular frameworks; see the <a
  * href="https://github.com/aqueance/fluid-tools/wiki/User-Guide---Composition#logging-alternatives">User Guide</a> for details. If no specific logging
@@ -165,4 +168,659 @@ public interface Log<T> {
      * @param arguments the arguments parameter of a {@link String#format(String, Object...)} call.
      */
     void error(Throwable exception, String format, Object... arguments);
+
+    /**
+     * Same as {@link #trace(String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param format the format parameter of a {@link String#format(String, Object...)} call.
+     */
+    default void trace(final String format) {
+        if (isTraceEnabled()) {
+            trace(format, new Object[0]);
+        }
+    }
+
+    /**
+     * Same as {@link #trace(String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     * @param argument1 the first argument of a {@link String#format(String, Object...)} call.
+     */
+    default void trace(final String format, final Object argument1) {
+        if (isTraceEnabled()) {
+            trace(format, new Object[] { argument1 });
+        }
+    }
+
+    /**
+     * Same as {@link #trace(String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     * @param argument1 the first argument of a {@link String#format(String, Object...)} call.
+     * @param argument2 the second argument of a {@link String#format(String, Object...)} call.
+     */
+    default void trace(final String format, final Object argument1, final Object argument2) {
+        if (isTraceEnabled()) {
+            trace(format, new Object[] { argument1, argument2 });
+        }
+    }
+
+    /**
+     * Same as {@link #trace(String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     * @param argument1 the first argument of a {@link String#format(String, Object...)} call.
+     * @param argument2 the second argument of a {@link String#format(String, Object...)} call.
+     * @param argument3 the third argument of a {@link String#format(String, Object...)} call.
+     */
+    default void trace(final String format, final Object argument1, final Object argument2, final Object argument3) {
+        if (isTraceEnabled()) {
+            trace(format, new Object[] { argument1, argument2, argument3 });
+        }
+    }
+
+    /**
+     * Same as {@link #trace(String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     * @param argument1 the first argument of a {@link String#format(String, Object...)} call.
+     * @param argument2 the second argument of a {@link String#format(String, Object...)} call.
+     * @param argument3 the third argument of a {@link String#format(String, Object...)} call.
+     * @param argument4 the fourth argument of a {@link String#format(String, Object...)} call.
+     */
+    default void trace(final String format, final Object argument1, final Object argument2, final Object argument3, final Object argument4) {
+        if (isTraceEnabled()) {
+            trace(format, new Object[] { argument1, argument2, argument3, argument4 });
+        }
+    }
+
+    /**
+     * Same as {@link #debug(String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param format the format parameter of a {@link String#format(String, Object...)} call.
+     */
+    default void debug(final String format) {
+        if (isDebugEnabled()) {
+            debug(format, new Object[0]);
+        }
+    }
+
+    /**
+     * Same as {@link #debug(String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     * @param argument1 the first argument of a {@link String#format(String, Object...)} call.
+     */
+    default void debug(final String format, final Object argument1) {
+        if (isDebugEnabled()) {
+            debug(format, new Object[] { argument1 });
+        }
+    }
+
+    /**
+     * Same as {@link #debug(String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     * @param argument1 the first argument of a {@link String#format(String, Object...)} call.
+     * @param argument2 the second argument of a {@link String#format(String, Object...)} call.
+     */
+    default void debug(final String format, final Object argument1, final Object argument2) {
+        if (isDebugEnabled()) {
+            debug(format, new Object[] { argument1, argument2 });
+        }
+    }
+
+    /**
+     * Same as {@link #debug(String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     * @param argument1 the first argument of a {@link String#format(String, Object...)} call.
+     * @param argument2 the second argument of a {@link String#format(String, Object...)} call.
+     * @param argument3 the third argument of a {@link String#format(String, Object...)} call.
+     */
+    default void debug(final String format, final Object argument1, final Object argument2, final Object argument3) {
+        if (isDebugEnabled()) {
+            debug(format, new Object[] { argument1, argument2, argument3 });
+        }
+    }
+
+    /**
+     * Same as {@link #debug(String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     * @param argument1 the first argument of a {@link String#format(String, Object...)} call.
+     * @param argument2 the second argument of a {@link String#format(String, Object...)} call.
+     * @param argument3 the third argument of a {@link String#format(String, Object...)} call.
+     * @param argument4 the fourth argument of a {@link String#format(String, Object...)} call.
+     */
+    default void debug(final String format, final Object argument1, final Object argument2, final Object argument3, final Object argument4) {
+        if (isDebugEnabled()) {
+            debug(format, new Object[] { argument1, argument2, argument3, argument4 });
+        }
+    }
+
+    /**
+     * Same as {@link #info(String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param format the format parameter of a {@link String#format(String, Object...)} call.
+     */
+    default void info(final String format) {
+        if (isInfoEnabled()) {
+            info(format, new Object[0]);
+        }
+    }
+
+    /**
+     * Same as {@link #info(String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     * @param argument1 the first argument of a {@link String#format(String, Object...)} call.
+     */
+    default void info(final String format, final Object argument1) {
+        if (isInfoEnabled()) {
+            info(format, new Object[] { argument1 });
+        }
+    }
+
+    /**
+     * Same as {@link #info(String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     * @param argument1 the first argument of a {@link String#format(String, Object...)} call.
+     * @param argument2 the second argument of a {@link String#format(String, Object...)} call.
+     */
+    default void info(final String format, final Object argument1, final Object argument2) {
+        if (isInfoEnabled()) {
+            info(format, new Object[] { argument1, argument2 });
+        }
+    }
+
+    /**
+     * Same as {@link #info(String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     * @param argument1 the first argument of a {@link String#format(String, Object...)} call.
+     * @param argument2 the second argument of a {@link String#format(String, Object...)} call.
+     * @param argument3 the third argument of a {@link String#format(String, Object...)} call.
+     */
+    default void info(final String format, final Object argument1, final Object argument2, final Object argument3) {
+        if (isInfoEnabled()) {
+            info(format, new Object[] { argument1, argument2, argument3 });
+        }
+    }
+
+    /**
+     * Same as {@link #info(String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     * @param argument1 the first argument of a {@link String#format(String, Object...)} call.
+     * @param argument2 the second argument of a {@link String#format(String, Object...)} call.
+     * @param argument3 the third argument of a {@link String#format(String, Object...)} call.
+     * @param argument4 the fourth argument of a {@link String#format(String, Object...)} call.
+     */
+    default void info(final String format, final Object argument1, final Object argument2, final Object argument3, final Object argument4) {
+        if (isInfoEnabled()) {
+            info(format, new Object[] { argument1, argument2, argument3, argument4 });
+        }
+    }
+
+    /**
+     * Same as {@link #warning(String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param format the format parameter of a {@link String#format(String, Object...)} call.
+     */
+    default void warning(final String format) {
+        if (isWarningEnabled()) {
+            warning(format, new Object[0]);
+        }
+    }
+
+    /**
+     * Same as {@link #warning(String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     * @param argument1 the first argument of a {@link String#format(String, Object...)} call.
+     */
+    default void warning(final String format, final Object argument1) {
+        if (isWarningEnabled()) {
+            warning(format, new Object[] { argument1 });
+        }
+    }
+
+    /**
+     * Same as {@link #warning(String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     * @param argument1 the first argument of a {@link String#format(String, Object...)} call.
+     * @param argument2 the second argument of a {@link String#format(String, Object...)} call.
+     */
+    default void warning(final String format, final Object argument1, final Object argument2) {
+        if (isWarningEnabled()) {
+            warning(format, new Object[] { argument1, argument2 });
+        }
+    }
+
+    /**
+     * Same as {@link #warning(String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     * @param argument1 the first argument of a {@link String#format(String, Object...)} call.
+     * @param argument2 the second argument of a {@link String#format(String, Object...)} call.
+     * @param argument3 the third argument of a {@link String#format(String, Object...)} call.
+     */
+    default void warning(final String format, final Object argument1, final Object argument2, final Object argument3) {
+        if (isWarningEnabled()) {
+            warning(format, new Object[] { argument1, argument2, argument3 });
+        }
+    }
+
+    /**
+     * Same as {@link #warning(String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     * @param argument1 the first argument of a {@link String#format(String, Object...)} call.
+     * @param argument2 the second argument of a {@link String#format(String, Object...)} call.
+     * @param argument3 the third argument of a {@link String#format(String, Object...)} call.
+     * @param argument4 the fourth argument of a {@link String#format(String, Object...)} call.
+     */
+    default void warning(final String format, final Object argument1, final Object argument2, final Object argument3, final Object argument4) {
+        if (isWarningEnabled()) {
+            warning(format, new Object[] { argument1, argument2, argument3, argument4 });
+        }
+    }
+
+    /**
+     * Same as {@link #error(String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param format the format parameter of a {@link String#format(String, Object...)} call.
+     */
+    default void error(final String format) {
+        error(format, new Object[0]);
+    }
+
+    /**
+     * Same as {@link #error(String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     * @param argument1 the first argument of a {@link String#format(String, Object...)} call.
+     */
+    default void error(final String format, final Object argument1) {
+        error(format, new Object[] { argument1 });
+    }
+
+    /**
+     * Same as {@link #error(String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     * @param argument1 the first argument of a {@link String#format(String, Object...)} call.
+     * @param argument2 the second argument of a {@link String#format(String, Object...)} call.
+     */
+    default void error(final String format, final Object argument1, final Object argument2) {
+        error(format, new Object[] { argument1, argument2 });
+    }
+
+    /**
+     * Same as {@link #error(String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     * @param argument1 the first argument of a {@link String#format(String, Object...)} call.
+     * @param argument2 the second argument of a {@link String#format(String, Object...)} call.
+     * @param argument3 the third argument of a {@link String#format(String, Object...)} call.
+     */
+    default void error(final String format, final Object argument1, final Object argument2, final Object argument3) {
+        error(format, new Object[] { argument1, argument2, argument3 });
+    }
+
+    /**
+     * Same as {@link #error(String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     * @param argument1 the first argument of a {@link String#format(String, Object...)} call.
+     * @param argument2 the second argument of a {@link String#format(String, Object...)} call.
+     * @param argument3 the third argument of a {@link String#format(String, Object...)} call.
+     * @param argument4 the fourth argument of a {@link String#format(String, Object...)} call.
+     */
+    default void error(final String format, final Object argument1, final Object argument2, final Object argument3, final Object argument4) {
+        error(format, new Object[] { argument1, argument2, argument3, argument4 });
+    }
+
+    /**
+     * Same as {@link #trace(Throwable, String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param exception the exception to log the stack trace of.
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     */
+    default void trace(final Throwable exception, final String format) {
+        if (isTraceEnabled()) {
+            trace(exception, format, new Object[0]);
+        }
+    }
+
+    /**
+     * Same as {@link #trace(Throwable, String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param exception the exception to log the stack trace of.
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     * @param argument1 the first argument of a {@link String#format(String, Object...)} call.
+     */
+    default void trace(final Throwable exception, final String format, final Object argument1) {
+        if (isTraceEnabled()) {
+            trace(exception, format, new Object[] { argument1 });
+        }
+    }
+
+    /**
+     * Same as {@link #trace(Throwable, String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param exception the exception to log the stack trace of.
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     * @param argument1 the first argument of a {@link String#format(String, Object...)} call.
+     * @param argument2 the second argument of a {@link String#format(String, Object...)} call.
+     */
+    default void trace(final Throwable exception, final String format, final Object argument1, final Object argument2) {
+        if (isTraceEnabled()) {
+            trace(exception, format, new Object[] { argument1, argument2 });
+        }
+    }
+
+    /**
+     * Same as {@link #trace(Throwable, String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param exception the exception to log the stack trace of.
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     * @param argument1 the first argument of a {@link String#format(String, Object...)} call.
+     * @param argument2 the second argument of a {@link String#format(String, Object...)} call.
+     * @param argument3 the third argument of a {@link String#format(String, Object...)} call.
+     */
+    default void trace(final Throwable exception, final String format, final Object argument1, final Object argument2, final Object argument3) {
+        if (isTraceEnabled()) {
+            trace(exception, format, new Object[] { argument1, argument2, argument3 });
+        }
+    }
+
+    /**
+     * Same as {@link #trace(Throwable, String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param exception the exception to log the stack trace of.
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     * @param argument1 the first argument of a {@link String#format(String, Object...)} call.
+     * @param argument2 the second argument of a {@link String#format(String, Object...)} call.
+     * @param argument3 the third argument of a {@link String#format(String, Object...)} call.
+     * @param argument4 the fourth argument of a {@link String#format(String, Object...)} call.
+     */
+    default void trace(final Throwable exception, final String format, final Object argument1, final Object argument2, final Object argument3, final Object argument4) {
+        if (isTraceEnabled()) {
+            trace(exception, format, new Object[] { argument1, argument2, argument3, argument4 });
+        }
+    }
+
+    /**
+     * Same as {@link #debug(Throwable, String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param exception the exception to log the stack trace of.
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     */
+    default void debug(final Throwable exception, final String format) {
+        if (isDebugEnabled()) {
+            debug(exception, format, new Object[0]);
+        }
+    }
+
+    /**
+     * Same as {@link #debug(Throwable, String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param exception the exception to log the stack trace of.
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     * @param argument1 the first argument of a {@link String#format(String, Object...)} call.
+     */
+    default void debug(final Throwable exception, final String format, final Object argument1) {
+        if (isDebugEnabled()) {
+            debug(exception, format, new Object[] { argument1 });
+        }
+    }
+
+    /**
+     * Same as {@link #debug(Throwable, String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param exception the exception to log the stack trace of.
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     * @param argument1 the first argument of a {@link String#format(String, Object...)} call.
+     * @param argument2 the second argument of a {@link String#format(String, Object...)} call.
+     */
+    default void debug(final Throwable exception, final String format, final Object argument1, final Object argument2) {
+        if (isDebugEnabled()) {
+            debug(exception, format, new Object[] { argument1, argument2 });
+        }
+    }
+
+    /**
+     * Same as {@link #debug(Throwable, String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param exception the exception to log the stack trace of.
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     * @param argument1 the first argument of a {@link String#format(String, Object...)} call.
+     * @param argument2 the second argument of a {@link String#format(String, Object...)} call.
+     * @param argument3 the third argument of a {@link String#format(String, Object...)} call.
+     */
+    default void debug(final Throwable exception, final String format, final Object argument1, final Object argument2, final Object argument3) {
+        if (isDebugEnabled()) {
+            debug(exception, format, new Object[] { argument1, argument2, argument3 });
+        }
+    }
+
+    /**
+     * Same as {@link #debug(Throwable, String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param exception the exception to log the stack trace of.
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     * @param argument1 the first argument of a {@link String#format(String, Object...)} call.
+     * @param argument2 the second argument of a {@link String#format(String, Object...)} call.
+     * @param argument3 the third argument of a {@link String#format(String, Object...)} call.
+     * @param argument4 the fourth argument of a {@link String#format(String, Object...)} call.
+     */
+    default void debug(final Throwable exception, final String format, final Object argument1, final Object argument2, final Object argument3, final Object argument4) {
+        if (isDebugEnabled()) {
+            debug(exception, format, new Object[] { argument1, argument2, argument3, argument4 });
+        }
+    }
+
+    /**
+     * Same as {@link #info(Throwable, String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param exception the exception to log the stack trace of.
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     */
+    default void info(final Throwable exception, final String format) {
+        if (isInfoEnabled()) {
+            info(exception, format, new Object[0]);
+        }
+    }
+
+    /**
+     * Same as {@link #info(Throwable, String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param exception the exception to log the stack trace of.
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     * @param argument1 the first argument of a {@link String#format(String, Object...)} call.
+     */
+    default void info(final Throwable exception, final String format, final Object argument1) {
+        if (isInfoEnabled()) {
+            info(exception, format, new Object[] { argument1 });
+        }
+    }
+
+    /**
+     * Same as {@link #info(Throwable, String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param exception the exception to log the stack trace of.
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     * @param argument1 the first argument of a {@link String#format(String, Object...)} call.
+     * @param argument2 the second argument of a {@link String#format(String, Object...)} call.
+     */
+    default void info(final Throwable exception, final String format, final Object argument1, final Object argument2) {
+        if (isInfoEnabled()) {
+            info(exception, format, new Object[] { argument1, argument2 });
+        }
+    }
+
+    /**
+     * Same as {@link #info(Throwable, String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param exception the exception to log the stack trace of.
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     * @param argument1 the first argument of a {@link String#format(String, Object...)} call.
+     * @param argument2 the second argument of a {@link String#format(String, Object...)} call.
+     * @param argument3 the third argument of a {@link String#format(String, Object...)} call.
+     */
+    default void info(final Throwable exception, final String format, final Object argument1, final Object argument2, final Object argument3) {
+        if (isInfoEnabled()) {
+            info(exception, format, new Object[] { argument1, argument2, argument3 });
+        }
+    }
+
+    /**
+     * Same as {@link #info(Throwable, String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param exception the exception to log the stack trace of.
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     * @param argument1 the first argument of a {@link String#format(String, Object...)} call.
+     * @param argument2 the second argument of a {@link String#format(String, Object...)} call.
+     * @param argument3 the third argument of a {@link String#format(String, Object...)} call.
+     * @param argument4 the fourth argument of a {@link String#format(String, Object...)} call.
+     */
+    default void info(final Throwable exception, final String format, final Object argument1, final Object argument2, final Object argument3, final Object argument4) {
+        if (isInfoEnabled()) {
+            info(exception, format, new Object[] { argument1, argument2, argument3, argument4 });
+        }
+    }
+
+    /**
+     * Same as {@link #warning(Throwable, String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param exception the exception to log the stack trace of.
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     */
+    default void warning(final Throwable exception, final String format) {
+        if (isWarningEnabled()) {
+            warning(exception, format, new Object[0]);
+        }
+    }
+
+    /**
+     * Same as {@link #warning(Throwable, String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param exception the exception to log the stack trace of.
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     * @param argument1 the first argument of a {@link String#format(String, Object...)} call.
+     */
+    default void warning(final Throwable exception, final String format, final Object argument1) {
+        if (isWarningEnabled()) {
+            warning(exception, format, new Object[] { argument1 });
+        }
+    }
+
+    /**
+     * Same as {@link #warning(Throwable, String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param exception the exception to log the stack trace of.
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     * @param argument1 the first argument of a {@link String#format(String, Object...)} call.
+     * @param argument2 the second argument of a {@link String#format(String, Object...)} call.
+     */
+    default void warning(final Throwable exception, final String format, final Object argument1, final Object argument2) {
+        if (isWarningEnabled()) {
+            warning(exception, format, new Object[] { argument1, argument2 });
+        }
+    }
+
+    /**
+     * Same as {@link #warning(Throwable, String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param exception the exception to log the stack trace of.
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     * @param argument1 the first argument of a {@link String#format(String, Object...)} call.
+     * @param argument2 the second argument of a {@link String#format(String, Object...)} call.
+     * @param argument3 the third argument of a {@link String#format(String, Object...)} call.
+     */
+    default void warning(final Throwable exception, final String format, final Object argument1, final Object argument2, final Object argument3) {
+        if (isWarningEnabled()) {
+            warning(exception, format, new Object[] { argument1, argument2, argument3 });
+        }
+    }
+
+    /**
+     * Same as {@link #warning(Throwable, String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param exception the exception to log the stack trace of.
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     * @param argument1 the first argument of a {@link String#format(String, Object...)} call.
+     * @param argument2 the second argument of a {@link String#format(String, Object...)} call.
+     * @param argument3 the third argument of a {@link String#format(String, Object...)} call.
+     * @param argument4 the fourth argument of a {@link String#format(String, Object...)} call.
+     */
+    default void warning(final Throwable exception, final String format, final Object argument1, final Object argument2, final Object argument3, final Object argument4) {
+        if (isWarningEnabled()) {
+            warning(exception, format, new Object[] { argument1, argument2, argument3, argument4 });
+        }
+    }
+
+    /**
+     * Same as {@link #error(Throwable, String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param exception the exception to log the stack trace of.
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     */
+    default void error(final Throwable exception, final String format) {
+        error(exception, format, new Object[0]);
+    }
+
+    /**
+     * Same as {@link #error(Throwable, String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param exception the exception to log the stack trace of.
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     * @param argument1 the first argument of a {@link String#format(String, Object...)} call.
+     */
+    default void error(final Throwable exception, final String format, final Object argument1) {
+        error(exception, format, new Object[] { argument1 });
+    }
+
+    /**
+     * Same as {@link #error(Throwable, String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param exception the exception to log the stack trace of.
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     * @param argument1 the first argument of a {@link String#format(String, Object...)} call.
+     * @param argument2 the second argument of a {@link String#format(String, Object...)} call.
+     */
+    default void error(final Throwable exception, final String format, final Object argument1, final Object argument2) {
+        error(exception, format, new Object[] { argument1, argument2 });
+    }
+
+    /**
+     * Same as {@link #error(Throwable, String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param exception the exception to log the stack trace of.
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     * @param argument1 the first argument of a {@link String#format(String, Object...)} call.
+     * @param argument2 the second argument of a {@link String#format(String, Object...)} call.
+     * @param argument3 the third argument of a {@link String#format(String, Object...)} call.
+     */
+    default void error(final Throwable exception, final String format, final Object argument1, final Object argument2, final Object argument3) {
+        error(exception, format, new Object[] { argument1, argument2, argument3 });
+    }
+
+    /**
+     * Same as {@link #error(Throwable, String, Object...)}, without allocating an array for the arguments unless the message is emitted.
+     *
+     * @param exception the exception to log the stack trace of.
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     * @param argument1 the first argument of a {@link String#format(String, Object...)} call.
+     * @param argument2 the second argument of a {@link String#format(String, Object...)} call.
+     * @param argument3 the third argument of a {@link String#format(String, Object...)} call.
+     * @param argument4 the fourth argument of a {@link String#format(String, Object...)} call.
+     */
+    default void error(final Throwable exception, final String format, final Object argument1, final Object argument2, final Object argument3, final Object argument4) {
+        error(exception, format, new Object[] { argument1, argument2, argument3, argument4 });
+    }
 }
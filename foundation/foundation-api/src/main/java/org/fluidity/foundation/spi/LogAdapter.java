@@ -29,7 +29,7 @@ import org.fluidity.foundation.Log;
  * final class <b>MyLogImpl</b>&lt;T&gt; extends <span class="hl1">{@linkplain LogAdapter}</span>&lt;<b>Log</b>, T&gt; {
  *
  *   <b>MyLogImpl</b>(final Class&lt;T&gt; source) {
- *     <span class="hl1">super</span>(<b>LoggerFactory</b>.<b>getLogger</b>(source.getName()));
+ *     <span class="hl1">super</span>(source.getName(), <b>LoggerFactory</b>.<b>getLogger</b>(source.getName()));
  *   }
  *
  *   protected Levels levels() {
@@ -54,7 +54,7 @@ import org.fluidity.foundation.Log;
  *
  *   public void trace(final String message, final Object... arguments) {
  *     if (<span class="hl1">{@linkplain LogAdapter#permissions()}.trace</span>) {
- *       <span class="hl1">log</span>.<b>trace</b>(message, arguments);
+ *       <span class="hl1">log</span>.<b>trace</b>(<span class="hl1">{@linkplain LogFormat}.format</span>(message, arguments));
  *     }
  *   }
  *
@@ -91,17 +91,34 @@ public abstract class LogAdapter<L, T> implements Log<T> {
     protected final L log;
 
     private final Levels levels;
-    private volatile long timestamp;
-    private Permissions permissions;
+
+    // reset by LogLevels when the log levels of this logger's category may have changed
+    private volatile Permissions permissions;
+
+    // changed by every reset, to detect one that took place while the log levels were being queried
+    private volatile int updates;
 
     /**
-     * Creates a log instance.
+     * Creates a log instance that is affected only by {@linkplain LogLevels#updated() global} log level updates.
      *
      * @param log the external log type.
      */
     protected LogAdapter(final L log) {
+        this("", log);
+    }
+
+    /**
+     * Creates a log instance in the given category. The log levels are queried again when the log levels of the category are {@linkplain
+     * LogLevels#updated(String) updated}.
+     *
+     * @param category the category of the log, usually the name of the class it was created for.
+     * @param log      the external log type.
+     */
+    protected LogAdapter(final String category, final L log) {
         this.log = log;
         this.levels = levels();
+
+        LogLevels.register(category, this);
     }
 
     /**
@@ -116,7 +133,7 @@ public abstract class LogAdapter<L, T> implements Log<T> {
      * Flags for the various log level permissions.
      */
     protected final Permissions permissions() {
-        long updated = LogLevels.updated;
+        Permissions permissions = this.permissions;
 
         /*
          * Under heavy load, multiple threads may query the log levels concurrently, causing a slow logging framework like Log4j to delay all threads involved.
@@ -126,14 +143,32 @@ public abstract class LogAdapter<L, T> implements Log<T> {
          * If you end up with a performance problem due to concurrent log level queries, use a logging framework that does not spend excessive time deciding if
          * a logging level enabled or not.
          */
-        if (updated > timestamp || permissions == null) {   // this is a read barrier as timestamp is volatile
-            permissions = new Permissions(levels);
-            timestamp = updated;                            // this is a write barrier as timestamp is volatile
+        if (permissions == null) {
+            final int updates = this.updates;   // must be read before querying the log levels
+
+            this.permissions = permissions = new Permissions(levels);
+
+            if (this.updates != updates) {
+                this.permissions = null;        // the log levels may have changed since queried
+            }
         }
 
         return permissions;
     }
 
+    /**
+     * Discards the cached log levels.
+     *
+     * @return <code>true</code> if log levels were cached, <code>false</code> otherwise.
+     */
+    boolean invalidate() {
+        ++updates;                              // concurrent increments may collide but still change the value
+
+        final boolean cached = permissions != null;
+        permissions = null;
+        return cached;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2006-2018 Tibor Adam Varga (tibor.adam.varga on gmail)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fluidity.foundation.spi;
+
+import java.util.Formattable;
+
+/**
+ * Formats log messages for {@link org.fluidity.foundation.Log} implementations. Messages with only <code>%s</code>, <code>%d</code>, <code>%%</code>, and
+ * <code>%n</code> in their format, by far the most common ones, are rendered into a buffer reused by the calling thread, without parsing the format with
+ * regular expressions and allocating a {@link java.util.Formatter}. All other messages are formatted by {@link String#format(String, Object...)}.
+ * <p>
+ * Integers rendered by <code>%d</code> are not localized.
+ * <h3>Usage</h3>
+ * <pre>
+ * public void info(final String format, final Object... arguments) {
+ *   if ({@linkplain LogAdapter#permissions() permissions}().info) {
+ *     log.info(<span class="hl1">LogFormat</span>.<span class="hl1">format</span>(format, arguments));
+ *   }
+ * }
+ * </pre>
+ *
+ * @author Tibor Varga
+ */
+@SuppressWarnings("JavadocReference")
+public final class LogFormat {
+
+    private static final String LINE = System.lineSeparator();
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+
+    // buffers larger than this are not kept for reuse
+    private static final int RETAINED = 4096;
+
+    private static final ThreadLocal<Buffer> buffers = ThreadLocal.withInitial(Buffer::new);
+
+    private LogFormat() {
+        throw new UnsupportedOperationException("No instance allowed");
+    }
+
+    /**
+     * Formats a log message.
+     *
+     * @param format    the format parameter of a {@link String#format(String, Object...)} call.
+     * @param arguments the arguments parameter of a {@link String#format(String, Object...)} call.
+     *
+     * @return the formatted message.
+     */
+    public static String format(final String format, final Object... arguments) {
+        final Buffer buffer = buffers.get();
+
+        if (buffer.busy) {      // an argument logs from its toString() method
+            return format(new StringBuilder(Buffer.CAPACITY), format, arguments);
+        }
+
+        buffer.busy = true;
+
+        try {
+            return format(buffer.text, format, arguments);
+        } finally {
+            buffer.busy = false;
+
+            if (buffer.text.capacity() > RETAINED) {
+                buffer.text = new StringBuilder(Buffer.CAPACITY);
+            }
+        }
+    }
+
+    private static String format(final StringBuilder text, final String format, final Object[] arguments) {
+        text.setLength(0);
+        return render(text, format, arguments == null ? NO_ARGUMENTS : arguments) ? text.toString() : String.format(format, arguments);
+    }
+
+    /*
+     * Renders the message into the given buffer. Returns false if the format contains anything but the supported conversions, or the arguments do not match
+     * them; the buffer is left in an undefined state in that case.
+     */
+    private static boolean render(final StringBuilder text, final String format, final Object[] arguments) {
+        final int length = format.length();
+
+        int next = 0;
+        for (int start = 0; start < length; ) {
+            final int percent = format.indexOf('%', start);
+
+            if (percent < 0) {
+                text.append(format, start, length);
+                break;
+            } else if (percent == length - 1) {
+                return false;
+            }
+
+            text.append(format, start, percent);
+
+            switch (format.charAt(percent + 1)) {
+            case '%':
+                text.append('%');
+                break;
+
+            case 'n':
+                text.append(LINE);
+                break;
+
+            case 's': {
+                if (next == arguments.length) {
+                    return false;
+                }
+
+                final Object argument = arguments[next++];
+
+                if (argument instanceof Formattable) {
+                    return false;
+                }
+
+                text.append(argument);
+                break;
+            }
+
+            case 'd': {
+                if (next == arguments.length) {
+                    return false;
+                }
+
+                final Object argument = arguments[next++];
+
+                if (argument == null) {
+                    text.append((Object) null);
+                } else if (argument instanceof Integer || argument instanceof Long || argument instanceof Short || argument instanceof Byte) {
+                    text.append(((Number) argument).longValue());
+                } else {
+                    return false;
+                }
+
+                break;
+            }
+
+            default:
+                return false;
+            }
+
+            start = percent + 2;
+        }
+
+        return true;
+    }
+
+    /**
+     * The text buffer of a thread.
+     *
+     * @author Tibor Varga
+     */
+    private static final class Buffer {
+
+        static final int CAPACITY = 256;
+
+        StringBuilder text = new StringBuilder(CAPACITY);
+        boolean busy;
+    }
+}
@@ -16,28 +16,176 @@
 
 package org.fluidity.foundation.spi;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Allows triggering dynamic reconfiguration of log levels. Log levels are loaded for each {@linkplain org.fluidity.foundation.Log logger} the first time it is
- * used and then the levels are cached until {@link #updated()} is invoked.
+ * used and then the levels are cached until {@link #updated()}, or {@link #updated(String)} with the logger's category, is invoked.
+ * <p>
+ * The category of a logger is the name of the class it was created for, as passed to the {@link LogAdapter#LogAdapter(String, Object) LogAdapter}
+ * constructor. A category matches itself and the categories nested in it, as in <code>"org.example"</code> matching <code>"org.example.Foo"</code> and
+ * <code>"org.example.Foo$Bar"</code>.
  *
  * @author Tibor Varga
  */
 public final class LogLevels {
 
-    /**
-     * Used internally to trigger reloading log levels.
-     */
-    static volatile long updated;
+    private static final Map<String, Set<Registration>> categories = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<LogAdapter<?, ?>> released = new ReferenceQueue<>();
+
+    private static volatile Control control;
 
     /**
      * Records the fact that log levels may have changed. The next time a log message is emitted through any {@linkplain org.fluidity.foundation.Log logger},
      * its log levels will be queried from the underlying logging framework and cached until this method is invoked again.
+     * <p>
+     * Use {@link #updated(String) updated("")} to also find out the number of loggers affected.
      */
     public static void updated() {
-        updated = System.currentTimeMillis();
+        updated("");
+    }
+
+    /**
+     * Records the fact that the log levels of the given category may have changed. The next time a log message is emitted through a {@linkplain
+     * org.fluidity.foundation.Log logger} in the category, its log levels will be queried from the underlying logging framework. Other loggers are not
+     * affected.
+     *
+     * @param category the category of the loggers to update; the empty string denotes all loggers.
+     *
+     * @return the number of loggers that will query their log levels again.
+     */
+    public static int updated(final String category) {
+        prune();
+
+        int count = 0;
+
+        for (final Map.Entry<String, Set<Registration>> entry : categories.entrySet()) {
+            if (matches(category, entry.getKey())) {
+                for (final Registration registration : entry.getValue()) {
+                    final LogAdapter<?, ?> adapter = registration.get();
+
+                    if (adapter != null && adapter.invalidate()) {
+                        ++count;
+                    }
+                }
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Sets the log level of the given category in the underlying logging framework, and then {@linkplain #updated(String) updates} the loggers in the
+     * category. Requires a logging implementation that has {@linkplain #control(LogLevels.Control) installed} a log level control.
+     *
+     * @param category the category to set the log level of; the empty string denotes the root category.
+     * @param level    the lowest level to emit log messages at.
+     *
+     * @return the number of loggers that will query their log levels again.
+     *
+     * @throws UnsupportedOperationException when the logging implementation does not support changing log levels.
+     */
+    public static int set(final String category, final Level level) {
+        final Control control = LogLevels.control;
+
+        if (control == null) {
+            throw new UnsupportedOperationException("The logging implementation does not support changing log levels");
+        }
+
+        control.set(category, level);
+
+        return updated(category);
+    }
+
+    /**
+     * Installs the log level control of the logging implementation. Invoked by {@link LogFactory} implementations that can change log levels.
+     *
+     * @param control the log level control.
+     */
+    public static void control(final Control control) {
+        LogLevels.control = control;
+    }
+
+    static void register(final String category, final LogAdapter<?, ?> adapter) {
+        prune();
+
+        // atomic with the removal of the empty set of registrations in prune()
+        categories.compute(category, (key, registrations) -> {
+            final Set<Registration> set = registrations == null ? ConcurrentHashMap.newKeySet() : registrations;
+            set.add(new Registration(category, adapter));
+            return set;
+        });
+    }
+
+    private static boolean matches(final String category, final String name) {
+        if (category.isEmpty() || category.equals(name)) {
+            return true;
+        } else if (name.length() > category.length() && name.startsWith(category)) {
+            final char separator = name.charAt(category.length());
+            return separator == '.' || separator == '$';
+        } else {
+            return false;
+        }
+    }
+
+    private static void prune() {
+        for (Reference<?> reference; (reference = released.poll()) != null; ) {
+            final Registration registration = (Registration) reference;
+
+            categories.computeIfPresent(registration.category, (key, registrations) -> {
+                registrations.remove(registration);
+                return registrations.isEmpty() ? null : registrations;
+            });
+        }
     }
 
     private LogLevels() {
         throw new UnsupportedOperationException(String.format("No instance allowed of %s", getClass()));
     }
+
+    /**
+     * Log levels that can be {@linkplain LogLevels#set(String, LogLevels.Level) set} for a category.
+     *
+     * @author Tibor Varga
+     */
+    public enum Level {
+        TRACE, DEBUG, INFO, WARNING, ERROR
+    }
+
+    /**
+     * Changes log levels in the underlying logging framework.
+     *
+     * @author Tibor Varga
+     */
+    @FunctionalInterface
+    public interface Control {
+
+        /**
+         * Sets the log level of the given category.
+         *
+         * @param category the category; the empty string denotes the root category.
+         * @param level    the lowest level to emit log messages at.
+         */
+        void set(String category, Level level);
+    }
+
+    /**
+     * Keeps track of a logger for as long as it is in use.
+     *
+     * @author Tibor Varga
+     */
+    private static final class Registration extends WeakReference<LogAdapter<?, ?>> {
+
+        final String category;
+
+        Registration(final String category, final LogAdapter<?, ?> adapter) {
+            super(adapter, released);
+            this.category = category;
+        }
+    }
 }
@@ -16,6 +16,16 @@
 
 package org.fluidity.foundation.spi;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
 /**
  * Maps property keys to property values. You provide an implementation that suits your configuration logic. As long as the implementation is annotated as
  * {@link org.fluidity.composition.Component @Component}, Fluid Tools will find and use it.
@@ -25,6 +35,11 @@ package org.fluidity.foundation.spi;
 @SuppressWarnings("JavadocReference")
 public interface PropertyProvider {
 
+    /**
+     * The {@linkplain #revision() revision} of property providers that do not keep track of changes to their properties.
+     */
+    long UNVERSIONED = -1L;
+
     /**
      * Returns the configured value for the given property or <code>null</code> if no property was configured for the given key. Default values are assigned
      * to missing property values at higher levels.
@@ -35,6 +50,46 @@ public interface PropertyProvider {
      */
     Object property(String key);
 
+    /**
+     * Returns the configured values for the given properties. Consumers use this to read, with one call, properties that they would otherwise have to query
+     * one by one. Implementations that pay a price per query, e.g., a database round trip, should override this method.
+     * <p>
+     * The default implementation invokes {@link #property(String)} for each key.
+     *
+     * @param keys the property names, or keys.
+     *
+     * @return the configured values for the given properties; properties with no configured value are missing from the returned map.
+     */
+    default Map<String, Object> properties(final Collection<String> keys) {
+        final Map<String, Object> values = new HashMap<>();
+
+        for (final String key : keys) {
+            final Object value = property(key);
+
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
+
+        return values;
+    }
+
+    /**
+     * Passes every property with a key that starts with the given prefix, in ascending order of the keys, to the given consumer. Consumers use this to
+     * read, with one call, properties that they would otherwise have to query one by one.
+     * <p>
+     * The default implementation does not enumerate the properties and returns <code>false</code>.
+     *
+     * @param prefix   the prefix of the keys of the properties to pass to the <code>consumer</code>; may be empty.
+     * @param consumer receives the key and value of each property.
+     *
+     * @return <code>true</code> if the <code>consumer</code> received all matching properties, <code>false</code> if this provider does not enumerate its
+     * properties and the <code>consumer</code> has not been invoked.
+     */
+    default boolean scan(final String prefix, final BiConsumer<String, Object> consumer) {
+        return false;
+    }
+
     /**
      * Runs the given command to read properties and if supported, guarantees that no property update takes place while the command executes. If properties are
      * read from a database, this method must open an isolated transaction before running the given command and then close the transaction afterwards. Other
@@ -53,6 +108,35 @@ public interface PropertyProvider {
         return query.run();
     }
 
+    /**
+     * Returns a number that changes whenever any property changes. Consumers may keep values derived from the properties for as long as the revision remains
+     * the same.
+     * <p>
+     * The default implementation returns {@link #UNVERSIONED}, which means that the properties must be queried every time they are needed.
+     *
+     * @return a number that changes whenever any property changes, or {@link #UNVERSIONED}.
+     */
+    default long revision() {
+        return UNVERSIONED;
+    }
+
+    /**
+     * Subscribes the given listener to changes to the properties. Consumers that subscribe need not poll the provider for changes: they can keep values
+     * derived from the properties until notified of a change to the keys those values were derived from.
+     * <p>
+     * Listeners must be notified in the order of subscription, after the changed values have become visible to {@link #property(String)}. The {@link
+     * Listeners} class implements that for providers.
+     * <p>
+     * The default implementation does not notify of changes and returns <code>false</code>.
+     *
+     * @param listener the listener to notify of changes.
+     *
+     * @return <code>true</code> if the listener will be notified of changes, <code>false</code> if this provider does not notify of changes.
+     */
+    default boolean subscribe(final Listener listener) {
+        return false;
+    }
+
     /**
      * Properties reader passed to {@link PropertyProvider#properties(PropertyProvider.Query)}.
      *
@@ -70,4 +154,108 @@ public interface PropertyProvider {
          */
         T run() throws Exception;
     }
+
+    /**
+     * Notified of changes to the properties of a {@link PropertyProvider} it has {@linkplain PropertyProvider#subscribe(PropertyProvider.Listener)
+     * subscribed} to.
+     *
+     * @author Tibor Varga
+     */
+    @FunctionalInterface
+    interface Listener {
+
+        /**
+         * Notifies the receiver that the given properties have changed.
+         *
+         * @param keys the keys of the properties that have changed; <code>null</code> if any property may have changed.
+         *
+         * @return <code>true</code> to remain subscribed, <code>false</code> to be removed, e.g., when the receiver has no more use for the notifications.
+         */
+        boolean changed(Set<String> keys);
+
+        /**
+         * Tells if the receiver still wishes to be notified. Listeners that hold their receiver weakly should return <code>false</code> once it has been
+         * collected, so that providers can drop them even when no property ever changes.
+         * <p>
+         * The default implementation returns <code>true</code>.
+         *
+         * @return <code>true</code> to remain subscribed, <code>false</code> to be removed.
+         */
+        default boolean subscribed() {
+            return true;
+        }
+    }
+
+    /**
+     * The list of {@linkplain PropertyProvider.Listener listeners} subscribed to a {@link PropertyProvider}. Implementations that support change
+     * notification may delegate {@link PropertyProvider#subscribe(PropertyProvider.Listener)} to {@link #add(PropertyProvider.Listener)} and call {@link
+     * #changed(Set)} when they have changed some properties.
+     *
+     * @author Tibor Varga
+     */
+    final class Listeners {
+
+        private static final int PURGE_LIMIT = 16;
+
+        private final Queue<Listener> list = new ConcurrentLinkedQueue<>();
+
+        // subscriptions since listeners no longer subscribed were last removed, and how many may be added before they are removed again
+        private final AtomicInteger added = new AtomicInteger();
+        private volatile int limit = PURGE_LIMIT;
+
+        /**
+         * Adds a listener to the list. Listeners that are no longer {@linkplain PropertyProvider.Listener#subscribed() subscribed} are removed upon the next
+         * change notification, and also once as many listeners have been added as were left in the list when last removing those.
+         *
+         * @param listener the listener to add.
+         *
+         * @return <code>true</code>.
+         */
+        public boolean add(final Listener listener) {
+            list.add(listener);
+
+            if (added.incrementAndGet() > limit) {
+                added.set(0);
+
+                int remaining = 0;
+
+                for (final Iterator<Listener> iterator = list.iterator(); iterator.hasNext(); ) {
+                    if (iterator.next().subscribed()) {
+                        ++remaining;
+                    } else {
+                        iterator.remove();
+                    }
+                }
+
+                limit = Math.max(PURGE_LIMIT, remaining);
+            }
+
+            return true;
+        }
+
+        /**
+         * Tells if no listener has been added, or all have been removed. Providers may skip working out the changed properties when there is no one to
+         * notify.
+         *
+         * @return <code>true</code> if there is no listener in the list; <code>false</code> otherwise.
+         */
+        public boolean isEmpty() {
+            return list.isEmpty();
+        }
+
+        /**
+         * Notifies all listeners, in the order they were added, of changes to the given properties, and removes those that no longer wish to be notified.
+         *
+         * @param keys the keys of the properties that have changed; <code>null</code> if any property may have changed.
+         */
+        public void changed(final Set<String> keys) {
+            for (final Iterator<Listener> iterator = list.iterator(); iterator.hasNext(); ) {
+                final Listener listener = iterator.next();
+
+                if (!listener.subscribed() || !listener.changed(keys)) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
 }
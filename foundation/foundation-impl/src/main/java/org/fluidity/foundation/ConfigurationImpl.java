@@ -18,6 +18,7 @@ package org.fluidity.foundation;
 
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
@@ -26,6 +27,7 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -36,6 +38,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.fluidity.composition.Component;
@@ -165,6 +169,10 @@ final class ConfigurationImpl<T> implements Configuration<T> {
         private final PropertyProvider provider;
         private final ClassLoader loader;
 
+        private final Map<Method, Accessor> accessors = new ConcurrentHashMap<>();
+        private final boolean subscribed;
+        private final boolean batching;
+
         PropertyLoader(final Class<T> api, final String[] prefixes, final T defaults, final PropertyProvider provider) {
             this.api = api;
             this.prefixes = prefixes;
@@ -172,11 +180,49 @@ final class ConfigurationImpl<T> implements Configuration<T> {
             this.provider = provider;
 
             this.loader = Security.invoke(api::getClassLoader);
+            this.subscribed = provider != null && provider.subscribe(new Subscription(this));
+            this.batching = provider != null && batching(provider.getClass());
+        }
+
+        /*
+         * Tells if the given property provider implements batch queries. If not, querying properties one by one and only as long as needed is cheaper.
+         */
+        private static boolean batching(final Class<?> type) {
+            try {
+                return type.getMethod("properties", Collection.class).getDeclaringClass() != PropertyProvider.class;
+            } catch (final NoSuchMethodException e) {
+                throw new AssertionError(e);
+            }
+        }
+
+        void changed(final Set<String> keys) {
+            for (final Accessor accessor : accessors.values()) {
+                accessor.changed(keys);
+            }
         }
 
         public Object invoke(final Object proxy, final Method method, final Object[] arguments) throws Throwable {
-            assert method.getDeclaringClass().isAssignableFrom(api) : method;
+            Accessor accessor = accessors.get(method);
+
+            if (accessor == null) {
+                assert method.getDeclaringClass().isAssignableFrom(api) : method;
+
+                final Accessor compiled = accessor(method);
+                accessor = accessors.putIfAbsent(method, compiled);
 
+                if (accessor == null) {
+                    accessor = compiled;
+                }
+            }
+
+            return accessor.invoke(proxy, arguments);
+        }
+
+        /*
+         * Compiles the given method of the settings interface to an accessor that does per invocation only what depends on the method arguments or on the
+         * property values.
+         */
+        private Accessor accessor(final Method method) throws Exception {
             final Property setting = method.getAnnotation(Property.class);
 
             if (method.isDefault()) {
@@ -195,22 +241,164 @@ final class ConfigurationImpl<T> implements Configuration<T> {
                     overridden = null;
                 }
 
-                return overridden != null
-                       ? overridden.invoke(defaults, arguments)
-                       : lookup(method).bindTo(proxy).invokeWithArguments(arguments);
+                if (overridden != null) {
+                    final Method implementation = overridden;
+                    return (proxy, arguments) -> implementation.invoke(defaults, arguments);
+                } else {
+                    final MethodHandle handle = lookup(method);
+                    return (proxy, arguments) -> handle.bindTo(proxy).invokeWithArguments(arguments);
+                }
             } else if (setting == null) {
-                throw new IllegalArgumentException(String.format("No @%s specified for method %s", Property.class.getName(), method));
+                return (proxy, arguments) -> {
+                    throw new IllegalArgumentException(String.format("No @%s specified for method %s", Property.class.getName(), method));
+                };
             }
 
-            final Class<?> type = method.getReturnType();
-            final Type genericType = method.getGenericReturnType();
-
-            return Exceptions.wrap(method.toGenericString(), PropertyException.class, () -> Security.invoke(() -> {
+            Security.invoke(() -> {
                 if (!method.isAccessible()) {
                     method.setAccessible(true);
                 }
 
-                return property(setting.split(),
+                return null;
+            });
+
+            return new PropertyAccessor(method, setting);
+        }
+
+        /**
+         * Computes the value of one method of the settings interface.
+         *
+         * @author Tibor Varga
+         */
+        @FunctionalInterface
+        private interface Accessor {
+
+            Object invoke(Object proxy, Object[] arguments) throws Throwable;
+
+            default void changed(final Set<String> keys) {
+                // empty
+            }
+        }
+
+        /**
+         * Accessor of a {@link Property @Configuration.Property} annotated method. The property keys of methods without parameters are computed only once, and
+         * the values of scalar properties are cached until the property provider {@linkplain PropertyProvider#subscribe(PropertyProvider.Listener) notifies}
+         * of a change to one of the keys, or if it does not notify of changes, as long as its {@linkplain PropertyProvider#revision() revision} remains the
+         * same.
+         *
+         * @author Tibor Varga
+         */
+        private final class PropertyAccessor implements Accessor {
+
+            private final Method method;
+            private final Property setting;
+            private final String description;
+
+            private final Class<?> type;
+            private final Type genericType;
+            private final PrimitiveType primitive;
+            private final boolean scalar;
+
+            // computed once for methods without parameters, null otherwise
+            private final String[] keys;
+            private final String suffix;
+            private final String ids;
+            private final String list;
+            private final String undefined;
+
+            private final boolean cacheable;
+            private volatile Cached cached;
+
+            // incremented on every notified change to any of the keys
+            private final AtomicLong changes = new AtomicLong();
+
+            PropertyAccessor(final Method method, final Property setting) {
+                this.method = method;
+                this.setting = setting;
+                this.description = method.toGenericString();
+
+                this.type = method.getReturnType();
+                this.genericType = method.getGenericReturnType();
+                this.primitive = PRIMITIVE_TYPES.get(type);
+
+                final boolean constant = method.getParameterCount() == 0;
+
+                if (constant) {
+                    this.suffix = String.format(setting.key());
+                    this.ids = String.format(setting.ids());
+                    this.list = String.format(setting.list());
+                    this.undefined = String.format(setting.undefined());
+
+                    this.keys = new String[prefixes.length];
+                    for (int i = 0; i < prefixes.length; i++) {
+                        keys[i] = prefixes[i].concat(suffix);
+                    }
+                } else {
+                    this.suffix = null;
+                    this.ids = null;
+                    this.list = null;
+                    this.undefined = null;
+                    this.keys = null;
+                }
+
+                this.scalar = constant && ids.isEmpty() && !isComposite(type);
+
+                // values computed by the settings implementation, and mutable ones, are never cached
+                this.cacheable = constant && defaults == null && ids.isEmpty() && (primitive != null || type == String.class || type.isEnum() || type == Class.class);
+            }
+
+            public Object invoke(final Object proxy, final Object[] arguments) throws Throwable {
+                final long revision = revision();
+
+                if (revision != PropertyProvider.UNVERSIONED) {
+                    final Cached cached = this.cached;
+
+                    if (cached != null && cached.revision == revision) {
+                        return cached.value;
+                    }
+                }
+
+                final Object value = Exceptions.wrap(description, PropertyException.class, () -> Security.invoke(() -> load(arguments)));
+
+                if (revision != PropertyProvider.UNVERSIONED) {
+                    cached = new Cached(revision, value);
+                }
+
+                return value;
+            }
+
+            private long revision() {
+                if (!cacheable) {
+                    return PropertyProvider.UNVERSIONED;
+                } else if (provider == null) {
+                    return 0L;
+                } else if (subscribed) {
+                    return changes.get();
+                } else {
+                    return provider.revision();
+                }
+            }
+
+            public void changed(final Set<String> keys) {
+                if (cacheable && keys == null) {
+                    changes.incrementAndGet();
+                } else if (cacheable) {
+                    for (final String key : this.keys) {
+                        if (keys.contains(key)) {
+                            changes.incrementAndGet();
+                            break;
+                        }
+                    }
+                }
+            }
+
+            private Object load(final Object[] arguments) {
+                if (keys != null) {
+                    return constant(arguments);
+                }
+
+                return property(provider,
+                                setting.split(),
                                 setting.grouping(),
                                 String.format(setting.ids(), arguments),
                                 String.format(setting.list(), arguments),
@@ -222,10 +410,153 @@ final class ConfigurationImpl<T> implements Configuration<T> {
                                 defaults,
                                 method,
                                 arguments);
-            }));
+            }
+
+            private Object constant(final Object[] arguments) {
+                if (!scalar) {
+                    return property(provider, setting.split(), setting.grouping(), ids, list, undefined, type, genericType, prefixes, suffix, defaults, method, arguments);
+                }
+
+                Object value = null;
+
+                if (provider != null) {
+                    for (int i = 0, limit = keys.length; value == null && i < limit; i++) {
+                        value = provider.property(keys[i]);
+                    }
+                }
+
+                if (value == null) {
+                    final Object fallback = defaults == null ? null : Methods.invoke(method, defaults, arguments);
+                    value = fallback == null ? (undefined.length() == 0 ? null : undefined) : fallback;
+                }
+
+                if (value instanceof String && primitive != null) {
+                    final Object parsed = parse(primitive, (String) value);
+
+                    if (parsed != null) {
+                        return parsed;
+                    }
+                }
+
+                return convert(value, type, genericType, setting.split(), setting.grouping(), suffix, loader);
+            }
         }
 
-        private Object property(final String split,
+        /*
+         * Converts the most common, integer, property values without going through Double.valueOf(). Returns null if the text is not a plain integer, in which
+         * case the general conversion applies.
+         */
+        private static Object parse(final PrimitiveType type, final String text) {
+            try {
+                switch (type) {
+                case BYTE:
+                    return (byte) Integer.parseInt(text);
+                case SHORT:
+                    return (short) Integer.parseInt(text);
+                case INTEGER:
+                    return Integer.parseInt(text);
+                case LONG:
+                    return Long.parseLong(text);
+                default:
+                    return null;
+                }
+            } catch (final NumberFormatException ignored) {
+                return null;
+            }
+        }
+
+        /**
+         * Forwards change notifications to a property loader for as long as the loader is in use.
+         *
+         * @author Tibor Varga
+         */
+        private static final class Subscription implements PropertyProvider.Listener {
+
+            private final WeakReference<PropertyLoader<?>> loader;
+
+            Subscription(final PropertyLoader<?> loader) {
+                this.loader = new WeakReference<>(loader);
+            }
+
+            public boolean changed(final Set<String> keys) {
+                final PropertyLoader<?> loader = this.loader.get();
+
+                if (loader != null) {
+                    loader.changed(keys);
+                }
+
+                return loader != null;
+            }
+
+            public boolean subscribed() {
+                return loader.get() != null;
+            }
+        }
+
+        /**
+         * A cached property value and the property provider revision it was computed at.
+         *
+         * @author Tibor Varga
+         */
+        private static final class Cached {
+
+            final long revision;
+            final Object value;
+
+            Cached(final long revision, final Object value) {
+                this.revision = revision;
+                this.value = value;
+            }
+        }
+
+        /**
+         * Serves properties fetched by one {@linkplain PropertyProvider#properties(Collection) batch query}, and queries the property provider only for
+         * others.
+         *
+         * @author Tibor Varga
+         */
+        private static final class Batch implements PropertyProvider {
+
+            private final PropertyProvider provider;
+            private final Set<String> keys;
+            private final Map<String, Object> values;
+
+            Batch(final PropertyProvider provider, final Set<String> keys, final Map<String, Object> values) {
+                this.provider = provider;
+                this.keys = keys;
+                this.values = values;
+            }
+
+            public Object property(final String key) {
+                return keys.contains(key) ? values.get(key) : provider.property(key);
+            }
+
+            public Map<String, Object> properties(final Collection<String> keys) {
+                final Map<String, Object> values = new HashMap<>();
+                final List<String> missing = new ArrayList<>();
+
+                for (final String key : keys) {
+                    if (this.keys.contains(key)) {
+                        final Object value = this.values.get(key);
+
+                        if (value != null) {
+                            values.put(key, value);
+                        }
+                    } else {
+                        missing.add(key);
+                    }
+                }
+
+                if (!missing.isEmpty()) {
+                    values.putAll(provider.properties(missing));
+                }
+
+                return values;
+            }
+        }
+
+        private Object property(final PropertyProvider source,
+                                final String split,
                                 final String grouping,
                                 final String ids,
                                 final String list,
@@ -242,26 +573,27 @@ final class ConfigurationImpl<T> implements Configuration<T> {
 
                 if (isComposite(type)) {
                     try {
-                        return composite(type, suffix);
+                        return composite(type.isInterface() ? source : batch(source, type, Collections.singleton(suffix)), type, suffix);
                     } catch (final Exception e) {
                         throw new IllegalArgumentException(String.format("Could not create objects of type %s", Strings.formatClass(false, true, type)), e);
                     }
                 } else {
-                    if (provider != null) {
+                    if (source != null) {
                         for (int i = 0, limit = prefixes.length; value == null && i < limit; i++) {
-                            value = provider.property(prefixes[i].concat(suffix));
+                            value = source.property(prefixes[i].concat(suffix));
                         }
                     }
 
                     if (value == null) {
                         final Object fallback = defaults == null ? null : Methods.invoke(method, defaults, arguments);
-                        value = fallback == null ? (undefined.length() == 0 ? null : undefined) : fallback;
+                        value = fallback == null ? (undefined == null || undefined.isEmpty() ? null : undefined) : fallback;
                     }
 
                     return convert(value, type, genericType, split, grouping, suffix, loader);
                 }
             } else {
-                final String[] identifiers = (String[]) property(split,
+                final String[] identifiers = (String[]) property(source,
+                                                                 split,
                                                                  grouping,
                                                                  null,
                                                                  null,
@@ -290,18 +622,22 @@ final class ConfigurationImpl<T> implements Configuration<T> {
                                                                          Strings.formatClass(false, true, type)));
                     }
 
+                    final Class<?> itemClass = Generics.rawType(itemType);
+                    final Map<String, Object> scanned = scan(format, itemClass, identifiers);
+
+                    final List<String> keys = new ArrayList<>(identifiers.length);
                     for (final String id : identifiers) {
-                        final Object value = property(split, grouping,
-                                                      null,
-                                                      null,
-                                                      null,
-                                                      Generics.rawType(itemType),
-                                                      itemType,
-                                                      prefixes,
-                                                      String.format(format, id),
-                                                      null,
-                                                      null,
-                                                      null);
+                        keys.add(String.format(format, id));
+                    }
+
+                    final PropertyProvider items = scanned == null ? batch(source, itemClass, keys) : source;
+
+                    for (int i = 0; i < identifiers.length; i++) {
+                        final String id = identifiers[i];
+                        final String key = keys.get(i);
+                        final Object value = scanned != null && scanned.containsKey(id)
+                                             ? convert(scanned.get(id), itemClass, itemType, split, grouping, key, loader)
+                                             : property(items, split, grouping, null, null, null, itemClass, itemType, prefixes, key, null, null, null);
 
                         if (value != null) {
                             instances.put(id, value);
@@ -340,11 +676,111 @@ final class ConfigurationImpl<T> implements Configuration<T> {
             }
         }
 
+        /*
+         * Collects the values of the given list items with one range scan per property prefix, provided that the property provider supports it, the items are
+         * not composite, and the item keys differ only in their ending. Returns null otherwise.
+         */
+        private Map<String, Object> scan(final String format, final Class<?> type, final String[] identifiers) {
+            if (provider == null || isComposite(type) || !format.endsWith("%s")) {
+                return null;
+            }
+
+            final String head = String.format(format, "");
+
+            if (!String.format(format, "_").equals(head.concat("_"))) {
+                return null;
+            }
+
+            final Set<String> wanted = new HashSet<>(Arrays.asList(identifiers));
+            final Map<String, Object> values = new HashMap<>();
+
+            for (final String prefix : prefixes) {
+                final String range = prefix.concat(head);
+                final int start = range.length();
+
+                final boolean scanned = provider.scan(range, (key, value) -> {
+                    final String id = key.substring(start);
+
+                    if (value != null && wanted.contains(id)) {
+                        values.putIfAbsent(id, value);
+                    }
+                });
+
+                if (!scanned) {
+                    return null;
+                }
+            }
+
+            return values;
+        }
+
+        /*
+         * Fetches with one call to the property provider the properties of the given items that property(...) would otherwise query one by one: those of
+         * the item itself if not composite, or else of the fields of the item, recursively, short of those that depend on other property values. Returns
+         * the given source if the property provider does not batch its queries.
+         */
+        private PropertyProvider batch(final PropertyProvider source, final Class<?> type, final Collection<String> items) {
+            if (!batching || source == null) {
+                return source;
+            }
+
+            final List<String> leaves = new ArrayList<>();
+
+            if (isComposite(type)) {
+                leaves(type, "", leaves);
+            } else {
+                leaves.add("");
+            }
+
+            if (leaves.isEmpty()) {
+                return source;
+            }
+
+            final Set<String> keys = new LinkedHashSet<>();
+
+            for (final String item : items) {
+                for (final String leaf : leaves) {
+                    final String suffix = item.concat(leaf);
+
+                    for (final String prefix : prefixes) {
+                        keys.add(prefix.concat(suffix));
+                    }
+                }
+            }
+
+            return new Batch(source, keys, source.properties(keys));
+        }
+
+        /*
+         * Collects the key suffixes of the properties of the public fields of the given composite type: see composite(...).
+         */
+        private void leaves(final Class<?> type, final String path, final List<String> leaves) {
+            if (type.isInterface()) {
+                return;     // composite interfaces are loaded lazily
+            }
+
+            for (final Field field : type.getFields()) {
+                final Property setting = field.getAnnotation(Property.class);
+
+                if (setting != null) {
+                    final String key = String.format("%s.%s", path, setting.key());
+
+                    if (!setting.ids().isEmpty()) {
+                        leaves.add(String.format("%s.%s", key, setting.ids()));
+                    } else if (isComposite(field.getType())) {
+                        leaves(field.getType(), key, leaves);
+                    } else {
+                        leaves.add(key);
+                    }
+                }
+            }
+        }
+
         private boolean isComposite(final Class<?> type) {
             return !type.isArray() && !type.isPrimitive() && !type.isEnum() && !type.getName().startsWith("java.");
         }
 
-        private Object composite(final Class<?> type, final String suffix) throws IllegalAccessException, InstantiationException {
+        private Object composite(final PropertyProvider source, final Class<?> type, final String suffix) throws IllegalAccessException, InstantiationException {
             if (type.isInterface()) {
                 return Proxies.create(type, (proxy, method, arguments) -> {
                     final Property setting = method.getAnnotation(Property.class);
@@ -353,7 +789,8 @@ final class ConfigurationImpl<T> implements Configuration<T> {
                         throw new IllegalArgumentException(String.format("Method %s is not @%s annotated", method, Property.class));
                     }
 
-                    return property(setting.split(),
+                    return property(provider,
+                                    setting.split(),
                                     setting.grouping(),
                                     String.format(setting.ids(), arguments),
                                     String.format(setting.list(), arguments),
@@ -378,7 +815,8 @@ final class ConfigurationImpl<T> implements Configuration<T> {
 
                     if (setting != null) {
                         field.set(instance,
-                                  property(setting.split(),
+                                  property(source,
+                                           setting.split(),
                                            setting.grouping(),
                                            setting.ids(),
                                            setting.list(),
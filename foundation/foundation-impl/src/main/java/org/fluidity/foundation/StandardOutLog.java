@@ -18,9 +18,10 @@ package org.fluidity.foundation;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import org.fluidity.foundation.spi.LogFormat;
 
 /**
  * Logs to the standard output. All log levels are enabled.
@@ -31,7 +32,8 @@ import java.util.Date;
  */
 final class StandardOutLog<T> implements Log<T> {
 
-    private final DateFormat df = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+    // thread safe, unlike SimpleDateFormat
+    private static final DateTimeFormatter timestamp = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
 
     private final String source;
 
@@ -50,15 +52,18 @@ final class StandardOutLog<T> implements Log<T> {
     }
 
     private void log(final String level, final String message, final Object... arguments) {
-        final String prefix = String.format("%s %s [%s] ", df.format(new Date()), level, source);
-        final String suffix = String.format(message, arguments);
-        System.out.printf("%s%s%n", prefix, suffix);
+        System.out.println(line(level, message, arguments));
     }
 
     private void log(final String level, final Throwable exception, final String message, final Object... arguments) {
-        final String prefix = String.format("%s %s [%s] ", df.format(new Date()), level, source);
-        final String suffix = String.format(message, arguments);
-        System.out.printf("%s%s%s%n", prefix, suffix, stackTrace(exception));
+        System.out.println(line(level, message, arguments).append(stackTrace(exception)));
+    }
+
+    private StringBuilder line(final String level, final String message, final Object... arguments) {
+        final StringBuilder line = new StringBuilder(128);
+
+        timestamp.formatTo(LocalDateTime.now(), line);
+        return line.append(' ').append(level).append(" [").append(source).append("] ").append(LogFormat.format(message, arguments));
     }
 
     public boolean isTraceEnabled() {
@@ -23,17 +23,22 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 
 import org.fluidity.composition.Component;
 import org.fluidity.composition.ComponentContext;
 import org.fluidity.foundation.spi.PropertyProvider;
 import org.fluidity.testing.Simulator;
 
+import org.easymock.Capture;
 import org.easymock.EasyMock;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
@@ -166,6 +171,144 @@ public class ConfigurationTest extends Simulator {
         }));
     }
 
+    @Test
+    public void versionedConfiguration() throws Exception {
+        final PropertyProvider versioned = dependencies.normal(PropertyProvider.class);
+
+        EasyMock.expect(versioned.subscribe(EasyMock.anyObject())).andReturn(false);
+        final Configuration<Settings> configuration = configure(Settings.class, versioned, null);
+        final Settings settings = configuration.settings();
+
+        EasyMock.expect(versioned.revision()).andReturn(1L);
+        EasyMock.expect(versioned.property("valid.key3")).andReturn("5678");
+        EasyMock.expect(versioned.revision()).andReturn(1L);
+
+        verify((Task) () -> {
+            assert settings.validValue3() == 5678;
+            assert settings.validValue3() == 5678;
+        });
+
+        EasyMock.expect(versioned.revision()).andReturn(2L);
+        EasyMock.expect(versioned.property("valid.key3")).andReturn("1.5e3");
+
+        verify((Task) () -> {
+            assert settings.validValue3() == 1500;
+        });
+
+        EasyMock.expect(versioned.revision()).andReturn(PropertyProvider.UNVERSIONED).times(2);
+        EasyMock.expect(versioned.property("valid.key3")).andReturn("42").times(2);
+
+        verify((Task) () -> {
+            assert settings.validValue3() == 42;
+            assert settings.validValue3() == 42;
+        });
+    }
+
+    @Test
+    public void notifiedConfiguration() throws Exception {
+        final PropertyProvider notifying = dependencies.normal(PropertyProvider.class);
+        final Capture<PropertyProvider.Listener> listener = EasyMock.newCapture();
+
+        EasyMock.expect(notifying.subscribe(EasyMock.capture(listener))).andReturn(true);
+        final Configuration<Settings> configuration = configure(Settings.class, notifying, null);
+        final Settings settings = configuration.settings();
+
+        EasyMock.expect(notifying.property("valid.key3")).andReturn("5678");
+        EasyMock.expect(notifying.property("valid.key1")).andReturn("value1");
+
+        verify((Task) () -> {
+            assert settings.validValue3() == 5678;
+            assert settings.validValue3() == 5678;
+            assert Objects.equals(settings.validValue1(), "value1");
+        });
+
+        EasyMock.expect(notifying.property("valid.key3")).andReturn("1234");
+
+        verify((Task) () -> {
+            assert listener.getValue().subscribed();
+            assert listener.getValue().changed(Collections.singleton("valid.key3"));
+
+            assert settings.validValue3() == 1234;
+            assert Objects.equals(settings.validValue1(), "value1");
+        });
+
+        EasyMock.expect(notifying.property("valid.key3")).andReturn("42");
+        EasyMock.expect(notifying.property("valid.key1")).andReturn("value2");
+
+        verify((Task) () -> {
+            assert listener.getValue().changed(null);
+
+            assert settings.validValue3() == 42;
+            assert Objects.equals(settings.validValue1(), "value2");
+            assert Objects.equals(settings.validValue1(), "value2");
+        });
+    }
+
+    @Test
+    public void prunedListeners() throws Exception {
+        final PropertyProvider.Listeners listeners = new PropertyProvider.Listeners();
+        final List<String> notified = new ArrayList<>();
+
+        listeners.add(new NamedListener("dropped", notified, false));
+        listeners.add(new NamedListener("kept", notified, true));
+
+        // the unsubscribed listener is removed upon the next change notification, without being notified
+        listeners.add(new NamedListener("added", notified, true));
+        assert notified.isEmpty() : notified;
+
+        listeners.changed(null);
+        assert Objects.equals(notified, Arrays.asList("kept", "added")) : notified;
+    }
+
+    @Test
+    public void purgedListeners() throws Exception {
+        final PropertyProvider.Listeners listeners = new PropertyProvider.Listeners();
+        final List<String> notified = new ArrayList<>();
+        final AtomicInteger checked = new AtomicInteger();
+
+        final int count = 1000;
+
+        for (int i = 0; i < count; i++) {
+            listeners.add(new NamedListener("dropped", notified, false) {
+                @Override
+                public boolean subscribed() {
+                    checked.incrementAndGet();
+                    return super.subscribed();
+                }
+            });
+        }
+
+        // listeners no longer subscribed are removed every so often upon subscription, each checked about once
+        assert checked.get() > 0 && checked.get() < 2 * count : checked;
+
+        listeners.add(new NamedListener("kept", notified, true));
+
+        listeners.changed(null);
+        assert Objects.equals(notified, Collections.singletonList("kept")) : notified;
+    }
+
+    private static class NamedListener implements PropertyProvider.Listener {
+
+        private final String name;
+        private final List<String> notified;
+        private final boolean subscribed;
+
+        NamedListener(final String name, final List<String> notified, final boolean subscribed) {
+            this.name = name;
+            this.notified = notified;
+            this.subscribed = subscribed;
+        }
+
+        public boolean changed(final Set<String> keys) {
+            notified.add(name);
+            return true;
+        }
+
+        public boolean subscribed() {
+            return subscribed;
+        }
+    }
+
     private interface CollectionSettings {
 
         @Configuration.Property(key = "integers", split = ",")
@@ -684,6 +827,95 @@ public class ConfigurationTest extends Simulator {
         }));
     }
 
+    @Test
+    public void testScannedListSetting() throws Exception {
+        final PropertyProvider scanning = dependencies.normal(PropertyProvider.class);
+
+        EasyMock.expect(scanning.subscribe(EasyMock.anyObject())).andReturn(false);
+        final Configuration<ListSettings> configuration = configure(ListSettings.class, scanning, null);
+
+        final Map<String, Object> properties = new TreeMap<>();
+        properties.put("text.green.1", "value21");
+        properties.put("text.green.2", "value22");
+        properties.put("text.green.3", "value23");
+
+        // textSet()
+        EasyMock.expect(scanning.property("text.green.ids")).andReturn("1, 2, 4");
+        EasyMock.expect(scanning.scan(EasyMock.eq("text.green."), EasyMock.anyObject())).andAnswer(() -> {
+            @SuppressWarnings("unchecked")
+            final BiConsumer<String, Object> consumer = (BiConsumer<String, Object>) EasyMock.getCurrentArguments()[1];
+            properties.forEach(consumer);
+            return true;
+        });
+        EasyMock.expect(scanning.property("text.green.4")).andReturn("value24");
+
+        verify((Task) () -> checkObjects(new HashSet<>(Arrays.asList("value21", "value22", "value24")), configuration.settings().textSet("green")));
+    }
+
+    @Test
+    public void testBatchedListSetting() throws Exception {
+        final PropertyProvider mock = dependencies.normal(PropertyProvider.class);
+
+        final PropertyProvider batching = new PropertyProvider() {
+            public Object property(final String key) {
+                return mock.property(key);
+            }
+
+            public Map<String, Object> properties(final Collection<String> keys) {
+                return mock.properties(keys);
+            }
+        };
+
+        final Configuration<ListSettings> configuration = configure(ListSettings.class, batching, null);
+
+        final Map<String, Object> items = new HashMap<>();
+        items.put("item.1.number", "12");
+        items.put("item.1.text", "23");
+        items.put("item.2.number", "34");
+
+        // itemList()
+        EasyMock.expect(mock.property("item.ids")).andReturn("1, 2");
+        EasyMock.expect(mock.properties(new LinkedHashSet<>(Arrays.asList("item.1.number", "item.1.text", "item.2.number", "item.2.text"))))
+                .andReturn(items);
+
+        verify((Task) () -> checkArrays(new ListSettings.Item1[] { new ListSettings.Item1(12, "23"), new ListSettings.Item1(34, null) },
+                                        configuration.settings().itemList()));
+
+        final Map<String, Object> texts = new HashMap<>();
+        texts.put("text.green.1", "value21");
+
+        // textSet()
+        EasyMock.expect(mock.property("text.green.ids")).andReturn("1, 2");
+        EasyMock.expect(mock.properties(new LinkedHashSet<>(Arrays.asList("text.green.1", "text.green.2")))).andReturn(texts);
+
+        verify((Task) () -> checkObjects(Collections.singleton("value21"), configuration.settings().textSet("green")));
+    }
+
+    @Test
+    public void testBatchedCustomTypes() throws Exception {
+        final PropertyProvider mock = dependencies.normal(PropertyProvider.class);
+
+        final PropertyProvider batching = new PropertyProvider() {
+            public Object property(final String key) {
+                return mock.property(key);
+            }
+
+            public Map<String, Object> properties(final Collection<String> keys) {
+                return mock.properties(keys);
+            }
+        };
+
+        final Configuration<CustomSettings> configuration = configure(CustomSettings.class, batching, null);
+
+        // customType()
+        EasyMock.expect(mock.properties(Collections.singleton("custom.nested.number"))).andReturn(Collections.singletonMap("custom.nested.number", "1234"));
+
+        verify((Task) () -> {
+            final int number = configuration.settings().customType().nested.number;
+            assert number == 1234 : number;
+        });
+    }
+
     interface ComputedSettings {
 
         @Configuration.Property(key = "one", undefined = "1")
@@ -233,8 +233,8 @@ public final class Archives extends Utility {
      * @throws IOException if the stream cannot be open.
      */
     public static InputStream open(final URL url, final boolean cached) throws IOException {
-        final byte[] data = cached ? Handler.cached(url) : null;
-        return data != null ? new ByteArrayInputStream(data) : connect(url, cached).getInputStream();
+        final InputStream stream = cached ? Handler.stream(url) : null;
+        return stream != null ? stream : connect(url, cached).getInputStream();
     }
 
     /**
@@ -30,20 +30,72 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 
 import org.fluidity.foundation.security.Security;
 
 /**
  * Utility methods to access parameterized type information.
+ * <p>
+ * The results of {@link #specializedType(Class, Class)}, of {@link #isAssignable(Type, Type)} when invoked with classes, and of {@link
+ * #describe(Constructor)} are memoized with the more specific class involved, and thus live only as long as that class does. Only results that refer to no
+ * class other than those in the hierarchy of that class are memoized so that no class loader is kept reachable by another's classes.
  */
 public final class Generics extends Utility {
 
     private static final Annotation[] NO_ANNOTATION = new Annotation[0];
 
+    private static final ClassValue<Memo> MEMO = new ClassValue<Memo>() {
+        @Override
+        protected Memo computeValue(final Class<?> type) {
+            return new Memo();
+        }
+    };
+
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+
     private Generics() { }
 
+    /**
+     * Returns the number of times a memoized result has been returned by the methods of this class.
+     *
+     * @return the number of cache hits so far.
+     */
+    public static long cacheHits() {
+        return HITS.sum();
+    }
+
+    /**
+     * Returns the number of times a result had to be computed by the methods of this class for lack of a memoized one.
+     *
+     * @return the number of cache misses so far.
+     */
+    public static long cacheMisses() {
+        return MISSES.sum();
+    }
+
+    private static <K, V> V memoized(final ConcurrentMap<K, V> cache, final K key, final Function<K, V> computation) {
+        final V cached = cache.get(key);
+
+        if (cached != null) {
+            HITS.increment();
+            return cached;
+        } else {
+            MISSES.increment();
+
+            final V computed = computation.apply(key);
+            final V present = cache.putIfAbsent(key, computed);
+
+            return present == null ? computed : present;
+        }
+    }
+
     /**
      * Returns the raw type, i.e., the class, corresponding to the given parameterized type.
      *
@@ -427,8 +479,14 @@ public final class Generics extends Utility {
      * @return the type of the <code>specific</code> class that specializes the <code>generic</code> type; or <code>null</code> if the <code>specific</code>
      *         class is not a specialization of the <code>generic</code> type.
      */
+    @SuppressWarnings("unchecked")
     public static Type specializedType(final Class specific, final Class generic) {
-        return specializedType(specific, generic, specific, generic);
+        if (specific == generic || !generic.isAssignableFrom(specific)) {
+            return specializedType(specific, generic, specific, generic);
+        } else {
+            final Class<?> type = specific;
+            return memoized(MEMO.get(type).specialized, generic, key -> Optional.ofNullable(specializedType(type, key, type, key))).orElse(null);
+        }
     }
 
     @SuppressWarnings("unchecked")
@@ -477,7 +535,12 @@ public final class Generics extends Utility {
      * @return <code>true</code> if the <code>type</code> is assignable to the
      */
     public static boolean isAssignable(final Type reference, final Type type) {
-        return isAssignable(reference, type, rawType(reference), rawType(type));
+        if (reference instanceof Class && type instanceof Class && reference != type && ((Class<?>) reference).isAssignableFrom((Class<?>) type)) {
+            final Class<?> specific = (Class) type;
+            return memoized(MEMO.get(specific).assignable, (Class<?>) reference, key -> isAssignable(key, specific, key, specific));
+        } else {
+            return isAssignable(reference, type, rawType(reference), rawType(type));
+        }
     }
 
     private static boolean isAssignable(final Type reference, final Type type, final Class<?> rawReference, final Class<?> rawType) {
@@ -714,6 +777,10 @@ public final class Generics extends Utility {
      * @return a constructor parameters descriptor.
      */
     public static Parameters describe(final Constructor<?> constructor) {
+        return memoized(MEMO.get(constructor.getDeclaringClass()).constructors, constructor, Generics::parameters);
+    }
+
+    private static Parameters parameters(final Constructor<?> constructor) {
         final Class<?> type = constructor.getDeclaringClass();
         final Class[] params = constructor.getParameterTypes();
         final Type[] types = constructor.getGenericParameterTypes();
@@ -770,7 +837,7 @@ public final class Generics extends Utility {
 
             public Annotation[] annotations(final int index) {
                 final int nested = index - enclosingTypes;
-                return nested < 0 || nested >= annotations.length ? NO_ANNOTATION : annotations[nested];
+                return nested < 0 || nested >= annotations.length ? NO_ANNOTATION : annotations[nested].clone();
             }
         };
     }
@@ -816,4 +883,27 @@ public final class Generics extends Utility {
          */
         Annotation[] annotations(int index);
     }
+
+    /**
+     * The memoized type information of a class.
+     *
+     * @author Tibor Varga
+     */
+    private static final class Memo {
+
+        /**
+         * The {@linkplain #specializedType(Class, Class) specialized types} of the class, keyed by the generic type specialized.
+         */
+        final ConcurrentMap<Class<?>, Optional<Type>> specialized = new ConcurrentHashMap<>();
+
+        /**
+         * Whether the class {@linkplain #isAssignable(Type, Type) is assignable} to a reference, keyed by the reference type.
+         */
+        final ConcurrentMap<Class<?>, Boolean> assignable = new ConcurrentHashMap<>();
+
+        /**
+         * The {@linkplain #describe(Constructor) parameter descriptors} of the constructors of the class.
+         */
+        final ConcurrentMap<Constructor<?>, Parameters> constructors = new ConcurrentHashMap<>();
+    }
 }
@@ -18,28 +18,46 @@ package org.fluidity.foundation.jarjar;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
 import java.net.MalformedURLException;
 import java.net.Proxy;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
 import java.net.URLStreamHandler;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.security.AccessControlException;
 import java.security.Permission;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.StringJoiner;
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.jar.JarEntry;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
 import java.util.zip.ZipInputStream;
 
 import org.fluidity.foundation.Archives;
@@ -65,6 +83,10 @@ import static org.fluidity.foundation.Command.Process;
  * <pre>
  * final URL embedded = Handler.formatURL(new File("my-archive.jar").toURI().toURL(), null, "my-dependency.jar");
  * </pre>
+ * <p>
+ * Outermost archives loaded from the local file system are memory mapped rather than read onto the heap. Embedded archives stored uncompressed in those are
+ * used directly from the mapped file, while compressed ones are inflated on first access: small entries onto the heap and large ones into memory mapped
+ * temporary files.
  *
  * @author Tibor Varga
  */
@@ -83,6 +105,12 @@ public final class Handler extends URLStreamHandler {
      */
     public static final String DELIMITER = "!:/";      // must not be the one used by the JAR handler
 
+    /**
+     * The name of the system property that, when set to a directory, turns on the persistent caching of the structure of archives loaded from the local
+     * file system. The cache lets later launches of the same standalone archive skip reading the entry tables of the archives nested in it.
+     */
+    public static final String CACHE_DIRECTORY = "org.fluidity.foundation.jarjar.cache";
+
     private static final String PROTOCOL_HANDLERS_PROPERTY = "java.protocol.handler.pkgs";
 
     static {
@@ -193,7 +221,7 @@ public final class Handler extends URLStreamHandler {
     /**
      * Returns the part of the nested archive URL that identifies the outermost enclosing archive.
      */
-    private static String enclosedURL(final URL url) {
+    static String enclosedURL(final URL url) {
         final String path = url.getFile();
         final int delimiter = path.indexOf(DELIMITER);
         return delimiter < 0 ? path : path.substring(0, delimiter);
@@ -350,7 +378,9 @@ public final class Handler extends URLStreamHandler {
     }
 
     /**
-     * Returns the cached contents of the given archive, loading it first if necessary.
+     * Returns the cached contents of the given archive, loading it first if necessary. The returned array is shared with other callers and must not be
+     * modified. The contents of memory mapped archives are copied to the heap on first call and kept until memory runs low; use {@link #stream(URL)} to
+     * avoid the copy.
      *
      * @param url the URL of the archive.
      *
@@ -362,6 +392,20 @@ public final class Handler extends URLStreamHandler {
         return Cache.contents(url);
     }
 
+    /**
+     * Returns a stream to read the cached contents of the given archive, loading it first if necessary. Unlike {@link #cached(URL)}, this method does not
+     * copy the contents of memory mapped archives.
+     *
+     * @param url the URL of the archive.
+     *
+     * @return a stream to read the contents of the given archive, or <code>null</code> if the URL does not point to an archive.
+     *
+     * @throws IOException when loading the archive fails.
+     */
+    public static InputStream stream(final URL url) throws IOException {
+        return Cache.stream(url);
+    }
+
     static URL relativeURL(final URL root, final String resource) throws MalformedURLException {
         return directory(root.getPath()) ? new URL(root, resource) : Handler.formatURL(root, resource);
     }
@@ -451,12 +495,12 @@ public final class Handler extends URLStreamHandler {
 
             this.inputStream = Deferred.shared(() -> Exceptions.wrap(() -> {
                 if (getUseCaches()) {
-                    final byte[] contents = Cache.contents(url);
+                    final InputStream contents = Cache.stream(url);
 
                     if (contents == null) {
                         throw new FileNotFoundException(url.toExternalForm());
                     } else {
-                        return new ByteArrayInputStream(contents);
+                        return contents;
                     }
                 } else {
                     final byte[] buffer = new byte[16384];
@@ -583,7 +627,17 @@ public final class Handler extends URLStreamHandler {
     static final class Cache {
 
         private static final String ROOT = "";
-        private static final byte[] NO_DATA = new byte[0];
+        private static final Storage NO_DATA = new Heap(new byte[0]);
+
+        // compressed entries at least this large are inflated into temporary files rather than onto the heap
+        private static final int SPILL_SIZE = 64 * 1024;
+
+        private static final int LOCAL_HEADER = 0x04034b50;
+        private static final int CENTRAL_HEADER = 0x02014b50;
+        private static final int END_HEADER = 0x06054b50;
+        private static final int DATA_DESCRIPTOR = 0x08074b50;
+        private static final int END_SIZE = 22;
+        private static final long UNSIGNED_INT = 0xFFFFFFFFL;
 
         /**
          * Represents the contents of a cached archive.
@@ -602,12 +656,19 @@ public final class Handler extends URLStreamHandler {
             Entry entry(String name) throws IOException;
 
             /**
-             * Returns the contents of the archive itself.
+             * Returns the contents of the archive itself. The returned array is a copy if the archive is memory mapped.
              *
              * @return the contents of the archive itself.
              */
             byte[] data();
 
+            /**
+             * Returns the contents of the archive itself without copying. The returned buffer is read only, and positioned at the beginning of the contents.
+             *
+             * @return the contents of the archive itself.
+             */
+            ByteBuffer buffer();
+
             /**
              * Tells if the archive is cached on demand (<code>true</code>) or all at once (<code>false</code>).
              *
@@ -647,8 +708,11 @@ public final class Handler extends URLStreamHandler {
          */
         private static class Entries {
 
-            private final Map<String, ArchiveEntry> map = new HashMap<>();
-            private final Set<String> active = new HashSet<>();
+            private final Map<String, ArchiveEntry> map = new ConcurrentHashMap<>();
+            private final Set<String> active = ConcurrentHashMap.newKeySet();
+
+            // set when the call to access(...) that created these entries has returned
+            private volatile boolean closed;
 
             Entries() {
                 this((Entries) null);
@@ -656,7 +720,7 @@ public final class Handler extends URLStreamHandler {
 
             Entries(final Entries base) {
                 if (base != null) {
-                    map.putAll(base.all());
+                    map.putAll(base.map);
                 }
             }
 
@@ -679,9 +743,10 @@ public final class Handler extends URLStreamHandler {
                 return entry;
             }
 
-            void put(final String key, final ArchiveEntry entry) {
+            ArchiveEntry add(final String key, final ArchiveEntry entry) {
                 active.add(key);
-                map.put(key, entry);
+                final ArchiveEntry existing = map.putIfAbsent(key, entry);
+                return existing == null ? entry : existing;
             }
 
             void remove(final String key) {
@@ -689,12 +754,6 @@ public final class Handler extends URLStreamHandler {
                 map.remove(key);
             }
 
-            private Map<String, ArchiveEntry> all() {
-                synchronized (map) {
-                    return map;
-                }
-            }
-
             Map<String, ArchiveEntry> capture(final boolean all) {
                 return Collections.unmodifiableMap(entries(all).map);
             }
@@ -706,7 +765,11 @@ public final class Handler extends URLStreamHandler {
                     final Map<String, ArchiveEntry> list = new HashMap<>();
 
                     for (final String key : active) {
-                        list.put(key, map.get(key));
+                        final ArchiveEntry entry = map.get(key);
+
+                        if (entry != null) {
+                            list.put(key, entry);
+                        }
                     }
 
                     return new Entries(list);
@@ -735,54 +798,68 @@ public final class Handler extends URLStreamHandler {
          * The initial content of the cache will consist of what has been {@linkplain #capture(boolean) captured} in the given <code>context</code> and
          * whatever else is in the cache at the point of invocation.
          *
-         * @param captured the cache contents captured using a previous {@link #capture(boolean)} call.
-         * @param command the command that potentially accesses nested archives.
-         * @param <T>     the return type of the command.
-         * @param <E>     the exception type thrown by the command.
+         * @param captured the cache contents captured using a previous {@link #capture(boolean)} call, or a cache context returned by {@link #bind(Object)}.
+         * @param command  the command that potentially accesses nested archives.
+         * @param <T>      the return type of the command.
+         * @param <E>      the exception type thrown by the command.
          *
          * @return whatever the command returns.
          */
-        @SuppressWarnings("StatementWithEmptyBody")
         static <T, E extends Exception> T access(final Object captured, final Process<T, E> command) throws E {
-            if (captured != null && !(captured instanceof Map)) {
+            if (captured != null && !(captured instanceof Map) && !(captured instanceof Entries)) {
                 throw new IllegalArgumentException("Invalid captured context; use one returned by the capture(...) method");
             }
 
             final Context saved = context.get();
-            UUID id;
+            final boolean bound = captured instanceof Entries;
 
-            synchronized (privateCache) {
-                for (id = UUID.randomUUID(); privateCache.containsKey(id); id = UUID.randomUUID()) {
-                    // empty
-                }
+            @SuppressWarnings("unchecked")
+            final Entries entries = bound
+                                    ? (Entries) captured
+                                    : captured != null ? new Entries((Map<String, ArchiveEntry>) captured) : new Entries(activeCache());
 
-                if (captured != null) {
-                    @SuppressWarnings("unchecked")
-                    final Map<String, ArchiveEntry> data = (Map<String, ArchiveEntry>) captured;
-                    privateCache.put(id, new Entries(data));
-                } else {
-                    privateCache.put(id, new Entries(saved == null ? sharedCache : privateCache.get(saved.id)));
-                }
-            }
-
-            context.set(new Context(id, saved));
+            context.set(new Context(entries, saved));
 
             try {
                 return command.run();
             } finally {
                 context.set(saved);
 
-                synchronized (privateCache) {
-                    privateCache.remove(id);
+                if (!bound) {
+                    entries.closed = true;
                 }
             }
         }
 
+        /**
+         * Creates an isolated cache that, unlike those created by each call to {@link #access(Object, Command.Process)}, remains in effect across calls to
+         * {@link #access(Object, Command.Process)} with the returned object as the captured context. Used to avoid setting up a new cache for every access to
+         * the same set of archives.
+         *
+         * @param captured the cache contents captured using a previous {@link #capture(boolean)} call.
+         *
+         * @return a cache context.
+         */
+        static Object bind(final Object captured) {
+            if (!(captured instanceof Map)) {
+                throw new IllegalArgumentException("Invalid captured context; use one returned by the capture(...) method");
+            }
+
+            @SuppressWarnings("unchecked")
+            final Map<String, ArchiveEntry> data = (Map<String, ArchiveEntry>) captured;
+            return new Entries(data);
+        }
+
         static byte[] contents(final URL url) throws IOException {
             final Cache.Entry archive = Cache.archive(url);
             return archive == null ? null : (PROTOCOL.equals(url.getProtocol()) ? archive.entry(Cache.path(url)) : archive).data();
         }
 
+        static InputStream stream(final URL url) throws IOException {
+            final Cache.Entry archive = Cache.archive(url);
+            return archive == null ? null : new BufferStream((PROTOCOL.equals(url.getProtocol()) ? archive.entry(Cache.path(url)) : archive).buffer());
+        }
+
         static Entry archive(final URL url) throws IOException {
             final boolean nested = PROTOCOL.equals(url.getProtocol());
 
@@ -792,7 +869,6 @@ public final class Handler extends URLStreamHandler {
             return load(root).entry(path);
         }
 
-        @SuppressWarnings("SynchronizationOnLocalVariableOrMethodParameter")
         static Entry load(final URL root) throws IOException {
             assert root != null;
             final String key = root.toExternalForm();
@@ -801,51 +877,69 @@ public final class Handler extends URLStreamHandler {
             ArchiveEntry archive = cache.get(key);
 
             if (archive == null) {
-                archive = new ArchiveEntry(root, ROOT);
+                archive = cache.add(key, new ArchiveEntry(root, ROOT, () -> {
+                    final Storage mapped = map(root);
 
-                synchronized (archive) {
-                    synchronized (cache) {
-                        if (cache.contains(key)) {
-                            archive = cache.get(key);
-
-                            synchronized (archive) {
-                                return archive;
-                            }
-                        } else {
-                            cache.put(key, archive);
-                        }
+                    if (mapped != null) {
+                        return mapped;
                     }
 
                     try (final InputStream input = Archives.connect(root, true).getInputStream()) {
-                        final byte[] buffer = new byte[1024 * 1024];
-                        return archive.load(IOStreams.load(input, buffer), buffer);
+                        return new Heap(IOStreams.load(input, new byte[1024 * 1024]));
                     }
+                }));
+            }
+
+            return archive.load();
+        }
+
+        /**
+         * Memory maps the given URL if it points to a regular file.
+         *
+         * @param root the URL to map.
+         *
+         * @return the mapped contents of the URL, or <code>null</code> if the URL cannot be mapped.
+         */
+        private static Storage map(final URL root) throws IOException {
+            if (!"file".equals(root.getProtocol()) || directory(root.getPath())) {
+                return null;
+            }
+
+            final File file;
+
+            try {
+                file = new File(root.toURI());
+            } catch (final URISyntaxException | IllegalArgumentException e) {
+                return null;
+            }
+
+            return Security.invoke(IOException.class, () -> {
+                if (!file.isFile() || file.length() > Integer.MAX_VALUE) {
+                    return null;
                 }
-            } else {
-                synchronized (archive) {
-                    return archive;
+
+                try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                    final ByteBuffer contents = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                    Snapshot.open(root, file, contents);
+                    return new Mapped(contents);
                 }
-            }
+            });
         }
 
         private static Entries activeCache() {
             final Context local = context.get();
-            final UUID id = local == null ? null : local.id;
-            assert local == null | id != null;
 
-            Entries cache = null;
+            if (local != null) {
+                final Entries cache = local.cache.get();
 
-            if (id != null) {
-                synchronized (privateCache) {
-                    cache = privateCache.get(id);
+                if (cache != null && !cache.closed) {
+                    return cache;
                 }
 
-                if (cache == null) {
-                    context.set(null);
-                }
+                context.set(null);
             }
 
-            return cache == null ? sharedCache : cache;
+            return sharedCache;
         }
 
         /**
@@ -864,15 +958,18 @@ public final class Handler extends URLStreamHandler {
         }
 
         /**
+         * The cache of the nearest enclosing call to {@link #access(Object, Command.Process)}. The cache is held weakly so that threads inheriting it do not
+         * keep it, and the archives in it, from being collected after that call has returned.
+         *
          * @author Tibor Varga
          */
         private static class Context {
 
-            public final UUID id;
+            public final WeakReference<Entries> cache;
             public final Context last;
 
-            private Context(final UUID id, final Context last) {
-                this.id = id;
+            private Context(final Entries cache, final Context last) {
+                this.cache = new WeakReference<>(cache);
                 this.last = last;
             }
         }
@@ -880,11 +977,10 @@ public final class Handler extends URLStreamHandler {
         private static final ThreadLocal<Context> context = new InheritableThreadLocal<Context>() {
             @Override
             protected Context childValue(final Context parent) {
-                return parent == null ? null : new Context(parent.id, null);
+                return parent == null ? null : new Context(parent.cache.get(), null);
             }
         };
 
-        private static final Map<UUID, Entries> privateCache = new HashMap<>();
         private static final Entries sharedCache = new Entries();
 
         /**
@@ -935,35 +1031,43 @@ public final class Handler extends URLStreamHandler {
         }
 
         /**
+         * An archive, or an entry thereof, in the tree of archives nested in an outermost one. The entry table of each archive is loaded exactly once, by the
+         * first thread to look it up, while others wait for the result; once loaded, the archive is read without locking. Looking up an archive while
+         * loading it, on the same thread, fails.
+         *
          * @author Tibor Varga
          */
         private static class ArchiveEntry implements Entry {
 
             private final URL root;
             private final String base;
-            private final Map<Metadata, String> metadata;
+            private final Process<Storage, IOException> source;
 
-            private boolean loaded;
-            private byte[] data;
-            private Map<String, ArchiveEntry> content;
+            // shared by all archives in the tree of the outermost one
+            private final Map<Metadata, String> metadata;
+            private final Map<String, ArchiveEntry> content;
 
-            ArchiveEntry(final URL root, final String base) {
-                this(root, base, new HashMap<>(), new HashMap<>());
-            }
+            // set once the entries of the archive have been added to the content map
+            private volatile Storage data;
+            private final AtomicReference<Loading> loading = new AtomicReference<>();
 
-            ArchiveEntry(final URL root, final String base, final ArchiveEntry parent, final byte[] data, final boolean loaded) {
-                this(root, base, parent);
-                this.data = data;
-                this.loaded = loaded;
+            ArchiveEntry(final URL root, final String base, final Process<Storage, IOException> source) {
+                this(root, base, source, new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
             }
 
-            ArchiveEntry(final URL root, final String base, final ArchiveEntry parent) {
-                this(root, base, parent.metadata, parent.content);
+            ArchiveEntry(final URL root, final String base, final ArchiveEntry parent, final Process<Storage, IOException> source, final Storage loaded) {
+                this(root, base, source, parent.metadata, parent.content);
+                this.data = loaded;
             }
 
-            private ArchiveEntry(final URL root, final String base, final Map<Metadata, String> metadata, final Map<String, ArchiveEntry> content) {
+            private ArchiveEntry(final URL root,
+                                 final String base,
+                                 final Process<Storage, IOException> source,
+                                 final Map<Metadata, String> metadata,
+                                 final Map<String, ArchiveEntry> content) {
                 this.root = root;
                 this.base = base;
+                this.source = source;
 
                 if (base != null) {
                     this.metadata = metadata;
@@ -974,36 +1078,73 @@ public final class Handler extends URLStreamHandler {
                 }
             }
 
-            Entry load(final byte[] bytes, final byte[] buffer) throws IOException {
-                if (base == null) {
-                    throw new FileNotFoundException(root.toExternalForm());
-                }
-
-                if (loaded) {
+            Entry load() throws IOException {
+                if (data != null) {
                     return this;
                 }
 
-                if (data == null) {
-                    assert bytes != null : root;
-                    data = bytes;
+                if (base == null) {
+                    throw new FileNotFoundException(root.toExternalForm());
                 }
 
-                final Map<String, ArchiveEntry> map = new HashMap<>();
-                loaded = true;
+                while (true) {
+                    final Loading pending = loading.get();
+
+                    if (pending == null) {
+                        final Loading created = new Loading();
 
-                load(base, data, content, map, buffer, metadata);
+                        if (loading.compareAndSet(null, created)) {
+                            try {
+                                data = load(source.run());
+                                created.complete(null);
+                                return this;
+                            } catch (final IOException | RuntimeException | Error e) {
 
-                if (map.isEmpty()) {
+                                // let the next caller try again
+                                loading.set(null);
+                                created.completeExceptionally(e);
+                                throw e;
+                            }
+                        }
+                    } else if (pending.owner == Thread.currentThread()) {
 
-                    // no archive entries and not a directory: either not an archive or the URL handler hides the content: ignore the garbage
-                    if (directory(root.getPath())) {
-                        data = NO_DATA;
+                        // the entries of this archive are not there yet: returning it would have the caller find nothing in it
+                        throw new IOException(String.format("Recursive loading of archive %s", root));
+                    } else {
+                        try {
+                            pending.join();
+                            return this;
+                        } catch (final CompletionException e) {
+                            final Throwable cause = e.getCause();
+
+                            if (cause instanceof IOException) {
+                                throw (IOException) cause;
+                            } else if (cause instanceof RuntimeException) {
+                                throw (RuntimeException) cause;
+                            } else if (cause instanceof Error) {
+                                throw (Error) cause;
+                            } else {
+                                throw e;
+                            }
+                        }
                     }
                 }
+            }
 
-                content.putAll(map);
+            private Storage load(final Storage bytes) throws IOException {
+                assert bytes != null : root;
 
-                return this;
+                final Map<String, ArchiveEntry> found = new HashMap<>();
+                final Map<Metadata, String> references = new HashMap<>();
+
+                load(base, bytes, content, found, new byte[16384], references);
+
+                // entries first: a reference in the metadata map must always resolve in the content map
+                content.putAll(found);
+                metadata.putAll(references);
+
+                // no archive entries and not a directory: either not an archive or the URL handler hides the content: ignore the garbage
+                return found.isEmpty() && directory(root.getPath()) ? NO_DATA : bytes;
             }
 
             public Entry entry(final String name) throws IOException {
@@ -1018,11 +1159,7 @@ public final class Handler extends URLStreamHandler {
                     final String key = absolute ? name : String.format("%s%s%s", base, DELIMITER, name);
                     final String relative = absolute ? name.substring(DELIMITER.length()) : name;
 
-                    ArchiveEntry archive;
-
-                    synchronized (this) {
-                        archive = content.get(key);
-                    }
+                    ArchiveEntry archive = content.get(key);
 
                     if (archive == null) {
                         final String[] parts = relative.split(DELIMITER);
@@ -1035,49 +1172,39 @@ public final class Handler extends URLStreamHandler {
                         }
                     }
 
-                    if (archive == null || !archive.loaded) {
-                        synchronized (this) {
-                            if (archive == null) {
-                                archive = content.get(key);
-                            }
-
-                            if (archive == null || !archive.loaded) {
-                                final byte[] buffer = new byte[16384];
-
-                                byte[] bytes = null;
-                                if (archive == null) {
-                                    final URL url = relativeURL(root, relative);
-
-                                    if (directory(root.getPath())) {
-                                        try (final InputStream input = Archives.connect(url, true).getInputStream()) {
-                                            bytes = IOStreams.load(input, buffer);
-                                            archive = new ArchiveEntry(url, key, this);
-                                        } catch (final FileNotFoundException ignored) {
-                                            // empty, thrown later below
-                                        }
-                                    }
-
-                                    if (archive == null) {
+                    if (archive == null) {
+                        final URL url = relativeURL(root, relative);
 
-                                        // loading this archive will throw a FileNotFoundException
-                                        archive = new ArchiveEntry(url, null);
-                                    }
+                        final ArchiveEntry created;
 
-                                    content.put(key, archive);
+                        if (directory(root.getPath())) {
+                            created = new ArchiveEntry(url, key, this, () -> {
+                                try (final InputStream input = Archives.connect(url, true).getInputStream()) {
+                                    return new Heap(IOStreams.load(input, new byte[16384]));
                                 }
+                            }, null);
+                        } else {
 
-                                // bytes may be null, but only if the archive is but a placeholder that throws FileNotFoundException when loaded
-                                archive.load(bytes, buffer);
-                            }
+                            // loading this archive will throw a FileNotFoundException
+                            created = new ArchiveEntry(url, null, null);
                         }
+
+                        final ArchiveEntry existing = content.putIfAbsent(key, created);
+                        archive = existing == null ? created : existing;
                     }
 
-                    return archive;
+                    return archive.load();
                 }
             }
 
             public byte[] data() {
-                return data;
+                final Storage data = this.data;
+                return data == null ? null : data.bytes();
+            }
+
+            public ByteBuffer buffer() {
+                final Storage data = this.data;
+                return data == null ? null : data.buffer();
             }
 
             public boolean dynamic() {
@@ -1085,41 +1212,220 @@ public final class Handler extends URLStreamHandler {
             }
 
             private void load(final String base,
-                              final byte[] data,
+                              final Storage data,
                               final Map<String, ArchiveEntry> global,
                               final Map<String, ArchiveEntry> local,
                               final byte[] buffer,
-                              final Map<Metadata, String> meta) throws IOException {
-                try (final ZipInputStream stream = new ZipInputStream(new ByteArrayInputStream(data))) {
+                              final Map<Metadata, String> added) throws IOException {
+                final ByteBuffer contents = data.resolve().buffer();
+
+                final Snapshot snapshot = Snapshot.find(root);
+                Snapshot.Record[] records = snapshot == null ? null : snapshot.table(base);
+
+                // a recorded table that does not match the archive invalidates the whole snapshot
+                if (records != null && !matches(contents, records)) {
+                    snapshot.discard();
+                    records = null;
+                }
+
+                if (records == null) {
+                    records = central(contents);
+
+                    if (records != null && snapshot != null) {
+                        snapshot.table(base, records);
+                    }
+                }
+
+                if (records != null) {
+                    for (final Snapshot.Record record : records) {
+                        final ByteBuffer slice = slice(contents, record.offset, record.compressed);
+                        final Storage storage = record.method == ZipEntry.STORED ? new Mapped(slice) : new Deflated(slice, record.size);
+                        add(base, record.name, storage, record.size, record.crc, global, local, added);
+                    }
+
+                    return;
+                }
+
+                try (final ZipInputStream stream = new ZipInputStream(new BufferStream(contents))) {
                     for (ZipEntry next = stream.getNextEntry(); next != null; stream.closeEntry(), next = stream.getNextEntry()) {
                         final String name = next.getName();
 
                         if (!directory(name)) {
-                            final String entry = String.format("%s%s%s", base, DELIMITER, name);
                             final byte[] bytes = IOStreams.load(stream, buffer);
-                            final Metadata metadata = new Metadata(name, next.getSize(), next.getCrc());
+                            add(base, name, new Heap(bytes), next.getSize(), next.getCrc(), global, local, added);
+                        }
+                    }
+                }
+            }
 
-                            final String reference = meta.get(metadata);
+            /**
+             * Reads the table of the non-directory entries of a ZIP archive from its central directory, without reading their contents.
+             *
+             * @return the entry table, or <code>null</code> if the archive is not one this method can read.
+             */
+            private Snapshot.Record[] central(final ByteBuffer data) {
+                final ByteBuffer archive = data.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+                final int end = end(archive);
 
-                            final URL url = Handler.formatURL(root, name);
+                if (end < 0) {
+                    return null;
+                }
 
-                            if (reference == null) {
-                                meta.put(metadata, entry);
-                                local.put(entry, new ArchiveEntry(url, entry, this, bytes, false));
-                            } else {
-                                assert !global.containsKey(entry) : entry;
-                                assert global.containsKey(reference) : entry;
-                                local.put(entry, copy(url, entry, global.get(reference)));
-                                final String prefix = reference.concat(DELIMITER);
+                final int count = archive.getShort(end + 10) & 0xFFFF;
+                final long offset = archive.getInt(end + 16) & UNSIGNED_INT;
 
-                                for (final Map.Entry<String, ArchiveEntry> candidate : global.entrySet()) {
-                                    final String key = candidate.getKey();
+                // ZIP64 archives, and archives with leading content, are left to ZipInputStream
+                if (count == 0xFFFF || offset + (archive.getInt(end + 12) & UNSIGNED_INT) != end) {
+                    return null;
+                }
 
-                                    if (key.startsWith(prefix)) {
-                                        final String root = entry.concat(key.substring(reference.length()));
-                                        local.put(root, copy(url, root, candidate.getValue()));
-                                    }
-                                }
+                final List<Snapshot.Record> records = new ArrayList<>(count);
+
+                for (int i = 0, header = (int) offset; i < count; ++i) {
+                    if (header + 46 > end || archive.getInt(header) != CENTRAL_HEADER) {
+                        return null;
+                    }
+
+                    final int flags = archive.getShort(header + 8) & 0xFFFF;
+                    final int method = archive.getShort(header + 10) & 0xFFFF;
+                    final long crc = archive.getInt(header + 16) & UNSIGNED_INT;
+                    final long compressed = archive.getInt(header + 20) & UNSIGNED_INT;
+                    final long size = archive.getInt(header + 24) & UNSIGNED_INT;
+                    final int nameLength = archive.getShort(header + 28) & 0xFFFF;
+                    final int extraLength = archive.getShort(header + 30) & 0xFFFF;
+                    final int commentLength = archive.getShort(header + 32) & 0xFFFF;
+                    final long position = archive.getInt(header + 42) & UNSIGNED_INT;
+
+                    final boolean encrypted = (flags & 1) != 0;
+                    final boolean supported = method == ZipEntry.STORED ? compressed == size : method == ZipEntry.DEFLATED;
+
+                    if (encrypted || !supported || size > Integer.MAX_VALUE || position + 30 > offset) {
+                        return null;
+                    }
+
+                    final byte[] characters = new byte[nameLength];
+                    ((ByteBuffer) ((Buffer) archive.duplicate()).position(header + 46)).get(characters);
+                    final String name = new String(characters, StandardCharsets.UTF_8);
+
+                    if (archive.getInt((int) position) != LOCAL_HEADER) {
+                        return null;
+                    }
+
+                    final long start = position + 30 + (archive.getShort((int) position + 26) & 0xFFFF) + (archive.getShort((int) position + 28) & 0xFFFF);
+
+                    if (start + compressed > offset) {
+                        return null;
+                    }
+
+                    if (!directory(name)) {
+                        records.add(new Snapshot.Record(name, method, (int) position, (int) start, (int) compressed, (int) size, crc));
+                    }
+
+                    header += 46 + nameLength + extraLength + commentLength;
+                }
+
+                return records.toArray(new Snapshot.Record[records.size()]);
+            }
+
+            /**
+             * Tells if the given entry table matches the local headers of a ZIP archive, and the data descriptors where the local headers defer to them.
+             *
+             * @return <code>true</code> if every entry matches the archive; <code>false</code> otherwise.
+             */
+            private boolean matches(final ByteBuffer data, final Snapshot.Record[] records) {
+                final ByteBuffer archive = data.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+                final long limit = archive.limit();
+
+                for (final Snapshot.Record record : records) {
+                    final int header = record.header;
+                    final boolean supported = record.method == ZipEntry.STORED ? record.compressed == record.size : record.method == ZipEntry.DEFLATED;
+
+                    if (!supported || header < 0 || record.compressed < 0 || record.size < 0 || header + 30L > limit) {
+                        return false;
+                    }
+
+                    if (archive.getInt(header) != LOCAL_HEADER || (archive.getShort(header + 8) & 0xFFFF) != record.method) {
+                        return false;
+                    }
+
+                    final int flags = archive.getShort(header + 6) & 0xFFFF;
+                    final int nameLength = archive.getShort(header + 26) & 0xFFFF;
+                    final int extraLength = archive.getShort(header + 28) & 0xFFFF;
+                    final long end = (long) record.offset + record.compressed;
+
+                    if ((flags & 1) != 0 || header + 30L + nameLength + extraLength != record.offset || end > limit) {
+                        return false;
+                    }
+
+                    final byte[] characters = new byte[nameLength];
+                    ((ByteBuffer) ((Buffer) archive.duplicate()).position(header + 30)).get(characters);
+
+                    if (!Arrays.equals(characters, record.name.getBytes(StandardCharsets.UTF_8))) {
+                        return false;
+                    }
+
+                    // sizes and checksum follow the contents when the local header has no room for them
+                    int sizes = header + 14;
+
+                    if ((flags & 8) != 0) {
+                        sizes = (int) end;
+
+                        if (sizes + 4L <= limit && archive.getInt(sizes) == DATA_DESCRIPTOR) {
+                            sizes += 4;
+                        }
+
+                        if (sizes + 12L > limit) {
+                            return false;
+                        }
+                    }
+
+                    if ((archive.getInt(sizes) & UNSIGNED_INT) != record.crc
+                        || archive.getInt(sizes + 4) != record.compressed
+                        || archive.getInt(sizes + 8) != record.size) {
+                        return false;
+                    }
+                }
+
+                return true;
+            }
+
+            private void add(final String base,
+                             final String name,
+                             final Storage bytes,
+                             final long size,
+                             final long crc,
+                             final Map<String, ArchiveEntry> global,
+                             final Map<String, ArchiveEntry> local,
+                             final Map<Metadata, String> added) throws IOException {
+                final String entry = String.format("%s%s%s", base, DELIMITER, name);
+                final Metadata metadata = new Metadata(name, size, crc);
+
+                // the shared map is only read here: entries of this archive are added to it once all have been found
+                final String recorded = added.get(metadata);
+                final String reference = recorded == null ? this.metadata.get(metadata) : recorded;
+
+                final URL url = Handler.formatURL(root, name);
+
+                if (reference == null) {
+                    added.put(metadata, entry);
+                    local.put(entry, new ArchiveEntry(url, entry, this, () -> bytes, null));
+                } else {
+                    assert !global.containsKey(entry) : entry;
+                    assert global.containsKey(reference) : entry;
+                    final ArchiveEntry copy = copy(url, entry, global.get(reference));
+                    local.put(entry, copy);
+
+                    // the nested entries of the original are there to copy only if it had been loaded before the copy was made
+                    if (copy.data != null) {
+                        final String prefix = reference.concat(DELIMITER);
+
+                        for (final Map.Entry<String, ArchiveEntry> candidate : global.entrySet()) {
+                            final String key = candidate.getKey();
+
+                            // placeholders of missing entries are not copied
+                            if (key.startsWith(prefix) && candidate.getValue().base != null) {
+                                final String root = entry.concat(key.substring(reference.length()));
+                                local.put(root, copy(url, root, candidate.getValue()));
                             }
                         }
                     }
@@ -1127,7 +1433,300 @@ public final class Handler extends URLStreamHandler {
             }
 
             private ArchiveEntry copy(final URL url, final String base, final ArchiveEntry entry) {
-                return new ArchiveEntry(url, base, entry, entry.data, entry.loaded);
+                return new ArchiveEntry(url, base, entry, entry.source, entry.data);
+            }
+        }
+
+        /**
+         * The loading of an archive by the {@link #owner} thread.
+         *
+         * @author Tibor Varga
+         */
+        private static final class Loading extends CompletableFuture<Void> {
+
+            final Thread owner = Thread.currentThread();
+        }
+
+        /**
+         * Finds the end of central directory record of a ZIP archive.
+         *
+         * @param archive the contents of the archive, in little endian byte order.
+         *
+         * @return the position of the end of central directory record, or -1 if the contents are not that of a ZIP archive.
+         */
+        static int end(final ByteBuffer archive) {
+            int end = archive.limit() - END_SIZE;
+
+            for (final int first = Math.max(0, end - 0xFFFF); end >= first && archive.getInt(end) != END_HEADER; --end) {
+                // empty
+            }
+
+            return end < 0 || archive.getInt(end) != END_HEADER ? -1 : end;
+        }
+
+        private static ByteBuffer slice(final ByteBuffer buffer, final int offset, final int length) {
+            final ByteBuffer slice = buffer.duplicate();
+
+            // the Buffer methods: the covariant overrides of ByteBuffer do not exist before Java 9
+            ((Buffer) slice).limit(offset + length).position(offset);
+            return slice.slice();
+        }
+
+        /**
+         * The contents of a cached archive or archive entry.
+         *
+         * @author Tibor Varga
+         */
+        private static abstract class Storage {
+
+            /**
+             * Returns the contents as a byte array.
+             *
+             * @return the contents as a byte array.
+             */
+            abstract byte[] bytes();
+
+            /**
+             * Returns a read only view of the contents.
+             *
+             * @return a read only view of the contents.
+             */
+            abstract ByteBuffer buffer();
+
+            /**
+             * Returns the storage that directly holds the contents.
+             *
+             * @return the storage that directly holds the contents; may be this object.
+             *
+             * @throws IOException when making the contents available fails.
+             */
+            Storage resolve() throws IOException {
+                return this;
+            }
+        }
+
+        /**
+         * Contents held in a heap byte array.
+         *
+         * @author Tibor Varga
+         */
+        private static final class Heap extends Storage {
+
+            private final byte[] contents;
+
+            Heap(final byte[] contents) {
+                this.contents = contents;
+            }
+
+            byte[] bytes() {
+                return contents;
+            }
+
+            ByteBuffer buffer() {
+                return ByteBuffer.wrap(contents).asReadOnlyBuffer();
+            }
+        }
+
+        /**
+         * Contents held in a memory mapped file, or a region thereof or of the contents of another archive.
+         *
+         * @author Tibor Varga
+         */
+        private static final class Mapped extends Storage {
+
+            private final ByteBuffer contents;
+
+            // the heap copy handed out by bytes(), released under memory pressure
+            private volatile SoftReference<byte[]> copy = new SoftReference<>(null);
+
+            Mapped(final ByteBuffer contents) {
+                this.contents = contents.asReadOnlyBuffer();
+            }
+
+            byte[] bytes() {
+                byte[] bytes = copy.get();
+
+                if (bytes == null) {
+                    bytes = new byte[contents.limit()];
+                    contents.duplicate().get(bytes);
+                    copy = new SoftReference<>(bytes);
+                }
+
+                return bytes;
+            }
+
+            ByteBuffer buffer() {
+                return contents.duplicate();
+            }
+        }
+
+        /**
+         * Compressed contents of an entry in a memory mapped archive, inflated on first access.
+         *
+         * @author Tibor Varga
+         */
+        private static final class Deflated extends Storage {
+
+            private final ByteBuffer compressed;
+            private final int size;
+
+            private volatile Storage inflated;
+
+            Deflated(final ByteBuffer compressed, final int size) {
+                this.compressed = compressed;
+                this.size = size;
+            }
+
+            byte[] bytes() {
+                return Exceptions.wrap(this::resolve).bytes();
+            }
+
+            ByteBuffer buffer() {
+                return Exceptions.wrap(this::resolve).buffer();
+            }
+
+            @Override
+            Storage resolve() throws IOException {
+                Storage storage = inflated;
+
+                if (storage == null) {
+                    synchronized (this) {
+                        storage = inflated;
+
+                        if (storage == null) {
+                            inflated = storage = size < SPILL_SIZE ? heap() : Security.invoke(IOException.class, this::spill);
+                        }
+                    }
+                }
+
+                return storage;
+            }
+
+            private Storage heap() throws IOException {
+                final byte[] contents = new byte[size];
+                final int[] position = { 0 };
+
+                inflate((bytes, from, count) -> {
+                    System.arraycopy(bytes, from, contents, position[0], count);
+                    position[0] += count;
+                });
+
+                return new Heap(contents);
+            }
+
+            private Storage spill() throws IOException {
+                final Path file = Files.createTempFile(PROTOCOL, null);
+
+                // the file goes when the channel is closed, or, on platforms that do not let the file go while mapped, when the mapping is released
+                try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE)) {
+                    inflate((bytes, from, count) -> {
+                        for (final ByteBuffer chunk = ByteBuffer.wrap(bytes, from, count); chunk.hasRemaining(); ) {
+                            channel.write(chunk);
+                        }
+                    });
+
+                    return new Mapped(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+                } finally {
+                    if (Files.exists(file)) {
+                        file.toFile().deleteOnExit();
+                    }
+                }
+            }
+
+            private void inflate(final IOStreams.Output output) throws IOException {
+                final ByteBuffer input = compressed.duplicate();
+                final byte[] buffer = new byte[16384];
+                final byte[] chunk = new byte[16384];
+                final Inflater inflater = new Inflater(true);
+
+                try {
+                    boolean padded = false;
+                    long total = 0;
+
+                    while (!inflater.finished()) {
+                        if (inflater.needsInput()) {
+                            final int length = Math.min(buffer.length, input.remaining());
+
+                            if (length > 0) {
+                                input.get(buffer, 0, length);
+                                inflater.setInput(buffer, 0, length);
+                            } else if (!padded) {
+
+                                // raw inflation may need an extra byte past the compressed data
+                                padded = true;
+                                inflater.setInput(new byte[1]);
+                            } else {
+                                throw new ZipException("Truncated compressed entry");
+                            }
+                        }
+
+                        final int count = inflater.inflate(chunk);
+
+                        if (count > 0) {
+                            total += count;
+
+                            if (total > size) {
+                                throw new ZipException("Compressed entry larger than its declared size");
+                            }
+
+                            output.write(chunk, 0, count);
+                        } else if (inflater.needsDictionary()) {
+                            throw new ZipException("Compressed entry requires a preset dictionary");
+                        }
+                    }
+
+                    if (total != size) {
+                        throw new ZipException("Compressed entry smaller than its declared size");
+                    }
+                } catch (final DataFormatException e) {
+                    throw new ZipException(e.getMessage());
+                } finally {
+                    inflater.end();
+                }
+            }
+        }
+
+        /**
+         * Reads the contents of a byte buffer without copying them.
+         *
+         * @author Tibor Varga
+         */
+        private static final class BufferStream extends InputStream {
+
+            private final ByteBuffer buffer;
+
+            BufferStream(final ByteBuffer buffer) {
+                this.buffer = buffer;
+            }
+
+            @Override
+            public int read() {
+                return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+            }
+
+            @Override
+            public int read(final byte[] bytes, final int offset, final int length) {
+                if (length == 0) {
+                    return 0;
+                } else if (!buffer.hasRemaining()) {
+                    return -1;
+                } else {
+                    final int count = Math.min(length, buffer.remaining());
+                    buffer.get(bytes, offset, count);
+                    return count;
+                }
+            }
+
+            @Override
+            public long skip(final long count) {
+                final int skipped = (int) Math.max(0, Math.min(count, buffer.remaining()));
+                ((Buffer) buffer).position(buffer.position() + skipped);
+                return skipped;
+            }
+
+            @Override
+            public int available() {
+                return buffer.remaining();
             }
         }
     }
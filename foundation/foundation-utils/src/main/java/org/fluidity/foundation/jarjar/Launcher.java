@@ -38,6 +38,9 @@ import org.fluidity.foundation.security.Security;
  * <p>
  * The above manifest attributes are set by the appropriate {@link org.fluidity.deployment.plugin.spi.JarManifest} processor when used by the
  * <code>org.fluidity.maven:standalone-jar-maven-plugin</code> Maven plugin.
+ * <p>
+ * Short lived applications may start faster when launched with the {@link Handler#CACHE_DIRECTORY} system property set, which keeps the structure of the
+ * nested archives between launches.
  *
  * @author Tibor Varga
  */
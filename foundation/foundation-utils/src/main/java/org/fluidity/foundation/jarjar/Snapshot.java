@@ -0,0 +1,438 @@
+/*
+ * Copyright (c) 2006-2018 Tibor Adam Varga (tibor.adam.varga on gmail)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fluidity.foundation.jarjar;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+import org.fluidity.foundation.Strings;
+import org.fluidity.foundation.security.Security;
+
+/**
+ * Persistent record of the structure of an archive loaded from the local file system: the entry tables of the archive and of the archives nested in it, and
+ * the packages found in those archives by {@link URLClassLoader}. A later launch of the same archive uses the record instead of reading the archive
+ * structure again.
+ * <p>
+ * Records are kept only when the {@link Handler#CACHE_DIRECTORY} system property names a directory, and they are discarded when the size, the modification
+ * time, or the checksum of the central directory of the archive changes, or when a recorded entry does not match the archive. Only the most recently used
+ * snapshots are kept in memory.
+ *
+ * @author Tibor Varga
+ */
+final class Snapshot {
+
+    private static final int MAGIC = 0x6A6A6978;
+    private static final int VERSION = 2;
+
+    // the number of snapshots kept in memory
+    private static final int LIMIT = 64;
+
+    // the largest number of tables, records, packages, or package names read from a snapshot
+    private static final int MAXIMUM = 1 << 20;
+
+    // in access order: the least recently used snapshot is evicted, and flushed outside the lock, when more than LIMIT are kept
+    private static final Map<String, Snapshot> snapshots = Collections.synchronizedMap(new LinkedHashMap<>(LIMIT, 0.75f, true));
+
+    private final File file;
+    private final long size;
+    private final long modified;
+    private final long checksum;
+
+    private final Map<String, Record[]> tables = new ConcurrentHashMap<>();
+    private final Map<String, Packages> packages = new ConcurrentHashMap<>();
+
+    private volatile boolean changed;
+
+    private Snapshot(final File file, final long size, final long modified, final long checksum) {
+        this.file = file;
+        this.size = size;
+        this.modified = modified;
+        this.checksum = checksum;
+    }
+
+    /**
+     * Finds or loads the snapshot of the given memory mapped archive, if snapshots are enabled.
+     *
+     * @param root     the URL of the archive.
+     * @param archive  the archive file.
+     * @param contents the mapped contents of the archive.
+     *
+     * @return the snapshot of the archive, or <code>null</code> if snapshots are not enabled or the archive has no central directory.
+     */
+    static Snapshot open(final URL root, final File archive, final ByteBuffer contents) {
+        final String directory = Security.invoke(() -> System.getProperty(Handler.CACHE_DIRECTORY));
+
+        if (directory == null || directory.isEmpty()) {
+            return null;
+        }
+
+        final ByteBuffer data = contents.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        final int end = Handler.Cache.end(data);
+
+        if (end < 0) {
+            return null;
+        }
+
+        final int offset = data.getInt(end + 16);
+        final int length = data.getInt(end + 12);
+
+        if (offset < 0 || length < 0 || offset + length > end) {
+            return null;
+        }
+
+        final byte[] chunk = new byte[16384];
+        final CRC32 crc = new CRC32();
+        final ByteBuffer central = (ByteBuffer) ((Buffer) data.duplicate()).limit(offset + length).position(offset);
+
+        while (central.hasRemaining()) {
+            final int count = Math.min(chunk.length, central.remaining());
+            central.get(chunk, 0, count);
+            crc.update(chunk, 0, count);
+        }
+
+        final long size = contents.limit();
+        final long modified = Security.invoke(archive::lastModified);
+        final long checksum = crc.getValue();
+
+        final String key = root.toExternalForm();
+        final Snapshot cached = snapshots.get(key);
+
+        if (cached != null && cached.size == size && cached.modified == modified && cached.checksum == checksum) {
+            return cached;
+        }
+
+        final String name = UUID.nameUUIDFromBytes(archive.getAbsolutePath().getBytes(Strings.UTF_8)).toString().concat(".idx");
+        final Snapshot snapshot = new Snapshot(new File(directory, name), size, modified, checksum);
+
+        Security.invoke(() -> {
+            snapshot.read();
+            return null;
+        });
+
+        Snapshot evicted = null;
+
+        synchronized (snapshots) {
+            snapshots.put(key, snapshot);
+
+            if (snapshots.size() > LIMIT) {
+                final Iterator<Snapshot> eldest = snapshots.values().iterator();
+
+                evicted = eldest.next();
+                eldest.remove();
+            }
+        }
+
+        if (evicted != null) {
+            evicted.flush();
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Returns the snapshot of the outermost archive enclosing the given URL, if one has been {@linkplain #open(URL, File, ByteBuffer) opened}.
+     *
+     * @param url the URL of an archive, possibly nested.
+     *
+     * @return the snapshot of the outermost archive, or <code>null</code>.
+     */
+    static Snapshot find(final URL url) {
+        return snapshots.isEmpty() ? null : snapshots.get(Handler.PROTOCOL.equals(url.getProtocol()) ? Handler.enclosedURL(url) : url.toExternalForm());
+    }
+
+    /**
+     * Returns the path of the given archive URL within the outermost archive enclosing it.
+     *
+     * @param url the URL of an archive, possibly nested.
+     *
+     * @return the path of the archive within the outermost archive; empty for the outermost archive itself.
+     */
+    static String base(final URL url) {
+        return Handler.PROTOCOL.equals(url.getProtocol()) ? Handler.Cache.path(url) : "";
+    }
+
+    /**
+     * Returns the recorded entry table of the archive at the given path.
+     *
+     * @param base the path of the archive within the outermost archive.
+     *
+     * @return the entry table, or <code>null</code> if none has been recorded.
+     */
+    Record[] table(final String base) {
+        return tables.get(base);
+    }
+
+    /**
+     * Records the entry table of the archive at the given path.
+     *
+     * @param base    the path of the archive within the outermost archive.
+     * @param records the entry table.
+     */
+    void table(final String base, final Record[] records) {
+        if (tables.putIfAbsent(base, records) == null) {
+            changed = true;
+        }
+    }
+
+    /**
+     * Returns the recorded packages of the archive at the given path.
+     *
+     * @param base the path of the archive within the outermost archive.
+     *
+     * @return the packages, or <code>null</code> if none have been recorded.
+     */
+    Packages packages(final String base) {
+        return packages.get(base);
+    }
+
+    /**
+     * Records the packages of the archive at the given path.
+     *
+     * @param base   the path of the archive within the outermost archive.
+     * @param names  the packages.
+     * @param signed tells if any entry in the archive is signed.
+     */
+    void packages(final String base, final Set<String> names, final boolean signed) {
+        if (packages.putIfAbsent(base, new Packages(names, signed)) == null) {
+            changed = true;
+        }
+    }
+
+    /**
+     * Forgets everything recorded in this snapshot, to be recorded again from the archive itself.
+     */
+    void discard() {
+        tables.clear();
+        packages.clear();
+        changed = true;
+    }
+
+    /**
+     * Writes all changed snapshots to disk.
+     */
+    static void save() {
+        final List<Snapshot> list;
+
+        synchronized (snapshots) {
+            list = new ArrayList<>(snapshots.values());
+        }
+
+        for (final Snapshot snapshot : list) {
+            snapshot.flush();
+        }
+    }
+
+    private void flush() {
+        if (changed) {
+            changed = false;
+
+            Security.invoke(() -> {
+                write();
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Forgets all snapshots loaded so far. Snapshots already written to disk are not affected.
+     */
+    static void clear() {
+        snapshots.clear();
+    }
+
+    private void read() {
+        if (!file.isFile()) {
+            return;
+        }
+
+        try {
+            final ByteArrayInputStream stream = new ByteArrayInputStream(Files.readAllBytes(file.toPath()));
+            final DataInputStream input = new DataInputStream(stream);
+
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                return;
+            }
+
+            if (input.readLong() != size || input.readLong() != modified || input.readLong() != checksum) {
+                return;
+            }
+
+            // the minimum number of bytes per item: a name and a count, a name and five integers and a long, a name and a flag and a count, and a name
+            for (int i = 0, limit = count(input, stream, 6); i < limit; ++i) {
+                final String base = input.readUTF();
+                final Record[] records = new Record[count(input, stream, 30)];
+
+                for (int j = 0; j < records.length; ++j) {
+                    records[j] = new Record(input.readUTF(), input.readInt(), input.readInt(), input.readInt(), input.readInt(), input.readInt(), input.readLong());
+                }
+
+                tables.put(base, records);
+            }
+
+            for (int i = 0, limit = count(input, stream, 7); i < limit; ++i) {
+                final String base = input.readUTF();
+                final boolean signed = input.readBoolean();
+                final Set<String> names = new HashSet<>();
+
+                for (int j = 0, count = count(input, stream, 2); j < count; ++j) {
+                    names.add(input.readUTF());
+                }
+
+                packages.put(base, new Packages(names, signed));
+            }
+        } catch (final IOException | RuntimeException e) {
+
+            // a corrupt snapshot is as good as none
+            tables.clear();
+            packages.clear();
+        }
+    }
+
+    /*
+     * Reads a count of items and checks that it is no more than the maximum, and than the number of items of the given minimum size that remain in the stream.
+     */
+    private static int count(final DataInputStream input, final ByteArrayInputStream stream, final int minimum) throws IOException {
+        final int count = input.readInt();
+
+        if (count < 0 || count > MAXIMUM || (long) count * minimum > stream.available()) {
+            throw new IOException(String.format("Invalid count: %d", count));
+        }
+
+        return count;
+    }
+
+    private void write() {
+        final File directory = file.getParentFile();
+
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            return;
+        }
+
+        try {
+            final Path temporary = Files.createTempFile(directory.toPath(), file.getName(), null);
+
+            try {
+                try (final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                    output.writeInt(MAGIC);
+                    output.writeInt(VERSION);
+                    output.writeLong(size);
+                    output.writeLong(modified);
+                    output.writeLong(checksum);
+
+                    output.writeInt(tables.size());
+
+                    for (final Map.Entry<String, Record[]> entry : tables.entrySet()) {
+                        output.writeUTF(entry.getKey());
+                        output.writeInt(entry.getValue().length);
+
+                        for (final Record record : entry.getValue()) {
+                            output.writeUTF(record.name);
+                            output.writeInt(record.method);
+                            output.writeInt(record.header);
+                            output.writeInt(record.offset);
+                            output.writeInt(record.compressed);
+                            output.writeInt(record.size);
+                            output.writeLong(record.crc);
+                        }
+                    }
+
+                    output.writeInt(packages.size());
+
+                    for (final Map.Entry<String, Packages> entry : packages.entrySet()) {
+                        output.writeUTF(entry.getKey());
+                        output.writeBoolean(entry.getValue().signed);
+                        output.writeInt(entry.getValue().names.size());
+
+                        for (final String name : entry.getValue().names) {
+                            output.writeUTF(name);
+                        }
+                    }
+                }
+
+                Files.move(temporary, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (final IOException e) {
+            // the snapshot is an optimization: failing to write it is not an error
+        }
+    }
+
+    /**
+     * An entry in the table of an archive.
+     *
+     * @author Tibor Varga
+     */
+    static final class Record {
+
+        final String name;
+        final int method;
+        final int header;
+        final int offset;
+        final int compressed;
+        final int size;
+        final long crc;
+
+        Record(final String name, final int method, final int header, final int offset, final int compressed, final int size, final long crc) {
+            this.name = name;
+            this.method = method;
+            this.header = header;
+            this.offset = offset;
+            this.compressed = compressed;
+            this.size = size;
+            this.crc = crc;
+        }
+    }
+
+    /**
+     * The packages of an archive.
+     *
+     * @author Tibor Varga
+     */
+    static final class Packages {
+
+        final Set<String> names;
+        final boolean signed;
+
+        Packages(final Set<String> names, final boolean signed) {
+            this.names = Collections.unmodifiableSet(names);
+            this.signed = signed;
+        }
+    }
+}
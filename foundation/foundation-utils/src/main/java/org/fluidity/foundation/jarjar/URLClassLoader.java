@@ -16,12 +16,14 @@
 
 package org.fluidity.foundation.jarjar;
 
+import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FilePermission;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.UnsupportedEncodingException;
 import java.net.SocketPermission;
 import java.net.URL;
@@ -39,10 +41,12 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.Attributes;
 import java.util.jar.JarFile;
@@ -63,23 +67,37 @@ import static org.fluidity.foundation.Command.Process;
 
 /**
  * Caching URL class loader that does not keep files or connections open.
+ * <p>
+ * Resources are looked up only in those archives that contain the resource's package, as computed from the archive contents or, for archives that cannot be
+ * browsed, from any {@linkplain Archives#INDEX_NAME index} found in the archives. Resources not found in archives that can be browsed, and thus cannot
+ * change, are remembered, up to a limit, and not looked up again.
+ * <p>
+ * The class loader is {@linkplain ClassLoader#registerAsParallelCapable() parallel capable}: classes of different names are loaded concurrently.
  *
  * @author Tibor Varga
  */
 public class URLClassLoader extends SecureClassLoader {
 
+    static {
+        registerAsParallelCapable();
+    }
+
     private static final int INITIAL_CAPACITY = 128;
     private static final int CONCURRENCY = Runtime.getRuntime().availableProcessors() << 1;
 
+    // the number of missing resources remembered before starting over
+    private static final int MISSING_LIMIT = 4096;
+
     private static final String FILE_ACCESS = "read";
     private static final String SOCKET_ACCESS = "connect,accept";
 
     private final AccessControlContext context = AccessController.getContext();
 
-    private final Deferred.Reference<String[]> keys;
+    private final Deferred.Reference<Index> index;
     private final Map<String, Archive> entries;
+    private final Missing missing = new Missing();
 
-    private Object cache;
+    private volatile Object cache;
 
     /**
      * Creates a new class loader based on the given URLs. Calls {@link #URLClassLoader(Collection, ClassLoader, URLStreamHandlerFactory)} with the {@linkplain
@@ -119,10 +137,10 @@ public class URLClassLoader extends SecureClassLoader {
 
         final Collection<URL> locations = new ArrayList<>(urls);
 
-        this.cache = Archives.Cache.capture(false);
+        this.cache = Handler.Cache.bind(Archives.Cache.capture(false));
         this.entries = new LinkedHashMap<>(locations.size(), 1.0f);
 
-        this.keys = Deferred.shared(() -> {
+        this.index = Deferred.shared(() -> {
             final List<String> collected = new ArrayList<>();
 
             // collects all processed URLs, may be recursive when an archive refers to others as its class path
@@ -146,15 +164,23 @@ public class URLClassLoader extends SecureClassLoader {
                 }
             };
 
-            cache = Exceptions.wrap(() -> {
+            // retain only the archives used by this loader
+            cache = Handler.Cache.bind(Exceptions.wrap(() -> {
                 for (final URL url : locations) {
                     collect.run(url);
                 }
 
+                for (final String key : collected) {
+                    entries.get(key).index(entries, factory);
+                }
+
                 return Archives.Cache.capture(true);
-            });
+            }));
 
-            return Lists.asArray(String.class, collected);
+            final Index index = new Index(collected, entries);
+            Snapshot.save();
+
+            return index;
         });
     }
 
@@ -165,7 +191,7 @@ public class URLClassLoader extends SecureClassLoader {
 
     @SuppressWarnings("RedundantCast")  // won't compile without the cast
     private <R, T extends Exception, E extends Exception> R access(final Object label, final Class<T> wrapper, final Process<R, E> action) throws T {
-        return Exceptions.wrap(label, wrapper, (Process<R, E>) () -> Archives.Cache.access(cache, action));
+        return Exceptions.wrap(label, wrapper, (Process<R, E>) () -> Handler.Cache.access(cache, action));
     }
 
     @Override
@@ -175,12 +201,18 @@ public class URLClassLoader extends SecureClassLoader {
                       () -> Security.invoke(Exception.class, context, () -> {
                           final String resource = ClassLoaders.classResourceName(name);
 
-                          for (final String key : keys.get()) {
-                              final Archive.Entry entry = entry(key, resource);
+                          if (!missing.contains(resource)) {
+                              final String[] keys = index.get().archives(resource);
+
+                              for (final String key : keys) {
+                                  final Archive.Entry entry = entry(key, resource);
 
-                              if (entry != null) {
-                                  return entry.define(name);
+                                  if (entry != null) {
+                                      return entry.define(name);
+                                  }
                               }
+
+                              missing(resource, keys);
                           }
 
                           throw new ClassNotFoundException(name);
@@ -189,8 +221,10 @@ public class URLClassLoader extends SecureClassLoader {
 
     @Override
     protected URL findResource(final String name) {
-        return access(null, null, () -> Security.invoke(context, () -> {
-            for (final String key : keys.get()) {
+        return missing.contains(name) ? null : access(null, null, () -> Security.invoke(context, () -> {
+            final String[] keys = index.get().archives(name);
+
+            for (final String key : keys) {
                 try {
                     final Archive.Entry entry = entry(key, name);
 
@@ -202,16 +236,22 @@ public class URLClassLoader extends SecureClassLoader {
                 }
             }
 
+            missing(name, keys);
             return null;
         }));
     }
 
     @Override
     protected Enumeration<URL> findResources(final String name) throws IOException {
+        if (missing.contains(name)) {
+            return Collections.emptyEnumeration();
+        }
+
         return access(null, null, () -> Security.invoke(context, () -> {
             final List<URL> list = new ArrayList<>();
+            final String[] keys = index.get().archives(name);
 
-            for (final String key : keys.get()) {
+            for (final String key : keys) {
                 try {
                     final Archive.Entry entry = entry(key, name);
 
@@ -223,10 +263,34 @@ public class URLClassLoader extends SecureClassLoader {
                 }
             }
 
+            if (list.isEmpty()) {
+                missing(name, keys);
+            }
+
             return Collections.enumeration(list);
         }));
     }
 
+    /**
+     * Remembers the given resource as missing if none of the given archives can change and the resource is not a directory.
+     *
+     * @param resource the resource not found.
+     * @param keys     the keys of the archives searched for the resource.
+     */
+    private void missing(final String resource, final String[] keys) {
+        if (resource.isEmpty() || resource.endsWith("/")) {
+            return;
+        }
+
+        for (final String key : keys) {
+            if (entries.get(key).partial()) {
+                return;
+            }
+        }
+
+        missing.add(resource);
+    }
+
     @Override
     protected PermissionCollection getPermissions(final CodeSource source) {
         final PermissionCollection permissions = super.getPermissions(source);
@@ -314,14 +378,22 @@ public class URLClassLoader extends SecureClassLoader {
                     throw new SecurityException(String.format("sealing violation: can't seal package %s: already loaded", packageName));
                 }
             } else {
-                definePackage(packageName,
-                              manifest == null ? null : attribute(entry, main, Attributes.Name.SPECIFICATION_TITLE),
-                              manifest == null ? null : attribute(entry, main, Attributes.Name.SPECIFICATION_VERSION),
-                              manifest == null ? null : attribute(entry, main, Attributes.Name.SPECIFICATION_VENDOR),
-                              manifest == null ? null : attribute(entry, main, Attributes.Name.IMPLEMENTATION_TITLE),
-                              manifest == null ? null : attribute(entry, main, Attributes.Name.IMPLEMENTATION_VERSION),
-                              manifest == null ? null : attribute(entry, main, Attributes.Name.IMPLEMENTATION_VENDOR),
-                              sealed ? url : null);
+                try {
+                    definePackage(packageName,
+                                  manifest == null ? null : attribute(entry, main, Attributes.Name.SPECIFICATION_TITLE),
+                                  manifest == null ? null : attribute(entry, main, Attributes.Name.SPECIFICATION_VERSION),
+                                  manifest == null ? null : attribute(entry, main, Attributes.Name.SPECIFICATION_VENDOR),
+                                  manifest == null ? null : attribute(entry, main, Attributes.Name.IMPLEMENTATION_TITLE),
+                                  manifest == null ? null : attribute(entry, main, Attributes.Name.IMPLEMENTATION_VERSION),
+                                  manifest == null ? null : attribute(entry, main, Attributes.Name.IMPLEMENTATION_VENDOR),
+                                  sealed ? url : null);
+                } catch (final IllegalArgumentException e) {
+
+                    // another thread has defined the package since we checked
+                    if (getPackage(packageName) == null) {
+                        throw e;
+                    }
+                }
             }
         }
 
@@ -355,6 +427,64 @@ public class URLClassLoader extends SecureClassLoader {
 
         Entry entry(String resource) throws IOException;
 
+        /**
+         * Returns the packages, i.e., the resource name prefixes up to the last '/', of the entries in the archive.
+         *
+         * @return the packages of the entries in the archive, or <code>null</code> if the archive cannot be browsed and no index listed its packages.
+         */
+        Set<String> packages();
+
+        /**
+         * Tells if the archive may contain resources not in its {@link #packages()}. True for archives that cannot be browsed.
+         *
+         * @return <code>true</code> if the archive may contain resources not in its packages; <code>false</code> otherwise.
+         */
+        boolean partial();
+
+        /**
+         * Assigns packages to the archives listed in the {@linkplain Archives#INDEX_NAME index} of this archive, if any.
+         *
+         * @param archives the archives to assign packages to, keyed by their URL.
+         * @param factory  the optional {@link URLStreamHandlerFactory} if some URLs are not otherwise understood by the system.
+         *
+         * @throws IOException when reading the index fails.
+         */
+        default void index(final Map<String, Archive> archives, final URLStreamHandlerFactory factory) throws IOException {
+            final Entry index = entry(Archives.INDEX_NAME);
+
+            if (index == null || index == Entry.NOT_FOUND) {
+                return;
+            }
+
+            try (final BufferedReader reader = new BufferedReader(new InputStreamReader(index.stream(), Strings.UTF_8))) {
+
+                // the header is separated from the sections by an empty line; each section starts with the archive name followed by its packages
+                boolean header = true;
+                Set<String> section = null;
+
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    line = line.trim();
+
+                    if (line.isEmpty()) {
+                        header = false;
+                        section = null;
+                    } else if (!header) {
+                        if (section == null) {
+                            final Archive archive = archives.get(Archives.relativeURL(index.root(), line, factory).toExternalForm());
+                            section = archive instanceof LazyLoadedArchive ? ((LazyLoadedArchive) archive).listed() : new HashSet<>();
+                        } else {
+                            section.add(line);
+
+                            // a name without a slash is either a top level package or a file in the root directory
+                            if (line.indexOf('/') < 0) {
+                                section.add("");
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
         /**
          * Represents an entry in an archive.
          *
@@ -416,6 +546,7 @@ public class URLClassLoader extends SecureClassLoader {
     private class LazyLoadedArchive implements Archive {
 
         private final Map<String, Entry> map = new ConcurrentHashMap<>(INITIAL_CAPACITY, 0.75f, CONCURRENCY);
+        private final Set<String> listed = new HashSet<>();
         private final Manifest manifest;
 
         private final URL root;
@@ -492,6 +623,23 @@ public class URLClassLoader extends SecureClassLoader {
 
             return found;
         }
+
+        public Set<String> packages() {
+            return listed.isEmpty() ? null : listed;
+        }
+
+        public boolean partial() {
+            return true;
+        }
+
+        /**
+         * Returns the modifiable set of packages listed for this archive in an {@linkplain Archives#INDEX_NAME index}.
+         *
+         * @return the packages listed for this archive.
+         */
+        Set<String> listed() {
+            return listed;
+        }
     }
 
     /**
@@ -501,59 +649,224 @@ public class URLClassLoader extends SecureClassLoader {
      */
     private class PackagedArchive implements Archive {
 
-        private final Map<String, Archive.Entry> map = new HashMap<>(INITIAL_CAPACITY);
+        private final Map<String, Archive.Entry> map = new ConcurrentHashMap<>(INITIAL_CAPACITY, 0.75f, CONCURRENCY);
+        private final Set<String> packages;
+        private final Manifest manifest;
+
+        private final URL root;
+        private final Handler.Cache.Entry archive;
+
+        // entries are loaded on demand when the packages have been recorded in a snapshot
+        private final boolean recorded;
 
         PackagedArchive(final URL url,
                         final Handler.Cache.Entry archive,
                         final URLStreamHandlerFactory factory,
                         final Command.Operation<URL, IOException> collect) throws IOException {
-            final Manifest manifest[] = { null };
+            this.root = url;
+            this.archive = archive;
 
-            Archives.read(archive.data(), url, (_url, entry) -> (__url, _entry, stream) -> {
-                final String resource = _entry.getName();
-                final CodeSigner[] signers = _entry.getCodeSigners();
+            final Snapshot snapshot = Snapshot.find(url);
+            final String base = Snapshot.base(url);
+            final Snapshot.Packages packages = snapshot == null ? null : snapshot.packages(base);
 
-                final byte[] data = archive.entry(resource).data();
-                assert data != null : Handler.formatURL(__url, resource);
+            // code signers are known only after reading an archive through, so signed archives are always read so
+            if (packages != null && !packages.signed) {
+                this.recorded = true;
+                this.packages = packages.names;
 
-                if (JarFile.MANIFEST_NAME.equals(resource)) {
-                    manifest[0] = new Manifest(new ByteArrayInputStream(data));
-                }
+                final Entry entry = entry(JarFile.MANIFEST_NAME);
+                this.manifest = entry == null ? null : new Manifest(entry.stream());
+            } else {
+                this.recorded = false;
+                this.packages = new HashSet<>();
 
-                map.put(resource, new Entry() {
-                    private final URL entry = Archives.Nested.formatURL(__url, resource);
+                final Manifest manifest[] = { null };
+                final boolean signed[] = { false };
 
-                    public Class<?> define(final String resource) throws IOException {
-                        return defineClass(resource, data, 0, data.length, signers, this);
-                    }
+                Archives.read(archive.data(), url, (_url, entry) -> (__url, _entry, stream) -> {
+                    final String resource = _entry.getName();
+                    final CodeSigner[] signers = _entry.getCodeSigners();
 
-                    public URL url() {
-                        return entry;
-                    }
+                    final byte[] data = archive.entry(resource).data();
+                    assert data != null : Handler.formatURL(__url, resource);
 
-                    public Manifest manifest() throws IOException {
-                        return manifest[0];
+                    if (JarFile.MANIFEST_NAME.equals(resource)) {
+                        manifest[0] = new Manifest(new ByteArrayInputStream(data));
                     }
 
-                    public InputStream stream() throws IOException {
-                        return new ByteArrayInputStream(data);
-                    }
+                    signed[0] |= signers != null;
+                    this.packages.add(Index.prefix(resource));
+                    map.put(resource, entry(resource, data, signers));
 
-                    public URL root() {
-                        return __url;
-                    }
+                    return true;
                 });
 
-                return true;
-            });
+                this.manifest = manifest[0];
+
+                if (snapshot != null) {
+                    snapshot.packages(base, this.packages, signed[0]);
+                }
+            }
 
-            for (final URL relative : classpath(url, manifest[0], factory)) {
+            for (final URL relative : classpath(url, manifest, factory)) {
                 collect.run(relative);
             }
         }
 
-        public Entry entry(final String resource) {
-            return map.get(resource);
+        public Entry entry(final String resource) throws IOException {
+            final Entry found = map.get(resource);
+
+            if (found != null || !recorded || !packages.contains(Index.prefix(resource))) {
+                return found;
+            }
+
+            Entry created;
+
+            try {
+                final Handler.Cache.Entry entry = archive.entry(resource);
+                created = entry == null ? Archive.Entry.NOT_FOUND : entry(resource, entry.data(), null);
+            } catch (final FileNotFoundException e) {
+                created = Archive.Entry.NOT_FOUND;
+            }
+
+            map.put(resource, created);
+
+            return created;
+        }
+
+        private Entry entry(final String resource, final byte[] data, final CodeSigner[] signers) throws IOException {
+            return new Entry() {
+                private final URL entry = Archives.Nested.formatURL(root, resource);
+
+                public Class<?> define(final String resource) throws IOException {
+                    return defineClass(resource, data, 0, data.length, signers, this);
+                }
+
+                public URL url() {
+                    return entry;
+                }
+
+                public Manifest manifest() throws IOException {
+                    return manifest;
+                }
+
+                public InputStream stream() throws IOException {
+                    return new ByteArrayInputStream(data);
+                }
+
+                public URL root() {
+                    return root;
+                }
+            };
+        }
+
+        public Set<String> packages() {
+            return packages;
+        }
+
+        public boolean partial() {
+            return false;
+        }
+    }
+
+    /**
+     * The names of resources not found, forgotten all at once when there are too many of them.
+     *
+     * @author Tibor Varga
+     */
+    private static final class Missing {
+
+        private final Set<String> names = Collections.newSetFromMap(new ConcurrentHashMap<>(INITIAL_CAPACITY, 0.75f, CONCURRENCY));
+
+        boolean contains(final String name) {
+            return names.contains(name);
+        }
+
+        void add(final String name) {
+            if (names.size() >= MISSING_LIMIT) {
+                names.clear();
+            }
+
+            names.add(name);
+        }
+    }
+
+    /**
+     * Maps packages to the archives that may contain resources in them, in class path order.
+     *
+     * @author Tibor Varga
+     */
+    private static final class Index {
+
+        private static final String META_INF = Archives.META_INF.concat("/");
+
+        private final Map<String, String[]> packages = new HashMap<>();
+
+        // archives that cannot be browsed: all of them are searched for resources under META-INF, unlisted ones for everything
+        private final String[] unlisted;
+        private final String[] partial;
+
+        Index(final List<String> keys, final Map<String, Archive> archives) {
+            final Map<String, List<String>> index = new HashMap<>();
+            final List<String> unlisted = new ArrayList<>();
+            final List<String> partial = new ArrayList<>();
+
+            for (final String key : keys) {
+                final Archive archive = archives.get(key);
+                final Set<String> listed = archive.packages();
+
+                if (listed != null) {
+                    for (final String prefix : listed) {
+                        index.computeIfAbsent(prefix, _prefix -> new ArrayList<>(meta(_prefix) ? partial : unlisted)).add(key);
+                    }
+                }
+
+                if (archive.partial()) {
+                    partial.add(key);
+
+                    if (listed == null) {
+                        unlisted.add(key);
+                    }
+
+                    for (final Map.Entry<String, List<String>> entry : index.entrySet()) {
+                        final List<String> list = entry.getValue();
+
+                        if ((listed == null || meta(entry.getKey())) && !list.contains(key)) {
+                            list.add(key);
+                        }
+                    }
+                }
+            }
+
+            for (final Map.Entry<String, List<String>> entry : index.entrySet()) {
+                packages.put(entry.getKey(), Lists.asArray(String.class, entry.getValue()));
+            }
+
+            this.unlisted = Lists.asArray(String.class, unlisted);
+            this.partial = Lists.asArray(String.class, partial);
+        }
+
+        /**
+         * Returns the keys of the archives that may contain the given resource.
+         *
+         * @param resource the resource name.
+         *
+         * @return the keys of the archives, in class path order.
+         */
+        String[] archives(final String resource) {
+            final String prefix = prefix(resource);
+            final String[] found = packages.get(prefix);
+            return found != null ? found : meta(prefix) ? partial : unlisted;
+        }
+
+        private static boolean meta(final String prefix) {
+            return prefix.startsWith(META_INF) || prefix.equals(Archives.META_INF);
+        }
+
+        static String prefix(final String resource) {
+            final int slash = resource.lastIndexOf('/');
+            return slash < 0 ? "" : resource.substring(0, slash);
         }
     }
 }
@@ -17,6 +17,7 @@
 package org.fluidity.foundation;
 
 import java.io.Serializable;
+import java.lang.annotation.Annotation;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.reflect.Constructor;
@@ -24,6 +25,7 @@ import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
+import java.util.Arrays;
 import java.util.Objects;
 
 import org.testng.annotations.Test;
@@ -394,6 +396,36 @@ public class GenericsTest {
         assert typeParameter(type9, 2) == I3.class : type9;
     }
 
+    @Test
+    public void testMemoization() throws Exception {
+        final Type type = specializedType(Memoized2.class, Memoized.class);
+        assert type instanceof ParameterizedType && ((ParameterizedType) type).getActualTypeArguments()[0] == String.class : type;
+        assert specializedType(Memoized2.class, Memoized.class) == type;
+
+        final Constructor<?> constructor = Memoized3.class.getDeclaredConstructors()[0];
+        final Generics.Parameters parameters = describe(constructor);
+        assert describe(constructor) == parameters;
+
+        assert isAssignable(Memoized1.class, Memoized2.class);
+        assert isAssignable(Memoized1.class, Memoized2.class);
+        assert !isAssignable(Memoized2.class, Memoized1.class);
+    }
+
+    @Test
+    public void testMemoizedAnnotations() throws Exception {
+        final Constructor<?> constructor = Memoized3.class.getDeclaredConstructors()[0];
+
+        final Annotation[] annotations = describe(constructor).annotations(0);
+        assert annotations.length == 1 && annotations[0] instanceof A1 : Arrays.toString(annotations);
+
+        // a caller changing its copy does not change what other callers get
+        annotations[0] = null;
+
+        final Annotation[] again = describe(constructor).annotations(0);
+        assert again != annotations;
+        assert again.length == 1 && again[0] instanceof A1 : Arrays.toString(again);
+    }
+
     @Test
     public void testAssignmentChecks() throws Exception {
 
@@ -967,4 +999,16 @@ public class GenericsTest {
 
         final Reference<T> dependency = null;
     }
+
+    private interface Memoized<T> { }
+
+    private static class Memoized1 implements Memoized<String> { }
+
+    private static class Memoized2 extends Memoized1 { }
+
+    private static class Memoized3 {
+
+        @SuppressWarnings("UnusedParameters")
+        Memoized3(final @A1 Memoized<String> dependency) { }
+    }
 }
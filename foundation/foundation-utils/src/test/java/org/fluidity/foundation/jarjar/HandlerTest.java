@@ -16,20 +16,29 @@
 
 package org.fluidity.foundation.jarjar;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.net.URLConnection;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
 import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
 
 import org.fluidity.foundation.Archives;
 import org.fluidity.foundation.IOStreams;
@@ -227,6 +236,59 @@ public class HandlerTest {
         assert error.get() == null : error.get();
     }
 
+    @Test
+    public void testConcurrentLoading() throws Exception {
+        final URL[] urls = {
+                Handler.formatURL(container, "level1-1.jar", "level2.jar", "level3.jar", "level3.txt"),
+                Handler.formatURL(container, "level1-2.jar", "level2.jar", "level3.jar", "level3.txt"),
+                Handler.formatURL(container, "level1-2.jar", "level2.jar", "level2.txt"),
+        };
+
+        final String[] expected = { "level 3", "level 3", "level 2" };
+
+        final int count = 8;
+        final CyclicBarrier barrier = new CyclicBarrier(count);
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final List<Thread> threads = new ArrayList<>();
+
+        Archives.Cache.access(() -> {
+            for (int i = 0; i < count; ++i) {
+                final int offset = i;
+
+                threads.add(new Thread(() -> {
+                    try {
+                        barrier.await(1, TimeUnit.SECONDS);
+
+                        for (int j = 0; j < urls.length; ++j) {
+                            final int index = (j + offset) % urls.length;
+                            verify(expected[index], new String(Handler.Cache.contents(urls[index]), Strings.ASCII).replaceAll("\n", ""));
+                        }
+                    } catch (final Throwable e) {
+                        error.compareAndSet(null, e);
+                    }
+                }));
+            }
+
+            threads.forEach(Thread::start);
+
+            for (final Thread thread : threads) {
+                thread.join(1000);
+            }
+
+            for (final URL url : urls) {
+                assert Handler.Cache.loaded(url, true) : url;
+            }
+
+            return null;
+        });
+
+        for (final Thread thread : threads) {
+            assert !thread.isAlive();
+        }
+
+        assert error.get() == null : error.get();
+    }
+
     @Test
     public void testFormatting() throws Exception {
         final URL expected = Handler.formatURL(container, "level1-2.jar", "level2.jar", "level3.jar");
@@ -346,6 +408,73 @@ public class HandlerTest {
                new URL(Handler.formatURL(container, "level1-2.jar"), "level2-2.jar"));
     }
 
+    @Test
+    public void testMappedStorage() throws Exception {
+        final byte[] large = new byte[128 * 1024];
+        new Random().nextBytes(large);
+
+        final File file = File.createTempFile(getClass().getSimpleName(), ".jar");
+        file.deleteOnExit();
+
+        try (final JarOutputStream output = new JarOutputStream(new FileOutputStream(file))) {
+            final byte[] stored = archive("stored.txt", "stored".getBytes(Strings.ASCII));
+            final CRC32 crc = new CRC32();
+            crc.update(stored);
+
+            final JarEntry entry = new JarEntry("stored.jar");
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(stored.length);
+            entry.setCompressedSize(stored.length);
+            entry.setCrc(crc.getValue());
+
+            output.putNextEntry(entry);
+            output.write(stored);
+
+            output.putNextEntry(new JarEntry("large.jar"));
+            output.write(archive("large.bin", large));
+        }
+
+        final URL root = file.toURI().toURL();
+        final File temporary = file.getParentFile();
+        final Set<String> spilled = new HashSet<>(Arrays.asList(temporary.list()));
+
+        try {
+            try (final InputStream input = Archives.open(Handler.formatURL(root, "stored.jar", "stored.txt"), true)) {
+                verify("stored", IOStreams.load(input, Strings.ASCII, BUFFER));
+            }
+
+            try (final InputStream input = Archives.open(Handler.formatURL(root, "large.jar", "large.bin"), true)) {
+                assert Arrays.equals(large, IOStreams.load(input, BUFFER));
+            }
+
+            // served from the mapped archive and from a mapped temporary file, respectively
+            assert Handler.Cache.archive(Handler.formatURL(root, "stored.jar")).buffer().isDirect();
+            assert Handler.Cache.archive(Handler.formatURL(root, "large.jar")).buffer().isDirect();
+
+            // the mapped temporary file is not left behind
+            final Set<String> remaining = new HashSet<>(Arrays.asList(temporary.list()));
+            remaining.removeAll(spilled);
+            assert remaining.isEmpty() : remaining;
+
+            // mapped contents are copied once
+            final URL stored = Handler.formatURL(root, "stored.jar");
+            assert Handler.cached(stored) == Handler.cached(stored);
+        } finally {
+            Handler.Cache.unload(Handler.formatURL(root, "stored.jar"));
+        }
+    }
+
+    private byte[] archive(final String name, final byte[] content) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (final JarOutputStream output = new JarOutputStream(bytes)) {
+            output.putNextEntry(new JarEntry(name));
+            output.write(content);
+        }
+
+        return bytes.toByteArray();
+    }
+
     private void verify(final Object expected, final Object actual) {
         assert Objects.equals(expected, actual) : String.format("%nExpected %s,%n     got %s", expected, actual);
     }
@@ -16,8 +16,23 @@
 
 package org.fluidity.foundation.jarjar;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.fluidity.foundation.ClassLoaders;
 
@@ -40,4 +55,208 @@ public class URLClassLoaderTest {
         // this is what we are verifying
         assert ClassLoaders.create(Collections.singleton(root), null).loadClass("org.fluidity.samples.Root").newInstance() != null;
     }
+
+    @Test
+    public void testResourceLookup() throws Exception {
+        final ClassLoader loader = ClassLoaders.create(Collections.singleton(root), null);
+
+        assert loader.loadClass("org.fluidity.samples.Dependency3Level1") != null;
+
+        final List<URL> resources = Collections.list(loader.getResources("resource-1.txt"));
+        assert resources.size() == 2 : resources;
+        assert resources.get(0).toExternalForm().contains("dependency-1.jar") : resources;
+        assert resources.get(1).toExternalForm().contains("dependency-3.jar") : resources;
+
+        // misses are answered twice the same way: once from the archives, once from the negative cache
+        for (int i = 0; i < 2; ++i) {
+            assert loader.getResource("org/fluidity/samples/Missing.class") == null;
+            assert loader.getResource("org/fluidity/missing/Missing.class") == null;
+            assert !loader.getResources("missing.txt").hasMoreElements();
+            assert loader.getResource("org/fluidity/missing/") == null;
+
+            try {
+                loader.loadClass("org.fluidity.samples.Missing");
+                assert false : "Should have thrown ClassNotFoundException";
+            } catch (final ClassNotFoundException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testManyMisses() throws Exception {
+        final ClassLoader loader = ClassLoaders.create(Collections.singleton(root), null);
+
+        // more misses than remembered
+        for (int i = 0; i < 10000; ++i) {
+            assert loader.getResource(String.format("org/fluidity/samples/Missing%d.class", i)) == null;
+        }
+
+        assert loader.getResource("org/fluidity/samples/Missing0.class") == null;
+        assert loader.loadClass("org.fluidity.samples.Root").getClassLoader() == loader;
+    }
+
+    @Test
+    public void testConcurrentLoading() throws Exception {
+        final String[] names = {
+                "org.fluidity.samples.Root",
+                "org.fluidity.samples.Level0",
+                "org.fluidity.samples.Dependency1Level1",
+                "org.fluidity.samples.Dependency2Level1",
+                "org.fluidity.samples.Dependency3Level1",
+        };
+
+        final int threads = 8;
+        final ClassLoader loader = ClassLoaders.create(Collections.singleton(root), null);
+        final CyclicBarrier barrier = new CyclicBarrier(threads);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            final List<Future<Class<?>[]>> results = new ArrayList<>();
+
+            for (int i = 0; i < threads; ++i) {
+                results.add(executor.submit(() -> {
+                    final Class<?>[] loaded = new Class<?>[names.length];
+
+                    barrier.await(10, TimeUnit.SECONDS);
+
+                    for (int j = 0; j < names.length; ++j) {
+                        loaded[j] = loader.loadClass(names[j]);
+                    }
+
+                    return loaded;
+                }));
+            }
+
+            final Class<?>[] expected = results.get(0).get(10, TimeUnit.SECONDS);
+
+            for (final Future<Class<?>[]> result : results) {
+                final Class<?>[] loaded = result.get(10, TimeUnit.SECONDS);
+
+                for (int j = 0; j < names.length; ++j) {
+                    assert loaded[j] == expected[j] : names[j];
+                    assert loaded[j].getClassLoader() == loader : names[j];
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSnapshot() throws Exception {
+        final Path directory = Files.createTempDirectory(getClass().getSimpleName());
+        final Path cache = directory.resolve("cache");
+
+        // fresh file names make sure the archives are loaded, and their snapshots created, by this test
+        final URL copy = copy(container, directory);
+        copy("classpath/dependencies/dependency-1.jar", directory.resolve("dependencies"));
+        copy("classpath/dependencies/dependency-2.jar", directory.resolve("dependencies"));
+        copy("classpath/dependencies/dependency-3.jar", directory.resolve("dependencies"));
+
+        System.setProperty(Handler.CACHE_DIRECTORY, cache.toString());
+
+        try {
+            final Object empty = Handler.access(() -> Handler.capture(true));
+            final Snapshot.Record[] original = { null };
+
+            Handler.access(empty, () -> {
+                final ClassLoader loader = ClassLoaders.create(Collections.singleton(copy), null);
+                assert loader.loadClass("org.fluidity.samples.Root").getClassLoader() == loader;
+                return null;
+            });
+
+            final String[] files = cache.toFile().list();
+            assert files != null && files.length == 4 : files == null ? null : String.join(", ", (CharSequence[]) files);
+
+            Snapshot.clear();
+
+            Handler.access(empty, () -> {
+                Handler.Cache.load(copy);
+
+                final Snapshot snapshot = Snapshot.find(copy);
+                assert snapshot != null && snapshot.packages("") != null && snapshot.table("") != null;
+
+                final ClassLoader loader = ClassLoaders.create(Collections.singleton(copy), null);
+                assert loader.loadClass("org.fluidity.samples.Root").getClassLoader() == loader;
+                assert loader.loadClass("org.fluidity.samples.Dependency3Level1").getClassLoader() == loader;
+                assert loader.getResource("resource-1.txt") != null;
+                assert loader.getResource("org/fluidity/samples/Missing.class") == null;
+
+                // forge the checksum of an entry
+                final Snapshot.Record[] records = snapshot.table("");
+                final Snapshot.Record record = original[0] = records[0];
+                final Snapshot.Record[] table = records.clone();
+                table[0] = new Snapshot.Record(record.name, record.method, record.header, record.offset, record.compressed, record.size, ~record.crc & 0xFFFFFFFFL);
+
+                snapshot.discard();
+                snapshot.table("", table);
+                Snapshot.save();
+
+                return null;
+            });
+
+            Snapshot.clear();
+
+            Handler.access(Handler.access(() -> Handler.capture(true)), () -> {
+                Handler.Cache.load(copy);
+
+                // the forged snapshot is replaced by the actual entry table
+                final Snapshot snapshot = Snapshot.find(copy);
+                assert snapshot != null;
+
+                final Snapshot.Record[] records = snapshot.table("");
+                assert records != null && records[0].name.equals(original[0].name) && records[0].crc == original[0].crc;
+
+                final ClassLoader loader = ClassLoaders.create(Collections.singleton(copy), null);
+                assert loader.loadClass("org.fluidity.samples.Root").getClassLoader() == loader;
+
+                return null;
+            });
+
+            // corrupt the number of records in the first entry table: header, number of tables, name of the first table, number of its records
+            final Path file = cache.resolve(UUID.nameUUIDFromBytes(new File(copy.toURI()).getAbsolutePath().getBytes(StandardCharsets.UTF_8)) + ".idx");
+            final ByteBuffer contents = ByteBuffer.wrap(Files.readAllBytes(file));
+            contents.putInt(34 + contents.getShort(32), Integer.MAX_VALUE);
+            Files.write(file, contents.array());
+
+            Snapshot.clear();
+
+            Handler.access(Handler.access(() -> Handler.capture(true)), () -> {
+                Handler.Cache.load(copy);
+
+                // the corrupt snapshot is ignored and the entry table recorded again
+                final Snapshot snapshot = Snapshot.find(copy);
+                assert snapshot != null && snapshot.table("") != null;
+
+                final ClassLoader loader = ClassLoaders.create(Collections.singleton(copy), null);
+                assert loader.loadClass("org.fluidity.samples.Root").getClassLoader() == loader;
+
+                return null;
+            });
+        } finally {
+            System.clearProperty(Handler.CACHE_DIRECTORY);
+            Snapshot.clear();
+
+            final File[] files = cache.toFile().listFiles();
+
+            if (files != null) {
+                for (final File file : files) {
+                    file.deleteOnExit();
+                }
+            }
+        }
+    }
+
+    private URL copy(final String resource, final Path directory) throws IOException {
+        Files.createDirectories(directory);
+        final File file = directory.resolve(new File(resource).getName()).toFile();
+
+        try (final InputStream input = getClass().getClassLoader().getResourceAsStream(resource)) {
+            Files.copy(input, file.toPath());
+        }
+
+        file.deleteOnExit();
+        return file.toURI().toURL();
+    }
 }
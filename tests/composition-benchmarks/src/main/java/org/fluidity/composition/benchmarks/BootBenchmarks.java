@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2006-2018 Tibor Adam Varga (tibor.adam.varga on gmail)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fluidity.composition.benchmarks;
+
+import java.io.File;
+import java.lang.reflect.Array;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.fluidity.composition.ComponentContainer;
+import org.fluidity.composition.Containers;
+import org.fluidity.composition.OpenContainer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the full boot of the container: {@link Containers#prepare(ClassLoader)} followed by the first component resolution, in a new class loader each
+ * time so that nothing is reused between invocations. The measurement thus includes loading the container classes and discovering the package bindings.
+ *
+ * @author Tibor Varga
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(3)
+public class BootBenchmarks {
+
+    private URL[] classpath;
+
+    @Setup
+    public void setup() throws Exception {
+        final List<URL> urls = new ArrayList<>();
+
+        for (final String path : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            urls.add(new File(path).toURI().toURL());
+        }
+
+        classpath = urls.toArray(new URL[urls.size()]);
+    }
+
+    @Benchmark
+    public Object boot() throws Exception {
+        try (final URLClassLoader loader = new URLClassLoader(classpath, ClassLoader.getSystemClassLoader().getParent())) {
+            final Class<?> containers = loader.loadClass(ComponentContainer.class.getName());
+            final Object bindings = Array.newInstance(loader.loadClass(ComponentContainer.Bindings.class.getName()), 0);
+
+            final Object boundary = loader.loadClass(Containers.class.getName()).getMethod("prepare", ClassLoader.class).invoke(null, loader);
+            final Object container = containers.getMethod("makeChildContainer", bindings.getClass()).invoke(boundary, bindings);
+
+            return loader.loadClass(OpenContainer.class.getName())
+                    .getMethod("getComponent", Class.class)
+                    .invoke(container, loader.loadClass(Fixtures.Singleton.class.getName()));
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2006-2018 Tibor Adam Varga (tibor.adam.varga on gmail)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fluidity.composition.benchmarks;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.fluidity.composition.ComponentContainer;
+import org.fluidity.foundation.Archives;
+import org.fluidity.foundation.ClassLoaders;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the loading of all Fluid Tools classes found in the archive that contains the container API through a new {@link
+ * org.fluidity.foundation.jarjar.URLClassLoader} each time, by the given number of threads at once. Each thread loads all classes, in an order of its own, so
+ * that threads contend for both the same and different class names.
+ *
+ * @author Tibor Varga
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(3)
+public class ClassLoadingBenchmarks {
+
+    private static final String PACKAGE = "org/fluidity/";
+    private static final String CLASS_SUFFIX = ".class";
+
+    @Param({ "1", "4", "8" })
+    public int threads;
+
+    private URL archive;
+    private final List<List<String>> orders = new ArrayList<>();
+
+    private ExecutorService executor;
+    private ClassLoader loader;
+
+    @Setup
+    public void setup() throws Exception {
+        archive = Archives.containing(ComponentContainer.class);
+
+        final List<String> names = new ArrayList<>();
+
+        Archives.read(archive, true, (url, entry) -> {
+            final String name = entry.getName();
+
+            if (name.startsWith(PACKAGE) && name.endsWith(CLASS_SUFFIX) && !name.contains("jmh_generated")) {
+                names.add(name.substring(0, name.length() - CLASS_SUFFIX.length()).replace('/', '.'));
+            }
+
+            return null;
+        });
+
+        if (names.isEmpty()) {
+            throw new IllegalStateException(String.format("No classes found in %s", archive));
+        }
+
+        final Random random = new Random(0);
+
+        for (int i = 0; i < threads; ++i) {
+            final List<String> order = new ArrayList<>(names);
+            Collections.shuffle(order, random);
+            orders.add(order);
+        }
+
+        executor = Executors.newFixedThreadPool(threads);
+    }
+
+    @Setup(Level.Invocation)
+    public void loader() {
+        loader = ClassLoaders.create(Collections.singleton(archive), ClassLoader.getSystemClassLoader().getParent(), null);
+    }
+
+    @TearDown
+    public void teardown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public int load() throws Exception {
+        final ClassLoader loader = this.loader;
+        final List<Future<Integer>> results = new ArrayList<>();
+
+        for (final List<String> order : orders) {
+            results.add(executor.submit(() -> {
+                int loaded = 0;
+
+                for (final String name : order) {
+                    try {
+                        loader.loadClass(name);
+                        ++loaded;
+                    } catch (final ClassNotFoundException | LinkageError e) {
+                        // not every class can be loaded without its optional dependencies
+                    }
+                }
+
+                return loaded;
+            }));
+        }
+
+        int loaded = 0;
+        for (final Future<Integer> result : results) {
+            loaded += result.get();
+        }
+
+        return loaded;
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2006-2018 Tibor Adam Varga (tibor.adam.varga on gmail)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fluidity.composition.benchmarks;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Type;
+
+import org.fluidity.composition.Component;
+import org.fluidity.composition.ComponentContext;
+import org.fluidity.composition.ComponentGroup;
+import org.fluidity.composition.Qualifier;
+import org.fluidity.composition.spi.ComponentInterceptor;
+import org.fluidity.composition.spi.ContainerTermination;
+import org.fluidity.composition.spi.Dependency;
+import org.fluidity.foundation.Command;
+import org.fluidity.foundation.Configuration;
+import org.fluidity.foundation.Utility;
+
+/**
+ * The components the benchmarks resolve. They are bound to the container by the bindings the <code>composition-maven-plugin</code> generates for this module.
+ *
+ * @author Tibor Varga
+ */
+@SuppressWarnings("WeakerAccess")
+public final class Fixtures extends Utility {
+
+    private Fixtures() { }
+
+    public interface Singleton { }
+
+    public interface Dependency1 { }
+
+    public interface Dependency2 { }
+
+    public interface Stateful { }
+
+    public interface Qualified { }
+
+    public interface Configured { }
+
+    public interface Intercepted { }
+
+    @ComponentGroup
+    public interface Plugin { }
+
+    public interface Settings {
+
+        @Configuration.Property(key = "name", undefined = "benchmark")
+        String name();
+
+        @Configuration.Property(key = "count", undefined = "42")
+        int count();
+    }
+
+    /**
+     * A context qualifier.
+     */
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ ElementType.TYPE, ElementType.FIELD, ElementType.PARAMETER })
+    @Qualifier(Qualifier.Composition.IMMEDIATE)
+    public @interface Label {
+
+        String value();
+    }
+
+    /**
+     * Marks dependencies to intercept.
+     */
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ ElementType.TYPE, ElementType.FIELD, ElementType.PARAMETER })
+    @Qualifier(Qualifier.Composition.IMMEDIATE)
+    public @interface Traced { }
+
+    @Component
+    static final class Dependency1Impl implements Dependency1 { }
+
+    @Component
+    static final class Dependency2Impl implements Dependency2 {
+
+        Dependency2Impl(final Dependency1 dependency) {
+            assert dependency != null;
+        }
+    }
+
+    @Component
+    static final class SingletonImpl implements Singleton {
+
+        SingletonImpl(final Dependency1 dependency1, final Dependency2 dependency2) {
+            assert dependency1 != null;
+            assert dependency2 != null;
+        }
+    }
+
+    @Component(stateful = true)
+    static final class StatefulImpl implements Stateful {
+
+        StatefulImpl(final Singleton singleton, final Dependency2 dependency) {
+            assert singleton != null;
+            assert dependency != null;
+        }
+    }
+
+    /**
+     * Resolves, on every instantiation, two differently qualified instances of a context dependent component.
+     */
+    @Component(stateful = true)
+    static final class QualifiedImpl implements Qualified {
+
+        QualifiedImpl(final @Label("first") Labelled first, final @Label("second") Labelled second) {
+            assert first.label() != null;
+            assert second.label() != null;
+        }
+    }
+
+    @Component
+    @Component.Qualifiers(Label.class)
+    static final class Labelled {
+
+        private final String label;
+
+        Labelled(final ComponentContext context) {
+            final Label label = context.qualifier(Label.class, null);
+            this.label = label == null ? null : label.value();
+        }
+
+        String label() {
+            return label;
+        }
+    }
+
+    @Component(stateful = true)
+    static final class ConfiguredImpl implements Configured {
+
+        ConfiguredImpl(final @Configuration.Prefix("benchmark") Configuration<Settings> configuration) {
+            assert configuration.settings().count() == 42;
+        }
+    }
+
+    @Component(stateful = true)
+    static final class InterceptedImpl implements Intercepted {
+
+        InterceptedImpl(final @Traced Dependency1 dependency1, final @Traced Dependency2 dependency2) {
+            assert dependency1 != null;
+            assert dependency2 != null;
+        }
+    }
+
+    @Component
+    @Component.Qualifiers(Traced.class)
+    static final class PassThroughInterceptor implements ComponentInterceptor {
+
+        public Dependency intercept(final Type reference, final ComponentContext context, final Dependency dependency) {
+            return dependency;
+        }
+    }
+
+    @Component
+    @Component.Qualifiers(Traced.class)
+    static final class ReplacingInterceptor implements ComponentInterceptor {
+
+        public Dependency intercept(final Type reference, final ComponentContext context, final Dependency dependency) {
+            return new Dependency() {
+                public Class type() {
+                    return dependency.type();
+                }
+
+                public Object instance() {
+                    return dependency.instance();
+                }
+            };
+        }
+    }
+
+    @Component
+    static final class Plugin1 implements Plugin { }
+
+    @Component
+    static final class Plugin2 implements Plugin {
+
+        Plugin2(final Dependency1 dependency) {
+            assert dependency != null;
+        }
+    }
+
+    @Component
+    static final class Plugin3 implements Plugin {
+
+        Plugin3(final Singleton singleton) {
+            assert singleton != null;
+        }
+    }
+
+    /**
+     * Discards the shutdown jobs of the containers: benchmarks do not shut down the containers they boot, and keeping the jobs of every container created
+     * during a benchmark would only grow the heap.
+     */
+    @Component
+    static final class BenchmarkTermination implements ContainerTermination {
+
+        public void add(final Command.Job<Exception> job) {
+            // empty
+        }
+
+        public void remove(final Command.Job<Exception> job) {
+            // empty
+        }
+    }
+
+    /**
+     * Bound to child and domain containers.
+     */
+    @Component(automatic = false)
+    static final class Local {
+
+        Local(final Singleton singleton, final Dependency2 dependency) {
+            assert singleton != null;
+            assert dependency != null;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2006-2018 Tibor Adam Varga (tibor.adam.varga on gmail)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fluidity.composition.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.fluidity.composition.Containers;
+import org.fluidity.composition.OpenContainer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the resolution of components, and the creation of child and domain containers, through a child of the populated root container of the
+ * application class loader. Components bound by the package bindings are thus resolved in the parent of the container they are requested from, just as in
+ * applications that are not themselves components.
+ *
+ * @author Tibor Varga
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class ResolutionBenchmarks {
+
+    private OpenContainer container;
+
+    @Setup
+    public void setup() {
+        container = Containers.prepare().makeChildContainer();
+
+        // makes sure everything works before measuring anything
+        singleton();
+        stateful();
+        qualified();
+        configuration();
+        group();
+        intercepted();
+        childContainer();
+        domainContainer();
+    }
+
+    @Benchmark
+    public Object singleton() {
+        return container.getComponent(Fixtures.Singleton.class);
+    }
+
+    @Benchmark
+    public Object stateful() {
+        return container.getComponent(Fixtures.Stateful.class);
+    }
+
+    @Benchmark
+    public Object qualified() {
+        return container.getComponent(Fixtures.Qualified.class);
+    }
+
+    @Benchmark
+    public Object configuration() {
+        return container.getComponent(Fixtures.Configured.class);
+    }
+
+    @Benchmark
+    public Object group() {
+        return container.getComponentGroup(Fixtures.Plugin.class);
+    }
+
+    @Benchmark
+    public Object intercepted() {
+        return container.getComponent(Fixtures.Intercepted.class);
+    }
+
+    @Benchmark
+    public Object childContainer() {
+        return container.makeChildContainer(registry -> registry.bindComponent(Fixtures.Local.class)).getComponent(Fixtures.Local.class);
+    }
+
+    @Benchmark
+    public Object domainContainer() {
+        return container.makeDomainContainer(registry -> registry.bindComponent(Fixtures.Local.class)).getComponent(Fixtures.Local.class);
+    }
+}
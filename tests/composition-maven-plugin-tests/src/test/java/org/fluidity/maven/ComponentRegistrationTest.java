@@ -16,12 +16,19 @@
 
 package org.fluidity.maven;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Properties;
+import java.util.zip.CRC32;
 
+import org.fluidity.composition.Component;
+import org.fluidity.composition.ComponentContainer;
 import org.fluidity.composition.ContainerBoundary;
 import org.fluidity.composition.Containers;
 import org.fluidity.composition.Inject;
 import org.fluidity.composition.Optional;
+import org.fluidity.foundation.ClassLoaders;
 import org.fluidity.foundation.ServiceProviders;
 
 import org.testng.annotations.Test;
@@ -94,6 +101,34 @@ public class ComponentRegistrationTest {
         assert inner.getLocal() != null : "Local class not instantiated";
     }
 
+    @Test
+    public void testConstructorIndex() throws Exception {
+        final Properties index = new Properties();
+
+        try (final InputStream stream = getClass().getClassLoader().getResourceAsStream(Component.CONSTRUCTORS)) {
+            assert stream != null : Component.CONSTRUCTORS;
+            index.load(stream);
+        }
+
+        assert String.format("%x:", checksum(SimpleComponentImpl.class)).equals(index.getProperty(SimpleComponentImpl.class.getName())) : index;
+        assert String.format("%x:%s,%s", checksum(OuterClass.InnerClass.class), OuterClass.class.getName(), ComponentContainer.class.getName())
+                .equals(index.getProperty(OuterClass.InnerClass.class.getName())) : index;
+    }
+
+    private long checksum(final Class<?> type) throws IOException {
+        final CRC32 checksum = new CRC32();
+
+        try (final InputStream stream = ClassLoaders.readClassResource(type)) {
+            final byte[] buffer = new byte[1024];
+
+            for (int read; (read = stream.read(buffer)) != -1; ) {
+                checksum.update(buffer, 0, read);
+            }
+        }
+
+        return checksum.getValue();
+    }
+
     private void jdkProvider(final Class<?> providerInterface, final int count) {
         final List<?> instances = ServiceProviders.findInstances(providerInterface, getClass().getClassLoader());
         assert instances.size() == count : instances.size();
@@ -23,6 +23,7 @@ import org.fluidity.composition.Component;
 import org.fluidity.composition.ComponentContainer;
 import org.fluidity.composition.Containers;
 import org.fluidity.features.DynamicConfiguration;
+import org.fluidity.features.Updates;
 
 import org.testng.annotations.Test;
 
@@ -43,6 +44,11 @@ public class DynamicConfigurationFactoryTest {
         container.instantiate(ContextConfigured.class);
     }
 
+    @Test
+    public void testSnapshotMethods() throws Exception {
+        container.instantiate(SnapshotConfigured.class);
+    }
+
     @Component(automatic = false)
     private static class NoContextConfigured {
 
@@ -83,4 +89,35 @@ public class DynamicConfigurationFactoryTest {
             assert configuration1 == configuration3;
         }
     }
+
+    @Component(automatic = false)
+    private static class SnapshotConfigured {
+
+        @SuppressWarnings("UnusedDeclaration")
+        private SnapshotConfigured(final DynamicConfiguration<PeriodSettings> configuration) {
+            final Supplier<PeriodSettings> snapshot = configuration.snapshot();
+            final PeriodSettings settings = snapshot.get();
+
+            assert settings.period() == 0L : settings.period();
+            assert settings.twice() == 0L : settings.twice();
+            assert Settings.SOME_PROPERTY.equals(settings.property()) : settings.property();
+
+            assert settings.equals(settings);
+            assert settings.hashCode() == settings.hashCode();
+            assert settings.toString() != null;
+        }
+    }
+
+    private interface PeriodSettings {
+
+        @Configuration.Property(key = Updates.UPDATE_PERIOD)
+        long period();
+
+        @Configuration.Property(key = Settings.SOME_PROPERTY)
+        String property();
+
+        default long twice() {
+            return period() * 2;
+        }
+    }
 }
@@ -18,6 +18,7 @@ package org.fluidity.foundation;
 
 import org.fluidity.composition.Component;
 import org.fluidity.features.DynamicConfiguration;
+import org.fluidity.features.Scheduler;
 import org.fluidity.features.Updates;
 import org.fluidity.foundation.spi.PropertyProvider;
 
@@ -31,6 +32,7 @@ public class EchoPropertyProviderImpl implements PropertyProvider {
 
     private static final String[] known = new String[] {
             Updates.UPDATE_PERIOD,
+            Scheduler.THREAD_COUNT,
             DynamicConfiguration.CONFIGURATION_REFRESH_PERIOD
     };
 
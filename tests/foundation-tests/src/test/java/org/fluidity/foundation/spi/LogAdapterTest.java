@@ -16,6 +16,10 @@
 
 package org.fluidity.foundation.spi;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.fluidity.testing.Simulator;
 
 import org.easymock.EasyMock;
@@ -67,57 +71,167 @@ public class LogAdapterTest extends Simulator {
         });
     }
 
+    @Test
+    public void testCategories() throws Exception {
+        final String category = LogAdapterTest.class.getName();
+
+        final Adapter outer = verify(() -> new Adapter(category, logger));
+        final Adapter inner = verify(() -> new Adapter(category.concat("$Inner"), logger));
+        final Adapter other = verify(() -> new Adapter(category.concat("Other"), logger));
+
+        test(() -> {
+            EasyMock.expect(levels.debug()).andReturn(false).times(3);
+            EasyMock.expect(levels.trace()).andReturn(false).times(3);
+            EasyMock.expect(levels.info()).andReturn(false).times(3);
+            EasyMock.expect(levels.warning()).andReturn(false).times(3);
+
+            verify(() -> {
+                assert !outer.isDebugEnabled();
+                assert !inner.isDebugEnabled();
+                assert !other.isDebugEnabled();
+            });
+        });
+
+        assert LogLevels.updated(category.concat("$Inner")) == 1;
+
+        // levels not queried since the last update do not count
+        assert LogLevels.updated(category.concat("$Inner")) == 0;
+
+        test(() -> {
+            EasyMock.expect(levels.debug()).andReturn(true);
+            EasyMock.expect(levels.trace()).andReturn(false);
+            EasyMock.expect(levels.info()).andReturn(false);
+            EasyMock.expect(levels.warning()).andReturn(false);
+
+            verify(() -> {
+                assert !outer.isDebugEnabled();
+                assert inner.isDebugEnabled();
+                assert !other.isDebugEnabled();
+            });
+        });
+
+        assert LogLevels.updated(category) == 2;
+
+        test(() -> {
+            EasyMock.expect(levels.debug()).andReturn(true).times(2);
+            EasyMock.expect(levels.trace()).andReturn(false).times(2);
+            EasyMock.expect(levels.info()).andReturn(false).times(2);
+            EasyMock.expect(levels.warning()).andReturn(false).times(2);
+
+            verify(() -> {
+                assert outer.isDebugEnabled();
+                assert inner.isDebugEnabled();
+                assert !other.isDebugEnabled();
+            });
+        });
+    }
+
+    @Test
+    public void testFixedArity() throws Exception {
+        final Adapter log = verify(() -> new Adapter(logger));
+
+        LogLevels.updated();
+
+        EasyMock.expect(levels.trace()).andReturn(false);
+        EasyMock.expect(levels.debug()).andReturn(true);
+        EasyMock.expect(levels.info()).andReturn(false);
+        EasyMock.expect(levels.warning()).andReturn(true);
+
+        final Object ignored = new Object() {
+            @Override
+            public String toString() {
+                throw new AssertionError("Message formatted");
+            }
+        };
+
+        verify(() -> {
+            log.trace("trace");
+            log.trace("trace %s", ignored);
+            log.info("info %s %s %s %s", ignored, ignored, ignored, ignored);
+            log.info(new Exception(), "info %s %s", ignored, ignored);
+
+            log.debug("debug");
+            log.debug("debug %s %d", "text", 1);
+            log.warning(new Exception(), "warning %s", "text");
+            log.error("error %d%%", 100);
+        });
+
+        assert Arrays.asList("debug", "debug text 1", "warning text", "error 100%").equals(log.messages) : log.messages;
+    }
+
     private static final class Logger { }
 
     private final class Adapter extends LogAdapter<Logger, Object> {
 
+        final List<String> messages = new ArrayList<>();
+
         Adapter(final Logger log) {
             super(log);
         }
 
+        Adapter(final String category, final Logger log) {
+            super(category, log);
+        }
+
         @Override
         protected Levels levels() {
             return levels;
         }
 
         public void trace(final String format, final Object... arguments) {
-            // empty
+            if (permissions().trace) {
+                messages.add(LogFormat.format(format, arguments));
+            }
         }
 
         public void debug(final String format, final Object... arguments) {
-            // empty
+            if (permissions().debug) {
+                messages.add(LogFormat.format(format, arguments));
+            }
         }
 
         public void info(final String format, final Object... arguments) {
-            // empty
+            if (permissions().info) {
+                messages.add(LogFormat.format(format, arguments));
+            }
         }
 
         public void warning(final String format, final Object... arguments) {
-            // empty
+            if (permissions().warning) {
+                messages.add(LogFormat.format(format, arguments));
+            }
         }
 
         public void error(final String format, final Object... arguments) {
-            // empty
+            messages.add(LogFormat.format(format, arguments));
         }
 
         public void trace(final Throwable exception, final String format, final Object... arguments) {
-            // empty
+            if (permissions().trace) {
+                messages.add(LogFormat.format(format, arguments));
+            }
         }
 
         public void debug(final Throwable exception, final String format, final Object... arguments) {
-            // empty
+            if (permissions().debug) {
+                messages.add(LogFormat.format(format, arguments));
+            }
         }
 
         public void info(final Throwable exception, final String format, final Object... arguments) {
-            // empty
+            if (permissions().info) {
+                messages.add(LogFormat.format(format, arguments));
+            }
         }
 
         public void warning(final Throwable exception, final String format, final Object... arguments) {
-            // empty
+            if (permissions().warning) {
+                messages.add(LogFormat.format(format, arguments));
+            }
         }
 
         public void error(final Throwable exception, final String format, final Object... arguments) {
-            // empty
+            messages.add(LogFormat.format(format, arguments));
         }
     }
 }
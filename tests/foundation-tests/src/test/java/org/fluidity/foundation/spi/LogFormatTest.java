@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2006-2018 Tibor Adam Varga (tibor.adam.varga on gmail)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fluidity.foundation.spi;
+
+import java.util.Formattable;
+import java.util.MissingFormatArgumentException;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * @author Tibor Varga
+ */
+public class LogFormatTest {
+
+    private static final Formattable FORMATTABLE = (formatter, flags, width, precision) -> formatter.format("formatted");
+
+    @DataProvider(name = "messages")
+    public Object[][] messages() {
+        return new Object[][] {
+                new Object[] { "", new Object[0] },
+                new Object[] { "plain text", new Object[0] },
+                new Object[] { "plain text", null },
+                new Object[] { "%s", new Object[] { "text" } },
+                new Object[] { "%s and %s", new Object[] { "text", null } },
+                new Object[] { "%d, %d, %d, %d", new Object[] { 1, -2L, (short) 3, (byte) 4 } },
+                new Object[] { "%d", new Object[] { null } },
+                new Object[] { "100%% %s%n", new Object[] { "done" } },
+                new Object[] { "extra: %s", new Object[] { "used", "unused" } },
+                new Object[] { "%s", new Object[] { FORMATTABLE } },
+                new Object[] { "%.2f %s", new Object[] { 1.5, "text" } },
+                new Object[] { "%5s|%-5s|", new Object[] { "a", "b" } },
+                new Object[] { "%2$s %1$s", new Object[] { "a", "b" } },
+                new Object[] { "%x %s", new Object[] { 255, "text" } },
+        };
+    }
+
+    @Test(dataProvider = "messages")
+    public void testFormat(final String format, final Object[] arguments) throws Exception {
+        final String expected = String.format(format, arguments);
+        final String actual = LogFormat.format(format, arguments);
+
+        assert expected.equals(actual) : String.format("Expected '%s', got '%s'", expected, actual);
+    }
+
+    @Test(expectedExceptions = MissingFormatArgumentException.class)
+    public void testMissingArgument() throws Exception {
+        LogFormat.format("%s %s", "text");
+    }
+
+    @Test
+    public void testNestedFormat() throws Exception {
+        final Object nested = new Object() {
+            @Override
+            public String toString() {
+                return LogFormat.format("nested %s", "text");
+            }
+        };
+
+        final String formatted = LogFormat.format("outer %s: %s", "text", nested);
+        assert "outer text: nested text".equals(formatted) : formatted;
+    }
+}
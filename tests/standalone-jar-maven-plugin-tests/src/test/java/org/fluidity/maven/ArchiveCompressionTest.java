@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2006-2018 Tibor Adam Varga (tibor.adam.varga on gmail)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.fluidity.maven;
+
+import java.io.IOException;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.testng.annotations.Test;
+
+/**
+ * Verifies the <code>compressArchives</code> parameter of the <code>standalone</code> and <code>include</code> goals as configured in the POM.
+ *
+ * @author Tibor Varga
+ */
+public class ArchiveCompressionTest {
+
+    private static final String DEPENDENCIES = "META-INF/dependencies/";
+    private static final String PROFILE = "%s%s-archives/";
+
+    @Test
+    public void testCompressedArchives() throws Exception {
+        verify("compressed", ZipEntry.DEFLATED);
+    }
+
+    @Test
+    public void testStoredArchives() throws Exception {
+        verify("stored", ZipEntry.STORED);
+    }
+
+    private void verify(final String classifier, final int method) throws IOException {
+        final String archive = System.getProperty(String.format("archive.%s", classifier));
+        assert archive != null : classifier;
+
+        final String profile = String.format(PROFILE, DEPENDENCIES, classifier);
+        final Map<String, Integer> standalone = new HashMap<>();
+        final Map<String, Integer> included = new HashMap<>();
+
+        try (final ZipFile file = new ZipFile(archive)) {
+            for (final Enumeration<? extends ZipEntry> entries = file.entries(); entries.hasMoreElements(); ) {
+                final ZipEntry entry = entries.nextElement();
+                final String name = entry.getName();
+
+                if (name.endsWith(".jar")) {
+                    if (name.startsWith(profile)) {
+                        included.put(name, entry.getMethod());
+                    } else if (name.startsWith(DEPENDENCIES)) {
+                        standalone.put(name, entry.getMethod());
+                    }
+                }
+            }
+        }
+
+        assert !standalone.isEmpty() : archive;
+        assert !included.isEmpty() : archive;
+
+        for (final Map.Entry<String, Integer> entry : standalone.entrySet()) {
+            assert entry.getValue() == method : String.format("%s: %s", archive, entry.getKey());
+        }
+
+        for (final Map.Entry<String, Integer> entry : included.entrySet()) {
+            assert entry.getValue() == method : String.format("%s: %s", archive, entry.getKey());
+        }
+    }
+}